@@ -26,10 +26,16 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 public class GremlinLangCustomizer implements Customizer {
 
     private final boolean cacheEnabled;
+    private final boolean planCacheEnabled;
     private final Caffeine cacheBuilder;
 
     public GremlinLangCustomizer(final boolean cacheEnabled, final Caffeine cacheBuilder) {
+        this(cacheEnabled, false, cacheBuilder);
+    }
+
+    public GremlinLangCustomizer(final boolean cacheEnabled, final boolean planCacheEnabled, final Caffeine cacheBuilder) {
         this.cacheEnabled = cacheEnabled;
+        this.planCacheEnabled = planCacheEnabled;
         this.cacheBuilder = cacheBuilder;
     }
 
@@ -37,6 +43,13 @@ public class GremlinLangCustomizer implements Customizer {
         return cacheEnabled;
     }
 
+    /**
+     * Determines if traversals are cached with their strategies applied, see {@link GremlinLangScriptEngine}.
+     */
+    public boolean isPlanCacheEnabled() {
+        return planCacheEnabled;
+    }
+
     public Caffeine getCacheMaker() {
         return cacheBuilder;
     }
@@ -34,7 +34,7 @@ public class GremlinLangPlugin extends AbstractGremlinPlugin {
 
     private GremlinLangPlugin(final Builder builder) {
         super(NAME, APPLIES_TO,
-                new GremlinLangCustomizer(builder.cacheEnabled,
+                new GremlinLangCustomizer(builder.cacheEnabled, builder.planCacheEnabled,
                         builder.caffeineSpec != null ? Caffeine.from(builder.caffeineSpec) : Caffeine.newBuilder()));
     }
 
@@ -47,6 +47,7 @@ public class GremlinLangPlugin extends AbstractGremlinPlugin {
 
     public static class Builder {
         private boolean cacheEnabled = false;
+        private boolean planCacheEnabled = false;
         private CaffeineSpec caffeineSpec = null;
 
         public Builder cacheEnabled(final boolean cacheEnabled) {
@@ -54,6 +55,16 @@ public class GremlinLangPlugin extends AbstractGremlinPlugin {
             return this;
         }
 
+        /**
+         * Caches traversals with their strategies applied so that repeated scripts only need to bind their
+         * parameters before execution. The traversals of a graph which is {@code PlanVersioned} are planned again
+         * when its plan version changes.
+         */
+        public Builder planCacheEnabled(final boolean planCacheEnabled) {
+            this.planCacheEnabled = planCacheEnabled;
+            return this;
+        }
+
         /**
          * Provide a Caffeine spec formatted cache definition to configure the cache. For example,
          * "maximumWeight=1000, expireAfterWrite=10m", see
@@ -26,8 +26,14 @@ import org.apache.tinkerpop.gremlin.language.grammar.VariableResolver;
 import org.apache.tinkerpop.gremlin.process.traversal.GValueManager;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.step.GValue;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Grouping;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.GValueReductionStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.provider.ProviderGValueReductionStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.PlanVersioned;
 
 import javax.script.AbstractScriptEngine;
 import javax.script.Bindings;
@@ -39,8 +45,8 @@ import java.io.Reader;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
@@ -64,6 +70,18 @@ import java.util.function.Function;
  * traversal for its value. If that Gremlin string is matched again in the future, it will use the one from the cache
  * rather than parse again via the ANTLR grammar. In addition, if {@link GValue} instances were used in formation of
  * the traversal, it will substitute in new bindings given with the {@code eval}.
+ * <p/>
+ * The engine may also cache plans, which are traversals that already have their strategies applied, keyed in the same
+ * way. Applying strategies is often more expensive than parsing, in particular for small traversals, so with a plan
+ * a repeated script only needs a clone of the plan and the substitution of the bindings. A traversal with
+ * {@link GValue} variables is planned up to the {@link GValueReductionStrategy} (or
+ * {@link ProviderGValueReductionStrategy}) as the following strategies work with the concrete values, so those
+ * strategies are applied to each clone after the bindings are substituted. A plan is not used for bindings that
+ * differ from the values of the variables that strategies pinned while planning, as the plan is specific to those
+ * values, and the script is then evaluated without the plan. A traversal without variables is planned in full and
+ * returned locked. Plans, like cached traversals, only generalize over bindings with a {@link VariableResolver} that
+ * resolves variables to {@link GValue} instances. For a graph that is {@link PlanVersioned}, plans are only used at the
+ * plan version of the graph they were made at.
  */
 public class GremlinLangScriptEngine extends AbstractScriptEngine implements GremlinScriptEngine {
     private volatile GremlinScriptEngineFactory factory;
@@ -72,11 +90,20 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
 
     private final Map<GraphTraversalSource, Cache<String, Traversal.Admin<?,?>>> traversalCaches = new ConcurrentHashMap<>();
 
+    private final Map<GraphTraversalSource, Cache<String, Traversal.Admin<?,?>>> planCaches = new ConcurrentHashMap<>();
+
+    private final Map<GraphTraversalSource, Long> planVersions = new ConcurrentHashMap<>();
+
     /**
      * Determines if the traversal cache is enabled or not. This is {@code false} by default.
      */
     private final boolean cacheEnabled;
 
+    /**
+     * Determines if the plan cache is enabled or not. This is {@code false} by default.
+     */
+    private final boolean planCacheEnabled;
+
     private final Caffeine<String, Traversal<?,?>> caffeine;
 
     /**
@@ -104,9 +131,11 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
         if (gremlinLangCustomizer.isPresent()) {
             final GremlinLangCustomizer customizer = gremlinLangCustomizer.get();
             cacheEnabled = customizer.isCacheEnabled();
+            planCacheEnabled = customizer.isPlanCacheEnabled();
             caffeine = customizer.getCacheMaker();
         } else {
             cacheEnabled = false;
+            planCacheEnabled = false;
             caffeine = null;
         }
     }
@@ -136,6 +165,45 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
         final GraphTraversalSource g = (GraphTraversalSource) o;
         final Map<String, Object> m = context.getBindings(ScriptContext.ENGINE_SCOPE);
 
+        if (!planCacheEnabled) return parse(script, g, m);
+
+        // find the plan cache for the g that was passed in so that plans are only shared by traversals with the same
+        // strategies
+        final Cache<String, Traversal.Admin<?, ?>> planCache = planCaches.computeIfAbsent(g, k -> caffeine.build());
+
+        // plans are keyed by the plan version of the graph as well, so that plans made before its indexes or data
+        // changed are no longer used, and these are dropped when the version changes
+        final String planKey;
+        if (g.getGraph() instanceof PlanVersioned) {
+            final long planVersion = ((PlanVersioned) g.getGraph()).getPlanVersion();
+            final Long previousVersion = planVersions.put(g, planVersion);
+            if (previousVersion != null && previousVersion != planVersion) planCache.invalidateAll();
+            planKey = planVersion + ":" + script;
+        } else {
+            planKey = script;
+        }
+
+        final Traversal.Admin<?, ?> cachedPlan = planCache.getIfPresent(planKey);
+        if (cachedPlan != null) {
+            final Traversal.Admin<?, ?> plan = instantiatePlan(cachedPlan, m);
+
+            // a null plan means that a strategy relied on the value of a binding that has now changed so the script
+            // needs to be planned from scratch for these bindings
+            return plan != null ? plan : parse(script, g, m);
+        }
+
+        final Object parsedResult = parse(script, g, m);
+        if (!(parsedResult instanceof Traversal)) return parsedResult;
+
+        final Traversal.Admin<?, ?> newPlan = createPlan(((Traversal<?, ?>) parsedResult).asAdmin().clone());
+        if (null == newPlan) return parsedResult;
+
+        planCache.put(planKey, newPlan);
+        final Traversal.Admin<?, ?> plan = instantiatePlan(newPlan, m);
+        return plan != null ? plan : parsedResult;
+    }
+
+    private Object parse(final String script, final GraphTraversalSource g, final Map<String, Object> m) throws ScriptException {
         Cache<String, Traversal.Admin<?, ?>> traversalCache = null;
         if (cacheEnabled) {
             // find the property cache for the g that was passed in so that we have the right Graph instance/context
@@ -145,25 +213,13 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
             final Traversal cachedTraversal = traversalCache.getIfPresent(script);
             if (cachedTraversal != null) {
                 final Traversal.Admin<?, ?> clonedTraversal = cachedTraversal.asAdmin().clone();
-                final GValueManager manager = clonedTraversal.getGValueManager();
-                final Set<String> variables = manager.getVariableNames();
-
-                // every variable the traversal has should match a binding
-                for (String variable : variables) {
-                    if (!m.containsKey(variable)) {
-                        throw new IllegalArgumentException(variable + " binding is not found");
-                    }
-
-                    manager.updateVariable(variable, m.get(variable));
-                }
-
+                bind(clonedTraversal, m);
                 return clonedTraversal;
             }
         }
 
         // if not in cache or cache not enabled, parse the script
-        final GremlinAntlrToJava antlr = new GremlinAntlrToJava((GraphTraversalSource) o,
-                variableResolverMaker.apply(m));
+        final GremlinAntlrToJava antlr = new GremlinAntlrToJava(g, variableResolverMaker.apply(m));
 
         try {
             // parse the script
@@ -183,6 +239,86 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
         }
     }
 
+    /**
+     * Applies the strategies of the traversal up to the point where the {@link GValue} placeholder steps are reduced
+     * to concrete steps. A traversal without variables has all its strategies applied and is locked. Returns
+     * {@code null} if the traversal has variables and its strategies do not reduce them in a known way.
+     */
+    private static Traversal.Admin<?, ?> createPlan(final Traversal.Admin<?, ?> traversal) {
+        final List<TraversalStrategy<?>> strategies = traversal.getStrategies().toList();
+        if (!traversal.getGValueManager().hasVariables()) {
+            traversal.applyStrategies();
+            return traversal;
+        }
+
+        final int reduction = indexOfReduction(strategies);
+        if (reduction < 0) return null;
+
+        applyStrategies(traversal, strategies, 0, reduction);
+        return traversal;
+    }
+
+    /**
+     * Clones the plan and binds its variables to the bindings. If the plan is not yet locked, the remaining strategies
+     * are applied to the clone. Returns {@code null} if a strategy pinned a variable to a value that differs from
+     * its binding, as the plan is then not valid for the bindings.
+     */
+    private static Traversal.Admin<?, ?> instantiatePlan(final Traversal.Admin<?, ?> plan, final Map<String, Object> m) {
+        final Traversal.Admin<?, ?> clonedPlan = plan.clone();
+        if (clonedPlan.isLocked()) return clonedPlan;
+
+        final GValueManager manager = clonedPlan.getGValueManager();
+        for (GValue<?> pinned : manager.getPinnedGValues()) {
+            if (!m.containsKey(pinned.getName()))
+                throw new IllegalArgumentException(pinned.getName() + " binding is not found");
+            if (!Objects.equals(pinned.get(), m.get(pinned.getName())))
+                return null;
+        }
+        bind(clonedPlan, m);
+
+        final List<TraversalStrategy<?>> strategies = clonedPlan.getStrategies().toList();
+        applyStrategies(clonedPlan, strategies, indexOfReduction(strategies), strategies.size());
+
+        // Grouping steps cache their barriers which need to be reset after strategies are applied
+        clonedPlan.getSteps().stream().filter(s -> s instanceof Grouping).forEach(
+                step -> ((Grouping<?, ?, ?>) step).resetBarrierFromValueTraversal());
+        clonedPlan.lock();
+        return clonedPlan;
+    }
+
+    /**
+     * Updates the unpinned variables of a cloned traversal with the bindings. Children get a copy of the
+     * {@link GValueManager} of their parent when cloned, so they are first pointed back at the one of the root.
+     */
+    private static void bind(final Traversal.Admin<?, ?> traversal, final Map<String, Object> m) {
+        final GValueManager manager = traversal.getGValueManager();
+        TraversalHelper.applyTraversalRecursively(t -> t.setGValueManager(manager), traversal);
+
+        // every variable the traversal has should match a binding
+        for (String variable : manager.getUnpinnedVariableNames()) {
+            if (!m.containsKey(variable)) {
+                throw new IllegalArgumentException(variable + " binding is not found");
+            }
+
+            manager.updateVariable(variable, m.get(variable));
+        }
+    }
+
+    private static int indexOfReduction(final List<TraversalStrategy<?>> strategies) {
+        for (int i = 0; i < strategies.size(); i++) {
+            if (strategies.get(i) instanceof GValueReductionStrategy || strategies.get(i) instanceof ProviderGValueReductionStrategy)
+                return i;
+        }
+        return -1;
+    }
+
+    private static void applyStrategies(final Traversal.Admin<?, ?> traversal, final List<TraversalStrategy<?>> strategies,
+                                        final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            TraversalHelper.applyTraversalRecursively(strategies.get(i)::apply, traversal);
+        }
+    }
+
     @Override
     public Object eval(final Reader reader, final ScriptContext context) throws ScriptException {
         return eval(readFully(reader), context);
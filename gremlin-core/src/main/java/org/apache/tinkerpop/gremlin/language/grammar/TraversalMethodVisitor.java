@@ -1328,6 +1328,16 @@ public class TraversalMethodVisitor extends TraversalRootVisitor<GraphTraversal>
         return graphTraversal.peerPressure();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GraphTraversal visitTraversalMethod_percentile(final GremlinParser.TraversalMethod_percentileContext ctx) {
+        final Number[] percentiles = ctx.numericLiteral().stream().skip(1).
+                map(n -> (Number) antlr.genericVisitor.visitNumericLiteral(n)).toArray(Number[]::new);
+        return graphTraversal.percentile((Number) antlr.genericVisitor.visitNumericLiteral(ctx.numericLiteral(0)), percentiles);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -191,6 +191,11 @@ public class WithOptionsVisitor extends DefaultGremlinBaseVisitor<Object> {
         return WithOptions.indexer;
     }
 
+    @Override
+    public Object visitWithOptionsConstants_distinct(final GremlinParser.WithOptionsConstants_distinctContext ctx) {
+        return WithOptions.distinct;
+    }
+
     @Override
     public Object visitWithOptionsConstants_list(final GremlinParser.WithOptionsConstants_listContext ctx) {
         return WithOptions.list;
@@ -847,6 +847,11 @@ public class DotNetTranslateVisitor extends AbstractTranslateVisitor {
         return handleGenerics(ctx);
     }
 
+    @Override
+    public Void visitTraversalMethod_percentile(final GremlinParser.TraversalMethod_percentileContext ctx) {
+        return handleGenerics(ctx);
+    }
+
     @Override
     public Void visitTraversalMethod_mergeV_Map(final GremlinParser.TraversalMethod_mergeV_MapContext ctx) {
         // call is ambiguous without an explicit cast
@@ -200,7 +200,10 @@ public class P<V> implements Predicate<V>, Serializable, Cloneable {
 
     public P<V> clone() {
         try {
-            return (P<V>) super.clone();
+            // variables are updated in place when a cloned traversal is bound to new values
+            final P<V> clone = (P<V>) super.clone();
+            clone.variables = new HashMap<>(this.variables);
+            return clone;
         } catch (final CloneNotSupportedException e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
@@ -459,8 +459,9 @@ public interface Traversal<S, E> extends Iterator<E>, Serializable, Cloneable, A
         public TraverserGenerator getTraverserGenerator();
 
         /**
-         * Gets a generator that creates new {@link TraverserSet} instances for steps in the traversal. Providers may
-         * override this default implementation to provider their own {@link TraverserSet}.
+         * Gets a generator that creates new {@link TraverserSet} instances for steps in the traversal. By default these
+         * are unsynchronized as a traversal is processed by one thread at a time. Providers may override this default
+         * implementation to provider their own {@link TraverserSet}.
          */
         public default Supplier<TraverserSet<S>> getTraverserSetSupplier() {
             return TraverserSetSupplier.instance();
@@ -151,6 +151,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderLocalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.PathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PercentileGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.ProductStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.ProjectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
@@ -1339,6 +1340,22 @@ public interface GraphTraversal<S, E> extends Traversal<S, E> {
         return this.asAdmin().addStep(scope.equals(Scope.global) ? new MeanGlobalStep(this.asAdmin()) : new MeanLocalStep(this.asAdmin()));
     }
 
+    /**
+     * Estimates the given percentiles, between 0 and 100, of the numbers in the stream with a sketch that holds a
+     * bounded amount of them. The result is a {@code Double} for a single percentile and a {@code List} of them for
+     * several.
+     *
+     * @param percentile  the percentile to estimate
+     * @param percentiles further percentiles to estimate
+     * @return the traversal with an appended {@link PercentileGlobalStep}.
+     * @see <a href="http://tinkerpop.apache.org/docs/${project.version}/reference/#percentile-step" target="_blank">Reference Documentation - Percentile Step</a>
+     * @since 4.0.0
+     */
+    public default <E2> GraphTraversal<S, E2> percentile(final Number percentile, final Number... percentiles) {
+        this.asAdmin().getGremlinLang().addStep(Symbols.percentile, percentile, percentiles);
+        return this.asAdmin().addStep(new PercentileGlobalStep<>(this.asAdmin(), percentile, percentiles));
+    }
+
     /**
      * Organize objects in the stream into a {@code Map}. Calls to {@code group()} are typically accompanied with
      * {@link #by()} modulators which help specify how the grouping should occur.
@@ -4763,6 +4780,7 @@ public interface GraphTraversal<S, E> extends Traversal<S, E> {
         public static final String max = "max";
         public static final String min = "min";
         public static final String mean = "mean";
+        public static final String percentile = "percentile";
         public static final String group = "group";
         public static final String groupCount = "groupCount";
         public static final String tree = "tree";
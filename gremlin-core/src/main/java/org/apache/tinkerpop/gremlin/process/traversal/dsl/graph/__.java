@@ -605,6 +605,13 @@ public class __ {
         return __.<A>start().mean(scope);
     }
 
+    /**
+     * @see GraphTraversal#percentile(Number, Number...)
+     */
+    public static <A, B> GraphTraversal<A, B> percentile(final Number percentile, final Number... percentiles) {
+        return __.<A>start().percentile(percentile, percentiles);
+    }
+
     /**
      * @see GraphTraversal#group()
      */
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserBatch;
+
+/**
+ * A {@code Batching} step can process an array of traversers at a time rather than a single traverser per call to
+ * {@link Step#next()}. A {@link BatchStep} runs a sequence of such steps one after the other over a
+ * {@link TraverserBatch}, which keeps each step in a tight loop of its own rather than interleaving the virtual calls of
+ * all the steps for every traverser. Steps which depend on the order in which traversers arrive across steps, which keep
+ * state between traversers or which have child traversals should not be {@code Batching}.
+ */
+public interface Batching<S, E> {
+
+    /**
+     * Processes the traversers of {@code starts} from index {@code from} inclusive to {@code to} exclusive and adds
+     * the traversers that result to {@code ends} in the order the step would have emitted them one at a time.
+     */
+    public void processBatch(final TraverserBatch<S> starts, final int from, final int to, final TraverserBatch<E> ends);
+}
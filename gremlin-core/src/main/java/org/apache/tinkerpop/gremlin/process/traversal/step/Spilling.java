@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step;
+
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
+
+/**
+ * A {@code Spilling} step holds traversers in memory, such as a barrier, and can write them to {@link SpillFile}
+ * instances once it holds more of them than its memory budget, so that it completes with bounded memory at the cost of
+ * reading the traversers back from disk. Closing the step deletes the files it has not read back yet.
+ */
+public interface Spilling extends AutoCloseable {
+
+    /**
+     * Sets the number of traversers the step holds in memory before it spills to files in the directory, or the
+     * default temporary directory if {@code null}. A budget of {@code Integer.MAX_VALUE} never spills.
+     */
+    public void setSpilling(final int memoryBudget, final String directory);
+
+    /**
+     * Gets the number of traversers the step holds in memory before it spills.
+     */
+    public int getMemoryBudget();
+
+    /**
+     * Deletes the files the step has spilled to.
+     */
+    @Override
+    public void close();
+}
@@ -28,24 +28,33 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.FilteringBarrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.GraphComputing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
 
+import org.javatuples.Pair;
+
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 
@@ -53,7 +62,10 @@ import java.util.function.BinaryOperator;
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing,
-        FilteringBarrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor {
+        FilteringBarrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor, Spilling {
+
+    private static final int SPILL_PARTITION_BITS = 4;
+    private static final int SPILL_PARTITIONS = 1 << SPILL_PARTITION_BITS;
 
     private Traversal.Admin<S, Object> dedupTraversal = null;
     private Set<Object> duplicateSet = new HashSet<>();
@@ -63,6 +75,12 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     private boolean executingAtMaster = false;
     private Map<Object, Traverser.Admin<S>> barrier;
     private Iterator<Map.Entry<Object, Traverser.Admin<S>>> barrierIterator;
+    private int memoryBudget = Integer.MAX_VALUE;
+    private String spillDirectory = null;
+    private Deque<Pair<SpillFile<S>, Integer>> partitions;
+    private CloseableIterator<Traverser.Admin<S>> spilled;
+    private int spilledLevel;
+    private Set<Object> spilledSeen;
 
     public DedupGlobalStep(final Traversal.Admin traversal, final String... dedupLabels) {
         super(traversal);
@@ -112,9 +130,108 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
             if (this.duplicateSet.add(entry.getKey()))
                 return PathProcessor.processTraverserPathLabels(entry.getValue(), this.keepLabels);
         }
+        if (this.duplicateSet.size() >= this.memoryBudget && null == this.dedupLabels && !this.onGraphComputer)
+            return PathProcessor.processTraverserPathLabels(this.nextSpilled(), this.keepLabels);
         return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
     }
 
+    /**
+     * Once the set of seen objects is full, the remaining traversers that are not known duplicates are written to
+     * partitions by the hash of their object so that equal objects share a partition, and each partition is then
+     * deduplicated on its own. A partition with more distinct objects than the memory budget is deduplicated until its
+     * set of seen objects is full and the rest of it is partitioned again by other bits of the hash, so that no set of
+     * seen objects grows beyond the budget however large the input is.
+     */
+    private Traverser.Admin<S> nextSpilled() {
+        if (null == this.partitions) {
+            this.partitions = new ArrayDeque<>();
+            this.partition(this.starts, this.duplicateSet, 0);
+        }
+
+        while (true) {
+            if (null == this.spilled) {
+                if (this.partitions.isEmpty()) {
+                    this.closePartitions();
+                    throw FastNoSuchElementException.instance();
+                }
+                final Pair<SpillFile<S>, Integer> partition = this.partitions.remove();
+                this.spilled = partition.getValue0().iterator(this.traversal);
+                this.spilledLevel = partition.getValue1();
+                this.spilledSeen = new HashSet<>();
+            }
+
+            while (this.spilled.hasNext() && this.spilledSeen.size() < this.memoryBudget) {
+                final Traverser.Admin<S> traverser = this.spilled.next();
+                final TraversalProduct product = TraversalUtil.produce(traverser, this.dedupTraversal);
+                if (product.isProductive() && this.spilledSeen.add(product.get())) {
+                    traverser.setBulk(1L);
+                    return traverser;
+                }
+            }
+
+            // the partition is either done or its set of seen objects is full and what is left is split again
+            if (this.spilled.hasNext())
+                this.partition(this.spilled, this.spilledSeen, this.spilledLevel + 1);
+            this.spilled = null;
+            this.spilledSeen = null;
+        }
+    }
+
+    /**
+     * Writes the traversers whose objects are not in the set of seen objects to partitions at the front of the queue of
+     * partitions to deduplicate.
+     */
+    private void partition(final Iterator<Traverser.Admin<S>> traversers, final Set<Object> seen, final int level) {
+        final List<SpillFile<S>> files = new ArrayList<>(Collections.nCopies(SPILL_PARTITIONS, null));
+        while (traversers.hasNext()) {
+            final Traverser.Admin<S> traverser = traversers.next();
+            final TraversalProduct product = TraversalUtil.produce(traverser, this.dedupTraversal);
+            if (!product.isProductive() || seen.contains(product.get())) continue;
+            final int partition = partitionOf(product.get(), level);
+            if (null == files.get(partition))
+                files.set(partition, new SpillFile<>(this.spillDirectory));
+            files.get(partition).add(traverser);
+        }
+        for (int i = SPILL_PARTITIONS - 1; i >= 0; i--) {
+            if (null != files.get(i)) this.partitions.addFirst(Pair.with(files.get(i), level));
+        }
+    }
+
+    /**
+     * Gets the partition of an object from a different part of its spread hash at each level. Objects whose hashes
+     * collide stay in the same partition, which still shrinks by the memory budget at each level.
+     */
+    private static int partitionOf(final Object object, final int level) {
+        final int hash = Objects.hashCode(object) * 0x9E3779B9;
+        return (hash >>> ((level * SPILL_PARTITION_BITS) % Integer.SIZE)) & (SPILL_PARTITIONS - 1);
+    }
+
+    private void closePartitions() {
+        if (null != this.spilled)
+            CloseableIterator.closeIterator(this.spilled);
+        if (null != this.partitions)
+            this.partitions.forEach(partition -> partition.getValue0().close());
+        this.partitions = null;
+        this.spilled = null;
+        this.spilledSeen = null;
+    }
+
+    @Override
+    public void setSpilling(final int memoryBudget, final String directory) {
+        this.memoryBudget = memoryBudget;
+        this.spillDirectory = directory;
+    }
+
+    @Override
+    public int getMemoryBudget() {
+        return this.memoryBudget;
+    }
+
+    @Override
+    public void close() {
+        this.closePartitions();
+    }
+
     @Override
     public List<Traversal<S, Object>> getLocalChildren() {
         return null == this.dedupTraversal ? Collections.emptyList() : Collections.singletonList(this.dedupTraversal);
@@ -138,6 +255,9 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     public DedupGlobalStep<S> clone() {
         final DedupGlobalStep<S> clone = (DedupGlobalStep<S>) super.clone();
         clone.duplicateSet = new HashSet<>();
+        clone.partitions = null;
+        clone.spilled = null;
+        clone.spilledSeen = null;
         if (null != this.dedupTraversal)
             clone.dedupTraversal = this.dedupTraversal.clone();
         return clone;
@@ -165,6 +285,7 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
         this.duplicateSet.clear();
         this.barrier = null;
         this.barrierIterator = null;
+        this.closePartitions();
     }
 
     @Override
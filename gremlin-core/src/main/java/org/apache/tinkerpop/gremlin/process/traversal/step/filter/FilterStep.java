@@ -20,7 +20,9 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.filter;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserBatch;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -41,4 +43,15 @@ public abstract class FilterStep<S> extends AbstractStep<S, S> {
     }
 
     protected abstract boolean filter(final Traverser.Admin<S> traverser);
+
+    /**
+     * Filters the traversers of a batch, which is how the subclasses that are {@link Batching} process them.
+     */
+    public void processBatch(final TraverserBatch<S> starts, final int from, final int to, final TraverserBatch<S> ends) {
+        for (int i = from; i < to; i++) {
+            final Traverser.Admin<S> traverser = starts.get(i);
+            if (this.filter(traverser))
+                ends.add(traverser);
+        }
+    }
 }
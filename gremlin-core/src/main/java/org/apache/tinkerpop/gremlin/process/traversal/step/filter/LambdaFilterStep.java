@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.filter;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
@@ -28,7 +29,7 @@ import java.util.function.Predicate;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class LambdaFilterStep<S> extends FilterStep<S> implements LambdaHolder {
+public final class LambdaFilterStep<S> extends FilterStep<S> implements LambdaHolder, Batching<S, S> {
 
     private final Predicate<Traverser<S>> predicate;
 
@@ -21,20 +21,30 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 import org.apache.tinkerpop.gremlin.process.traversal.Operator;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Configuring;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.Parameters;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.WithOptions;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.util.HyperLogLog;
 import org.apache.tinkerpop.gremlin.util.function.ConstantSupplier;
 
+import java.io.Serializable;
 import java.util.EnumSet;
 import java.util.Set;
 import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class CountGlobalStep<S> extends ReducingBarrierStep<S, Long> {
+public final class CountGlobalStep<S> extends ReducingBarrierStep<S, Long> implements Configuring {
 
     private static final Set<TraverserRequirement> REQUIREMENTS = EnumSet.of(TraverserRequirement.BULK);
+    private static final Set<TraverserRequirement> DISTINCT_REQUIREMENTS = EnumSet.of(TraverserRequirement.OBJECT);
+
+    private final Parameters parameters = new Parameters();
+    private int precision = 0;
 
     public CountGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -42,14 +52,100 @@ public final class CountGlobalStep<S> extends ReducingBarrierStep<S, Long> {
         this.setReducingBiOperator((BinaryOperator) Operator.sumLong);
     }
 
+    /**
+     * Determines if the step estimates the number of distinct objects as configured with
+     * {@link WithOptions#distinct} rather than counting the traversers.
+     */
+    public boolean isDistinct() {
+        return this.precision > 0;
+    }
+
+    /**
+     * Gets the precision of the {@link HyperLogLog} that estimates the number of distinct objects or 0 if the step
+     * counts the traversers.
+     */
+    public int getPrecision() {
+        return this.precision;
+    }
+
     @Override
     public Long projectTraverser(final Traverser.Admin<S> traverser) {
-        return traverser.bulk();
+        return this.isDistinct() ? HyperLogLog.hash(traverser.get()) : traverser.bulk();
+    }
+
+    @Override
+    public Traverser.Admin<Long> processNextStart() {
+        final Traverser.Admin traverser = super.processNextStart();
+        if (traverser.get() instanceof HyperLogLog)
+            traverser.set(((HyperLogLog) traverser.get()).cardinality());
+        return traverser;
     }
 
     @Override
     public Set<TraverserRequirement> getRequirements() {
-        return REQUIREMENTS;
+        return this.isDistinct() ? DISTINCT_REQUIREMENTS : REQUIREMENTS;
     }
 
+    @Override
+    public void configure(final Object... keyValues) {
+        if (keyValues[0].equals(WithOptions.distinct)) {
+            if (keyValues.length == 2 && keyValues[1] instanceof Boolean)
+                this.precision = (Boolean) keyValues[1] ? HyperLogLog.DEFAULT_PRECISION : 0;
+            else if (keyValues.length == 2 && keyValues[1] instanceof Number)
+                this.precision = new HyperLogLog(((Number) keyValues[1]).intValue()).getPrecision();
+            else
+                throw new IllegalArgumentException("WithOptions.distinct requires a single Boolean or Integer precision argument");
+
+            if (this.isDistinct()) {
+                this.setSeedSupplier((Supplier) new HyperLogLogSupplier(this.precision));
+                this.setReducingBiOperator((BinaryOperator) HyperLogLogBiOperator.INSTANCE);
+            } else {
+                this.setSeedSupplier(new ConstantSupplier<>(0L));
+                this.setReducingBiOperator((BinaryOperator) Operator.sumLong);
+            }
+        } else {
+            this.parameters.set(null, keyValues);
+        }
+    }
+
+    @Override
+    public Parameters getParameters() {
+        return this.parameters;
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.precision;
+    }
+
+    /////
+
+    public static final class HyperLogLogSupplier implements Supplier<HyperLogLog>, Serializable {
+
+        private final int precision;
+
+        public HyperLogLogSupplier(final int precision) {
+            this.precision = precision;
+        }
+
+        @Override
+        public HyperLogLog get() {
+            return new HyperLogLog(this.precision);
+        }
+    }
+
+    /**
+     * Adds the hashes of objects to a {@link HyperLogLog} and merges the sketches of different barriers.
+     */
+    public static final class HyperLogLogBiOperator implements BinaryOperator<Object>, Serializable {
+
+        private static final HyperLogLogBiOperator INSTANCE = new HyperLogLogBiOperator();
+
+        @Override
+        public Object apply(final Object mutatingSeed, final Object object) {
+            return object instanceof HyperLogLog ?
+                    ((HyperLogLog) mutatingSeed).merge((HyperLogLog) object) :
+                    ((HyperLogLog) mutatingSeed).addHash((Long) object);
+        }
+    }
 }
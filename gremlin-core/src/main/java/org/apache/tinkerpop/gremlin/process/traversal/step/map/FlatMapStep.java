@@ -20,7 +20,9 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserBatch;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
 
@@ -53,6 +55,24 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
 
     protected abstract Iterator<E> flatMap(final Traverser.Admin<S> traverser);
 
+    /**
+     * Maps each traverser of a batch to the traversers of its iterator, which is how the subclasses that are
+     * {@link Batching} process them.
+     */
+    public void processBatch(final TraverserBatch<S> starts, final int from, final int to, final TraverserBatch<E> ends) {
+        for (int i = from; i < to; i++) {
+            final Traverser.Admin<S> traverser = starts.get(i);
+            final Iterator<E> iterator = this.flatMap(traverser);
+            try {
+                while (iterator.hasNext()) {
+                    ends.add(traverser.split(iterator.next(), this));
+                }
+            } finally {
+                CloseableIterator.closeIterator(iterator);
+            }
+        }
+    }
+
     @Override
     public void reset() {
         super.reset();
@@ -43,6 +43,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -55,6 +56,8 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
     protected final Class<E> returnClass;
     protected Object[] ids;
     protected transient Supplier<Iterator<E>> iteratorSupplier;
+    private transient Function<GraphStep<S, E>, Supplier<Iterator<E>>> iteratorSupplierFactory;
+    private transient Supplier<Iterator<E>> factoryIteratorSupplier;
     protected boolean isStart;
     protected boolean done = false;
     private Traverser.Admin<S> head = null;
@@ -72,9 +75,9 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
             }
         }
         this.isStart = isStart;
-        this.iteratorSupplier = () -> (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ?
-                this.getTraversal().getGraph().get().vertices(this.ids) :
-                this.getTraversal().getGraph().get().edges(this.ids));
+        this.setIteratorSupplierFactory(step -> () -> (Iterator<E>) (Vertex.class.isAssignableFrom(step.returnClass) ?
+                step.getTraversal().getGraph().get().vertices(step.ids) :
+                step.getTraversal().getGraph().get().edges(step.ids)));
     }
 
     public String toString() {
@@ -115,8 +118,29 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
         return this.returnClass.equals(Edge.class);
     }
 
+    /**
+     * Sets the supplier of the elements of this step, which is shared as it is by clones of this step.
+     */
     public void setIteratorSupplier(final Supplier<Iterator<E>> iteratorSupplier) {
         this.iteratorSupplier = iteratorSupplier;
+        this.iteratorSupplierFactory = null;
+        this.factoryIteratorSupplier = null;
+    }
+
+    /**
+     * Sets the supplier of the elements of this step to one created by the factory for this step. Clones of this step
+     * get a supplier created by the factory for the clone, so that a clone never iterates the elements of, or keeps
+     * state in, the step it was cloned from. A supplier assigned to {@link #iteratorSupplier} directly afterwards is
+     * shared by clones as it is.
+     */
+    protected void setIteratorSupplierFactory(final Function<GraphStep<S, E>, Supplier<Iterator<E>>> iteratorSupplierFactory) {
+        this.iteratorSupplierFactory = iteratorSupplierFactory;
+        this.factoryIteratorSupplier = iteratorSupplierFactory.apply(this);
+        this.iteratorSupplier = this.factoryIteratorSupplier;
+    }
+
+    public Supplier<Iterator<E>> getIteratorSupplier() {
+        return this.iteratorSupplier;
     }
 
     @Override
@@ -143,7 +167,7 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
 
     @Override
     public void onGraphComputer() {
-        this.iteratorSupplier = Collections::emptyIterator;
+        this.setIteratorSupplier(Collections::emptyIterator);
         convertElementsToIds();
     }
 
@@ -185,6 +209,20 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
         this.iterator = EmptyIterator.instance();
     }
 
+    @Override
+    public GraphStep<S, E> clone() {
+        final GraphStep<S, E> clone = (GraphStep<S, E>) super.clone();
+        clone.parameters = this.parameters.clone();
+        if (null != this.iteratorSupplierFactory && this.iteratorSupplier == this.factoryIteratorSupplier) {
+            clone.factoryIteratorSupplier = this.iteratorSupplierFactory.apply(clone);
+            clone.iteratorSupplier = clone.factoryIteratorSupplier;
+        } else {
+            clone.iteratorSupplierFactory = null;
+            clone.factoryIteratorSupplier = null;
+        }
+        return clone;
+    }
+
     @Override
     public int hashCode() {
         int result = Objects.hash(super.hashCode(), returnClass);
@@ -172,6 +172,10 @@ public final class MeanGlobalStep<S extends Number, E extends Number> extends Re
             return Double.valueOf(this.doubleValue()).hashCode();
         }
 
+        public long getCount() {
+            return this.count;
+        }
+
         public Number getFinal() {
             return div(this.sum, this.count, true);
         }
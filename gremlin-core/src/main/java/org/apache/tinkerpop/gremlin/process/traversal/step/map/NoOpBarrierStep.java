@@ -21,25 +21,63 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.step.LocalBarrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Profiling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserBatch;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
 import java.util.Collections;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
+ * A barrier that bulks up to {@link #getMaxBarrierSize()} traversers at a time. An adaptive barrier, as inserted by
+ * {@code LazyBarrierStrategy}, sizes itself from the barriers it fills: it doubles its size while traversers keep
+ * merging, halves it when the heap runs low and turns into a pass-through step when the traversers of consecutive full
+ * barriers barely merge. When profiled, these decisions are reported as annotations of its metrics.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarrier<S> {
+public class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarrier<S>, Batching<S, S>, Profiling {
+
+    public static final String BARRIER_SIZE_ANNOTATION = "barrierSize";
+    public static final String BULKING_RATIO_ANNOTATION = "bulkingRatio";
+    public static final String BARRIER_DISABLED_ANNOTATION = "barrierDisabled";
+
+    private static final int MIN_ADAPTIVE_BARRIER_SIZE = 64;
+    private static final int MAX_ADAPTIVE_BARRIER_SIZE = 1 << 16;
+    private static final int UNBULKED_BARRIERS_TO_DISABLE = 3;
+    private static final double BULKING_RATIO_TO_KEEP = 1.01;
+    private static final double BULKING_RATIO_TO_GROW = 2.0;
+    private static final double HEAP_USAGE_TO_SHRINK = 0.8;
+
+    /**
+     * The heap pool of the longest lived objects, whose usage after the last garbage collection tells how much of the
+     * heap the live objects take, unlike the usage of the whole heap which includes the garbage still to collect.
+     */
+    private static final MemoryPoolMXBean TENURED_POOL = ManagementFactory.getMemoryPoolMXBeans().stream().
+            filter(pool -> pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()).
+            reduce((a, b) -> a.getUsage().getMax() >= b.getUsage().getMax() ? a : b).orElse(null);
 
     protected int maxBarrierSize;
     protected TraverserSet<S> barrier;
 
+    private final boolean adaptive;
+    private int barrierSize;
+    private int unbulkedBarriers;
+    private boolean disabled;
+    private MutableMetrics metrics;
+
     public NoOpBarrierStep(final Traversal.Admin traversal) {
         this(traversal, Integer.MAX_VALUE);
     }
@@ -49,15 +87,32 @@ public class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarri
     }
 
     public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize, TraverserSet<S> barrier) {
+        this(traversal, maxBarrierSize, barrier, false);
+    }
+
+    /**
+     * Creates a barrier which starts with a size of {@code maxBarrierSize} and adapts it when {@code adaptive} is
+     * {@code true}.
+     */
+    public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize, final boolean adaptive) {
+        this(traversal, maxBarrierSize, (TraverserSet<S>) traversal.getTraverserSetSupplier().get(), adaptive);
+    }
+
+    private NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize, TraverserSet<S> barrier, final boolean adaptive) {
         super(traversal);
         this.maxBarrierSize = maxBarrierSize;
         this.barrier = barrier;
+        this.adaptive = adaptive && maxBarrierSize != Integer.MAX_VALUE;
+        this.barrierSize = maxBarrierSize;
     }
 
     @Override
     protected Traverser.Admin<S> processNextStart() throws NoSuchElementException {
-        if (this.barrier.isEmpty())
+        if (this.barrier.isEmpty()) {
+            if (this.disabled)
+                return this.starts.next();
             this.processAllStarts();
+        }
         return this.barrier.remove();
     }
 
@@ -68,10 +123,73 @@ public class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarri
 
     @Override
     public void processAllStarts() {
-        while ((this.maxBarrierSize == Integer.MAX_VALUE || this.barrier.size() < this.maxBarrierSize) && this.starts.hasNext()) {
+        final int barrierSize = this.adaptive ? this.barrierSize : this.maxBarrierSize;
+        int added = 0;
+        while ((barrierSize == Integer.MAX_VALUE || this.barrier.size() < barrierSize) && this.starts.hasNext()) {
             final Traverser.Admin<S> traverser = this.starts.next();
             traverser.setStepId(this.getNextStep().getId()); // when barrier is reloaded, the traversers should be at the next step
             this.barrier.add(traverser);
+            added++;
+        }
+
+        // only a full barrier says something about how well the traversers bulk as the last one of the traversal may
+        // just hold whatever was left
+        if (this.adaptive && !this.disabled && this.barrier.size() >= barrierSize)
+            this.adapt(added);
+    }
+
+    /**
+     * Sizes the barrier from the number of traversers that were added to fill it and how many they merged into.
+     */
+    private void adapt(final int added) {
+        final double bulkingRatio = (double) added / this.barrier.size();
+        if (bulkingRatio < BULKING_RATIO_TO_KEEP) {
+            if (++this.unbulkedBarriers >= UNBULKED_BARRIERS_TO_DISABLE) {
+                this.disabled = true;
+                this.annotate(BARRIER_DISABLED_ANNOTATION, "no traversers were bulked");
+            }
+        } else {
+            this.unbulkedBarriers = 0;
+        }
+
+        if (isHeapLow())
+            this.barrierSize = Math.max(MIN_ADAPTIVE_BARRIER_SIZE, this.barrierSize / 2);
+        else if (bulkingRatio >= BULKING_RATIO_TO_GROW)
+            this.barrierSize = Math.min(MAX_ADAPTIVE_BARRIER_SIZE, this.barrierSize * 2);
+
+        this.annotate(BARRIER_SIZE_ANNOTATION, this.barrierSize);
+        this.annotate(BULKING_RATIO_ANNOTATION, Math.round(bulkingRatio * 100) / 100.0);
+    }
+
+    private static boolean isHeapLow() {
+        if (null == TENURED_POOL)
+            return false;
+        final MemoryUsage usage = TENURED_POOL.getCollectionUsage();
+        return null != usage && usage.getMax() > 0 && usage.getUsed() > HEAP_USAGE_TO_SHRINK * usage.getMax();
+    }
+
+    private void annotate(final String key, final Object value) {
+        if (null != this.metrics && !this.metrics.isFinalized())
+            this.metrics.setAnnotation(key, value);
+    }
+
+    @Override
+    public void setMetrics(final MutableMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Bulks the traversers of a batch rather than all the traversers up to {@link #getMaxBarrierSize()}, which is only
+     * meant for a lazy barrier as the batch is not a barrier for the steps before it.
+     */
+    @Override
+    public void processBatch(final TraverserBatch<S> starts, final int from, final int to, final TraverserBatch<S> ends) {
+        final TraverserSet<S> bulked = (TraverserSet<S>) this.traversal.getTraverserSetSupplier().get();
+        for (int i = from; i < to; i++) {
+            bulked.add(starts.get(i));
+        }
+        for (final Traverser.Admin<S> traverser : bulked) {
+            ends.add(traverser);
         }
     }
 
@@ -102,6 +220,10 @@ public class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarri
     public NoOpBarrierStep<S> clone() {
         final NoOpBarrierStep<S> clone = (NoOpBarrierStep<S>) super.clone();
         clone.barrier = (TraverserSet<S>) this.traversal.getTraverserSetSupplier().get();
+        clone.barrierSize = this.maxBarrierSize;
+        clone.unbulkedBarriers = 0;
+        clone.disabled = false;
+        clone.metrics = null;
         return clone;
     }
 
@@ -124,4 +246,22 @@ public class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarri
     public int getMaxBarrierSize() {
         return maxBarrierSize;
     }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Gets the size that an adaptive barrier currently fills up to, which is {@link #getMaxBarrierSize()} otherwise.
+     */
+    public int getBarrierSize() {
+        return this.adaptive ? this.barrierSize : this.maxBarrierSize;
+    }
+
+    /**
+     * Determines if an adaptive barrier passes its traversers through as they did not bulk.
+     */
+    public boolean isDisabled() {
+        return disabled;
+    }
 }
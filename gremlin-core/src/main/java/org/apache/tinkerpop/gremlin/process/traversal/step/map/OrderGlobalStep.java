@@ -26,11 +26,14 @@ import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Seedable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
@@ -44,6 +47,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Random;
 import java.util.Set;
 import java.util.function.BinaryOperator;
@@ -52,12 +56,22 @@ import java.util.stream.Collectors;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, Seedable {
+public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, Seedable, Spilling {
+
+    /**
+     * The largest number of sorted runs that are merged at once.
+     */
+    private static final int MAX_MERGE_FAN_IN = 64;
 
     private List<Pair<Traversal.Admin<S, C>, Comparator<C>>> comparators = new ArrayList<>();
     private MultiComparator<C> multiComparator = null;
     private long limit = Long.MAX_VALUE;
     private final Random random = new Random();
+    private TopKCollector<S> topK = null;
+    private int memoryBudget = Integer.MAX_VALUE;
+    private String spillDirectory = null;
+    private List<SpillFile<S>> runs = null;
+    private Iterator<Traverser.Admin<S>> merged = null;
 
     public OrderGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -72,6 +86,7 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
     public void barrierConsumer(final TraverserSet<S> traverserSet) {
         if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
         //
+        this.topK = null;
         if (this.multiComparator.isShuffle())
             traverserSet.shuffle(random);
         else
@@ -80,10 +95,161 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
 
     @Override
     public void processAllStarts() {
+        // when a limit is known the barrier only keeps the traversers which can still be within it, so that a fresh
+        // barrier holds O(limit) traversers rather than all of them. a collector of an earlier barrier which was
+        // drained since is dropped
+        if (this.traverserSet.isEmpty() && this.starts.hasNext()) {
+            this.topK = null;
+            if (this.isLimited()) {
+                if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
+                if (!this.multiComparator.isShuffle())
+                    this.topK = new TopKCollector<>(this.traverserSet, this.limit, this.multiComparator);
+            }
+        }
+
         while (this.starts.hasNext()) {
             // only add the traverser if the comparator traversal was productive
-            this.createProjectedTraverser(this.starts.next()).ifPresent(traverserSet::add);
+            final Optional<ProjectedTraverser<S, Object>> projectedTraverser = this.createProjectedTraverser(this.starts.next());
+            if (projectedTraverser.isPresent()) {
+                if (null == this.topK) {
+                    this.traverserSet.add((Traverser.Admin) projectedTraverser.get());
+                    if (this.traverserSet.size() >= this.memoryBudget) this.spill();
+                } else
+                    this.topK.add((Traverser.Admin) projectedTraverser.get());
+            }
+        }
+    }
+
+    @Override
+    public Traverser.Admin<S> processNextStart() {
+        if (Integer.MAX_VALUE == this.memoryBudget) return super.processNextStart();
+
+        if (null == this.merged && this.traverserSet.isEmpty() && this.starts.hasNext()) {
+            this.processAllStarts();
+            this.barrierConsumed = false;
+            if (null != this.runs) this.merged = this.mergeRuns();
+        }
+
+        if (null == this.merged) return super.processNextStart();
+        if (!this.merged.hasNext()) {
+            this.closeRuns();
+            throw FastNoSuchElementException.instance();
+        }
+        return ProjectedTraverser.tryUnwrap(this.merged.next());
+    }
+
+    /**
+     * Sorts the traversers held in memory and writes them to a new run on disk.
+     */
+    private void spill() {
+        if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
+        if (this.multiComparator.isShuffle()) return;
+
+        this.traverserSet.sort((Comparator) this.multiComparator);
+        final SpillFile<S> run = new SpillFile<>(this.spillDirectory);
+        if (null == this.runs) this.runs = new ArrayList<>();
+        this.runs.add(run);
+        this.traverserSet.forEach(run::add);
+        this.traverserSet.clear();
+    }
+
+    /**
+     * Spills the traversers left in memory and merges the sorted runs. When there are more runs than can be merged at
+     * once, consecutive runs are first merged into longer runs on disk so that no more than {@link #MAX_MERGE_FAN_IN}
+     * files are read at the same time. Traversers which compare as equal are taken from the earliest run first.
+     */
+    private Iterator<Traverser.Admin<S>> mergeRuns() {
+        if (!this.traverserSet.isEmpty()) this.spill();
+
+        while (this.runs.size() > MAX_MERGE_FAN_IN) {
+            final List<SpillFile<S>> merged = new ArrayList<>((this.runs.size() + MAX_MERGE_FAN_IN - 1) / MAX_MERGE_FAN_IN);
+            try {
+                for (int i = 0; i < this.runs.size(); i += MAX_MERGE_FAN_IN) {
+                    final List<SpillFile<S>> group = this.runs.subList(i, Math.min(i + MAX_MERGE_FAN_IN, this.runs.size()));
+                    if (1 == group.size()) {
+                        merged.add(group.get(0));
+                    } else {
+                        final SpillFile<S> run = new SpillFile<>(this.spillDirectory);
+                        merged.add(run);
+                        this.merge(group).forEachRemaining(run::add);
+                    }
+                }
+            } catch (final RuntimeException ex) {
+                // the runs that were merged are deleted once read, so only the new runs are left to delete
+                merged.stream().filter(run -> !this.runs.contains(run)).forEach(SpillFile::close);
+                throw ex;
+            }
+            this.runs = merged;
+        }
+
+        return this.merge(this.runs);
+    }
+
+    /**
+     * Merges the sorted runs, reading one traverser of each run at a time.
+     */
+    private Iterator<Traverser.Admin<S>> merge(final List<SpillFile<S>> runs) {
+        final List<Iterator<Traverser.Admin<S>>> iterators = new ArrayList<>(runs.size());
+        final PriorityQueue<Pair<Traverser.Admin<S>, Integer>> heads = new PriorityQueue<>(runs.size(),
+                (a, b) -> {
+                    final int c = ((Comparator) this.multiComparator).compare(a.getValue0(), b.getValue0());
+                    return 0 != c ? c : Integer.compare(a.getValue1(), b.getValue1());
+                });
+        for (int i = 0; i < runs.size(); i++) {
+            final Iterator<Traverser.Admin<S>> iterator = runs.get(i).iterator(this.traversal);
+            iterators.add(iterator);
+            if (iterator.hasNext()) heads.add(Pair.with(iterator.next(), i));
         }
+
+        return new Iterator<Traverser.Admin<S>>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                final Pair<Traverser.Admin<S>, Integer> head = heads.remove();
+                final Iterator<Traverser.Admin<S>> iterator = iterators.get(head.getValue1());
+                if (iterator.hasNext()) heads.add(Pair.with(iterator.next(), head.getValue1()));
+                return head.getValue0();
+            }
+        };
+    }
+
+    private void closeRuns() {
+        if (null != this.runs) this.runs.forEach(SpillFile::close);
+        this.runs = null;
+        this.merged = null;
+    }
+
+    @Override
+    public void setSpilling(final int memoryBudget, final String directory) {
+        this.memoryBudget = memoryBudget;
+        this.spillDirectory = directory;
+    }
+
+    @Override
+    public int getMemoryBudget() {
+        return this.memoryBudget;
+    }
+
+    @Override
+    public void close() {
+        this.closeRuns();
+    }
+
+    @Override
+    public void addBarrier(final TraverserSet<S> barrier) {
+        this.topK = null;
+        super.addBarrier(barrier);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.topK = null;
+        this.closeRuns();
     }
 
     public void setLimit(final long limit) {
@@ -94,6 +260,10 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         return this.limit;
     }
 
+    private boolean isLimited() {
+        return this.limit >= 0 && this.limit != Long.MAX_VALUE;
+    }
+
     @Override
     public void addComparator(final Traversal.Admin<S, C> traversal, final Comparator<C> comparator) {
         this.comparators.add(new Pair<>(this.integrateChild(traversal), comparator));
@@ -158,6 +328,9 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         for (final Pair<Traversal.Admin<S, C>, Comparator<C>> comparator : this.comparators) {
             clone.comparators.add(new Pair<>(comparator.getValue0().clone(), comparator.getValue1()));
         }
+        clone.topK = null;
+        clone.runs = null;
+        clone.merged = null;
         return clone;
     }
 
@@ -235,4 +408,51 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
             return setA;
         }
     }
+
+    /**
+     * Keeps the traversers of a {@link TraverserSet} which are among the first {@code limit} in order. The traversers
+     * are also held in a heap with the last in order on top, which is dropped from the set as soon as the rest of the
+     * traversers have a bulk of at least {@code limit}. Traversers which compare equal are ordered by their arrival so
+     * that the set ends up with the same traversers a stable sort of all of them would put first.
+     */
+    private static final class TopKCollector<S> {
+
+        private final TraverserSet<S> traverserSet;
+        private final long limit;
+        private final PriorityQueue<Entry<S>> heap;
+        private long bulk = 0L;
+        private long sequence = 0L;
+
+        private TopKCollector(final TraverserSet<S> traverserSet, final long limit, final MultiComparator comparator) {
+            this.traverserSet = traverserSet;
+            this.limit = limit;
+            this.heap = new PriorityQueue<>((a, b) -> {
+                final int comparison = comparator.compare(b.traverser, a.traverser);
+                return 0 != comparison ? comparison : Long.compare(b.sequence, a.sequence);
+            });
+        }
+
+        private void add(final Traverser.Admin<S> traverser) {
+            // a traverser merged into one already in the set only adds to the bulk
+            if (this.traverserSet.add(traverser))
+                this.heap.add(new Entry<>(traverser, this.sequence++));
+            this.bulk = this.bulk + traverser.bulk();
+
+            while (!this.heap.isEmpty() && this.bulk - this.heap.peek().traverser.bulk() >= this.limit) {
+                final Traverser.Admin<S> last = this.heap.poll().traverser;
+                this.traverserSet.remove(last);
+                this.bulk = this.bulk - last.bulk();
+            }
+        }
+
+        private static final class Entry<S> {
+            private final Traverser.Admin<S> traverser;
+            private final long sequence;
+
+            private Entry(final Traverser.Admin<S> traverser, final long sequence) {
+                this.traverser = traverser;
+                this.sequence = sequence;
+            }
+        }
+    }
 }
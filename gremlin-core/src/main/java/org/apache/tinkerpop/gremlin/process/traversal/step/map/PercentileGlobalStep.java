@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.QuantileSketch;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Estimates one or more percentiles of the numbers in the stream with a {@link QuantileSketch}, which holds a bounded
+ * amount of numbers however many there are. The result is a {@code Double} for a single percentile and a list of them
+ * for several.
+ */
+public final class PercentileGlobalStep<S extends Number, E> extends ReducingBarrierStep<S, E> {
+
+    private static final Set<TraverserRequirement> REQUIREMENTS = EnumSet.of(TraverserRequirement.OBJECT, TraverserRequirement.BULK);
+
+    private final List<Double> percentiles;
+
+    public PercentileGlobalStep(final Traversal.Admin traversal, final Number percentile, final Number... percentiles) {
+        super(traversal);
+        final List<Double> list = new ArrayList<>(1 + percentiles.length);
+        list.add(validate(percentile));
+        for (final Number p : percentiles) {
+            list.add(validate(p));
+        }
+        this.percentiles = Collections.unmodifiableList(list);
+        this.setSeedSupplier((Supplier) QuantileSketchSupplier.INSTANCE);
+        this.setReducingBiOperator((BinaryOperator) QuantileSketchBiOperator.INSTANCE);
+    }
+
+    private static double validate(final Number percentile) {
+        if (null == percentile || Double.isNaN(percentile.doubleValue()) ||
+                percentile.doubleValue() < 0 || percentile.doubleValue() > 100)
+            throw new IllegalArgumentException("The percentile must be a number between 0 and 100: " + percentile);
+        return percentile.doubleValue();
+    }
+
+    /**
+     * Gets the percentiles, between 0 and 100, that the step estimates.
+     */
+    public List<Double> getPercentiles() {
+        return this.percentiles;
+    }
+
+    @Override
+    public void processAllStarts() {
+        if (this.starts.hasNext())
+            super.processAllStarts();
+    }
+
+    @Override
+    public E projectTraverser(final Traverser.Admin<S> traverser) {
+        // the bulk of a traverser counts towards the percentiles, so it is held by a MeanNumber if there is one
+        if (traverser.bulk() > 1 && traverser.get() instanceof Number)
+            return (E) new MeanGlobalStep.MeanNumber(traverser.get(), traverser.bulk());
+        return (E) traverser.get();
+    }
+
+    @Override
+    public E generateFinalResult(final E sketch) {
+        // like max() of only nulls
+        if (0 == ((QuantileSketch) sketch).getCount()) return null;
+
+        final List<Double> estimates = new ArrayList<>(this.percentiles.size());
+        for (final Double percentile : this.percentiles) {
+            estimates.add(((QuantileSketch) sketch).quantile(percentile / 100));
+        }
+        return (E) (1 == estimates.size() ? estimates.get(0) : estimates);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return REQUIREMENTS;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.percentiles);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.percentiles.hashCode();
+    }
+
+    /////
+
+    public static final class QuantileSketchSupplier implements Supplier<QuantileSketch>, Serializable {
+
+        private static final QuantileSketchSupplier INSTANCE = new QuantileSketchSupplier();
+
+        private QuantileSketchSupplier() {}
+
+        @Override
+        public QuantileSketch get() {
+            return new QuantileSketch();
+        }
+    }
+
+    /**
+     * Adds numbers to a {@link QuantileSketch} and merges the sketches of different barriers. A {@code null} is
+     * ignored like {@code max()} ignores it.
+     */
+    public static final class QuantileSketchBiOperator implements BinaryOperator<Object>, Serializable {
+
+        private static final QuantileSketchBiOperator INSTANCE = new QuantileSketchBiOperator();
+
+        @Override
+        public Object apply(final Object mutatingSeed, final Object object) {
+            final QuantileSketch sketch = (QuantileSketch) mutatingSeed;
+            if (object instanceof QuantileSketch)
+                return sketch.merge((QuantileSketch) object);
+            else if (object instanceof MeanGlobalStep.MeanNumber)
+                return sketch.add(((MeanGlobalStep.MeanNumber) object).doubleValue(), ((MeanGlobalStep.MeanNumber) object).getCount());
+            else if (object instanceof Number)
+                return sketch.add(((Number) object).doubleValue(), 1);
+            else if (null == object)
+                return sketch;
+            throw new IllegalArgumentException("The percentile can only be estimated for numbers: " + object);
+        }
+    }
+}
@@ -20,6 +20,8 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserBatch;
 
 /**
  * A type of {@link MapStep} class which will transform the object of one {@link Traverser} into another. This class
@@ -41,4 +43,14 @@ public abstract class ScalarMapStep<S, E> extends MapStep<S,E> {
     }
 
     protected abstract E map(final Traverser.Admin<S> traverser);
+
+    /**
+     * Maps the traversers of a batch, which is how the subclasses that are {@link Batching} process them.
+     */
+    public void processBatch(final TraverserBatch<S> starts, final int from, final int to, final TraverserBatch<E> ends) {
+        for (int i = from; i < to; i++) {
+            final Traverser.Admin<S> traverser = starts.get(i);
+            ends.add(traverser.split(this.map(traverser), this));
+        }
+    }
 }
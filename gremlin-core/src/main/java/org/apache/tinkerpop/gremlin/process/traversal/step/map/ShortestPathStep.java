@@ -0,0 +1,462 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.computer.search.path.ShortestPathVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ImmutablePath;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.NumberHelper;
+import org.javatuples.Pair;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * An OLTP implementation of {@code shortestPath()} which searches the graph from each start vertex with maps of the
+ * vertices it has visited rather than with a traverser per path. With the number of edges as the distance it runs a
+ * breadth-first search, which is bidirectional when there is a single target vertex and the edge traversal can be
+ * reversed, and otherwise it runs Dijkstra's algorithm, which requires distances that are not negative. A search
+ * stops as soon as the shortest paths to all the target vertices are known. As with the
+ * {@link ShortestPathVertexProgram} all the shortest paths are returned for each pair of start and target vertices.
+ * <p/>
+ * The target vertices are found once per execution of the step, by their identifiers when the target vertex filter
+ * starts with {@code hasId()} and otherwise by testing all the vertices of the graph.
+ */
+public final class ShortestPathStep extends FlatMapStep<Vertex, Path> implements TraversalParent {
+
+    private Traversal.Admin<Vertex, ?> targetVertexFilter;
+    private Traversal.Admin<Vertex, Edge> edgeTraversal;
+    private Traversal.Admin<Edge, Number> distanceTraversal;
+    private final Number maxDistance;
+    private final boolean includeEdges;
+
+    private Traversal.Admin<Vertex, Edge> reverseEdgeTraversal;
+    private boolean initialized = false;
+    private Set<Vertex> targets;
+
+    /**
+     * Creates the step where a {@code null} target vertex filter allows all the vertices and a {@code null} distance
+     * traversal takes the number of edges as the distance.
+     */
+    public ShortestPathStep(final Traversal.Admin traversal, final Traversal.Admin<Vertex, ?> targetVertexFilter,
+                            final Traversal.Admin<Vertex, Edge> edgeTraversal,
+                            final Traversal.Admin<Edge, Number> distanceTraversal,
+                            final Number maxDistance, final boolean includeEdges) {
+        super(traversal);
+        this.targetVertexFilter = null == targetVertexFilter ? null : this.integrateChild(targetVertexFilter);
+        this.edgeTraversal = this.integrateChild(edgeTraversal);
+        this.distanceTraversal = null == distanceTraversal ? null : this.integrateChild(distanceTraversal);
+        this.maxDistance = maxDistance;
+        this.includeEdges = includeEdges;
+    }
+
+    public Traversal.Admin<Vertex, ?> getTargetVertexFilter() {
+        return this.targetVertexFilter;
+    }
+
+    public Traversal.Admin<Vertex, Edge> getEdgeTraversal() {
+        return this.edgeTraversal;
+    }
+
+    public Traversal.Admin<Edge, Number> getDistanceTraversal() {
+        return this.distanceTraversal;
+    }
+
+    public Number getMaxDistance() {
+        return this.maxDistance;
+    }
+
+    public boolean isIncludeEdges() {
+        return this.includeEdges;
+    }
+
+    @Override
+    protected Iterator<Path> flatMap(final Traverser.Admin<Vertex> traverser) {
+        if (!this.initialized) {
+            this.initialized = true;
+            this.reverseEdgeTraversal = reverse(this.edgeTraversal);
+            this.targets = findTargets();
+        }
+
+        final Vertex source = traverser.get();
+        if (null != this.distanceTraversal)
+            return dijkstraSearch(source).iterator();
+        else if (null != this.targets && 1 == this.targets.size() && null != this.reverseEdgeTraversal)
+            return bidirectionalSearch(source, this.targets.iterator().next()).iterator();
+        else
+            return breadthFirstSearch(source).iterator();
+    }
+
+    private List<Path> breadthFirstSearch(final Vertex source) {
+        final Map<Vertex, Integer> depths = new LinkedHashMap<>();
+        final Map<Vertex, List<Link>> links = new HashMap<>();
+        final Set<Vertex> remaining = null == this.targets ? null : new HashSet<>(this.targets);
+        depths.put(source, 0);
+        if (null != remaining) remaining.remove(source);
+
+        List<Vertex> frontier = Collections.singletonList(source);
+        int depth = 0;
+        while (!frontier.isEmpty() && (null == remaining || !remaining.isEmpty()) && !exceedsMaxDistance(depth + 1)) {
+            frontier = expand(frontier, depth++, this.edgeTraversal, depths, links);
+            if (null != remaining) remaining.removeAll(frontier);
+        }
+        return collectPaths(depths.keySet(), links);
+    }
+
+    private List<Path> bidirectionalSearch(final Vertex source, final Vertex target) {
+        if (source.equals(target))
+            return Collections.singletonList(makePath(Collections.singletonList(source)));
+
+        final Map<Vertex, Integer> forwardDepths = new HashMap<>();
+        final Map<Vertex, List<Link>> forwardLinks = new HashMap<>();
+        final Map<Vertex, Integer> backwardDepths = new HashMap<>();
+        final Map<Vertex, List<Link>> backwardLinks = new HashMap<>();
+        forwardDepths.put(source, 0);
+        backwardDepths.put(target, 0);
+
+        List<Vertex> forwardFrontier = Collections.singletonList(source);
+        List<Vertex> backwardFrontier = Collections.singletonList(target);
+        int forwardDepth = 0;
+        int backwardDepth = 0;
+        while (!forwardFrontier.isEmpty() && !backwardFrontier.isEmpty() &&
+                !exceedsMaxDistance(forwardDepth + backwardDepth + 1)) {
+            // expand the smaller frontier and stop at the first level that reaches the other search, as that level
+            // holds a vertex of every shortest path
+            final List<Vertex> level;
+            final Map<Vertex, Integer> otherDepths;
+            if (forwardFrontier.size() <= backwardFrontier.size()) {
+                level = forwardFrontier = expand(forwardFrontier, forwardDepth++, this.edgeTraversal, forwardDepths, forwardLinks);
+                otherDepths = backwardDepths;
+            } else {
+                level = backwardFrontier = expand(backwardFrontier, backwardDepth++, this.reverseEdgeTraversal, backwardDepths, backwardLinks);
+                otherDepths = forwardDepths;
+            }
+
+            int shortest = Integer.MAX_VALUE;
+            for (final Vertex vertex : level) {
+                final Integer otherDepth = otherDepths.get(vertex);
+                if (null != otherDepth && otherDepth < shortest) shortest = otherDepth;
+            }
+            if (Integer.MAX_VALUE == shortest) continue;
+
+            final List<Path> paths = new ArrayList<>();
+            for (final Vertex vertex : level) {
+                if (!Objects.equals(otherDepths.get(vertex), shortest)) continue;
+                for (final List<Object> head : unwind(vertex, forwardLinks)) {
+                    for (final List<Object> tail : unwind(vertex, backwardLinks)) {
+                        final List<Object> objects = new ArrayList<>(head);
+                        for (int i = tail.size() - 2; i >= 0; i--) {
+                            objects.add(tail.get(i));
+                        }
+                        paths.add(makePath(objects));
+                    }
+                }
+            }
+            return paths;
+        }
+        return Collections.emptyList();
+    }
+
+    private List<Path> dijkstraSearch(final Vertex source) {
+        final Map<Vertex, Number> distances = new HashMap<>();
+        final Map<Vertex, List<Link>> links = new HashMap<>();
+        final Set<Vertex> settled = new LinkedHashSet<>();
+        final Set<Vertex> remaining = null == this.targets ? null : new HashSet<>(this.targets);
+        final PriorityQueue<Pair<Number, Vertex>> queue =
+                new PriorityQueue<>((a, b) -> NumberHelper.compare(a.getValue0(), b.getValue0()));
+        distances.put(source, 0);
+        queue.add(Pair.with(0, source));
+
+        while (!queue.isEmpty() && (null == remaining || !remaining.isEmpty())) {
+            final Pair<Number, Vertex> entry = queue.poll();
+            final Vertex vertex = entry.getValue1();
+            // the queue still holds the longer distances found for a vertex before its shortest one
+            if (!settled.add(vertex)) continue;
+            if (null != remaining) remaining.remove(vertex);
+
+            final Iterator<Edge> edges = TraversalUtil.applyAll(vertex, this.edgeTraversal);
+            while (edges.hasNext()) {
+                final Edge edge = edges.next();
+                final Vertex other = otherVertex(edge, vertex);
+                if (settled.contains(other)) continue;
+
+                final Number distance = NumberHelper.add(entry.getValue0(), getDistance(edge));
+                if (exceedsMaxDistance(distance)) continue;
+                final Number otherDistance = distances.get(other);
+                final int cmp = null == otherDistance ? -1 : NumberHelper.compare(distance, otherDistance);
+                if (cmp < 0) {
+                    distances.put(other, distance);
+                    links.remove(other);
+                    queue.add(Pair.with(distance, other));
+                }
+                if (cmp <= 0) link(links, other, vertex, edge);
+            }
+        }
+        return collectPaths(settled, links);
+    }
+
+    /**
+     * Visits the edges of the vertices of a level of a breadth-first search and gets the vertices of the next level.
+     */
+    private List<Vertex> expand(final List<Vertex> frontier, final int depth, final Traversal.Admin<Vertex, Edge> edgeTraversal,
+                                final Map<Vertex, Integer> depths, final Map<Vertex, List<Link>> links) {
+        final List<Vertex> level = new ArrayList<>();
+        for (final Vertex vertex : frontier) {
+            final Iterator<Edge> edges = TraversalUtil.applyAll(vertex, edgeTraversal);
+            while (edges.hasNext()) {
+                final Edge edge = edges.next();
+                final Vertex other = otherVertex(edge, vertex);
+                final Integer otherDepth = depths.get(other);
+                if (null == otherDepth) {
+                    depths.put(other, depth + 1);
+                    level.add(other);
+                } else if (otherDepth != depth + 1) {
+                    continue;
+                }
+                link(links, other, vertex, edge);
+            }
+        }
+        return level;
+    }
+
+    /**
+     * Records that the shortest paths to a vertex may come from another vertex over the edge.
+     */
+    private void link(final Map<Vertex, List<Link>> links, final Vertex vertex, final Vertex from, final Edge edge) {
+        final List<Link> vertexLinks = links.computeIfAbsent(vertex, k -> new ArrayList<>(1));
+        if (!this.includeEdges) {
+            // without the edges the paths over parallel edges are the same path
+            for (final Link link : vertexLinks) {
+                if (link.vertex.equals(from)) return;
+            }
+        }
+        vertexLinks.add(new Link(from, edge));
+    }
+
+    /**
+     * Gets the objects of all the paths from the origin of a search to one of the vertices it visited.
+     */
+    private List<List<Object>> unwind(final Vertex vertex, final Map<Vertex, List<Link>> links) {
+        final List<Link> vertexLinks = links.get(vertex);
+        if (null == vertexLinks) {
+            final List<Object> objects = new ArrayList<>();
+            objects.add(vertex);
+            return Collections.singletonList(objects);
+        }
+
+        final List<List<Object>> paths = new ArrayList<>();
+        for (final Link link : vertexLinks) {
+            for (final List<Object> objects : unwind(link.vertex, links)) {
+                if (this.includeEdges) objects.add(link.edge);
+                objects.add(vertex);
+                paths.add(objects);
+            }
+        }
+        return paths;
+    }
+
+    private List<Path> collectPaths(final Collection<Vertex> visited, final Map<Vertex, List<Link>> links) {
+        final List<Path> paths = new ArrayList<>();
+        for (final Vertex vertex : visited) {
+            if (null == this.targets || this.targets.contains(vertex)) {
+                for (final List<Object> objects : unwind(vertex, links)) {
+                    paths.add(makePath(objects));
+                }
+            }
+        }
+        return paths;
+    }
+
+    private static Path makePath(final List<Object> objects) {
+        Path path = ImmutablePath.make();
+        for (final Object object : objects) {
+            path = path.extend(object, Collections.emptySet());
+        }
+        return path;
+    }
+
+    private static Vertex otherVertex(final Edge edge, final Vertex vertex) {
+        final Vertex inVertex = edge.inVertex();
+        return inVertex.equals(vertex) ? edge.outVertex() : inVertex;
+    }
+
+    private Number getDistance(final Edge edge) {
+        final TraversalProduct product = TraversalUtil.produce(edge, this.distanceTraversal);
+        final Number distance = product.isProductive() ? (Number) product.get() : 0;
+        if (NumberHelper.compare(distance, 0) < 0)
+            throw new IllegalStateException(String.format(
+                    "The shortestPath() step requires distances that are not negative unless it is executed with a GraphComputer: %s has a distance of %s",
+                    edge, distance));
+        return distance;
+    }
+
+    private boolean exceedsMaxDistance(final Number distance) {
+        return null != this.maxDistance && NumberHelper.compare(distance, this.maxDistance) > 0;
+    }
+
+    /**
+     * Finds the target vertices, or gets {@code null} when all the vertices are targets.
+     */
+    private Set<Vertex> findTargets() {
+        if (null == this.targetVertexFilter)
+            return null;
+
+        final Graph graph = this.getTraversal().getGraph().orElseThrow(
+                () -> new IllegalStateException("The shortestPath() step requires a graph to find its target vertices"));
+        Iterator<Vertex> vertices = null;
+        final Step<?, ?> startStep = this.targetVertexFilter.getStartStep();
+        if (startStep instanceof HasStep) {
+            for (final HasContainer hasContainer : ((HasStep<?>) startStep).getHasContainers()) {
+                if (T.id.getAccessor().equals(hasContainer.getKey())) {
+                    if (Compare.eq == hasContainer.getBiPredicate())
+                        vertices = graph.vertices(hasContainer.getValue());
+                    else if (Contains.within == hasContainer.getBiPredicate())
+                        vertices = graph.vertices(((Collection<?>) hasContainer.getValue()).toArray());
+                    if (null != vertices) break;
+                }
+            }
+        }
+        if (null == vertices) vertices = graph.vertices();
+
+        final Set<Vertex> targets = new HashSet<>();
+        try {
+            while (vertices.hasNext()) {
+                final Vertex vertex = vertices.next();
+                if (TraversalUtil.test(vertex, this.targetVertexFilter)) targets.add(vertex);
+            }
+        } finally {
+            CloseableIterator.closeIterator(vertices);
+        }
+        return targets;
+    }
+
+    /**
+     * Gets the traversal of the edges that lead to a vertex, which is the edge traversal in the opposite direction when
+     * it only filters the edges of its first step with {@code has()}, or {@code null} when it can not be reversed.
+     */
+    private Traversal.Admin<Vertex, Edge> reverse(final Traversal.Admin<Vertex, Edge> edgeTraversal) {
+        final List<Step> steps = edgeTraversal.getSteps();
+        if (steps.isEmpty() || !(steps.get(0) instanceof VertexStep) || !((VertexStep<?>) steps.get(0)).returnsEdge())
+            return null;
+        for (int i = 1; i < steps.size(); i++) {
+            if (!(steps.get(i) instanceof HasStep))
+                return null;
+        }
+
+        final Traversal.Admin<Vertex, Edge> reverseEdgeTraversal = edgeTraversal.clone();
+        ((VertexStep<?>) reverseEdgeTraversal.getStartStep()).reverseDirection();
+        return this.integrateChild(reverseEdgeTraversal);
+    }
+
+    @Override
+    public List<Traversal.Admin<?, ?>> getLocalChildren() {
+        final List<Traversal.Admin<?, ?>> children = new ArrayList<>(3);
+        if (null != this.targetVertexFilter) children.add(this.targetVertexFilter);
+        children.add(this.edgeTraversal);
+        if (null != this.distanceTraversal) children.add(this.distanceTraversal);
+        return children;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.initialized = false;
+        this.reverseEdgeTraversal = null;
+        this.targets = null;
+    }
+
+    @Override
+    public ShortestPathStep clone() {
+        final ShortestPathStep clone = (ShortestPathStep) super.clone();
+        if (null != this.targetVertexFilter) clone.targetVertexFilter = this.targetVertexFilter.clone();
+        clone.edgeTraversal = this.edgeTraversal.clone();
+        if (null != this.distanceTraversal) clone.distanceTraversal = this.distanceTraversal.clone();
+        clone.initialized = false;
+        clone.reverseEdgeTraversal = null;
+        clone.targets = null;
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.getLocalChildren().forEach(this::integrateChild);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.targetVertexFilter, this.edgeTraversal, this.distanceTraversal,
+                this.maxDistance, this.includeEdges);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode() ^ this.edgeTraversal.hashCode() ^ Boolean.hashCode(this.includeEdges);
+        if (null != this.targetVertexFilter) result ^= this.targetVertexFilter.hashCode();
+        if (null != this.distanceTraversal) result ^= this.distanceTraversal.hashCode();
+        if (null != this.maxDistance) result ^= this.maxDistance.hashCode();
+        return result;
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.getSelfAndChildRequirements();
+    }
+
+    /**
+     * A vertex that the shortest paths to another vertex come from and the edge between them.
+     */
+    private static final class Link {
+        private final Vertex vertex;
+        private final Edge edge;
+
+        private Link(final Vertex vertex, final Edge edge) {
+            this.vertex = vertex;
+            this.edge = edge;
+        }
+    }
+}
@@ -20,15 +20,20 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Configuring;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.Parameters;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserBatch;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.BatchedAdjacency;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
@@ -44,7 +49,7 @@ import java.util.stream.Collectors;
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class VertexStep<E extends Element> extends FlatMapStep<Vertex, E> implements Configuring, VertexStepContract<E> {
+public class VertexStep<E extends Element> extends FlatMapStep<Vertex, E> implements Configuring, VertexStepContract<E>, Batching<Vertex, E> {
 
     protected Parameters parameters = new Parameters();
     private final String[] edgeLabels;
@@ -75,6 +80,26 @@ public class VertexStep<E extends Element> extends FlatMapStep<Vertex, E> implem
                 (Iterator<E>) traverser.get().edges(this.direction, this.edgeLabels);
     }
 
+    /**
+     * Gets the adjacent elements of all the vertices of the batch from the graph at once if it supports
+     * {@link BatchedAdjacency}.
+     */
+    @Override
+    public void processBatch(final TraverserBatch<Vertex> starts, final int from, final int to, final TraverserBatch<E> ends) {
+        final Graph graph = this.getTraversal().getGraph().orElse(null);
+        if (!(graph instanceof BatchedAdjacency)) {
+            super.processBatch(starts, from, to, ends);
+            return;
+        }
+
+        final List<Vertex> vertices = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            vertices.add(starts.get(i).get());
+        }
+        ((BatchedAdjacency) graph).adjacent(vertices, this.direction, this.returnClass, this.edgeLabels,
+                (element, index) -> ends.add(starts.get(from + index).split(element, this)));
+    }
+
     @Override
     public Direction getDirection() {
         return this.direction;
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserBatch;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Runs a sequence of {@link Batching} steps over batches of traversers. Each step processes up to
+ * {@code batchSize} of the traversers produced by the step before it at a time, so that the traversers which are held
+ * between the steps stay bounded even when the steps produce many traversers for each one they get. It is added to a
+ * traversal by the {@link BatchStrategy}.
+ */
+public final class BatchStep<S, E> extends AbstractStep<S, E> {
+
+    private List<Step<?, ?>> stages;
+    private final int batchSize;
+
+    /**
+     * The traversers taken from the previous step followed by the traversers produced by each stage, along with the
+     * index of the next traverser of each batch to process.
+     */
+    private TraverserBatch<?>[] batches = null;
+    private int[] cursors = null;
+
+    public BatchStep(final Traversal.Admin traversal, final List<Step<?, ?>> stages, final int batchSize) {
+        super(traversal);
+        this.stages = stages;
+        this.batchSize = batchSize;
+    }
+
+    public List<Step<?, ?>> getStages() {
+        return Collections.unmodifiableList(this.stages);
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() throws NoSuchElementException {
+        if (null == this.batches) {
+            this.batches = new TraverserBatch<?>[this.stages.size() + 1];
+            for (int i = 0; i < this.batches.length; i++) {
+                this.batches[i] = new TraverserBatch<>(this.batchSize);
+            }
+            this.cursors = new int[this.batches.length];
+        }
+
+        final int last = this.stages.size();
+        if (!this.fill(last))
+            throw FastNoSuchElementException.instance();
+        return (Traverser.Admin<E>) this.batches[last].get(this.cursors[last]++);
+    }
+
+    /**
+     * Makes sure the batch at the level has traversers left to process, running the stage that produces it over the
+     * next traversers of the level before, and gets whether there are any traversers left.
+     */
+    private boolean fill(final int level) {
+        final TraverserBatch batch = this.batches[level];
+        while (this.cursors[level] >= batch.size()) {
+            batch.clear();
+            this.cursors[level] = 0;
+            if (0 == level) {
+                while (batch.size() < this.batchSize && this.starts.hasNext()) {
+                    batch.add(this.starts.next());
+                }
+                return !batch.isEmpty();
+            }
+
+            if (!this.fill(level - 1))
+                return false;
+            final TraverserBatch input = this.batches[level - 1];
+            final int from = this.cursors[level - 1];
+            final int to = Math.min(input.size(), from + this.batchSize);
+            this.cursors[level - 1] = to;
+
+            final Step<?, ?> stage = this.stages.get(level - 1);
+            ((Batching) stage).processBatch(input, from, to, batch);
+            if (!stage.getLabels().isEmpty()) {
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).addLabels(stage.getLabels());
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        final Set<TraverserRequirement> requirements = EnumSet.noneOf(TraverserRequirement.class);
+        for (final Step<?, ?> stage : this.stages) {
+            requirements.addAll(stage.getRequirements());
+            // the labels of the stages are hidden from the traversal which otherwise requires a labeled path for them
+            if (!stage.getLabels().isEmpty())
+                requirements.add(TraverserRequirement.LABELED_PATH);
+        }
+        return requirements;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.stages.forEach(Step::reset);
+        this.batches = null;
+        this.cursors = null;
+    }
+
+    @Override
+    public BatchStep<S, E> clone() {
+        final BatchStep<S, E> clone = (BatchStep<S, E>) super.clone();
+        clone.stages = new ArrayList<>(this.stages.size());
+        for (final Step<?, ?> stage : this.stages) {
+            clone.stages.add(stage.clone());
+        }
+        clone.batches = null;
+        clone.cursors = null;
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> traversal) {
+        super.setTraversal(traversal);
+        for (final Step<?, ?> stage : this.stages) {
+            stage.setTraversal(traversal);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.batchSize, this.stages);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.stages.hashCode() ^ this.batchSize;
+    }
+}
@@ -24,20 +24,29 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * A {@link Path} where each object is a node that points to the path before it, so that the traversers split from a
+ * traverser share its path as their common prefix. The labels of the nodes are interned, so that all the nodes with
+ * the same labels share a single unmodifiable set of them.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class ImmutablePath implements Path, Serializable, Cloneable {
 
     private static final Object END = EmptyPath.instance();
     private static final ImmutablePath TAIL_PATH = new ImmutablePath(null, END, null);
+    private static final int MAX_INTERNED_LABELS = 1024;
+    private static final Map<List<String>, Set<String>> INTERNED_LABELS = new ConcurrentHashMap<>();
 
     private ImmutablePath previousPath;
     private Object currentObject;
@@ -60,7 +69,27 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
     }
 
     private final boolean isTail() {
-        return END.equals(this.currentObject);
+        return null == this.previousPath;
+    }
+
+    /**
+     * Gets the unmodifiable set shared by all the nodes with these labels in this order, so that a node neither holds
+     * on to the labels of a step, which are mutable, nor retains a copy of its own.
+     */
+    private static Set<String> intern(final Set<String> labels) {
+        if (labels.isEmpty())
+            return Collections.emptySet();
+        final List<String> key = new ArrayList<>(labels);
+        Set<String> interned = INTERNED_LABELS.get(key);
+        if (null == interned) {
+            interned = Collections.unmodifiableSet(new LinkedHashSet<>(key));
+            // the labels come from the steps of traversals so there are few of them, but keep the map bounded
+            if (INTERNED_LABELS.size() < MAX_INTERNED_LABELS) {
+                final Set<String> existing = INTERNED_LABELS.putIfAbsent(key, interned);
+                if (null != existing) interned = existing;
+            }
+        }
+        return interned;
     }
 
     @Override
@@ -86,7 +115,7 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public Path extend(final Object object, final Set<String> labels) {
-        return new ImmutablePath(this, object, labels);
+        return new ImmutablePath(this, object, intern(labels));
     }
 
     @Override
@@ -97,7 +126,7 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
             final Set<String> newLabels = new LinkedHashSet<>();
             newLabels.addAll(this.currentLabels);
             newLabels.addAll(labels);
-            return new ImmutablePath(this.previousPath, this.currentObject, newLabels);
+            return new ImmutablePath(this.previousPath, this.currentObject, intern(newLabels));
         }
     }
 
@@ -106,26 +135,43 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         if (labels.isEmpty())
             return this;
 
-        // get all the immutable path sections
-        final List<ImmutablePath> immutablePaths = new ArrayList<>();
+        // get all the immutable path sections and the first of them that changes
+        final ImmutablePath[] immutablePaths = new ImmutablePath[this.size()];
+        int first = -1;
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            immutablePaths.add(0, currentPath);
+        for (int i = immutablePaths.length - 1; i >= 0; i--) {
+            immutablePaths[i] = currentPath;
+            if (!currentPath.isRetained(labels))
+                first = i;
             currentPath = currentPath.previousPath;
         }
-        // build a new immutable path using the respective path sections that are not to be retracted
-        Path newPath = TAIL_PATH;
-        for (final ImmutablePath immutablePath : immutablePaths) {
-            final Set<String> temp = new LinkedHashSet<>(immutablePath.currentLabels);
-            temp.removeAll(labels);
-            if (!temp.isEmpty())
-                newPath = newPath.extend(immutablePath.currentObject, temp);
+        if (-1 == first)
+            return this;
+
+        // the sections before the first one that changes are shared so only build new sections from there on
+        Path newPath = immutablePaths[first].previousPath;
+        for (int i = first; i < immutablePaths.length; i++) {
+            final ImmutablePath immutablePath = immutablePaths[i];
+            if (immutablePath.isRetained(labels)) {
+                newPath = new ImmutablePath((ImmutablePath) newPath, immutablePath.currentObject, immutablePath.currentLabels);
+            } else {
+                final Set<String> temp = new LinkedHashSet<>(immutablePath.currentLabels);
+                temp.removeAll(labels);
+                if (!temp.isEmpty())
+                    newPath = newPath.extend(immutablePath.currentObject, temp);
+            }
         }
         return newPath;
     }
 
+    /**
+     * Determines if the section is kept as it is by a retraction of the labels, which drops the sections that are left
+     * without labels.
+     */
+    private boolean isRetained(final Set<String> labels) {
+        return !this.currentLabels.isEmpty() && Collections.disjoint(this.currentLabels, labels);
+    }
+
     @Override
     public <A> A get(final int index) {
         int counter = this.size();
@@ -149,9 +195,10 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
                 if (currentPath.isTail())
                     break;
                 else if (currentPath.currentLabels.contains(label))
-                    list.add(0, currentPath.currentObject);
+                    list.add(currentPath.currentObject);
                 currentPath = currentPath.previousPath;
             }
+            Collections.reverse(list);
             return (A) list;
         } else if (Pop.last == pop) {
             ImmutablePath currentPath = this;
@@ -193,28 +240,24 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public List<Object> objects() {
-        final List<Object> objects = new ArrayList<>();
+        final Object[] objects = new Object[this.size()];
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            objects.add(0, currentPath.currentObject);
+        for (int i = objects.length - 1; i >= 0; i--) {
+            objects[i] = currentPath.currentObject;
             currentPath = currentPath.previousPath;
         }
-        return Collections.unmodifiableList(objects);
+        return Collections.unmodifiableList(Arrays.asList(objects));
     }
 
     @Override
     public List<Set<String>> labels() {
-        final List<Set<String>> labels = new ArrayList<>();
+        final Set<String>[] labels = new Set[this.size()];
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            labels.add(0, currentPath.currentLabels);
+        for (int i = labels.length - 1; i >= 0; i--) {
+            labels[i] = currentPath.currentLabels;
             currentPath = currentPath.previousPath;
         }
-        return Collections.unmodifiableList(labels);
+        return Collections.unmodifiableList(Arrays.asList(labels));
     }
 
     @Override
@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Executes a child traversal which starts with a {@link GraphStep} and ends with a {@link Barrier} on several threads
+ * and emits the traversers of the {@link Barrier}. The elements of the {@link GraphStep} are split in batches among
+ * clones of the child traversal which run on the common {@link ForkJoinPool} and on the calling thread, and the
+ * barriers of the clones are merged with the reducer of the {@link Barrier#getMemoryComputeKey()} just like the
+ * barriers of the workers of a {@code GraphComputer} are. It is added to a traversal by the {@link ParallelStrategy}.
+ */
+public final class ParallelStep<S, E> extends AbstractStep<S, E> implements TraversalParent {
+
+    /**
+     * Number of elements a split takes from the {@link GraphStep} at a time.
+     */
+    public static final int BATCH_SIZE = 256;
+
+    private Traversal.Admin<?, E> parallelTraversal;
+    private final int parallelism;
+    private Traversal.Admin<?, E> executedTraversal = null;
+
+    public ParallelStep(final Traversal.Admin traversal, final Traversal.Admin<?, E> parallelTraversal, final int parallelism) {
+        super(traversal);
+        this.parallelTraversal = this.integrateChild(parallelTraversal);
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() throws NoSuchElementException {
+        if (null == this.executedTraversal)
+            this.executedTraversal = this.execute();
+        final Traverser.Admin<E> traverser = this.executedTraversal.getEndStep().next();
+        traverser.setSideEffects(this.getTraversal().getSideEffects());
+        return traverser;
+    }
+
+    /**
+     * Runs the splits and gets a clone of the child traversal whose {@link Barrier} holds their merged results. The
+     * child traversal itself is left untouched so that it can be executed again after a reset or by a clone.
+     */
+    private Traversal.Admin<?, E> execute() {
+        final Traversal.Admin<?, E> executed = this.parallelTraversal.clone();
+        final GraphStep graphStep = (GraphStep) executed.getStartStep();
+        final Barrier barrier = (Barrier) executed.getEndStep();
+
+        // the elements are only handed to the splits and the barrier of the clone only gets their results
+        final Supplier<? extends Iterator<?>> iteratorSupplier = graphStep.getIteratorSupplier();
+        final Iterator<?> elements = null == iteratorSupplier ? Collections.emptyIterator() : iteratorSupplier.get();
+        graphStep.setIteratorSupplier(Collections::emptyIterator);
+
+        final Splitter splitter = new Splitter(elements);
+        final List<Traversal.Admin<?, E>> splits = new ArrayList<>(this.parallelism);
+        for (int i = 0; i < this.parallelism; i++) {
+            final Traversal.Admin<?, E> split = this.parallelTraversal.clone();
+            ((GraphStep) split.getStartStep()).setIteratorSupplier(() -> splitter.iterator());
+            splits.add(split);
+        }
+
+        final List<SplitTask> tasks = new ArrayList<>(this.parallelism - 1);
+        try {
+            for (int i = 1; i < this.parallelism; i++) {
+                final SplitTask task = new SplitTask(splitter, splits.get(i));
+                ForkJoinPool.commonPool().execute(task);
+                tasks.add(task);
+            }
+
+            // the calling thread processes a split too rather than waiting for the pool
+            Object merged = splitter.process(splits.get(0));
+            final BinaryOperator<Object> reducer = (BinaryOperator<Object>) barrier.getMemoryComputeKey().getReducer();
+            for (final SplitTask task : tasks) {
+                final Object partial = task.joinSplit();
+                if (null != partial)
+                    merged = null == merged ? partial : reducer.apply(merged, partial);
+            }
+            if (null != merged)
+                barrier.addBarrier(merged);
+            return executed;
+        } finally {
+            splitter.cancel();
+            CloseableIterator.closeIterator(elements);
+        }
+    }
+
+    @Override
+    public List<Traversal.Admin<?, E>> getGlobalChildren() {
+        return Collections.singletonList(this.parallelTraversal);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.getSelfAndChildRequirements();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.executedTraversal = null;
+    }
+
+    @Override
+    public ParallelStep<S, E> clone() {
+        final ParallelStep<S, E> clone = (ParallelStep<S, E>) super.clone();
+        clone.parallelTraversal = this.parallelTraversal.clone();
+        clone.executedTraversal = null;
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.integrateChild(this.parallelTraversal);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.parallelism, this.parallelTraversal);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.parallelTraversal.hashCode() ^ this.parallelism;
+    }
+
+    /**
+     * Hands out the elements of the {@link GraphStep} in batches to the splits and stops them once one failed.
+     */
+    private static final class Splitter {
+
+        private final Iterator<?> elements;
+        private volatile boolean cancelled = false;
+
+        private Splitter(final Iterator<?> elements) {
+            this.elements = elements;
+        }
+
+        private synchronized List<Object> nextBatch() {
+            if (this.cancelled || !this.elements.hasNext())
+                return Collections.emptyList();
+            final List<Object> batch = new ArrayList<>(BATCH_SIZE);
+            while (batch.size() < BATCH_SIZE && this.elements.hasNext()) {
+                batch.add(this.elements.next());
+            }
+            return batch;
+        }
+
+        private void cancel() {
+            this.cancelled = true;
+        }
+
+        /**
+         * Runs the split up to its {@link Barrier} and gets the barrier or {@code null} if it produced none.
+         */
+        private Object process(final Traversal.Admin<?, ?> split) {
+            try {
+                final Barrier<?> barrier = (Barrier<?>) split.getEndStep();
+                return barrier.hasNextBarrier() ? barrier.nextBarrier() : null;
+            } catch (final RuntimeException | Error e) {
+                this.cancel();
+                throw e;
+            }
+        }
+
+        private Iterator<Object> iterator() {
+            return new Iterator<Object>() {
+                private Iterator<Object> batch = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    if (!this.batch.hasNext())
+                        this.batch = nextBatch().iterator();
+                    return this.batch.hasNext();
+                }
+
+                @Override
+                public Object next() {
+                    if (!this.hasNext())
+                        throw new NoSuchElementException();
+                    return this.batch.next();
+                }
+            };
+        }
+    }
+
+    /**
+     * Runs a split on the {@link ForkJoinPool} and keeps the failure it threw, as {@link ForkJoinTask#join()} wraps
+     * the failures of tasks that ran on other threads into new exceptions.
+     */
+    private static final class SplitTask extends RecursiveTask<Object> {
+
+        private final Splitter splitter;
+        private final Traversal.Admin<?, ?> split;
+        private volatile Throwable failure = null;
+
+        private SplitTask(final Splitter splitter, final Traversal.Admin<?, ?> split) {
+            this.splitter = splitter;
+            this.split = split;
+        }
+
+        @Override
+        protected Object compute() {
+            try {
+                return this.splitter.process(this.split);
+            } catch (final RuntimeException | Error e) {
+                this.failure = e;
+                throw e;
+            }
+        }
+
+        /**
+         * Joins the task and rethrows its failure as it was thrown by the split.
+         */
+        private Object joinSplit() {
+            try {
+                return this.join();
+            } catch (final RuntimeException | Error e) {
+                final Throwable original = this.failure;
+                if (original instanceof RuntimeException) throw (RuntimeException) original;
+                if (original instanceof Error) throw (Error) original;
+                throw e;
+            }
+        }
+    }
+}
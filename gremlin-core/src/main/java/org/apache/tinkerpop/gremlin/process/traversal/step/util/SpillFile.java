@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * A temporary file that a {@link Spilling} step writes traversers to and reads them back from in the order they were
+ * written. The objects of traversers are detached with their properties when written, so that elements nested in
+ * lists, maps and paths keep their properties, and a traverser whose object is an element is attached to the graph of
+ * the traversal when read. Writing requires the objects and side-effect keys of traversers to be {@code Serializable}.
+ * The path of a traverser is not attached so steps should not spill traversers whose paths are used later on. The file
+ * is deleted once read or when closed, so the step that spills has to close it if it does not read it.
+ */
+public final class SpillFile<S> implements AutoCloseable {
+
+    private final File file;
+    private ObjectOutputStream output;
+    private ObjectInputStream input;
+    private long size = 0;
+
+    /**
+     * Creates a file in the directory, or the default temporary directory if {@code null}.
+     */
+    public SpillFile(final String directory) {
+        try {
+            this.file = File.createTempFile("gremlin-spill-", ".bin", null == directory ? null : new File(directory));
+            this.output = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(this.file)));
+        } catch (final IOException ioe) {
+            throw new IllegalStateException("Could not create a file to spill traversers to in " + directory, ioe);
+        }
+    }
+
+    /**
+     * Detaches the traverser and writes it to the file. Its object is detached with properties, except for a property
+     * which is detached as a reference so that it is attached to the property of its element when read.
+     */
+    public void add(final Traverser.Admin<S> traverser) {
+        if (null == this.output)
+            throw new IllegalStateException("Traversers can not be added to a spill file that is being read");
+        try {
+            final S object = traverser.get();
+            traverser.detach();
+            if (!(object instanceof Property)) traverser.set(DetachedFactory.detach(object, true));
+            this.output.writeObject(traverser);
+            // keep the stream from holding on to every object written to it
+            this.output.reset();
+            this.size++;
+        } catch (final IOException ioe) {
+            throw new IllegalStateException("Could not spill the traverser " + traverser + " to " + this.file, ioe);
+        }
+    }
+
+    /**
+     * Gets the number of traversers written to the file.
+     */
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * Completes the file and reads its traversers back with the side-effects of the traversal and attached to its
+     * graph. The file is deleted once all the traversers are read or when the iterator is closed. A file can only be
+     * read once.
+     */
+    public CloseableIterator<Traverser.Admin<S>> iterator(final Traversal.Admin<?, ?> traversal) {
+        try {
+            this.output.close();
+            this.output = null;
+            this.input = new ObjectInputStream(new BufferedInputStream(new FileInputStream(this.file)));
+        } catch (final IOException ioe) {
+            throw new IllegalStateException("Could not read the spilled traversers from " + this.file, ioe);
+        }
+
+        final Function<Attachable<S>, S> attach = traversal.getGraph().isPresent() ?
+                Attachable.Method.get(traversal.getGraph().get()) : null;
+        return new CloseableIterator<Traverser.Admin<S>>() {
+            private long remaining = size;
+
+            @Override
+            public boolean hasNext() {
+                return this.remaining > 0;
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                if (this.remaining <= 0) throw new NoSuchElementException();
+                try {
+                    final Traverser.Admin<S> traverser = (Traverser.Admin<S>) input.readObject();
+                    if (0 == --this.remaining) SpillFile.this.close();
+                    traverser.setSideEffects(traversal.getSideEffects());
+                    if (null != attach) traverser.attach(attach);
+                    return traverser;
+                } catch (final IOException | ClassNotFoundException e) {
+                    SpillFile.this.close();
+                    throw new IllegalStateException("Could not read the spilled traversers from " + file, e);
+                }
+            }
+
+            @Override
+            public void close() {
+                SpillFile.this.close();
+            }
+        };
+    }
+
+    /**
+     * Closes the file and deletes it.
+     */
+    @Override
+    public void close() {
+        try {
+            if (null != this.output) this.output.close();
+            if (null != this.input) this.input.close();
+        } catch (final IOException ignored) {
+            // the file is deleted either way
+        } finally {
+            this.output = null;
+            this.input = null;
+            this.file.delete();
+        }
+    }
+}
@@ -19,12 +19,14 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.IndexStep;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.util.HyperLogLog;
 
 /**
  * Configuration options to be passed to the {@link GraphTraversal#with(String, Object)}.
@@ -90,4 +92,14 @@ public class WithOptions {
      * Index items using a {@code LinkedHashMap}.
      */
     public static int map = 1;
+
+    //
+    // CountGlobalStep
+    //
+
+    /**
+     * Configures {@link CountGlobalStep} to estimate the number of distinct objects with a {@link HyperLogLog} of the
+     * given precision, or of the {@link HyperLogLog#DEFAULT_PRECISION} if {@code true}.
+     */
+    public static final String distinct = Graph.Hidden.hide("tinkerpop.count.distinct");
 }
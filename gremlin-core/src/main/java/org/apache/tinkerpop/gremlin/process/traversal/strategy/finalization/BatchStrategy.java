@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.BatchedAdjacency;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A strategy that replaces each sequence of at least two {@link Batching} steps, such as {@code out()}, {@code has()},
+ * {@code values()}, {@code id()} or the lazy barriers that {@code LazyBarrierStrategy} adds between them, with a
+ * {@link BatchStep} which runs them over batches of traversers rather than pulling each traverser through all the
+ * steps one at a time. Graphs which implement {@link BatchedAdjacency} get the adjacent elements of a batch of
+ * vertices at once.
+ * <p/>
+ * A batch is processed by each step in turn, so lambdas in the steps see the traversers in a different order than
+ * they would otherwise, the traversal reads up to {@code batchSize} traversers ahead of what it emits and lazy
+ * barriers only bulk the traversers of a batch, which can change the order of the results. It is not applied to
+ * traversals executed by a {@code GraphComputer}.
+ *
+ * <pre>
+ * g.withStrategies(BatchStrategy.build().batchSize(512).create()).V().out().out().has("age", gt(30)).values("name")
+ * </pre>
+ */
+public final class BatchStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    public static final String BATCH_SIZE = "batchSize";
+
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final int batchSize;
+
+    private BatchStrategy(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (this.batchSize < 2 || TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        final List<Step<?, ?>> stages = new ArrayList<>();
+        for (int i = 0; i <= traversal.getSteps().size(); i++) {
+            final Step<?, ?> step = i < traversal.getSteps().size() ? traversal.getSteps().get(i) : null;
+            if (isBatchable(step)) {
+                stages.add(step);
+            } else {
+                if (stages.size() > 1) {
+                    final int index = traversal.getSteps().indexOf(stages.get(0));
+                    stages.forEach(traversal::removeStep);
+                    traversal.addStep(index, new BatchStep<>(traversal, new ArrayList<>(stages), this.batchSize));
+                    i = index + 1;
+                }
+                stages.clear();
+            }
+        }
+    }
+
+    /**
+     * Determines if the step can be a stage of a {@link BatchStep}, which excludes steps with child traversals and
+     * {@code barrier()} steps without a maximum size as a batch would not hold back the traversers they are meant to.
+     */
+    private static boolean isBatchable(final Step<?, ?> step) {
+        return step instanceof Batching && !(step instanceof TraversalParent) &&
+                !(step instanceof NoOpBarrierStep && Integer.MAX_VALUE == ((NoOpBarrierStep<?>) step).getMaxBarrierSize());
+    }
+
+    public static BatchStrategy create(final Configuration configuration) {
+        return new BatchStrategy(configuration.getInt(BATCH_SIZE, DEFAULT_BATCH_SIZE));
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Configuration conf = super.getConfiguration();
+        conf.setProperty(BATCH_SIZE, this.batchSize);
+        return conf;
+    }
+
+    /**
+     * Builds a {@code BatchStrategy} instance.
+     */
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        /**
+         * Sets the maximum number of traversers each step processes at a time, which defaults to
+         * {@link #DEFAULT_BATCH_SIZE}.
+         */
+        public Builder batchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public BatchStrategy create() {
+            return new BatchStrategy(this.batchSize);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+/**
+ * A strategy that executes the start of an OLTP traversal on several threads. The elements of the {@link GraphStep}
+ * which starts the traversal are split among the threads which each run the steps up to the first reducing barrier,
+ * such as {@code count()}, {@code sum()}, {@code group()}, {@code groupCount()} or {@code dedup()}, and the results of
+ * the threads are merged by that barrier before the rest of the traversal continues on the calling thread.
+ * <p/>
+ * The strategy leaves the traversal as it is if the steps before the barrier mutate the graph, write side-effects,
+ * have other barriers or are profiled, and for graphs which support transactions as those are bound to a thread.
+ * Lambdas in the steps before the barrier must be safe to call from several threads. As the order in which the
+ * elements are reduced varies, sums of floating point numbers may differ in their last digits between executions.
+ *
+ * <pre>
+ * g.withStrategies(ParallelStrategy.build().parallelism(8).create()).V().out().out().groupCount()
+ * </pre>
+ */
+public final class ParallelStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    public static final String PARALLELISM = "parallelism";
+
+    private final int parallelism;
+
+    private ParallelStrategy(final int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!traversal.isRoot() || this.parallelism < 2 || TraversalHelper.onGraphComputer(traversal))
+            return;
+        if (!(traversal.getStartStep() instanceof GraphStep) || !((GraphStep<?, ?>) traversal.getStartStep()).isStartStep())
+            return;
+        if (traversal.getGraph().map(graph -> graph.features().graph().supportsTransactions()).orElse(false))
+            return;
+        if (TraversalHelper.hasStepOfAssignableClassRecursively(ProfileSideEffectStep.class, traversal))
+            return;
+
+        Step<?, ?> barrier = null;
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (!isParallelizable(step))
+                return;
+            if (step instanceof Barrier && !(step instanceof NoOpBarrierStep)) {
+                barrier = step;
+                break;
+            }
+        }
+        if (!(barrier instanceof ReducingBarrierStep) && !(barrier instanceof DedupGlobalStep))
+            return;
+
+        final Traversal.Admin parallelTraversal = new DefaultTraversal<>();
+        TraversalHelper.removeToTraversal(traversal.getStartStep(), (Step) barrier.getNextStep(), parallelTraversal);
+        traversal.addStep(0, new ParallelStep<>(traversal, parallelTraversal, this.parallelism));
+    }
+
+    /**
+     * Determines if the step can run on several threads at once, which is not the case for steps with effects that
+     * are shared by all the traversers and for steps with global children that have barriers.
+     */
+    private static boolean isParallelizable(final Step<?, ?> step) {
+        if (step instanceof Mutating || step instanceof SideEffectCapable)
+            return false;
+        if (step instanceof TraversalParent) {
+            for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                if (TraversalHelper.anyStepRecursively(s -> s instanceof Mutating || s instanceof SideEffectCapable, child))
+                    return false;
+            }
+            for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                if (TraversalHelper.anyStepRecursively(s -> s instanceof Mutating || s instanceof SideEffectCapable ||
+                        (s instanceof Barrier && !(s instanceof NoOpBarrierStep)), child))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    public static ParallelStrategy create(final Configuration configuration) {
+        return new ParallelStrategy(configuration.getInt(PARALLELISM, Runtime.getRuntime().availableProcessors()));
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Configuration conf = super.getConfiguration();
+        conf.setProperty(PARALLELISM, this.parallelism);
+        return conf;
+    }
+
+    /**
+     * Builds a {@code ParallelStrategy} instance.
+     */
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Sets the number of threads to execute the traversal on, which defaults to the number of processors.
+         */
+        public Builder parallelism(final int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public ParallelStrategy create() {
+            return new ParallelStrategy(this.parallelism);
+        }
+    }
+}
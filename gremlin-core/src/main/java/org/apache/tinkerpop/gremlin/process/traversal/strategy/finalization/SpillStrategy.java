@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.Set;
+
+/**
+ * A strategy that bounds the number of traversers the {@code order()} and {@code dedup()} steps of a traversal hold in
+ * memory. Once an {@code order()} holds {@code memoryBudget} traversers it sorts them and writes them to a temporary
+ * file, and merges the sorted files back when all its traversers are collected. Once a {@code dedup()} has seen
+ * {@code memoryBudget} distinct objects it writes the remaining traversers to files partitioned by the hash of their
+ * object and deduplicates each file on its own, so those traversers are returned in the order of the files rather than
+ * in the order they arrived.
+ * <p/>
+ * Traversers are written as references to their elements, so spilled objects and side-effect keys must be
+ * {@code Serializable}. It is only applied to steps of the root traversal, not to {@code dedup()} over labels, not to
+ * traversals that require paths and not to traversals executed by a {@code GraphComputer}.
+ *
+ * <pre>
+ * g.withStrategies(SpillStrategy.build().memoryBudget(100000).directory("/tmp").create()).V().order().by("name")
+ * </pre>
+ */
+public final class SpillStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    public static final String MEMORY_BUDGET = "memoryBudget";
+    public static final String DIRECTORY = "directory";
+
+    public static final int DEFAULT_MEMORY_BUDGET = 1000000;
+
+    private final int memoryBudget;
+    private final String directory;
+
+    private SpillStrategy(final int memoryBudget, final String directory) {
+        this.memoryBudget = memoryBudget;
+        this.directory = directory;
+    }
+
+    public int getMemoryBudget() {
+        return this.memoryBudget;
+    }
+
+    public String getDirectory() {
+        return this.directory;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!traversal.isRoot() || this.memoryBudget < 1 || TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        final Set<TraverserRequirement> requirements = traversal.getTraverserRequirements();
+        if (requirements.contains(TraverserRequirement.PATH) || requirements.contains(TraverserRequirement.LABELED_PATH))
+            return;
+
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof OrderGlobalStep ||
+                    (step instanceof DedupGlobalStep && ((DedupGlobalStep<?>) step).getScopeKeys().isEmpty()))
+                ((Spilling) step).setSpilling(this.memoryBudget, this.directory);
+        }
+    }
+
+    public static SpillStrategy create(final Configuration configuration) {
+        return new SpillStrategy(configuration.getInt(MEMORY_BUDGET, DEFAULT_MEMORY_BUDGET),
+                configuration.getString(DIRECTORY, null));
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Configuration conf = super.getConfiguration();
+        conf.setProperty(MEMORY_BUDGET, this.memoryBudget);
+        if (null != this.directory)
+            conf.setProperty(DIRECTORY, this.directory);
+        return conf;
+    }
+
+    /**
+     * Builds a {@code SpillStrategy} instance.
+     */
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int memoryBudget = DEFAULT_MEMORY_BUDGET;
+        private String directory = null;
+
+        /**
+         * Sets the number of traversers a step holds in memory before it spills to disk, which defaults to
+         * {@link #DEFAULT_MEMORY_BUDGET}.
+         */
+        public Builder memoryBudget(final int memoryBudget) {
+            this.memoryBudget = memoryBudget;
+            return this;
+        }
+
+        /**
+         * Sets the directory to write the temporary files to, which defaults to the directory of
+         * {@code java.io.tmpdir}.
+         */
+        public Builder directory(final String directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        public SpillStrategy create() {
+            return new SpillStrategy(this.memoryBudget, this.directory);
+        }
+    }
+}
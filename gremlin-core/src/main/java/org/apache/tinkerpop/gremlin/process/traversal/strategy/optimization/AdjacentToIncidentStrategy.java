@@ -82,7 +82,8 @@ public final class AdjacentToIncidentStrategy extends AbstractTraversalStrategy<
                     optimizeStep(traversal, curr);
                 }
             } else if (isOptimizable(prev)) {
-                if (curr instanceof CountGlobalStep) {
+                // the incident edges or properties are as many as the adjacent elements but not as many distinct ones
+                if (curr instanceof CountGlobalStep && !((CountGlobalStep) curr).isDistinct()) {
                     optimizeStep(traversal, prev);
                 }
             }
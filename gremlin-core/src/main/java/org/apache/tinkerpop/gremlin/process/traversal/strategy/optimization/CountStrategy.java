@@ -220,6 +220,7 @@ public final class CountStrategy extends AbstractTraversalStrategy<TraversalStra
 
     private boolean doStrategy(final Step step) {
         if (!(step instanceof CountGlobalStep) ||
+                ((CountGlobalStep) step).isDistinct() || // limiting the traversers would change the distinct objects
                 !(step.getNextStep() instanceof IsStepContract) ||
                 step.getPreviousStep() instanceof RangeGlobalStepContract) // if a RangeStep was provided, assume that the user knows what he's doing
             return false;
@@ -47,6 +47,10 @@ import java.util.Set;
  * {@link FlatMapStep} if neither path-tracking nor partial path-tracking is required, and the next step is not the
  * traversal's last step or a {@link Barrier}. {@link NoOpBarrierStep}s allow traversers to be bulked, thus this strategy
  * is meant to reduce memory requirements and improve the overall query performance.
+ * <p/>
+ * The inserted barriers are adaptive: they start at a size of 2500 and then grow while their traversers bulk, shrink
+ * when the heap runs low and pass their traversers through when they do not bulk at all. The sizes they chose appear
+ * as annotations in the output of {@code profile()}.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @example <pre>
@@ -93,7 +97,7 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
             final Step<?, ?> step = traversal.getSteps().get(i);
 
             if (step.getLabels().contains(BARRIER_PLACEHOLDER)) {
-                TraversalHelper.insertAfterStep(new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE), step, traversal);
+                TraversalHelper.insertAfterStep(new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE, true), step, traversal);
                 step.removeLabel(BARRIER_PLACEHOLDER);
                 if (step.getLabels().contains(BARRIER_COPY_LABELS)) {
                     step.removeLabel(BARRIER_COPY_LABELS);
@@ -107,11 +111,12 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
                     labeledPath = false;
             }
 
+            // only the number of ids matters for a GraphStep so getIdsAsGValues() avoids pinning their variables
             if (step instanceof FlatMapStep &&
                     !(step instanceof VertexStepContract && ((VertexStepContract) step).returnsEdge()) ||
                     (step instanceof GraphStepContract &&
-                            (i > 0 || ((GraphStepContract) step).getIds().length >= BIG_START_SIZE ||
-                                    (((GraphStepContract) step).getIds().length == 0 && !(step.getNextStep() instanceof HasStep))))) {
+                            (i > 0 || ((GraphStepContract) step).getIdsAsGValues().length >= BIG_START_SIZE ||
+                                    (((GraphStepContract) step).getIdsAsGValues().length == 0 && !(step.getNextStep() instanceof HasStep))))) {
 
                 // DiscardStep, EmptyStep signify the end of the traversal where no barriers are really going to be
                 // helpful after that. ProfileSideEffectStep means the traversal had profile() called on it and if
@@ -123,7 +128,7 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
                         !(step.getNextStep() instanceof DiscardStep) &&
                         !(step.getNextStep() instanceof EmptyStep) &&
                         !(step.getNextStep() instanceof ProfileSideEffectStep)) {
-                    final Step noOpBarrierStep = new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE);
+                    final Step noOpBarrierStep = new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE, true);
                     TraversalHelper.copyLabels(step, noOpBarrierStep, true);
                     TraversalHelper.insertAfterStep(noOpBarrierStep, step, traversal);
                 } else
@@ -22,14 +22,13 @@ package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.IdStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.LabelStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.PathStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SackStep;
-import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectOneStep;
-import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.TreeStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStepContract;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
@@ -41,9 +40,10 @@ import java.util.List;
 import java.util.Set;
 
 /**
- * {@code OrderLimitStrategy} is an OLAP strategy that folds a {@link RangeGlobalStep} into a preceding
- * {@link OrderGlobalStep}. This helps to eliminate traversers early in the traversal and can
- * significantly reduce the amount of memory required by the OLAP execution engine.
+ * {@code OrderLimitStrategy} folds a {@link RangeGlobalStep} into a preceding {@link OrderGlobalStep}. This helps to
+ * eliminate traversers early in the traversal and can significantly reduce the amount of memory required by the
+ * {@link OrderGlobalStep}, which only keeps the traversers that can still be within the range rather than sorting all
+ * of them, both in OLTP and in OLAP.
  *
  * It's worth noting that certain steps are allowed between {@link OrderGlobalStep} and {@link RangeGlobalStep}:
  * <p/>
@@ -51,14 +51,14 @@ import java.util.Set;
  *     <li>{@link IdStep}</li>
  *     <li>{@link LabelStep}</li>
  *     <li>{@link SackStep}</li>
- *     <li>{@link SelectOneStep}</li>
- *     <li>{@link SelectStep}</li>
- *     <li>{@link PathStep}</li>
- *     <li>{@link TreeStep}</li>
+ *     <li>{@link PathStep} without {@code by()} modulators</li>
+ *     <li>{@link TreeStep} without {@code by()} modulators</li>
  * </ul>
  * <p/>
  *
- * These steps will be ignored by the {@code OrderLimitStrategy} and thus not affect its behavior.
+ * These steps will be ignored by the {@code OrderLimitStrategy} and thus not affect its behavior. Steps that may
+ * filter traversers, like {@code select()} of a missing key or {@code path().by()} of a missing property, are not
+ * allowed, as the range would then be taken from fewer traversers than the ones kept by the {@link OrderGlobalStep}.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -70,8 +70,6 @@ public final class OrderLimitStrategy extends AbstractTraversalStrategy<Traversa
             Arrays.asList(LabelStep.class,
                     IdStep.class,
                     PathStep.class,
-                    SelectStep.class,
-                    SelectOneStep.class,
                     SackStep.class,
                     TreeStep.class));
 
@@ -80,9 +78,6 @@ public final class OrderLimitStrategy extends AbstractTraversalStrategy<Traversa
 
     @Override
     public void apply(final Traversal.Admin<?, ?> traversal) {
-        if (!TraversalHelper.onGraphComputer(traversal))
-            return;
-
         final List<OrderGlobalStep> orders = TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal);
         for (final OrderGlobalStep order : orders) {
             RangeGlobalStepContract range = null;
@@ -91,7 +86,8 @@ public final class OrderLimitStrategy extends AbstractTraversalStrategy<Traversa
                 if (currentStep instanceof RangeGlobalStepContract) {
                     range = (RangeGlobalStepContract) currentStep;
                     break;
-                } else if (!LEGAL_STEPS.contains(currentStep.getClass()))
+                } else if (!LEGAL_STEPS.contains(currentStep.getClass()) ||
+                        (currentStep instanceof TraversalParent && !((TraversalParent) currentStep).getLocalChildren().isEmpty()))
                     break;
                 else
                     currentStep = currentStep.getNextStep();
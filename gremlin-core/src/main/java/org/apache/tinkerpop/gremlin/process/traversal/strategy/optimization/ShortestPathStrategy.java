@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.computer.search.path.ShortestPathVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ShortestPathVertexProgramStep;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.decoration.VertexProgramStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ShortestPathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+/**
+ * {@code ShortestPathStrategy} replaces the {@link ShortestPathVertexProgramStep} of {@code shortestPath()} with a
+ * {@link ShortestPathStep} when the traversal is not executed with a {@code GraphComputer}, so that the shortest paths
+ * are searched from each start vertex in OLTP with the same target, edge, distance and maximum distance options.
+ *
+ * @example <pre>
+ * g.V(1).shortestPath().with(ShortestPath.target, __.hasId(6))  // is replaced by an OLTP search from v[1] to v[6]
+ * </pre>
+ */
+public final class ShortestPathStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    private static final ShortestPathStrategy INSTANCE = new ShortestPathStrategy();
+
+    private ShortestPathStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (traversal.getStrategies().getStrategy(VertexProgramStrategy.class).isPresent())
+            return;
+
+        for (final ShortestPathVertexProgramStep step : TraversalHelper.getStepsOfClass(ShortestPathVertexProgramStep.class, traversal)) {
+            final ShortestPathStep shortestPathStep = new ShortestPathStep(traversal,
+                    step.getTargetVertexFilter().equals(ShortestPathVertexProgram.DEFAULT_VERTEX_FILTER_TRAVERSAL) ?
+                            null : step.getTargetVertexFilter().get(),
+                    step.getEdgeTraversal().get(),
+                    step.getDistanceTraversal().equals(ShortestPathVertexProgram.DEFAULT_DISTANCE_TRAVERSAL) ?
+                            null : step.getDistanceTraversal().get(),
+                    step.getMaxDistance(), step.isIncludeEdges());
+            TraversalHelper.replaceStep((Step) step, shortestPathStep, traversal);
+            TraversalHelper.copyLabels(step, shortestPathStep, false);
+        }
+    }
+
+    public static ShortestPathStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+
+import java.util.Arrays;
+
+/**
+ * An array of traversers which steps that are {@link org.apache.tinkerpop.gremlin.process.traversal.step.Batching}
+ * consume and produce. The array grows as traversers are added and is reused by clearing it.
+ */
+public final class TraverserBatch<S> {
+
+    private Traverser.Admin<S>[] traversers;
+    private int size = 0;
+
+    public TraverserBatch(final int capacity) {
+        this.traversers = (Traverser.Admin<S>[]) new Traverser.Admin[Math.max(1, capacity)];
+    }
+
+    public void add(final Traverser.Admin<S> traverser) {
+        if (this.size == this.traversers.length)
+            this.traversers = Arrays.copyOf(this.traversers, this.size << 1);
+        this.traversers[this.size++] = traverser;
+    }
+
+    public Traverser.Admin<S> get(final int index) {
+        return this.traversers[index];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    /**
+     * Removes all the traversers, releasing the references to them but keeping the capacity of the array.
+     */
+    public void clear() {
+        Arrays.fill(this.traversers, 0, this.size, null);
+        this.size = 0;
+    }
+}
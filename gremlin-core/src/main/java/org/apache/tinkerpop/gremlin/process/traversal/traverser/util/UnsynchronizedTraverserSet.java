@@ -0,0 +1,383 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * A {@link TraverserSet} for traversals which are processed by a single thread at a time, which is the case for OLTP
+ * traversals and for the traversals of each OLAP worker. It is not synchronized and keeps its traversers in an array
+ * in insertion order with an open addressing hash table over it, so that adding a traverser neither takes a lock nor
+ * allocates an entry and a traverser equal to one in the set is merged into it in place.
+ */
+public class UnsynchronizedTraverserSet<S> extends TraverserSet<S> {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    /**
+     * The traversers in insertion order where removed ones are {@code null} until the array is compacted.
+     */
+    private transient Traverser.Admin<S>[] entries;
+
+    /**
+     * The hash code of each traverser in {@link #entries}.
+     */
+    private transient int[] hashes;
+
+    /**
+     * Linear probing table of {@code index + 1} into {@link #entries} where {@code 0} marks an empty slot. It is twice
+     * as long as {@link #entries} so that it is never more than half full.
+     */
+    private transient int[] table;
+
+    private transient int head;
+    private transient int tail;
+    private transient int size;
+
+    /**
+     * Number of times traversers were added to or removed from the set, so that iterators fail fast.
+     */
+    private transient int modCount;
+
+    public UnsynchronizedTraverserSet() {
+        super(Collections.emptyMap());
+        this.init(DEFAULT_CAPACITY);
+    }
+
+    public UnsynchronizedTraverserSet(final Traverser.Admin<S> traverser) {
+        this();
+        if (traverser != null)
+            this.add(traverser);
+    }
+
+    /**
+     * Gets an iterator over the traversers in insertion order which, like the iterator of the {@code LinkedHashMap}
+     * of a {@link TraverserSet}, fails fast with a {@code ConcurrentModificationException} if traversers are added to
+     * or removed from the set other than through the iterator itself. Merging the bulk of an equal traverser is not a
+     * modification.
+     */
+    @Override
+    public Iterator<Traverser.Admin<S>> iterator() {
+        return new Iterator<Traverser.Admin<S>>() {
+            private int expectedModCount = modCount;
+            private int current = -1;
+            private int next = head;
+
+            @Override
+            public boolean hasNext() {
+                while (next < tail && null == entries[next]) {
+                    next++;
+                }
+                return next < tail;
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                checkForComodification();
+                if (!this.hasNext())
+                    throw FastNoSuchElementException.instance();
+                current = next++;
+                return entries[current];
+            }
+
+            @Override
+            public void remove() {
+                checkForComodification();
+                if (current < 0 || null == entries[current])
+                    throw new IllegalStateException();
+                removeAt(current);
+                expectedModCount = modCount;
+            }
+
+            private void checkForComodification() {
+                if (expectedModCount != modCount)
+                    throw new ConcurrentModificationException();
+            }
+        };
+    }
+
+    @Override
+    public Traverser.Admin<S> get(final Traverser.Admin<S> traverser) {
+        final int index = this.indexOf(traverser, hash(traverser));
+        return index < 0 ? null : this.entries[index];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public long bulkSize() {
+        long bulk = 0L;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.entries[i]) bulk = bulk + this.entries[i].bulk();
+        }
+        return bulk;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    @Override
+    public boolean contains(final Object traverser) {
+        return traverser instanceof Traverser.Admin && this.indexOf((Traverser.Admin<S>) traverser, hash(traverser)) >= 0;
+    }
+
+    @Override
+    public boolean add(final Traverser.Admin<S> traverser) {
+        final int hash = hash(traverser);
+        final int mask = this.table.length - 1;
+        int slot = hash & mask;
+        while (0 != this.table[slot]) {
+            final int index = this.table[slot] - 1;
+            if (this.hashes[index] == hash && this.entries[index].equals(traverser)) {
+                this.entries[index].merge(traverser);
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (this.tail == this.entries.length) {
+            this.resize();
+            this.insert(traverser, hash);
+        } else {
+            this.entries[this.tail] = traverser;
+            this.hashes[this.tail] = hash;
+            this.table[slot] = ++this.tail;
+            this.size++;
+        }
+        this.modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean offer(final Traverser.Admin<S> traverser) {
+        return this.add(traverser);
+    }
+
+    @Override
+    public Traverser.Admin<S> remove() {  // pop, exception if empty
+        if (0 == this.size)
+            throw FastNoSuchElementException.instance();
+        final Traverser.Admin<S> first = this.entries[this.head];
+        this.removeAt(this.head);
+        return first;
+    }
+
+    @Override
+    public Traverser.Admin<S> poll() {  // pop, null if empty
+        return 0 == this.size ? null : this.remove();
+    }
+
+    @Override
+    public Traverser.Admin<S> element() { // peek, exception if empty
+        if (0 == this.size)
+            throw new NoSuchElementException();
+        return this.entries[this.head];
+    }
+
+    @Override
+    public Traverser.Admin<S> peek() { // peek, null if empty
+        return 0 == this.size ? null : this.entries[this.head];
+    }
+
+    @Override
+    public boolean remove(final Object traverser) {
+        if (!(traverser instanceof Traverser.Admin))
+            return false;
+        final int index = this.indexOf((Traverser.Admin<S>) traverser, hash(traverser));
+        if (index < 0)
+            return false;
+        this.removeAt(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        if (this.tail > 0) {
+            Arrays.fill(this.entries, 0, this.tail, null);
+            Arrays.fill(this.table, 0);
+        }
+        this.head = 0;
+        this.tail = 0;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    public Spliterator<Traverser.Admin<S>> spliterator() {
+        return Spliterators.spliterator(this, Spliterator.DISTINCT);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = this.head; i < this.tail; i++) {
+            if (null == this.entries[i]) continue;
+            if (builder.length() > 1) builder.append(", ");
+            builder.append(this.entries[i]);
+        }
+        return builder.append(']').toString();
+    }
+
+    @Override
+    public void sort(final Comparator<Traverser<S>> comparator) {
+        final List<Traverser.Admin<S>> list = this.drain();
+        Collections.sort(list, comparator);
+        list.forEach(this::add);
+    }
+
+    @Override
+    public void shuffle(final Random random) {
+        final List<Traverser.Admin<S>> list = this.drain();
+        Collections.shuffle(list, random);
+        list.forEach(this::add);
+    }
+
+    private List<Traverser.Admin<S>> drain() {
+        final List<Traverser.Admin<S>> list = new ArrayList<>(this.size);
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.entries[i]) list.add(this.entries[i]);
+        }
+        this.clear();
+        return list;
+    }
+
+    private static int hash(final Object traverser) {
+        final int hash = traverser.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private int indexOf(final Traverser.Admin<S> traverser, final int hash) {
+        final int mask = this.table.length - 1;
+        int slot = hash & mask;
+        while (0 != this.table[slot]) {
+            final int index = this.table[slot] - 1;
+            if (this.hashes[index] == hash && this.entries[index].equals(traverser))
+                return index;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(final Traverser.Admin<S> traverser, final int hash) {
+        final int mask = this.table.length - 1;
+        int slot = hash & mask;
+        while (0 != this.table[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        this.entries[this.tail] = traverser;
+        this.hashes[this.tail] = hash;
+        this.table[slot] = ++this.tail;
+        this.size++;
+    }
+
+    private void removeAt(final int index) {
+        final int mask = this.table.length - 1;
+        int slot = this.hashes[index] & mask;
+        while (this.table[slot] != index + 1) {
+            slot = (slot + 1) & mask;
+        }
+
+        // shift back the following slots of the probe sequence so that lookups need no tombstones
+        int gap = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (0 == this.table[next]) break;
+            final int home = this.hashes[this.table[next] - 1] & mask;
+            if (gap <= next ? (gap < home && home <= next) : (gap < home || home <= next)) continue;
+            this.table[gap] = this.table[next];
+            gap = next;
+        }
+        this.table[gap] = 0;
+
+        this.entries[index] = null;
+        this.size--;
+        this.modCount++;
+        if (0 == this.size) {
+            this.head = 0;
+            this.tail = 0;
+        } else {
+            while (null == this.entries[this.head]) {
+                this.head++;
+            }
+        }
+    }
+
+    /**
+     * Makes room for another traverser at the end of {@link #entries} by dropping the removed traversers and doubling
+     * the capacity if more than half of it is still in use.
+     */
+    private void resize() {
+        final Traverser.Admin<S>[] oldEntries = this.entries;
+        final int[] oldHashes = this.hashes;
+        final int oldHead = this.head;
+        final int oldTail = this.tail;
+        this.init(this.size >= oldEntries.length / 2 ? oldEntries.length * 2 : oldEntries.length);
+        for (int i = oldHead; i < oldTail; i++) {
+            if (null != oldEntries[i]) this.insert(oldEntries[i], oldHashes[i]);
+        }
+    }
+
+    private void init(final int capacity) {
+        this.entries = new Traverser.Admin[capacity];
+        this.hashes = new int[capacity];
+        this.table = new int[capacity * 2];
+        this.head = 0;
+        this.tail = 0;
+        this.size = 0;
+    }
+
+    private void writeObject(final ObjectOutputStream outputStream) throws IOException {
+        outputStream.defaultWriteObject();
+        outputStream.writeInt(this.size);
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.entries[i]) outputStream.writeObject(this.entries[i]);
+        }
+    }
+
+    private void readObject(final ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+        inputStream.defaultReadObject();
+        final int count = inputStream.readInt();
+        this.init(Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(Math.max(1, count)) << 1));
+        for (int i = 0; i < count; i++) {
+            this.add((Traverser.Admin<S>) inputStream.readObject());
+        }
+    }
+}
@@ -47,7 +47,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.Option
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.SpillStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ByModulatorOptimizationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CountStrategy;
@@ -63,6 +66,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.Path
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.PathRetractionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ProductiveByStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.RepeatUnrollStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ShortestPathStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ComputerVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.EdgeLabelVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.LambdaRestrictionStrategy;
@@ -327,6 +331,9 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             SeedStrategy.class,
                             LazyBarrierStrategy.class,
                             MatchAlgorithmStrategy.class,
+                            ParallelStrategy.class,
+                            BatchStrategy.class,
+                            SpillStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             ByModulatorOptimizationStrategy.class,
                             ProductiveByStrategy.class,
@@ -341,6 +348,7 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             PathProcessorStrategy.class,
                             PathRetractionStrategy.class,
                             RepeatUnrollStrategy.class,
+                            ShortestPathStrategy.class,
                             ComputerVerificationStrategy.class,
                             LambdaRestrictionStrategy.class,
                             ReadOnlyStrategy.class,
@@ -463,6 +471,9 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     SeedStrategy.class,
                     LazyBarrierStrategy.class,
                     MatchAlgorithmStrategy.class,
+                    ParallelStrategy.class,
+                    BatchStrategy.class,
+                    SpillStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     ByModulatorOptimizationStrategy.class,
                     ProductiveByStrategy.class,
@@ -477,6 +488,7 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     PathProcessorStrategy.class,
                     PathRetractionStrategy.class,
                     RepeatUnrollStrategy.class,
+                    ShortestPathStrategy.class,
                     ComputerVerificationStrategy.class,
                     LambdaRestrictionStrategy.class,
                     ReadOnlyStrategy.class,
@@ -575,6 +587,9 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             SeedStrategy.class,
                             LazyBarrierStrategy.class,
                             MatchAlgorithmStrategy.class,
+                            ParallelStrategy.class,
+                            BatchStrategy.class,
+                            SpillStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             ByModulatorOptimizationStrategy.class,
                             ProductiveByStrategy.class,
@@ -589,6 +604,7 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             PathProcessorStrategy.class,
                             PathRetractionStrategy.class,
                             RepeatUnrollStrategy.class,
+                            ShortestPathStrategy.class,
                             ComputerVerificationStrategy.class,
                             LambdaRestrictionStrategy.class,
                             ReadOnlyStrategy.class,
@@ -697,6 +713,9 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     SeedStrategy.class,
                     LazyBarrierStrategy.class,
                     MatchAlgorithmStrategy.class,
+                    ParallelStrategy.class,
+                    BatchStrategy.class,
+                    SpillStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     ByModulatorOptimizationStrategy.class,
                     ProductiveByStrategy.class,
@@ -711,6 +730,7 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     PathProcessorStrategy.class,
                     PathRetractionStrategy.class,
                     RepeatUnrollStrategy.class,
+                    ShortestPathStrategy.class,
                     ComputerVerificationStrategy.class,
                     LambdaRestrictionStrategy.class,
                     ReadOnlyStrategy.class,
@@ -97,6 +97,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTravers
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.IndexedTraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.LabelledCounter;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.UnsynchronizedTraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalMetrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.ImmutableMetrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
@@ -123,6 +124,8 @@ import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceVertex;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceVertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
 import org.apache.tinkerpop.gremlin.structure.util.star.StarGraphSerializer;
+import org.apache.tinkerpop.gremlin.util.HyperLogLog;
+import org.apache.tinkerpop.gremlin.util.QuantileSketch;
 import org.apache.tinkerpop.gremlin.util.function.FunctionUtils;
 import org.apache.tinkerpop.gremlin.util.function.HashSetSupplier;
 import org.apache.tinkerpop.gremlin.util.function.Lambda;
@@ -308,7 +311,10 @@ public enum GryoVersion {
             add(GryoTypeReg.of(StarGraph.StarAdjacentVertex.class, 201));
             add(GryoTypeReg.of(ComputerGraph.class, 202));
             add(GryoTypeReg.of(ComputerGraph.State.class, 203));
-            add(GryoTypeReg.of(ComputerGraph.ComputerAdjacentVertex.class, 204));                    // ***LAST ID***
+            add(GryoTypeReg.of(ComputerGraph.ComputerAdjacentVertex.class, 204));
+            add(GryoTypeReg.of(UnsynchronizedTraverserSet.class, 205));
+            add(GryoTypeReg.of(HyperLogLog.class, 206));
+            add(GryoTypeReg.of(QuantileSketch.class, 207));                                          // ***LAST ID***
 
             add(GryoTypeReg.of(Edge.class, 65, new GryoSerializersV3.EdgeSerializer()));
             add(GryoTypeReg.of(Vertex.class, 66, new GryoSerializersV3.VertexSerializer()));
@@ -520,7 +526,10 @@ public enum GryoVersion {
             add(GryoTypeReg.of(StarGraph.StarAdjacentVertex.class, 201));
             add(GryoTypeReg.of(ComputerGraph.class, 202));
             add(GryoTypeReg.of(ComputerGraph.State.class, 203));
-            add(GryoTypeReg.of(ComputerGraph.ComputerAdjacentVertex.class, 204));                    // ***LAST ID***
+            add(GryoTypeReg.of(ComputerGraph.ComputerAdjacentVertex.class, 204));
+            add(GryoTypeReg.of(UnsynchronizedTraverserSet.class, 205));
+            add(GryoTypeReg.of(HyperLogLog.class, 206));
+            add(GryoTypeReg.of(QuantileSketch.class, 207));                                          // ***LAST ID***
 
             add(GryoTypeReg.of(Edge.class, 65, new GryoSerializersV1.EdgeSerializer()));
             add(GryoTypeReg.of(Vertex.class, 66, new GryoSerializersV1.VertexSerializer()));
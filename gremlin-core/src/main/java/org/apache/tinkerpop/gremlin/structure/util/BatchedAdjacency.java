@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A {@link Graph} may implement {@code BatchedAdjacency} to look up the edges or vertices adjacent to many vertices at
+ * once, which is how a {@link VertexStep} gets them when it processes a batch of traversers. Implementations can use it
+ * to share the work of a lookup among the vertices or to avoid creating an iterator for each of them.
+ */
+public interface BatchedAdjacency {
+
+    /**
+     * Passes the edges or vertices adjacent to each of the vertices to the consumer along with the index of the vertex
+     * in the list. The vertices are processed in order and the elements of each are passed in the order that
+     * {@link Vertex#edges(Direction, String...)} or {@link Vertex#vertices(Direction, String...)} would return them.
+     *
+     * @param vertices    the vertices to get the adjacent elements of
+     * @param direction   the direction of the edges to follow
+     * @param returnClass {@link Vertex} to get the adjacent vertices or {@link org.apache.tinkerpop.gremlin.structure.Edge}
+     *                    to get the incident edges
+     * @param edgeLabels  the labels of the edges to follow or none for all edges
+     * @param consumer    receives each adjacent element and the index of its vertex
+     */
+    public <E extends Element> void adjacent(final List<Vertex> vertices, final Direction direction,
+                                             final Class<E> returnClass, final String[] edgeLabels,
+                                             final ObjIntConsumer<E> consumer);
+}
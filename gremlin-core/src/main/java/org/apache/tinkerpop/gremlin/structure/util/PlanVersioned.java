@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.util;
+
+import org.apache.tinkerpop.gremlin.jsr223.GremlinLangScriptEngine;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+/**
+ * A {@link Graph} may implement {@code PlanVersioned} when its strategies plan traversals from the data of the graph,
+ * such as its indexes or statistics about its elements. A plan cached by the {@link GremlinLangScriptEngine} is only
+ * reused while the version it was planned at is current.
+ */
+public interface PlanVersioned {
+
+    /**
+     * Gets a version that changes whenever a traversal planned now may get a different plan than one planned at an
+     * earlier version.
+     */
+    public long getPlanVersion();
+}
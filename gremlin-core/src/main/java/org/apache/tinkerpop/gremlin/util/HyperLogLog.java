@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A HyperLogLog sketch which estimates the number of distinct objects added to it within a relative standard error of
+ * about {@code 1.04 / sqrt(2^precision)} while only holding {@code 2^precision} single byte registers. Sketches of the
+ * same precision can be merged to estimate the number of distinct objects added to either of them.
+ * <p/>
+ * Objects are hashed to 64 bits by their value so that the hashes are stable across machines and distinct objects
+ * rarely collide even in sketches of billions of objects. An {@link Element} is hashed by its id and lists, sets and
+ * maps by their contents. Other objects only have their 32 bit {@code hashCode()} to go by.
+ */
+public final class HyperLogLog implements Serializable {
+
+    public static final int DEFAULT_PRECISION = 14;
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 18;
+
+    private static final long SEED = 0x9e3779b97f4a7c15L;
+
+    private byte[] registers;
+
+    /**
+     * Creates a sketch with the {@link #DEFAULT_PRECISION}.
+     */
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(final int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION)
+            throw new IllegalArgumentException(String.format("The precision of a HyperLogLog must be between %s and %s: %s",
+                    MIN_PRECISION, MAX_PRECISION, precision));
+        this.registers = new byte[1 << precision];
+    }
+
+    public int getPrecision() {
+        return Integer.numberOfTrailingZeros(this.registers.length);
+    }
+
+    /**
+     * Adds the object to the sketch, where {@code null} is counted as an object of its own.
+     */
+    public HyperLogLog add(final Object object) {
+        return this.addHash(hash(object));
+    }
+
+    /**
+     * Adds an object by its {@link #hash(Object)}, which allows the hashes to be computed ahead of time.
+     */
+    public HyperLogLog addHash(final long hash) {
+        final int precision = this.getPrecision();
+        final int index = (int) (hash >>> (Long.SIZE - precision));
+        // the guard bit bounds the rank when the remaining bits are all zero
+        final byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        if (rank > this.registers[index])
+            this.registers[index] = rank;
+        return this;
+    }
+
+    /**
+     * Merges the other sketch, which must have the same precision, into this one.
+     */
+    public HyperLogLog merge(final HyperLogLog other) {
+        if (other.registers.length != this.registers.length)
+            throw new IllegalArgumentException(String.format("A HyperLogLog of precision %s can not be merged into one of precision %s",
+                    other.getPrecision(), this.getPrecision()));
+        for (int i = 0; i < this.registers.length; i++) {
+            if (other.registers[i] > this.registers[i])
+                this.registers[i] = other.registers[i];
+        }
+        return this;
+    }
+
+    /**
+     * Estimates the number of distinct objects added to the sketch.
+     */
+    public long cardinality() {
+        final int m = this.registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (final byte register : this.registers) {
+            sum += 1.0 / (1L << register);
+            if (0 == register) zeros++;
+        }
+        final double alpha = 16 == m ? 0.673 : 32 == m ? 0.697 : 64 == m ? 0.709 : 0.7213 / (1 + 1.079 / m);
+        final double estimate = alpha * m * m / sum;
+
+        // small cardinalities are estimated more accurately by the number of empty registers
+        if (estimate <= 2.5 * m && zeros > 0)
+            return Math.round(m * Math.log((double) m / zeros));
+        return Math.round(estimate);
+    }
+
+    /**
+     * Hashes the object to the 64 bits that are added to the sketch.
+     */
+    public static long hash(final Object object) {
+        if (null == object) {
+            return mix(0);
+        } else if (object instanceof Element) {
+            return hash(((Element) object).id());
+        } else if (object instanceof CharSequence) {
+            return hash((CharSequence) object);
+        } else if (object instanceof Long || object instanceof Integer || object instanceof Short || object instanceof Byte) {
+            return mix(((Number) object).longValue());
+        } else if (object instanceof Double || object instanceof Float) {
+            return mix(Double.doubleToLongBits(((Number) object).doubleValue()));
+        } else if (object instanceof BigInteger || object instanceof BigDecimal) {
+            return hash(object.toString());
+        } else if (object instanceof UUID) {
+            return mix(combine(((UUID) object).getMostSignificantBits(), ((UUID) object).getLeastSignificantBits()));
+        } else if (object instanceof Enum) {
+            return hash(((Enum<?>) object).name());
+        } else if (object instanceof List) {
+            long hash = SEED;
+            for (final Object item : (List<?>) object) {
+                hash = combine(hash, hash(item));
+            }
+            return mix(hash ^ ((List<?>) object).size());
+        } else if (object instanceof Set) {
+            // the order of a set is not part of its value
+            long hash = SEED;
+            for (final Object item : (Set<?>) object) {
+                hash += hash(item);
+            }
+            return mix(hash ^ ((Set<?>) object).size());
+        } else if (object instanceof Map) {
+            long hash = SEED;
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                hash += mix(combine(hash(entry.getKey()), hash(entry.getValue())));
+            }
+            return mix(hash ^ ((Map<?, ?>) object).size());
+        } else {
+            return mix(object.hashCode());
+        }
+    }
+
+    /**
+     * Hashes the characters four at a time like the body of the 64 bit MurmurHash3.
+     */
+    private static long hash(final CharSequence chars) {
+        final int length = chars.length();
+        long hash = SEED;
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            hash = combine(hash, chars.charAt(i) | (long) chars.charAt(i + 1) << 16 |
+                    (long) chars.charAt(i + 2) << 32 | (long) chars.charAt(i + 3) << 48);
+        }
+        long tail = 0;
+        for (int shift = 0; i < length; i++, shift += 16) {
+            tail |= (long) chars.charAt(i) << shift;
+        }
+        return mix(combine(hash, tail) ^ length);
+    }
+
+    /**
+     * Folds a block of 64 bits into the hash as MurmurHash3 does.
+     */
+    private static long combine(final long hash, long block) {
+        block *= 0x87c37b91114253d5L;
+        block = Long.rotateLeft(block, 31);
+        block *= 0x4cf5ad432745937fL;
+        return Long.rotateLeft(hash ^ block, 27) * 5 + 0x52dce729;
+    }
+
+    /**
+     * The finalizer of MurmurHash3 which spreads every input bit over all the bits of the hash.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof HyperLogLog && Arrays.equals(this.registers, ((HyperLogLog) other).registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.registers);
+    }
+
+    @Override
+    public String toString() {
+        return "hll[" + this.cardinality() + "]";
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A KLL sketch which estimates the quantiles of the numbers added to it while only holding
+ * {@code O(k * log(n / k))} of them, where {@code n} is the number of numbers added. The rank of an estimated quantile
+ * is within about {@code 1.7 / k} of the requested one with high probability. Sketches can be merged to estimate the
+ * quantiles of the numbers added to either of them.
+ * <p/>
+ * The sketch keeps the numbers in levels of compactors, where each number at level {@code h} stands for
+ * {@code 2^h} of the numbers added. A compactor which is full is sorted and every other of its numbers is promoted to
+ * the next level.
+ */
+public final class QuantileSketch implements Serializable {
+
+    public static final int DEFAULT_K = 200;
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private double[][] levels;
+    private int[] sizes;
+    private long count = 0;
+    private long random = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Creates a sketch with a {@code k} of {@link #DEFAULT_K}.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    public QuantileSketch(final int k) {
+        if (k < 8)
+            throw new IllegalArgumentException("The k of a QuantileSketch must be at least 8: " + k);
+        this.k = k;
+        this.levels = new double[][]{new double[capacity(0, 1)]};
+        this.sizes = new int[1];
+    }
+
+    /**
+     * Gets the number of numbers added to the sketch.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Adds the number to the sketch {@code bulk} times.
+     */
+    public QuantileSketch add(final double number, final long bulk) {
+        // a bulk is added as one number per set bit at the level where a number stands for that many
+        for (int level = 0; level < Long.SIZE - 1; level++) {
+            if (0 != (bulk & (1L << level)))
+                this.append(level, number);
+        }
+        this.count += bulk;
+        this.compress();
+        return this;
+    }
+
+    /**
+     * Merges the other sketch into this one.
+     */
+    public QuantileSketch merge(final QuantileSketch other) {
+        for (int level = 0; level < other.levels.length; level++) {
+            for (int i = 0; i < other.sizes[level]; i++) {
+                this.append(level, other.levels[level][i]);
+            }
+        }
+        this.count += other.count;
+        this.compress();
+        return this;
+    }
+
+    /**
+     * Estimates the number at the given fraction, between 0 and 1, of the added numbers in ascending order, or returns
+     * {@code Double.NaN} if no number was added.
+     */
+    public double quantile(final double fraction) {
+        if (fraction < 0 || fraction > 1)
+            throw new IllegalArgumentException("The fraction of a quantile must be between 0 and 1: " + fraction);
+        int size = 0;
+        for (final int levelSize : this.sizes) {
+            size += levelSize;
+        }
+        if (0 == size) return Double.NaN;
+
+        final double[] numbers = new double[size];
+        final long[] weights = new long[size];
+        final Integer[] order = new Integer[size];
+        int i = 0;
+        for (int level = 0; level < this.levels.length; level++) {
+            for (int j = 0; j < this.sizes[level]; j++, i++) {
+                numbers[i] = this.levels[level][j];
+                weights[i] = 1L << level;
+                order[i] = i;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(numbers[a], numbers[b]));
+
+        long total = 0;
+        for (final long weight : weights) {
+            total += weight;
+        }
+        final double rank = fraction * total;
+        long cumulative = 0;
+        for (final int index : order) {
+            cumulative += weights[index];
+            if (cumulative >= rank) return numbers[index];
+        }
+        return numbers[order[size - 1]];
+    }
+
+    private void append(final int level, final double number) {
+        while (level >= this.levels.length) {
+            this.levels = Arrays.copyOf(this.levels, this.levels.length + 1);
+            this.levels[this.levels.length - 1] = new double[capacity(this.levels.length - 1, this.levels.length)];
+            this.sizes = Arrays.copyOf(this.sizes, this.sizes.length + 1);
+        }
+        if (this.sizes[level] == this.levels[level].length)
+            this.levels[level] = Arrays.copyOf(this.levels[level], this.levels[level].length * 2);
+        this.levels[level][this.sizes[level]++] = number;
+    }
+
+    /**
+     * Compacts the lowest full level until the sketch holds fewer numbers than the sum of the capacities of its levels.
+     */
+    private void compress() {
+        while (true) {
+            int size = 0;
+            int maxSize = 0;
+            for (int level = 0; level < this.levels.length; level++) {
+                size += this.sizes[level];
+                maxSize += capacity(level, this.levels.length);
+            }
+            if (size < maxSize) return;
+
+            for (int level = 0; level < this.levels.length; level++) {
+                if (this.sizes[level] >= capacity(level, this.levels.length)) {
+                    this.compact(level);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void compact(final int level) {
+        final double[] numbers = this.levels[level];
+        final int size = this.sizes[level];
+        Arrays.sort(numbers, 0, size);
+
+        // an odd number out stays at its level
+        final int pairs = size / 2;
+        final int offset = this.nextBit();
+        for (int i = 0; i < pairs; i++) {
+            this.append(level + 1, numbers[2 * i + offset]);
+        }
+        if (size % 2 == 1) {
+            numbers[0] = numbers[size - 1];
+            this.sizes[level] = 1;
+        } else {
+            this.sizes[level] = 0;
+        }
+    }
+
+    private int capacity(final int level, final int height) {
+        return (int) Math.ceil(Math.pow(CAPACITY_DECAY, height - level - 1) * this.k) + 1;
+    }
+
+    /**
+     * Gets a pseudo-random bit from a xorshift generator, which unlike {@code Random} keeps the sketch a plain value.
+     */
+    private int nextBit() {
+        this.random ^= this.random << 13;
+        this.random ^= this.random >>> 7;
+        this.random ^= this.random << 17;
+        return (int) (this.random >>> 63);
+    }
+
+    @Override
+    public String toString() {
+        return "kll[" + this.count + "]";
+    }
+}
@@ -19,11 +19,15 @@
 package org.apache.tinkerpop.gremlin.util.function;
 
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.UnsynchronizedTraverserSet;
 
 import java.io.Serializable;
 import java.util.function.Supplier;
 
 /**
+ * Supplies an {@link UnsynchronizedTraverserSet} as the steps of a traversal are only processed by one thread at a
+ * time.
+ *
  * @author Norio Akagi
  */
 public final class TraverserSetSupplier<S> implements Supplier<TraverserSet<S>>, Serializable {
@@ -35,7 +39,7 @@ public final class TraverserSetSupplier<S> implements Supplier<TraverserSet<S>>,
 
     @Override
     public TraverserSet<S> get() {
-        return new TraverserSet<>();
+        return new UnsynchronizedTraverserSet<>();
     }
 
     public static <S> TraverserSetSupplier<S> instance() {
@@ -20,12 +20,15 @@ package org.apache.tinkerpop.gremlin.jsr223;
 
 import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.MapConfiguration;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.tinkerpop.gremlin.language.grammar.VariableResolver;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.GValueReductionStrategy;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.junit.Test;
 
@@ -36,11 +39,15 @@ import javax.script.SimpleBindings;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
 
 public class GremlinLangScriptEngineTest {
 
@@ -119,4 +126,82 @@ public class GremlinLangScriptEngineTest {
             assertEquals(expectedConfig.get(Object.class, key), reconstructedStrategy.getConfiguration().get(Object.class, key));
         });
     }
+
+    /**
+     * Counts its applications to root traversals and pins all variables, as a strategy would that changes the
+     * traversal based on their values.
+     */
+    public static class PinningStrategy extends AbstractTraversalStrategy<TraversalStrategy.DecorationStrategy>
+            implements TraversalStrategy.DecorationStrategy {
+        private final AtomicInteger applied = new AtomicInteger();
+
+        @Override
+        public void apply(final Traversal.Admin<?, ?> traversal) {
+            if (!traversal.isRoot()) return;
+            applied.incrementAndGet();
+            traversal.getGValueManager().pinGValues(traversal.getGValueManager().getVariableNames());
+        }
+    }
+
+    private static GremlinLangScriptEngine createPlanCachingEngine() {
+        return new GremlinLangScriptEngine(new VariableResolverCustomizer(VariableResolver.DefaultVariableResolver::new),
+                new GremlinLangCustomizer(false, true, Caffeine.newBuilder()));
+    }
+
+    private static Bindings createBindings(final GraphTraversalSource g, final Object x) {
+        final Bindings b = new SimpleBindings();
+        b.put("g", g);
+        b.put("x", x);
+        return b;
+    }
+
+    @Test
+    public void shouldReturnLockedTraversalsFromPlanCache() throws ScriptException {
+        final GremlinLangScriptEngine engine = createPlanCachingEngine();
+        final PinningStrategy strategy = new PinningStrategy();
+        final GraphTraversalSource gp = EmptyGraph.instance().traversal().withStrategies(strategy);
+
+        final Traversal.Admin<?, ?> first = (Traversal.Admin<?, ?>) engine.eval("g.V().limit(1)", createBindings(gp, 1));
+        final Traversal.Admin<?, ?> second = (Traversal.Admin<?, ?>) engine.eval("g.V().limit(1)", createBindings(gp, 1));
+        assertTrue(first.isLocked());
+        assertTrue(second.isLocked());
+        assertNotSame(first, second);
+        assertEquals(first.getSteps().toString(), second.getSteps().toString());
+
+        // strategies were only applied when the plan was created
+        assertEquals(1, strategy.applied.get());
+    }
+
+    @Test
+    public void shouldRebindVariablesOfCachedPlan() throws ScriptException {
+        final GremlinLangScriptEngine engine = createPlanCachingEngine();
+        final GraphTraversalSource gr = EmptyGraph.instance().traversal().withStrategies(GValueReductionStrategy.instance());
+
+        final Traversal.Admin<?, ?> first = (Traversal.Admin<?, ?>) engine.eval("g.V().limit(x)", createBindings(gr, 1L));
+        final Traversal.Admin<?, ?> second = (Traversal.Admin<?, ?>) engine.eval("g.V().limit(x)", createBindings(gr, 2L));
+        assertTrue(first.isLocked());
+        assertTrue(second.isLocked());
+        assertEquals("[GraphStep(vertex,[]), RangeGlobalStep(0,1)]", first.getSteps().toString());
+        assertEquals("[GraphStep(vertex,[]), RangeGlobalStep(0,2)]", second.getSteps().toString());
+    }
+
+    @Test
+    public void shouldNotUseCachedPlanForOtherValuesOfPinnedVariables() throws ScriptException {
+        final GremlinLangScriptEngine engine = createPlanCachingEngine();
+        final PinningStrategy strategy = new PinningStrategy();
+        final GraphTraversalSource gp = EmptyGraph.instance().traversal().
+                withStrategies(strategy, GValueReductionStrategy.instance());
+
+        final Traversal.Admin<?, ?> first = (Traversal.Admin<?, ?>) engine.eval("g.V().limit(x)", createBindings(gp, 1L));
+        final Traversal.Admin<?, ?> second = (Traversal.Admin<?, ?>) engine.eval("g.V().limit(x)", createBindings(gp, 1L));
+        assertTrue(first.isLocked());
+        assertTrue(second.isLocked());
+        assertEquals(1, strategy.applied.get());
+
+        // the plan is only valid for x=1 so the traversal is returned unplanned
+        final Traversal.Admin<?, ?> third = (Traversal.Admin<?, ?>) engine.eval("g.V().limit(x)", createBindings(gp, 2L));
+        assertFalse(third.isLocked());
+        third.applyStrategies();
+        assertEquals("[GraphStep(vertex,[]), RangeGlobalStep(0,2)]", third.getSteps().toString());
+    }
 }
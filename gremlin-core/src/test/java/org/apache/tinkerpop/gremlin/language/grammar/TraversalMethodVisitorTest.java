@@ -727,6 +727,12 @@ public class TraversalMethodVisitorTest {
         compare(g.V().peerPressure(), eval("g.V().peerPressure()"));
     }
 
+    @Test
+    public void shouldParseTraversalMethod_percentile() throws Exception {
+        compare(g.V().values("age").percentile(95), eval("g.V().values('age').percentile(95)"));
+        compare(g.V().values("age").percentile(50, 99), eval("g.V().values('age').percentile(50, 99)"));
+    }
+
     @Test
     public void shouldParseTraversalMethod_product_Object() throws Exception {
         final ArrayList<Integer> list = new ArrayList<>();
@@ -1104,6 +1110,14 @@ public class TraversalMethodVisitorTest {
                 eval("g.V().has('code','AUS').valueMap().with(WithOptions.indexer,WithOptions.map)"));
     }
 
+    @Test
+    public void visitTraversalMethod_withOptionsDistinct() throws Exception {
+        compare(g.V().values("name").count().with(WithOptions.distinct),
+                eval("g.V().values('name').count().with(WithOptions.distinct)"));
+        compare(g.V().values("name").count().with(WithOptions.distinct, 12),
+                eval("g.V().values('name').count().with(WithOptions.distinct, 12)"));
+    }
+
     @Test
     public void shouldParseTraversalMethod_peerPressure_withPropertyName() throws Exception {
         compare(g.V().peerPressure().with(PeerPressure.propertyName, "cluster"),
@@ -24,12 +24,14 @@ import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedPath;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferencePath;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -39,6 +41,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -549,4 +552,26 @@ public class PathTest {
             }
         });
     }
+
+    @Test
+    public void shouldInternLabelsOfImmutablePath() {
+        final Set<String> labels = new LinkedHashSet<>(Arrays.asList("a", "b"));
+        final Path path = ImmutablePath.make().extend(1, labels).
+                extend(2, new LinkedHashSet<>(Arrays.asList("a", "b"))).
+                extend(3, new LinkedHashSet<>(Arrays.asList("b", "a")));
+        assertSame(path.labels().get(0), path.labels().get(1));
+        assertEquals(Arrays.asList("b", "a"), new ArrayList<>(path.labels().get(2)));
+
+        // the path does not change with the labels it was extended with
+        labels.add("c");
+        assertEquals(2, path.labels().get(0).size());
+        assertFalse(path.hasLabel("c"));
+    }
+
+    @Test
+    public void shouldNotRebuildImmutablePathWithoutLabelsToRetract() {
+        final Path path = ImmutablePath.make().extend(1, Collections.singleton("a")).extend(2, Collections.singleton("b"));
+        assertSame(path, path.retract(Collections.singleton("c")));
+        assertEquals(Arrays.asList(2), path.retract(Collections.singleton("a")).objects());
+    }
 }
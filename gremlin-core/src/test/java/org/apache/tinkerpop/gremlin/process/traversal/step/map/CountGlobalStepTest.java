@@ -19,11 +19,23 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.WithOptions;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.util.HyperLogLog;
+import org.junit.Test;
 
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.stream.IntStream;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -32,6 +44,50 @@ public class CountGlobalStepTest extends StepTest {
 
     @Override
     protected List<Traversal> getTraversals() {
-        return Collections.singletonList(__.count());
+        return Arrays.asList(
+                __.count(),
+                __.count().with(WithOptions.distinct),
+                __.count().with(WithOptions.distinct, 10)
+        );
+    }
+
+    private final GraphTraversalSource g = traversal().withEmbedded(EmptyGraph.instance());
+
+    @Test
+    public void shouldEstimateDistinctCount() {
+        final Object[] numbers = IntStream.range(0, 100000).map(i -> i % 20000).boxed().toArray();
+        final long estimate = g.inject(numbers).count().with(WithOptions.distinct).next();
+        assertTrue(estimate + " is not within 3% of 20000", Math.abs(estimate - 20000) <= 600);
+        assertEquals(100000L, (long) g.inject(numbers).count().with(WithOptions.distinct, false).next());
+        assertEquals(3L, (long) g.inject("a", "b", "a", "c").count().with(WithOptions.distinct).next());
+        assertEquals(0L, (long) g.inject().count().with(WithOptions.distinct).next());
+    }
+
+    @Test
+    public void shouldConfigurePrecision() {
+        final CountGlobalStep<?> step = (CountGlobalStep<?>) __.count().with(WithOptions.distinct, 10).asAdmin().getEndStep();
+        assertTrue(step.isDistinct());
+        assertEquals(10, step.getPrecision());
+        assertFalse(((CountGlobalStep<?>) __.count().asAdmin().getEndStep()).isDistinct());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowInvalidPrecision() {
+        __.count().with(WithOptions.distinct, 30);
+    }
+
+    @Test
+    public void shouldMergeBarriersWithMemoryComputeKeyReducer() {
+        final BinaryOperator<Object> reducer = (BinaryOperator) ((CountGlobalStep<?>) __.count().with(WithOptions.distinct).
+                asAdmin().getEndStep()).getMemoryComputeKey().getReducer();
+        final HyperLogLog a = new HyperLogLog().add("a").add("b");
+        final HyperLogLog b = new HyperLogLog().add("b").add("c");
+        assertEquals(3, ((HyperLogLog) reducer.apply(a, b)).cardinality());
+    }
+
+    @Test
+    public void shouldNotLimitDistinctCount() {
+        assertEquals(Arrays.asList(1L), g.inject(1, 1, 1, 1, 1).count().with(WithOptions.distinct).is(1L).toList());
+        assertEquals(Arrays.asList(), g.inject(1, 1, 1, 1, 1).count().with(WithOptions.distinct).is(5L).toList());
     }
 }
@@ -26,12 +26,16 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.GValue;
 import org.apache.tinkerpop.gremlin.process.traversal.step.GValueStepTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -40,6 +44,8 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -127,6 +133,21 @@ public class GraphStepTest extends GValueStepTest {
         assertTrue(((GraphStepPlaceholder<?,?>) traversal.getSteps().get(0)).getGValues().isEmpty());
     }
 
+    @Test
+    public void shouldNotIterateGraphInCloneOnGraphComputer() {
+        final GraphStep<?, Vertex> step = new GraphStep<>(__.start().asAdmin(), Vertex.class, true);
+        step.onGraphComputer();
+        assertFalse(step.clone().getIteratorSupplier().get().hasNext());
+    }
+
+    @Test
+    public void shouldShareDirectlyAssignedIteratorSupplierWithClone() {
+        final GraphStep<?, Vertex> step = new GraphStep<>(__.start().asAdmin(), Vertex.class, true);
+        final Supplier<Iterator<Vertex>> supplier = Collections::emptyIterator;
+        step.iteratorSupplier = supplier;
+        assertSame(supplier, step.clone().getIteratorSupplier());
+    }
+
     private GraphTraversal.Admin<?, ?> getGraphStepGValueTraversal() {
         return __.V(GValue.of("x", 1), GValue.of("y", 2), 3, GValue.of("z", 4))
                 .asAdmin();
@@ -21,12 +21,16 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.junit.Test;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Florian Grieskamp
@@ -52,4 +56,55 @@ public class NoOpBarrierStepTest extends StepTest {
         final NoOpBarrierStep<?> barrier = (NoOpBarrierStep<?>) traversal.getStartStep();
         assertEquals(customBarrierSize, barrier.getMaxBarrierSize());
     }
+
+    @Test
+    public void shouldGrowAdaptiveBarrierWhileTraversersBulk() {
+        // every number is unfolded four times in a row so that each full barrier bulks four traversers into one
+        final Traversal.Admin<List, Integer> traversal = __.inject(IntStream.range(0, 10000).boxed().
+                map(i -> Collections.nCopies(4, i)).toArray(List[]::new)).<Integer>unfold().asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 100, true);
+        traversal.addStep(barrier);
+
+        long bulk = 0;
+        while (traversal.hasNext()) {
+            bulk += traversal.nextTraverser().bulk();
+        }
+        assertEquals(40000, bulk);
+        assertTrue(barrier.getBarrierSize() > 100);
+        assertEquals(100, barrier.getMaxBarrierSize());
+        assertFalse(barrier.isDisabled());
+    }
+
+    @Test
+    public void shouldDisableAdaptiveBarrierWhenTraversersDoNotBulk() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(IntStream.range(0, 10000).boxed().
+                toArray(Integer[]::new)).asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 100, true);
+        final MutableMetrics metrics = new MutableMetrics(barrier.getId(), barrier.toString());
+        barrier.setMetrics(metrics);
+        traversal.addStep(barrier);
+
+        int expected = 0;
+        while (traversal.hasNext()) {
+            assertEquals(expected++, traversal.next().intValue());
+        }
+        assertEquals(10000, expected);
+        assertTrue(barrier.isDisabled());
+        assertEquals(100, metrics.getAnnotation(NoOpBarrierStep.BARRIER_SIZE_ANNOTATION));
+        assertEquals(1.0, metrics.getAnnotation(NoOpBarrierStep.BULKING_RATIO_ANNOTATION));
+        assertTrue(metrics.getAnnotations().containsKey(NoOpBarrierStep.BARRIER_DISABLED_ANNOTATION));
+    }
+
+    @Test
+    public void shouldNotAdaptBarrierOfFixedSize() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(IntStream.range(0, 40000).boxed().
+                map(i -> i % 2 == 0 ? i : i - 1).toArray(Integer[]::new)).asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 100);
+        traversal.addStep(barrier);
+        traversal.iterate();
+
+        assertFalse(barrier.isAdaptive());
+        assertFalse(barrier.isDisabled());
+        assertEquals(100, barrier.getBarrierSize());
+    }
 }
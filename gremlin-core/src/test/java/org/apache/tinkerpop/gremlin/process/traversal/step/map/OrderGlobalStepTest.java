@@ -20,15 +20,25 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -64,4 +74,64 @@ public class OrderGlobalStepTest extends StepTest {
             __.inject(list).unfold().order().by(__.identity(), Order.shuffle).by().iterate();
         }
     }
+
+    @Test
+    public void shouldOnlyKeepTraversersWithinLimit() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        Collections.shuffle(list, new Random(42));
+        assertEquals(Arrays.asList(99, 98, 97), withLimit(__.inject(list).unfold().order().by(Order.desc), 3).toList());
+        assertEquals(Arrays.asList(0), withLimit(__.inject(list).unfold().order(), 1).toList());
+        assertEquals(Collections.emptyList(), withLimit(__.inject(list).unfold().order(), 0).toList());
+    }
+
+    @Test
+    public void shouldOnlyKeepTraversersWithinLimitHonoringBulk() {
+        assertEquals(Arrays.asList(3, 2, 2), withLimit(__.inject(1, 1, 1, 2, 2, 3).barrier().order().by(Order.desc), 3).toList());
+        assertEquals(Arrays.asList(3, 2, 2, 1, 1, 1), withLimit(__.inject(1, 1, 1, 2, 2, 3).barrier().order().by(Order.desc), 4).toList());
+        assertEquals(Arrays.asList(1, 1, 1), withLimit(__.inject(3, 2, 2, 1, 1, 1).barrier().order(), 2).toList());
+    }
+
+    @Test
+    public void shouldOrderWithinLimitLikeAFullSort() {
+        final Random random = new Random(42);
+        final List<Map<String, Object>> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final Map<String, Object> map = new HashMap<>();
+            map.put("id", i);
+            map.put("a", random.nextInt(5));
+            map.put("b", random.nextInt(10));
+            list.add(map);
+        }
+        for (final int limit : Arrays.asList(1, 7, 50, 999, 1000, 2000)) {
+            assertEquals(__.inject(list).unfold().order().by(__.select("a"), Order.desc).by(__.select("b")).limit(limit).toList(),
+                    withLimit(__.inject(list).unfold().order().by(__.select("a"), Order.desc).by(__.select("b")), limit).limit(limit).toList());
+            // ties keep the traversers which arrived first just like the stable sort does
+            assertEquals(__.inject(list).unfold().order().by(__.select("a")).limit(limit).toList(),
+                    withLimit(__.inject(list).unfold().order().by(__.select("a")), limit).limit(limit).toList());
+        }
+    }
+
+    @Test
+    public void shouldOnlyKeepTraversersWithinLimitOfEachBarrier() {
+        final Traversal.Admin<Integer, Integer> traversal = withLimit(__.inject(5, 3, 4).order(), 2).asAdmin();
+        final OrderGlobalStep<Integer, ?> step = TraversalHelper.getLastStepOfAssignableClass(OrderGlobalStep.class, traversal).get();
+        assertEquals(new HashSet<>(Arrays.asList(3, 4)), valuesOf(step.nextBarrier()));
+
+        step.addStarts(traversal.getTraverserGenerator().generateIterator(Arrays.asList(1, 9, 8).iterator(), step, 1L));
+        assertEquals(new HashSet<>(Arrays.asList(1, 8)), valuesOf(step.nextBarrier()));
+    }
+
+    private static Set<Object> valuesOf(final TraverserSet<?> barrier) {
+        final Set<Object> values = new HashSet<>();
+        barrier.forEach(traverser -> values.add(traverser.get()));
+        return values;
+    }
+
+    private static <S, E> GraphTraversal<S, E> withLimit(final GraphTraversal<S, E> traversal, final long limit) {
+        TraversalHelper.getLastStepOfAssignableClass(OrderGlobalStep.class, traversal.asAdmin()).get().setLimit(limit);
+        return traversal;
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.util.QuantileSketch;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.stream.IntStream;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class PercentileGlobalStepTest extends StepTest {
+
+    @Override
+    protected List<Traversal> getTraversals() {
+        return Arrays.asList(
+                __.percentile(50),
+                __.percentile(50, 99)
+        );
+    }
+
+    private final GraphTraversalSource g = traversal().withEmbedded(EmptyGraph.instance());
+
+    @Test
+    public void shouldEstimatePercentiles() {
+        final Object[] numbers = IntStream.rangeClosed(1, 100000).boxed().toArray();
+        final double median = (Double) g.inject(numbers).percentile(50).next();
+        assertEquals(50000, median, 2000);
+        final List<Double> percentiles = (List<Double>) g.inject(numbers).percentile(5, 95.5).next();
+        assertEquals(5000, percentiles.get(0), 2000);
+        assertEquals(95500, percentiles.get(1), 2000);
+    }
+
+    @Test
+    public void shouldCountBulkTowardsPercentiles() {
+        assertEquals(5.0, g.inject(5, 5, 5, 1).barrier().percentile(50).next());
+        assertEquals(1.0, g.inject(5, 1, 1, 1).barrier().percentile(50).next());
+    }
+
+    @Test
+    public void shouldIgnoreNulls() {
+        assertEquals(2.0, g.inject(null, 2, null).percentile(50).next());
+        assertNull(g.inject(null, null).percentile(50).next());
+        assertEquals(Arrays.asList(), g.inject().percentile(50).toList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldOnlyEstimatePercentilesOfNumbers() {
+        g.inject("a", "b").percentile(50).next();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowPercentilesOutOfRange() {
+        __.percentile(50, 101);
+    }
+
+    @Test
+    public void shouldMergeBarriersWithMemoryComputeKeyReducer() {
+        final BinaryOperator<Object> reducer = (BinaryOperator) ((PercentileGlobalStep) __.percentile(50).
+                asAdmin().getEndStep()).getMemoryComputeKey().getReducer();
+        final QuantileSketch a = new QuantileSketch().add(1, 1).add(2, 1);
+        final QuantileSketch b = new QuantileSketch().add(3, 1).add(4, 1);
+        assertEquals(4, ((QuantileSketch) reducer.apply(a, b)).getCount());
+    }
+}
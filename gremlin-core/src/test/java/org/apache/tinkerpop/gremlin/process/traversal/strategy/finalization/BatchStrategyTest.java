@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Enclosed.class)
+public class BatchStrategyTest {
+
+    private static final GraphTraversalSource g = traversal().withEmbedded(EmptyGraph.instance()).
+            withStrategies(BatchStrategy.build().batchSize(3).create());
+
+    @RunWith(Parameterized.class)
+    public static class StandardTest {
+
+        @Parameterized.Parameter(value = 0)
+        public Traversal.Admin traversal;
+
+        @Parameterized.Parameter(value = 1)
+        public List<Integer> expectedStages;
+
+        @Parameterized.Parameters(name = "{0}")
+        public static Iterable<Object[]> generateTestParameters() {
+            return Arrays.asList(new Object[][]{
+                    {g.V().out().out(), Arrays.asList(2)},
+                    {g.V().out().has("age", P.gt(30)).values("name"), Arrays.asList(3)},
+                    {g.V().outE().inV().id(), Arrays.asList(3)},
+                    {g.V().out().as("a").out().label(), Arrays.asList(3)},
+                    {g.V().out().order().out().out(), Arrays.asList(2)},
+                    {g.V().out().out().dedup().in().in(), Arrays.asList(2, 2)},
+                    {g.V().where(out().out()).out(), Arrays.asList()},
+                    {g.V().out().limit(1), Arrays.asList()},
+                    {g.V().out(), Arrays.asList()},
+                    {g.withoutStrategies(BatchStrategy.class).V().out().out(), Arrays.asList()},
+                    {g.withStrategies(BatchStrategy.build().batchSize(1).create()).V().out().out(), Arrays.asList()},
+            });
+        }
+
+        @Test
+        public void shouldApplyStrategy() {
+            this.traversal.applyStrategies();
+            final List<BatchStep> steps = TraversalHelper.getStepsOfAssignableClass(BatchStep.class, this.traversal);
+            assertEquals(this.expectedStages, steps.stream().map(s -> s.getStages().size()).collect(Collectors.toList()));
+        }
+    }
+
+    public static class ExecutionTest {
+
+        @Test
+        public void shouldApplyStrategyToChildTraversals() {
+            final Traversal.Admin<?, ?> t = g.V().where(out().out()).asAdmin();
+            t.applyStrategies();
+            assertEquals(1, TraversalHelper.getStepsOfAssignableClassRecursively(BatchStep.class, t).size());
+        }
+
+        @Test
+        public void shouldProduceSameResultsAsUnbatchedExecution() {
+            final List<Integer> numbers = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+            final List<Object> expected = g.withoutStrategies(BatchStrategy.class).inject(numbers.toArray()).
+                    is(P.gt(10)).filter(t -> ((Integer) t.get()) % 3 == 0).is(P.lt(90)).toList();
+            assertEquals(26, expected.size());
+            for (final int batchSize : new int[]{2, 3, 7, 256}) {
+                final Traversal.Admin<?, Object> traversal = g.withStrategies(BatchStrategy.build().batchSize(batchSize).create()).
+                        inject(numbers.toArray()).is(P.gt(10)).filter(t -> ((Integer) t.get()) % 3 == 0).is(P.lt(90)).asAdmin();
+                assertEquals(expected, traversal.clone().toList());
+                final List<Object> actual = new ArrayList<>();
+                traversal.forEachRemaining(actual::add);
+                traversal.reset();
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class ConfigTest {
+
+        @Parameterized.Parameter(0)
+        public BatchStrategy expectedStrategy;
+
+        @Parameterized.Parameters(name = "expectedStrategy={0}")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][]{
+                    {BatchStrategy.build().create()},
+                    {BatchStrategy.build().batchSize(1024).create()},
+            });
+        }
+
+        @Test
+        public void shouldRoundTripConfiguration() {
+            assertEquals(expectedStrategy.getBatchSize(), BatchStrategy.create(expectedStrategy.getConfiguration()).getBatchSize());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.addE;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.count;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.values;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Enclosed.class)
+public class ParallelStrategyTest {
+
+    private static final GraphTraversalSource g = traversal().withEmbedded(EmptyGraph.instance()).
+            withStrategies(ParallelStrategy.build().parallelism(4).create());
+
+    @RunWith(Parameterized.class)
+    public static class StandardTest {
+
+        @Parameterized.Parameter(value = 0)
+        public Traversal.Admin traversal;
+
+        @Parameterized.Parameter(value = 1)
+        public int expectedParallelSteps;
+
+        @Parameterized.Parameters(name = "{0}")
+        public static Iterable<Object[]> generateTestParameters() {
+            return Arrays.asList(new Object[][]{
+                    {g.V().count(), 1},
+                    {g.V().out().out().groupCount(), 1},
+                    {g.V().out().group().by("name").by(count()), 1},
+                    {g.V().values("age").sum(), 1},
+                    {g.V().out().dedup().count(), 1},
+                    {g.V().where(out().count().is(2)).count(), 1},
+                    {g.E().count(), 1},
+                    {g.V(), 0},
+                    {g.V().out().order(), 0},
+                    {g.V().aggregate("x").count(), 0},
+                    {g.V().local(addE("knows")).count(), 0},
+                    {g.V().union(values("age").sum(), values("age")).count(), 0},
+                    {g.V().count().profile(), 0},
+                    {g.inject(1, 2).count(), 0},
+                    {g.V().out().V().count(), 1},
+                    {g.withoutStrategies(ParallelStrategy.class).V().count(), 0},
+                    {g.withStrategies(ParallelStrategy.build().parallelism(1).create()).V().count(), 0},
+            });
+        }
+
+        @Test
+        public void shouldApplyStrategy() {
+            this.traversal.applyStrategies();
+            final List<ParallelStep> steps = TraversalHelper.getStepsOfAssignableClassRecursively(ParallelStep.class, this.traversal);
+            assertEquals(this.expectedParallelSteps, steps.size());
+            if (this.expectedParallelSteps > 0)
+                assertEquals(0, this.traversal.getSteps().indexOf(steps.get(0)));
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class ConfigTest {
+
+        @Parameterized.Parameter(0)
+        public ParallelStrategy expectedStrategy;
+
+        @Parameterized.Parameters(name = "expectedStrategy={0}")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][]{
+                    {ParallelStrategy.build().parallelism(2).create()},
+                    {ParallelStrategy.build().parallelism(16).create()},
+            });
+        }
+
+        @Test
+        public void shouldRoundTripConfiguration() {
+            assertEquals(expectedStrategy.getParallelism(), ParallelStrategy.create(expectedStrategy.getConfiguration()).getParallelism());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.dedup;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Enclosed.class)
+public class SpillStrategyTest {
+
+    private static final GraphTraversalSource g = traversal().withEmbedded(EmptyGraph.instance()).
+            withStrategies(SpillStrategy.build().memoryBudget(3).create());
+
+    @RunWith(Parameterized.class)
+    public static class StandardTest {
+
+        @Parameterized.Parameter(value = 0)
+        public Traversal.Admin traversal;
+
+        @Parameterized.Parameter(value = 1)
+        public List<Integer> expectedBudgets;
+
+        @Parameterized.Parameters(name = "{0}")
+        public static Iterable<Object[]> generateTestParameters() {
+            return Arrays.asList(new Object[][]{
+                    {g.V().order().by("name"), Arrays.asList(3)},
+                    {g.V().out().dedup().order(), Arrays.asList(3, 3)},
+                    {g.V().as("a").out().as("b").dedup("a", "b"), Arrays.asList(Integer.MAX_VALUE)},
+                    {g.V().as("a").out().order().select("a"), Arrays.asList(Integer.MAX_VALUE)},
+                    {g.V().out().path().dedup(), Arrays.asList(Integer.MAX_VALUE)},
+                    {g.V().local(out().dedup()), Arrays.asList(Integer.MAX_VALUE)},
+                    {g.V().order().by("name").limit(10), Arrays.asList(3)},
+                    {g.withoutStrategies(SpillStrategy.class).V().order(), Arrays.asList(Integer.MAX_VALUE)},
+                    {g.withStrategies(SpillStrategy.build().memoryBudget(0).create()).V().order(), Arrays.asList(Integer.MAX_VALUE)},
+            });
+        }
+
+        @Test
+        public void shouldApplyStrategy() {
+            this.traversal.applyStrategies();
+            final List<Spilling> steps = TraversalHelper.getStepsOfAssignableClassRecursively(Spilling.class, this.traversal);
+            assertEquals(this.expectedBudgets, steps.stream().map(Spilling::getMemoryBudget).collect(Collectors.toList()));
+        }
+    }
+
+    public static class ExecutionTest {
+
+        private static final List<Integer> numbers = IntStream.range(0, 1000).map(i -> new Random(i).nextInt(300)).
+                boxed().collect(Collectors.toList());
+
+        @Test
+        public void shouldProduceSameOrderAsInMemoryExecution() {
+            final List<Object> expected = g.withoutStrategies(SpillStrategy.class).inject(numbers.toArray()).
+                    order().by(Order.desc).toList();
+            assertEquals(1000, expected.size());
+            for (final int memoryBudget : new int[]{1, 7, 100, 5000}) {
+                final Traversal.Admin<?, Object> traversal = g.withStrategies(SpillStrategy.build().memoryBudget(memoryBudget).create()).
+                        inject(numbers.toArray()).order().by(Order.desc).asAdmin();
+                assertEquals(expected, traversal.clone().toList());
+                final List<Object> actual = new ArrayList<>();
+                traversal.forEachRemaining(actual::add);
+                traversal.reset();
+                assertEquals(expected, actual);
+            }
+        }
+
+        @Test
+        public void shouldProduceSameDistinctObjectsAsInMemoryExecution() {
+            final List<Object> expected = g.withoutStrategies(SpillStrategy.class).inject(numbers.toArray()).
+                    dedup().by(n -> ((Integer) n) % 50).order().toList();
+            assertEquals(50, expected.size());
+            for (final int memoryBudget : new int[]{1, 7, 100}) {
+                final List<Object> actual = g.withStrategies(SpillStrategy.build().memoryBudget(memoryBudget).create()).
+                        inject(numbers.toArray()).dedup().by(n -> ((Integer) n) % 50).order().toList();
+                assertEquals(expected, actual);
+            }
+        }
+
+        @Test
+        public void shouldProduceSameDistinctObjectsWhenPartitionsExceedBudget() {
+            // every partition holds far more distinct objects than the budget so that each is partitioned again
+            final Object[] many = IntStream.range(0, 20000).map(i -> i % 5000).boxed().toArray();
+            final List<Object> expected = g.withoutStrategies(SpillStrategy.class).inject(many).dedup().order().toList();
+            assertEquals(5000, expected.size());
+            for (final int memoryBudget : new int[]{1, 10}) {
+                final List<Object> actual = g.withStrategies(SpillStrategy.build().memoryBudget(memoryBudget).create()).
+                        inject(many).dedup().order().toList();
+                assertEquals(expected, actual);
+            }
+        }
+
+        @Test
+        public void shouldCountDistinctObjects() {
+            final long expected = g.withoutStrategies(SpillStrategy.class).inject(numbers.toArray()).dedup().count().next();
+            assertEquals(expected, (long) g.inject(numbers.toArray()).dedup().count().next());
+            assertEquals(expected, (long) g.inject(numbers.toArray()).map(dedup()).dedup().count().next());
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class ConfigTest {
+
+        @Parameterized.Parameter(0)
+        public SpillStrategy expectedStrategy;
+
+        @Parameterized.Parameters(name = "expectedStrategy={0}")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][]{
+                    {SpillStrategy.build().create()},
+                    {SpillStrategy.build().memoryBudget(1000).directory("/tmp/spill").create()},
+            });
+        }
+
+        @Test
+        public void shouldRoundTripConfiguration() {
+            final SpillStrategy strategy = SpillStrategy.create(expectedStrategy.getConfiguration());
+            assertEquals(expectedStrategy.getMemoryBudget(), strategy.getMemoryBudget());
+            assertEquals(expectedStrategy.getDirectory(), strategy.getDirectory());
+        }
+    }
+}
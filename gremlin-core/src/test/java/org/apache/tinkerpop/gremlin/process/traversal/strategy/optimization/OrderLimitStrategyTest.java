@@ -20,14 +20,17 @@
 package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
 
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.TraversalVertexProgramStep;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.GValue;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.GValueManagerVerifier;
 import org.apache.tinkerpop.gremlin.process.traversal.util.EmptyTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
@@ -36,7 +39,10 @@ import org.junit.runners.Parameterized;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -68,11 +74,60 @@ public class OrderLimitStrategyTest {
             return Arrays.asList(new Object[][]{
                     {__.order().limit(1), 1l},
                     {__.out().order().range(7, 15), 15l},
-                    {__.order().select("a").limit(7), 7l},
+                    {__.order().id().limit(7), 7l},
+                    {__.order().path().limit(7), 7l},
+                    {__.order().select("a").limit(7), Long.MAX_VALUE},
+                    {__.order().select("a", "b").limit(7), Long.MAX_VALUE},
+                    {__.order().path().by("name").limit(7), Long.MAX_VALUE},
                     {__.order().out().limit(10), Long.MAX_VALUE}});
         }
     }
 
+    @RunWith(Parameterized.class)
+    public static class OltpTest {
+        @Parameterized.Parameter(value = 0)
+        public Traversal.Admin traversal;
+
+        @Parameterized.Parameter(value = 1)
+        public long limit;
+
+        @Test
+        public void doTest() {
+            final String repr = traversal.getGremlinLang().getGremlin();
+            OrderLimitStrategy.instance().apply(traversal);
+            assertEquals(repr, limit, TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal).get().getLimit());
+        }
+
+        @Parameterized.Parameters(name = "{0}")
+        public static Iterable<Object[]> generateTestParameters() {
+            return Arrays.asList(new Object[][]{
+                    {__.order().limit(1).asAdmin(), 1l},
+                    {__.out().order().by("age").range(7, 15).asAdmin(), 15l},
+                    {__.order().id().limit(7).asAdmin(), 7l},
+                    {__.order().select("a").limit(7).asAdmin(), Long.MAX_VALUE},
+                    {__.order().path().by("name").limit(7).asAdmin(), Long.MAX_VALUE},
+                    {__.order().range(7, -1).asAdmin(), -1l},
+                    {__.order().out().limit(10).asAdmin(), Long.MAX_VALUE}});
+        }
+    }
+
+    public static class FilteringTest {
+
+        @Test
+        public void shouldNotLimitOrderBeforeSelectOfMissingKey() {
+            final GraphTraversalSource g = traversal().withEmbedded(EmptyGraph.instance());
+            final Map<String, Object> first = new HashMap<>();
+            first.put("x", 1);
+            final Map<String, Object> second = new HashMap<>();
+            second.put("x", 2);
+            second.put("a", "A");
+            assertEquals(Collections.singletonList("A"),
+                    g.inject(first, second).order().by(__.select("x")).select("a").limit(1).toList());
+            assertEquals(Collections.singletonList("A"),
+                    g.inject(second, first).order().by(__.select("x"), Order.desc).select("a").limit(1).toList());
+        }
+    }
+
     /**
      * Tests that GValueManager correctly preserves GValue parameters when OrderLimitStrategy is applied.
      */
@@ -106,7 +161,7 @@ public class OrderLimitStrategyTest {
                         Collections.emptyList(),
                     },
                     {
-                        __.order().select("a").limit(GValue.ofLong("x", 7L)).asAdmin(),
+                        __.order().id().limit(GValue.ofLong("x", 7L)).asAdmin(),
                         new String[]{"x"},
                         new String[]{},
                         Collections.emptyList(),
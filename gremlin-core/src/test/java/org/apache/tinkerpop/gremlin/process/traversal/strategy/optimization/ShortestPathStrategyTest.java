@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ShortestPath;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ShortestPathVertexProgramStep;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.decoration.VertexProgramStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ShortestPathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ShortestPathStrategyTest {
+
+    private static final GraphTraversalSource g = traversal().withEmbedded(EmptyGraph.instance()).
+            withStrategies(ShortestPathStrategy.instance());
+
+    private static ShortestPathStep applyStrategies(final Traversal<Vertex, Path> traversal) {
+        traversal.asAdmin().applyStrategies();
+        assertFalse(TraversalHelper.hasStepOfClass(ShortestPathVertexProgramStep.class, traversal.asAdmin()));
+        final List<ShortestPathStep> steps = TraversalHelper.getStepsOfClass(ShortestPathStep.class, traversal.asAdmin());
+        assertEquals(1, steps.size());
+        return steps.get(0);
+    }
+
+    @Test
+    public void shouldReplaceShortestPathWithDefaults() {
+        final ShortestPathStep step = applyStrategies(g.V().shortestPath().as("p"));
+        assertNull(step.getTargetVertexFilter());
+        assertEquals(__.bothE().asAdmin(), step.getEdgeTraversal());
+        assertNull(step.getDistanceTraversal());
+        assertNull(step.getMaxDistance());
+        assertFalse(step.isIncludeEdges());
+        assertEquals(Collections.singleton("p"), step.getLabels());
+    }
+
+    @Test
+    public void shouldReplaceShortestPathWithOptions() {
+        final ShortestPathStep step = applyStrategies(g.V().shortestPath().
+                with(ShortestPath.target, __.hasId(6)).
+                with(ShortestPath.edges, __.outE("knows")).
+                with(ShortestPath.distance, "weight").
+                with(ShortestPath.maxDistance, 3).
+                with(ShortestPath.includeEdges));
+        assertEquals(__.hasId(6).asAdmin(), step.getTargetVertexFilter());
+        assertEquals(__.outE("knows").asAdmin(), step.getEdgeTraversal());
+        assertEquals(__.values("weight").asAdmin(), step.getDistanceTraversal());
+        assertEquals(3, step.getMaxDistance());
+        assertTrue(step.isIncludeEdges());
+    }
+
+    @Test
+    public void shouldNotReplaceShortestPathWithComputer() {
+        final Traversal.Admin<Vertex, Path> traversal = g.withStrategies(new VertexProgramStrategy(Computer.compute())).
+                V().shortestPath().asAdmin();
+        traversal.applyStrategies();
+        assertTrue(TraversalHelper.hasStepOfClass(ShortestPathVertexProgramStep.class, traversal));
+        assertFalse(TraversalHelper.hasStepOfClass(ShortestPathStep.class, traversal));
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class UnsynchronizedTraverserSetTest {
+
+    @Test
+    public void shouldBehaveLikeTraverserSet() {
+        final Random random = new Random(42);
+        final TraverserSet<Integer> expected = new TraverserSet<>();
+        final UnsynchronizedTraverserSet<Integer> actual = new UnsynchronizedTraverserSet<>();
+        for (int i = 0; i < 100000; i++) {
+            // a few values with colliding hash codes force long probe sequences
+            final int value = random.nextBoolean() ? random.nextInt(500) : random.nextInt(16) << 16;
+            switch (random.nextInt(6)) {
+                case 0:
+                    assertEquals(expected.poll(), actual.poll());
+                    break;
+                case 1:
+                    assertEquals(expected.remove(makeTraverser(value)), actual.remove(makeTraverser(value)));
+                    break;
+                default:
+                    assertEquals(expected.add(makeTraverser(value)), actual.add(makeTraverser(value)));
+            }
+            if (0 == i % 1000) assertSameTraversers(expected, actual);
+        }
+        assertSameTraversers(expected, actual);
+
+        expected.clear();
+        actual.clear();
+        assertSameTraversers(expected, actual);
+    }
+
+    @Test
+    public void shouldRemoveWhileIterating() {
+        final UnsynchronizedTraverserSet<Integer> ts = new UnsynchronizedTraverserSet<>();
+        for (int i = 0; i < 100; i++) {
+            ts.add(makeTraverser(i));
+        }
+        final Iterator<Traverser.Admin<Integer>> iterator = ts.iterator();
+        while (iterator.hasNext()) {
+            if (0 == iterator.next().get() % 2) iterator.remove();
+        }
+        assertEquals(50, ts.size());
+        int expected = 1;
+        for (final Traverser.Admin<Integer> traverser : ts) {
+            assertEquals(expected, traverser.get().intValue());
+            expected += 2;
+        }
+        assertNull(ts.get(makeTraverser(2)));
+        assertEquals(11, ts.get(makeTraverser(11)).get().intValue());
+    }
+
+    @Test
+    public void shouldSortAndShuffle() {
+        final TraverserSet<Integer> expected = new TraverserSet<>();
+        final UnsynchronizedTraverserSet<Integer> actual = new UnsynchronizedTraverserSet<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(makeTraverser(i % 300));
+            actual.add(makeTraverser(i % 300));
+        }
+        final Comparator<Traverser<Integer>> comparator = Comparator.comparing(t -> -t.get());
+        expected.sort(comparator);
+        actual.sort(comparator);
+        assertSameTraversers(expected, actual);
+
+        expected.shuffle(new Random(42));
+        actual.shuffle(new Random(42));
+        assertSameTraversers(expected, actual);
+    }
+
+    @Test
+    public void shouldFailFastWhenModifiedDuringIteration() {
+        final UnsynchronizedTraverserSet<Integer> ts = new UnsynchronizedTraverserSet<>();
+        ts.add(makeTraverser(0));
+        ts.add(makeTraverser(1));
+
+        // merging the bulk of an equal traverser is not a modification
+        Iterator<Traverser.Admin<Integer>> itty = ts.iterator();
+        itty.next();
+        ts.add(makeTraverser(1));
+        assertEquals(2, itty.next().bulk());
+
+        itty = ts.iterator();
+        itty.next();
+        ts.add(makeTraverser(2));
+        try {
+            itty.next();
+            fail("Adding a traverser during iteration should fail the iterator");
+        } catch (final ConcurrentModificationException ignored) {
+            // expected
+        }
+
+        itty = ts.iterator();
+        itty.next();
+        ts.remove(makeTraverser(2));
+        try {
+            itty.next();
+            fail("Removing a traverser during iteration should fail the iterator");
+        } catch (final ConcurrentModificationException ignored) {
+            // expected
+        }
+
+        // removing through the iterator itself is allowed
+        itty = ts.iterator();
+        itty.next();
+        itty.remove();
+        assertEquals(1, itty.next().get().intValue());
+        assertEquals(1, ts.size());
+    }
+
+    @Test
+    public void shouldSerialize() {
+        final UnsynchronizedTraverserSet<Integer> ts = new UnsynchronizedTraverserSet<>();
+        for (int i = 0; i < 100; i++) {
+            ts.add(makeTraverser(i % 30));
+        }
+        ts.remove();
+
+        final UnsynchronizedTraverserSet<Integer> clone = SerializationUtils.clone(ts);
+        assertSameTraversers(ts, clone);
+        clone.add(makeTraverser(0));
+        assertEquals(30, clone.size());
+    }
+
+    private static void assertSameTraversers(final TraverserSet<Integer> expected, final TraverserSet<Integer> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.bulkSize(), actual.bulkSize());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        assertEquals(toList(expected), toList(actual));
+        for (final Traverser.Admin<Integer> traverser : expected) {
+            assertEquals(traverser.bulk(), actual.get(traverser).bulk());
+        }
+    }
+
+    private static List<String> toList(final TraverserSet<Integer> ts) {
+        final List<String> list = new ArrayList<>();
+        ts.forEach(t -> list.add(t.get() + "x" + t.bulk()));
+        return list;
+    }
+
+    private static Traverser.Admin<Integer> makeTraverser(final int value) {
+        return new B_O_Traverser<>(value, 1).asAdmin();
+    }
+}
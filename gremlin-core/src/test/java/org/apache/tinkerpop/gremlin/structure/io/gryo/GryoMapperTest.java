@@ -22,6 +22,9 @@ import org.apache.tinkerpop.gremlin.process.remote.traversal.DefaultRemoteTraver
 import org.apache.tinkerpop.gremlin.process.traversal.GremlinLang;
 import org.apache.tinkerpop.gremlin.process.traversal.Merge;
 import org.apache.tinkerpop.gremlin.process.traversal.TextP;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.UnsynchronizedTraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalExplanation;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.io.IoX;
@@ -63,6 +66,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -265,6 +269,31 @@ public class GryoMapperTest {
         assertEquals(br.get(), inOut.get());
     }
 
+    @Test
+    public void shouldHandleUnsynchronizedTraverserSet() throws Exception  {
+        final UnsynchronizedTraverserSet<String> ts = new UnsynchronizedTraverserSet<>();
+        ts.add(new B_O_Traverser<>("marko", 2).asAdmin());
+        ts.add(new B_O_Traverser<>("vadas", 1).asAdmin());
+        ts.add(new B_O_Traverser<>("marko", 3).asAdmin());
+        ts.add(new B_O_Traverser<>("josh", 1).asAdmin());
+        ts.remove(new B_O_Traverser<>("vadas", 1).asAdmin());
+
+        final UnsynchronizedTraverserSet<String> inOut = serializeDeserialize(ts, UnsynchronizedTraverserSet.class);
+        assertEquals(2, inOut.size());
+        assertEquals(6, inOut.bulkSize());
+        final Iterator<Traverser.Admin<String>> itty = inOut.iterator();
+        final Traverser.Admin<String> marko = itty.next();
+        assertEquals("marko", marko.get());
+        assertEquals(5, marko.bulk());
+        assertEquals("josh", itty.next().get());
+
+        // the deserialized set is usable rather than just populated
+        inOut.add(new B_O_Traverser<>("josh", 1).asAdmin());
+        inOut.add(new B_O_Traverser<>("peter", 1).asAdmin());
+        assertEquals(3, inOut.size());
+        assertEquals(2, inOut.get(new B_O_Traverser<>("josh", 1).asAdmin()).bulk());
+    }
+
     @Test
     public void shouldHandleDuration() throws Exception  {
         final Duration o = Duration.ZERO;
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util;
+
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceVertex;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HyperLogLogTest {
+
+    private static void assertEstimate(final long expected, final long actual, final double error) {
+        assertTrue(String.format("%s is not within %s of %s", actual, error, expected),
+                Math.abs(actual - expected) <= expected * error);
+    }
+
+    @Test
+    public void shouldCountSmallCardinalitiesExactly() {
+        final HyperLogLog hll = new HyperLogLog();
+        assertEquals(0, hll.cardinality());
+        hll.add("a").add("b").add("a").add(1).add(1L).add(null);
+        assertEquals(4, hll.cardinality());
+    }
+
+    @Test
+    public void shouldEstimateLargeCardinalities() {
+        final HyperLogLog strings = new HyperLogLog();
+        final HyperLogLog longs = new HyperLogLog(12);
+        for (int i = 0; i < 1000000; i++) {
+            strings.add("name" + (i % 200000));
+            longs.add((long) i);
+        }
+        assertEstimate(200000, strings.cardinality(), 0.03);
+        assertEstimate(1000000, longs.cardinality(), 0.06);
+    }
+
+    @Test
+    public void shouldMergeToTheUnion() {
+        final HyperLogLog a = new HyperLogLog();
+        final HyperLogLog b = new HyperLogLog();
+        final HyperLogLog union = new HyperLogLog();
+        for (int i = 0; i < 50000; i++) {
+            a.add(i);
+            b.add(i + 25000);
+            union.add(i).add(i + 25000);
+        }
+        assertEquals(union, a.merge(b));
+        assertEstimate(75000, a.cardinality(), 0.03);
+    }
+
+    @Test
+    public void shouldHashElementsByTheirId() {
+        assertEquals(HyperLogLog.hash(1), HyperLogLog.hash(new ReferenceVertex(1, "person")));
+        assertEquals(HyperLogLog.hash(new ReferenceVertex(1, "person")), HyperLogLog.hash(new ReferenceVertex(1, "software")));
+        assertNotEquals(HyperLogLog.hash(new ReferenceVertex(1, "person")), HyperLogLog.hash(new ReferenceVertex(2, "person")));
+
+        final HyperLogLog hll = new HyperLogLog();
+        hll.add(new ReferenceVertex(1, "person")).add(new ReferenceVertex(1, "person")).add(new ReferenceVertex(2, "person"));
+        assertEquals(2, hll.cardinality());
+    }
+
+    @Test
+    public void shouldHashBeyondHashCode() {
+        // both strings have the same hashCode()
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertNotEquals(HyperLogLog.hash("Aa"), HyperLogLog.hash("BB"));
+        assertNotEquals(HyperLogLog.hash(Collections.singletonList("Aa")), HyperLogLog.hash(Collections.singletonList("BB")));
+        assertNotEquals(HyperLogLog.hash(Arrays.asList(1, 2)), HyperLogLog.hash(Arrays.asList(2, 1)));
+
+        final Set<Long> hashes = new HashSet<>();
+        final Set<Long> highBits = new HashSet<>();
+        for (int i = 0; i < 100000; i++) {
+            final long hash = HyperLogLog.hash("name" + i);
+            hashes.add(hash);
+            highBits.add(hash >>> 48);
+        }
+        assertEquals(100000, hashes.size());
+        assertTrue(highBits.size() > 50000);
+    }
+
+    @Test
+    public void shouldHashEqualSetsAndMapsAlike() {
+        assertEquals(HyperLogLog.hash(new LinkedHashSet<>(Arrays.asList("a", "b", "c"))),
+                HyperLogLog.hash(new LinkedHashSet<>(Arrays.asList("c", "a", "b"))));
+
+        final Map<String, Object> first = new LinkedHashMap<>();
+        first.put("name", "marko");
+        first.put("age", 29);
+        final Map<String, Object> second = new LinkedHashMap<>();
+        second.put("age", 29);
+        second.put("name", "marko");
+        assertEquals(HyperLogLog.hash(first), HyperLogLog.hash(second));
+        second.put("age", 30);
+        assertNotEquals(HyperLogLog.hash(first), HyperLogLog.hash(second));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotMergeSketchesOfDifferentPrecision() {
+        new HyperLogLog(10).merge(new HyperLogLog(11));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowPrecisionOutOfRange() {
+        new HyperLogLog(HyperLogLog.MAX_PRECISION + 1);
+    }
+}
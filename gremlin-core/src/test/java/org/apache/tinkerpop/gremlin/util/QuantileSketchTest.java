@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class QuantileSketchTest {
+
+    private static void assertRank(final List<Double> sorted, final double fraction, final double estimate) {
+        // the rank of the estimate among the numbers is what the sketch bounds
+        final int rank = Collections.binarySearch(sorted, estimate);
+        assertTrue(String.format("%s has rank %s rather than %s", estimate, rank, fraction * sorted.size()),
+                Math.abs(rank - fraction * sorted.size()) <= 0.02 * sorted.size());
+    }
+
+    @Test
+    public void shouldEstimateQuantiles() {
+        final Random random = new Random(123456789L);
+        final QuantileSketch sketch = new QuantileSketch();
+        final List<Double> numbers = new ArrayList<>();
+        for (int i = 0; i < 200000; i++) {
+            final double number = random.nextGaussian() * 100;
+            numbers.add(number);
+            sketch.add(number, 1);
+        }
+        Collections.sort(numbers);
+        assertEquals(200000, sketch.getCount());
+        for (final double fraction : new double[]{0.01, 0.25, 0.5, 0.75, 0.95, 0.99}) {
+            assertRank(numbers, fraction, sketch.quantile(fraction));
+        }
+    }
+
+    @Test
+    public void shouldReturnExactQuantilesOfFewNumbers() {
+        final QuantileSketch sketch = new QuantileSketch();
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+        sketch.add(3, 1).add(1, 1).add(2, 1);
+        assertEquals(1.0, sketch.quantile(0), 0.0);
+        assertEquals(2.0, sketch.quantile(0.5), 0.0);
+        assertEquals(3.0, sketch.quantile(1), 0.0);
+    }
+
+    @Test
+    public void shouldAddNumbersInBulk() {
+        final QuantileSketch sketch = new QuantileSketch();
+        sketch.add(1, 1000000).add(2, 3000000);
+        assertEquals(4000000, sketch.getCount());
+        assertEquals(1.0, sketch.quantile(0.2), 0.0);
+        assertEquals(2.0, sketch.quantile(0.3), 0.0);
+    }
+
+    @Test
+    public void shouldMergeSketches() {
+        final QuantileSketch a = new QuantileSketch();
+        final QuantileSketch b = new QuantileSketch();
+        final List<Double> numbers = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            a.add(i, 1);
+            b.add(i + 100000, 1);
+            numbers.add((double) i);
+            numbers.add((double) i + 100000);
+        }
+        Collections.sort(numbers);
+        a.merge(b);
+        assertEquals(200000, a.getCount());
+        for (final double fraction : new double[]{0.1, 0.5, 0.9}) {
+            assertRank(numbers, fraction, a.quantile(fraction));
+        }
+    }
+}
@@ -1697,6 +1697,19 @@ namespace Gremlin.Net.Process.Traversal
             return Wrap<TStart, TEnd>(this);
         }
 
+        /// <summary>
+        ///     Adds the percentile step to this <see cref="GraphTraversal{SType, EType}" />.
+        /// </summary>
+        public GraphTraversal<TStart, TNewEnd> Percentile<TNewEnd> (object percentile, params object[] percentiles)
+        {
+            if (percentiles == null) throw new ArgumentNullException(nameof(percentiles));
+
+            var args = new List<object>(1 + percentiles.Length) { percentile };
+            args.AddRange(percentiles);
+            GremlinLang.AddStep("percentile", args.ToArray());
+            return Wrap<TStart, TNewEnd>(this);
+        }
+
         /// <summary>
         ///     Adds the product step to this <see cref="GraphTraversal{SType, EType}" />.
         /// </summary>
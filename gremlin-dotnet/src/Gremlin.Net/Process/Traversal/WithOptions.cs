@@ -87,5 +87,14 @@ namespace Gremlin.Net.Process.Traversal
         public static readonly int Map = 1;
 
         #endregion
+
+        #region Count
+
+        /// <summary>
+        ///     Configures count() to estimate the number of distinct objects with a HyperLogLog of the given precision.
+        /// </summary>
+        public static readonly string Distinct = "~tinkerpop.count.distinct";
+
+        #endregion
     }
 }
@@ -1198,6 +1198,14 @@ namespace Gremlin.Net.Process.Traversal
             return new GraphTraversal<object, Path>().Path();            
         }
 
+        /// <summary>
+        ///     Spawns a <see cref="GraphTraversal{SType, EType}" /> and adds the percentile step to that traversal.
+        /// </summary>
+        public static GraphTraversal<object, E2> Percentile<E2>(object percentile, params object[] percentiles)
+        {
+            return new GraphTraversal<object, E2>().Percentile<E2>(percentile, percentiles);
+        }
+
         /// <summary>
         ///     Spawns a <see cref="GraphTraversal{SType, EType}" /> and adds the product step to that traversal.
         /// </summary>
@@ -243,6 +243,8 @@ type AnonymousTraversal interface {
 	Path(args ...interface{}) *GraphTraversal
 	// PeerPressure adds the peerPressure step to the GraphTraversal.
 	PeerPressure(args ...interface{}) *GraphTraversal
+	// Percentile adds the percentile step to the GraphTraversal.
+	Percentile(args ...interface{}) *GraphTraversal
 	// Product adds the product step to the GraphTraversal.
 	Product(args ...interface{}) *GraphTraversal
 	// Profile adds the profile step to the GraphTraversal.
@@ -811,6 +813,11 @@ func (anonymousTraversal *anonymousTraversal) PeerPressure(args ...interface{})
 	return anonymousTraversal.graphTraversal().PeerPressure(args...)
 }
 
+// Percentile adds the percentile step to the GraphTraversal.
+func (anonymousTraversal *anonymousTraversal) Percentile(args ...interface{}) *GraphTraversal {
+	return anonymousTraversal.graphTraversal().Percentile(args...)
+}
+
 // Product adds the product step to the GraphTraversal.
 func (anonymousTraversal *anonymousTraversal) Product(args ...interface{}) *GraphTraversal {
 	return anonymousTraversal.graphTraversal().Product(args...)
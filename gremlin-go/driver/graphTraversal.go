@@ -637,6 +637,12 @@ func (g *GraphTraversal) PeerPressure(args ...interface{}) *GraphTraversal {
 	return g
 }
 
+// Percentile adds the percentile step to the GraphTraversal.
+func (g *GraphTraversal) Percentile(args ...interface{}) *GraphTraversal {
+	g.GremlinLang.AddStep("percentile", args...)
+	return g
+}
+
 // Product adds the product step to the GraphTraversal.
 func (g *GraphTraversal) Product(args ...interface{}) *GraphTraversal {
 	g.GremlinLang.AddStep("product", args...)
@@ -209,6 +209,61 @@ type MatchAlgorithmStrategyConfig struct {
 	MatchAlgorithm string
 }
 
+// ParallelStrategy executes the scan of a traversal up to its first reducing barrier on several threads.
+func ParallelStrategy(config ...ParallelStrategyConfig) TraversalStrategy {
+	configMap := make(map[string]interface{})
+	if len(config) > 0 {
+		if config[0].Parallelism != 0 {
+			configMap["parallelism"] = config[0].Parallelism
+		}
+	}
+	return &traversalStrategy{name: "ParallelStrategy", configuration: configMap}
+}
+
+// ParallelStrategyConfig provides configuration options for ParallelStrategy.
+// Zeroed (unset) values are ignored.
+type ParallelStrategyConfig struct {
+	Parallelism int
+}
+
+// BatchStrategy runs sequences of steps over batches of traversers rather than one traverser at a time.
+func BatchStrategy(config ...BatchStrategyConfig) TraversalStrategy {
+	configMap := make(map[string]interface{})
+	if len(config) > 0 {
+		if config[0].BatchSize != 0 {
+			configMap["batchSize"] = config[0].BatchSize
+		}
+	}
+	return &traversalStrategy{name: "BatchStrategy", configuration: configMap}
+}
+
+// BatchStrategyConfig provides configuration options for BatchStrategy.
+// Zeroed (unset) values are ignored.
+type BatchStrategyConfig struct {
+	BatchSize int
+}
+
+// SpillStrategy bounds the number of traversers order() and dedup() hold in memory by spilling the rest to disk.
+func SpillStrategy(config ...SpillStrategyConfig) TraversalStrategy {
+	configMap := make(map[string]interface{})
+	if len(config) > 0 {
+		if config[0].MemoryBudget != 0 {
+			configMap["memoryBudget"] = config[0].MemoryBudget
+		}
+		if config[0].Directory != "" {
+			configMap["directory"] = config[0].Directory
+		}
+	}
+	return &traversalStrategy{name: "SpillStrategy", configuration: configMap}
+}
+
+// SpillStrategyConfig provides configuration options for SpillStrategy.
+// Zeroed (unset) values are ignored.
+type SpillStrategyConfig struct {
+	MemoryBudget int
+	Directory    string
+}
+
 func ReferenceElementStrategy(options ...map[string]interface{}) TraversalStrategy {
 	config := make(map[string]interface{})
 	if len(options) > 0 {
@@ -453,6 +508,12 @@ func RepeatUnrollStrategy() TraversalStrategy {
 	return &traversalStrategy{name: "RepeatUnrollStrategy"}
 }
 
+// ShortestPathStrategy replaces the ShortestPathVertexProgramStep of ShortestPath() with an OLTP search for the
+// shortest paths when the traversal is not executed with a GraphComputer.
+func ShortestPathStrategy() TraversalStrategy {
+	return &traversalStrategy{name: "ShortestPathStrategy"}
+}
+
 // RemoteStrategy reconstructs a Traversal by appending a RemoteStep to its end. That step will submit the Traversal to
 // a RemoteConnection instance which will typically send it to a remote server for execution and return results.
 func RemoteStrategy(connection DriverRemoteConnection) TraversalStrategy {
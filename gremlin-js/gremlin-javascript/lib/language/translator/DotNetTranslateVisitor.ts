@@ -497,6 +497,7 @@ export default class DotNetTranslateVisitor extends TranslateVisitor {
     visitTraversalMethod_max_Scope(ctx: any): void { this.handleGenerics(ctx); }
     visitTraversalMethod_mean_Empty(ctx: any): void { this.handleGenerics(ctx); }
     visitTraversalMethod_mean_Scope(ctx: any): void { this.handleGenerics(ctx); }
+    visitTraversalMethod_percentile(ctx: any): void { this.handleGenerics(ctx); }
     visitTraversalMethod_min_Empty(ctx: any): void { this.handleGenerics(ctx); }
     visitTraversalMethod_min_Scope(ctx: any): void { this.handleGenerics(ctx); }
     visitTraversalMethod_optional(ctx: any): void { this.handleGenerics(ctx); }
@@ -1296,6 +1296,16 @@ export class GraphTraversal extends Traversal {
     return this;
   }
 
+  /**
+   * Graph traversal percentile method.
+   * @param {...Object} args
+   * @returns {GraphTraversal}
+   */
+  percentile(...args: any[]): this {
+    this.gremlinLang.addStep('percentile', args);
+    return this;
+  }
+
   /**
    * Graph traversal product method.
    * @param {...Object} args
@@ -1867,6 +1877,7 @@ export const statics = {
   outE: (...args: any[]) => callOnEmptyTraversal('outE', args),
   outV: (...args: any[]) => callOnEmptyTraversal('outV', args),
   path: (...args: any[]) => callOnEmptyTraversal('path', args),
+  percentile: (...args: any[]) => callOnEmptyTraversal('percentile', args),
   product: (...args: any[]) => callOnEmptyTraversal('product', args),
   project: (...args: any[]) => callOnEmptyTraversal('project', args),
   properties: (...args: any[]) => callOnEmptyTraversal('properties', args),
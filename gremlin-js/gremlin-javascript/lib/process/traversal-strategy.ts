@@ -197,6 +197,43 @@ export class MatchAlgorithmStrategy extends TraversalStrategy {
   }
 }
 
+export type ParallelStrategyOptions = { parallelism?: number };
+
+export class ParallelStrategy extends TraversalStrategy {
+  /**
+   * @param {ParallelStrategyOptions} [options]
+   * @param {number} [options.parallelism] the number of threads to execute the traversal on
+   */
+  constructor(options: ParallelStrategyOptions = {}) {
+    super(options);
+  }
+}
+
+export type BatchStrategyOptions = { batchSize?: number };
+
+export class BatchStrategy extends TraversalStrategy {
+  /**
+   * @param {BatchStrategyOptions} [options]
+   * @param {number} [options.batchSize] the maximum number of traversers each step processes at a time
+   */
+  constructor(options: BatchStrategyOptions = {}) {
+    super(options);
+  }
+}
+
+export type SpillStrategyOptions = { memoryBudget?: number; directory?: string };
+
+export class SpillStrategy extends TraversalStrategy {
+  /**
+   * @param {SpillStrategyOptions} [options]
+   * @param {number} [options.memoryBudget] the number of traversers a step holds in memory before it spills to disk
+   * @param {string} [options.directory] the directory to write the temporary files to
+   */
+  constructor(options: SpillStrategyOptions = {}) {
+    super(options);
+  }
+}
+
 export class ComputerFinalizationStrategy extends TraversalStrategy {
   constructor() {
     super();
@@ -281,6 +318,12 @@ export class RepeatUnrollStrategy extends TraversalStrategy {
   }
 }
 
+export class ShortestPathStrategy extends TraversalStrategy {
+  constructor() {
+    super();
+  }
+}
+
 export class GraphFilterStrategy extends TraversalStrategy {
   constructor() {
     super();
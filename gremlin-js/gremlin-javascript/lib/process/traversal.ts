@@ -479,6 +479,7 @@ export const withOptions = {
   indexer: '~tinkerpop.index.indexer',
   list: 0,
   map: 1,
+  distinct: '~tinkerpop.count.distinct',
 };
 
 function toEnum(typeName: string, keys: string) {
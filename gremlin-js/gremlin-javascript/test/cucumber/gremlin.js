@@ -1096,6 +1096,11 @@ const gremlins = {
     g_V_order_byXnoX_count: [function({g}) { return g.V().order().by("no").count() }], 
     g_V_group_byXlabelX_count: [function({g}) { return g.V().group().by(T.label).count() }], 
     g_V_group_byXlabelX_countXlocalX: [function({g}) { return g.V().group().by(T.label).count(Scope.local) }], 
+    g_V_both_both_countXdistinctX_isXbetweenX5_7XX: [function({g}) { return g.V().both().both().count().with_(WithOptions.distinct).is(P.between(5, 7)) }], 
+    g_V_out_out_countXdistinctX_isXbetweenX430_475XX: [function({g}) { return g.V().out().out().count().with_(WithOptions.distinct).is(P.between(430, 475)) }], 
+    g_V_out_out_countXdistinct_10X_isXbetweenX410_495XX: [function({g}) { return g.V().out().out().count().with_(WithOptions.distinct, 10).is(P.between(410, 495)) }], 
+    g_E_valuesXweightX_countXdistinctX_isXbetweenX82_90XX: [function({g}) { return g.E().values("weight").count().with_(WithOptions.distinct).is(P.between(82, 90)) }], 
+    g_V_valuesXfooX_countXdistinctX: [function({g}) { return g.V().values("foo").count().with_(WithOptions.distinct) }], 
     g_injectXdatetimeXstrXX_dateAddXDT_hour_2X: [function({g}) { return g.inject(new Date('2023-08-02T00:00Z'), new Date('2023-08-02T00:00Z')).dateAdd(DT.hour, 2) }], 
     g_injectXdatetimeXstrXX_dateAddXhour_2X: [function({g}) { return g.inject(new Date('2023-08-02T00:00Z'), new Date('2023-08-02T00:00Z')).dateAdd(DT.hour, 2) }], 
     g_injectXdatetimeXstrXX_dateAddXhour_1X: [function({g}) { return g.inject(new Date('2023-08-02T00:00Z'), new Date('2023-08-02T00:00Z')).dateAdd(DT.hour, -1) }], 
@@ -1516,6 +1521,7 @@ const gremlins = {
     g_VX1X_elementMap_orderXlocalX_byXkeys_descXunfold: [function({g, vid1}) { return g.V(vid1).elementMap().order(Scope.local).by(Column.keys, Order.desc).unfold() }], 
     g_VX1X_elementMap_orderXlocalX_byXkeys_ascXunfold: [function({g, vid1}) { return g.V(vid1).elementMap().order(Scope.local).by(Column.keys, Order.asc).unfold() }], 
     g_VX1X_valuesXageX_orderXlocalX: [function({g, vid1}) { return g.V(vid1).values("age").order(Scope.local) }], 
+    g_injectXx1_x2_aAX_order_byXselectXxXX_selectXaX_limitX1X: [function({g}) { return g.inject(new Map([["x", 1]]), new Map([["x", 2], ["a", "A"]])).order().by(__.select("x")).select("a").limit(1) }], 
     g_V_pageRank_hasXpageRankX: [function({g}) { return g.V().pageRank().has("gremlin.pageRankVertexProgram.pageRank") }], 
     g_V_outXcreatedX_pageRank_withXedges_bothEX_withXpropertyName_projectRankX_withXtimes_0X_valueMapXname_projectRankX: [function({g}) { return g.V().out("created").pageRank().with_("~tinkerpop.pageRank.edges", __.bothE()).with_("~tinkerpop.pageRank.propertyName", "projectRank").with_("~tinkerpop.pageRank.times", 0).valueMap("name", "projectRank") }], 
     g_V_pageRank_order_byXpageRank_descX_byXnameX_name: [function({g}) { return g.V().pageRank().order().by("gremlin.pageRankVertexProgram.pageRank", Order.desc).by("name").values("name") }], 
@@ -1539,6 +1545,13 @@ const gremlins = {
     g_V_peerPressure_hasXclusterX: [function({g}) { return g.V().peerPressure().has("gremlin.peerPressureVertexProgram.cluster") }], 
     g_V_peerPressure_withXpropertyName_clusterX_withXedges_outEXknowsXX_pageRankX1X_byXrankX_withXedges_outEXknowsX_withXtimes_2X_group_byXclusterX_byXrank_sumX_limitX100X: [function({g}) { return g.V().peerPressure().with_("~tinkerpop.peerPressure.propertyName", "cluster").with_("~tinkerpop.peerPressure.edges", __.outE("knows")).pageRank(1.0).with_("~tinkerpop.pageRank.propertyName", "rank").with_("~tinkerpop.pageRank.edges", __.outE("knows")).with_("~tinkerpop.pageRank.times", 1).group().by("cluster").by(__.values("rank").sum()).limit(100) }], 
     g_V_hasXname_rippleX_inXcreatedX_peerPressure_withXedges_outEX_withyXpropertyName_clusterX_repeatXunionXidentity__bothX_timesX2X_dedup_valueMapXname_clusterX: [function({g}) { return g.V().has("name", "ripple").in_("created").peerPressure().with_("~tinkerpop.peerPressure.edges", __.outE()).with_("~tinkerpop.peerPressure.propertyName", "cluster").repeat(__.union(__.identity(), __.both())).times(2).dedup().valueMap("name", "cluster") }], 
+    g_V_valuesXageX_percentileX50X: [function({g}) { return g.V().values("age").percentile(50) }], 
+    g_V_valuesXageX_percentileX0_100X: [function({g}) { return g.V().values("age").percentile(0, 100) }], 
+    g_V_valuesXageX_percentileX25_50_75X: [function({g}) { return g.V().values("age").percentile(25, 50, 75) }], 
+    g_E_valuesXweightX_percentileX50X: [function({g}) { return g.E().values("weight").percentile(50) }], 
+    g_V_valuesXfooX_percentileX50X: [function({g}) { return g.V().values("foo").percentile(50) }], 
+    g_V_valuesXfooX_percentileX50_90X: [function({g}) { return g.V().values("foo").percentile(50, 90) }], 
+    g_injectXnull_10_20_nullX_percentileX100X: [function({g}) { return g.inject(null, 10, 20, null).percentile(100) }], 
     g_injectXnullX_productXinjectX1XX: [function({g}) { return g.inject(null).product(__.inject(1)) }], 
     g_V_valuesXnameX_productXV_foldX: [function({g}) { return g.V().values("name").product(__.V().fold()) }], 
     g_V_fold_productXconstantXnullXX: [function({g}) { return g.V().fold().product(__.constant(null)) }], 
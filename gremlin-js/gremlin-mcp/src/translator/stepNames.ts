@@ -118,6 +118,7 @@ export const GREMLIN_STEP_NAMES: ReadonlySet<string> = new Set([
   'pageRank',
   'path',
   'peerPressure',
+  'percentile',
   'product',
   'profile',
   'project',
@@ -252,6 +252,7 @@ traversalMethod
     | traversalMethod_pageRank
     | traversalMethod_path
     | traversalMethod_peerPressure
+    | traversalMethod_percentile
     | traversalMethod_profile
     | traversalMethod_project
     | traversalMethod_properties
@@ -748,6 +749,10 @@ traversalMethod_peerPressure
     : K_PEERPRESSURE LPAREN RPAREN
     ;
 
+traversalMethod_percentile
+    : K_PERCENTILE LPAREN numericLiteral (COMMA numericLiteral)* RPAREN
+    ;
+
 traversalMethod_product
     : K_PRODUCT LPAREN genericLiteral RPAREN #traversalMethod_product_Object
     ;
@@ -1315,6 +1320,7 @@ withOptionKeys
     | ioOptionsKeys
     | withOptionsConstants_tokens
     | withOptionsConstants_indexer
+    | withOptionsConstants_distinct
     ;
 
 connectedComponentConstants
@@ -1454,6 +1460,10 @@ withOptionsConstants_indexer
     : withOptionsStringConstant DOT K_INDEXER
     ;
 
+withOptionsConstants_distinct
+    : withOptionsStringConstant DOT K_DISTINCT
+    ;
+
 withOptionsConstants_list
     : withOptionsStringConstant DOT K_LIST
     ;
@@ -1798,6 +1808,7 @@ keyword
     | K_DISCARD
     | K_DISJUNCT
     | K_DISTANCE
+    | K_DISTINCT
     | K_DIV
     | K_DOUBLE
     | K_DOUBLEU
@@ -1935,6 +1946,7 @@ keyword
     | K_PATHU
     | K_PEERPRESSURE
     | K_PEERPRESSUREU
+    | K_PERCENTILE
     | K_PICK
     | K_POP
     | K_PROFILE
@@ -2108,6 +2120,7 @@ K_DISCARD : 'discard';
 K_DIRECTION: 'Direction';
 K_DISJUNCT: 'disjunct';
 K_DISTANCE: 'distance';
+K_DISTINCT: 'distinct';
 K_DIV: 'div';
 K_DOUBLE: 'double';
 K_DOUBLEU: 'DOUBLE';
@@ -2245,6 +2258,7 @@ K_PATH: 'path';
 K_PATHU: 'PATH';
 K_PEERPRESSUREU: 'PeerPressure';
 K_PEERPRESSURE: 'peerPressure';
+K_PERCENTILE: 'percentile';
 K_PICK: 'Pick';
 K_POP: 'Pop';
 K_PROFILE: 'profile';
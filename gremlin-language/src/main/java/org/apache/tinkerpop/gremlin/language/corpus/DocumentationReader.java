@@ -119,6 +119,9 @@ public class DocumentationReader {
                 replace("persons", "\"persons\"").
                 replace("marko.value('age')", "11").
                 replace("seedStrategy", "new SeedStrategy(seed: 99999)").
+                replace("parallelStrategy", "new ParallelStrategy(parallelism: 4)").
+                replace("batchStrategy", "new BatchStrategy(batchSize: 512)").
+                replace("spillStrategy", "new SpillStrategy(memoryBudget: 100000)").
                 replace(".getClass()", "").
                 replace("result.toArray()", "4").
                 replace("vA.value('amount')", "0.0").
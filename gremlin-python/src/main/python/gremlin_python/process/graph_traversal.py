@@ -799,6 +799,10 @@ class GraphTraversal(Traversal):
         self.gremlin_lang.add_step("peerPressure", *args)
         return self
 
+    def percentile(self, *args):
+        self.gremlin_lang.add_step("percentile", *args)
+        return self
+
     def product(self, *args):
         self.gremlin_lang.add_step("product", *args)
         return self
@@ -1563,6 +1567,10 @@ class __(object, metaclass=MagicType):
     def path(cls, *args):
         return cls.graph_traversal(None, None, GremlinLang()).path(*args)
 
+    @classmethod
+    def percentile(cls, *args):
+        return cls.graph_traversal(None, None, GremlinLang()).percentile(*args)
+
     @classmethod
     def product(cls, *args):
         return cls.graph_traversal(None, None, GremlinLang()).product(*args)
@@ -2277,6 +2285,10 @@ def path(*args):
     return __.path(*args)
 
 
+def percentile(*args):
+    return __.percentile(*args)
+
+
 def product(*args):
     return __.product(*args)
 
@@ -2666,6 +2678,8 @@ statics.add_static('out_v', out_v)
 
 statics.add_static('path', path)
 
+statics.add_static('percentile', percentile)
+
 statics.add_static('product', product)
 
 statics.add_static('project', project)
@@ -135,6 +135,29 @@ class MatchAlgorithmStrategy(TraversalStrategy):
             self.configuration["matchAlgorithm"] = match_algorithm
 
 
+class ParallelStrategy(TraversalStrategy):
+    def __init__(self, parallelism=None):
+        TraversalStrategy.__init__(self, fqcn=finalization_namespace + 'ParallelStrategy')
+        if parallelism is not None:
+            self.configuration["parallelism"] = parallelism
+
+
+class BatchStrategy(TraversalStrategy):
+    def __init__(self, batch_size=None):
+        TraversalStrategy.__init__(self, fqcn=finalization_namespace + 'BatchStrategy')
+        if batch_size is not None:
+            self.configuration["batchSize"] = batch_size
+
+
+class SpillStrategy(TraversalStrategy):
+    def __init__(self, memory_budget=None, directory=None):
+        TraversalStrategy.__init__(self, fqcn=finalization_namespace + 'SpillStrategy')
+        if memory_budget is not None:
+            self.configuration["memoryBudget"] = memory_budget
+        if directory is not None:
+            self.configuration["directory"] = directory
+
+
 ###########################
 # OPTIMIZATION STRATEGIES #
 ###########################
@@ -214,6 +237,11 @@ class RepeatUnrollStrategy(TraversalStrategy):
         TraversalStrategy.__init__(self, fqcn=optimization_namespace + 'RepeatUnrollStrategy')
 
 
+class ShortestPathStrategy(TraversalStrategy):
+    def __init__(self):
+        TraversalStrategy.__init__(self, fqcn=optimization_namespace + 'ShortestPathStrategy')
+
+
 class GraphFilterStrategy(TraversalStrategy):
     def __init__(self):
         TraversalStrategy.__init__(self, fqcn=optimization_namespace + 'GraphFilterStrategy')
@@ -798,6 +798,8 @@ class WithOptions(object):
 
     map = 1
 
+    distinct = "~tinkerpop.count.distinct"
+
 
 '''
 GREMLIN LANGUAGE
@@ -1068,6 +1068,11 @@ world.gremlins = {
     'g_V_order_byXnoX_count': [(lambda g:g.V().order().by('no').count())], 
     'g_V_group_byXlabelX_count': [(lambda g:g.V().group().by(T.label).count())], 
     'g_V_group_byXlabelX_countXlocalX': [(lambda g:g.V().group().by(T.label).count(Scope.local))], 
+    'g_V_both_both_countXdistinctX_isXbetweenX5_7XX': [(lambda g:g.V().both().both().count().with_(WithOptions.distinct).is_(P.between(5, 7)))], 
+    'g_V_out_out_countXdistinctX_isXbetweenX430_475XX': [(lambda g:g.V().out().out().count().with_(WithOptions.distinct).is_(P.between(430, 475)))], 
+    'g_V_out_out_countXdistinct_10X_isXbetweenX410_495XX': [(lambda g:g.V().out().out().count().with_(WithOptions.distinct, 10).is_(P.between(410, 495)))], 
+    'g_E_valuesXweightX_countXdistinctX_isXbetweenX82_90XX': [(lambda g:g.E().values('weight').count().with_(WithOptions.distinct).is_(P.between(82, 90)))], 
+    'g_V_valuesXfooX_countXdistinctX': [(lambda g:g.V().values('foo').count().with_(WithOptions.distinct))], 
     'g_injectXdatetimeXstrXX_dateAddXDT_hour_2X': [(lambda g:g.inject(datetime.datetime.fromisoformat('2023-08-02T00:00+00:00'), datetime.datetime.fromisoformat('2023-08-02T00:00+00:00')).date_add(DT.hour, 2))], 
     'g_injectXdatetimeXstrXX_dateAddXhour_2X': [(lambda g:g.inject(datetime.datetime.fromisoformat('2023-08-02T00:00+00:00'), datetime.datetime.fromisoformat('2023-08-02T00:00+00:00')).date_add(DT.hour, 2))], 
     'g_injectXdatetimeXstrXX_dateAddXhour_1X': [(lambda g:g.inject(datetime.datetime.fromisoformat('2023-08-02T00:00+00:00'), datetime.datetime.fromisoformat('2023-08-02T00:00+00:00')).date_add(DT.hour, -1))], 
@@ -1488,6 +1493,7 @@ world.gremlins = {
     'g_VX1X_elementMap_orderXlocalX_byXkeys_descXunfold': [(lambda g, vid1=None:g.V(vid1).element_map().order(Scope.local).by(Column.keys, Order.desc).unfold())], 
     'g_VX1X_elementMap_orderXlocalX_byXkeys_ascXunfold': [(lambda g, vid1=None:g.V(vid1).element_map().order(Scope.local).by(Column.keys, Order.asc).unfold())], 
     'g_VX1X_valuesXageX_orderXlocalX': [(lambda g, vid1=None:g.V(vid1).values('age').order(Scope.local))], 
+    'g_injectXx1_x2_aAX_order_byXselectXxXX_selectXaX_limitX1X': [(lambda g:g.inject({ 'x': 1 }, { 'x': 2, 'a': 'A' }).order().by(__.select('x')).select('a').limit(1))], 
     'g_V_pageRank_hasXpageRankX': [(lambda g:g.V().page_rank().has('gremlin.pageRankVertexProgram.pageRank'))], 
     'g_V_outXcreatedX_pageRank_withXedges_bothEX_withXpropertyName_projectRankX_withXtimes_0X_valueMapXname_projectRankX': [(lambda g:g.V().out('created').page_rank().with_('~tinkerpop.pageRank.edges', __.both_e()).with_('~tinkerpop.pageRank.propertyName', 'projectRank').with_('~tinkerpop.pageRank.times', 0).value_map('name', 'projectRank'))], 
     'g_V_pageRank_order_byXpageRank_descX_byXnameX_name': [(lambda g:g.V().page_rank().order().by('gremlin.pageRankVertexProgram.pageRank', Order.desc).by('name').values('name'))], 
@@ -1511,6 +1517,13 @@ world.gremlins = {
     'g_V_peerPressure_hasXclusterX': [(lambda g:g.V().peer_pressure().has('gremlin.peerPressureVertexProgram.cluster'))], 
     'g_V_peerPressure_withXpropertyName_clusterX_withXedges_outEXknowsXX_pageRankX1X_byXrankX_withXedges_outEXknowsX_withXtimes_2X_group_byXclusterX_byXrank_sumX_limitX100X': [(lambda g:g.V().peer_pressure().with_('~tinkerpop.peerPressure.propertyName', 'cluster').with_('~tinkerpop.peerPressure.edges', __.out_e('knows')).page_rank(1.0).with_('~tinkerpop.pageRank.propertyName', 'rank').with_('~tinkerpop.pageRank.edges', __.out_e('knows')).with_('~tinkerpop.pageRank.times', 1).group().by('cluster').by(__.values('rank').sum_()).limit(100))], 
     'g_V_hasXname_rippleX_inXcreatedX_peerPressure_withXedges_outEX_withyXpropertyName_clusterX_repeatXunionXidentity__bothX_timesX2X_dedup_valueMapXname_clusterX': [(lambda g:g.V().has('name', 'ripple').in_('created').peer_pressure().with_('~tinkerpop.peerPressure.edges', __.out_e()).with_('~tinkerpop.peerPressure.propertyName', 'cluster').repeat(__.union(__.identity(), __.both())).times(2).dedup().value_map('name', 'cluster'))], 
+    'g_V_valuesXageX_percentileX50X': [(lambda g:g.V().values('age').percentile(50))], 
+    'g_V_valuesXageX_percentileX0_100X': [(lambda g:g.V().values('age').percentile(0, 100))], 
+    'g_V_valuesXageX_percentileX25_50_75X': [(lambda g:g.V().values('age').percentile(25, 50, 75))], 
+    'g_E_valuesXweightX_percentileX50X': [(lambda g:g.E().values('weight').percentile(50))], 
+    'g_V_valuesXfooX_percentileX50X': [(lambda g:g.V().values('foo').percentile(50))], 
+    'g_V_valuesXfooX_percentileX50_90X': [(lambda g:g.V().values('foo').percentile(50, 90))], 
+    'g_injectXnull_10_20_nullX_percentileX100X': [(lambda g:g.inject(None, 10, 20, None).percentile(100))], 
     'g_injectXnullX_productXinjectX1XX': [(lambda g:g.inject(None).product(__.inject(1)))], 
     'g_V_valuesXnameX_productXV_foldX': [(lambda g:g.V().values('name').product(__.V().fold()))], 
     'g_V_fold_productXconstantXnullXX': [(lambda g:g.V().fold().product(__.constant(None)))], 
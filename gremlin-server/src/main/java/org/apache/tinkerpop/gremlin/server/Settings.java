@@ -29,6 +29,8 @@ import org.apache.tinkerpop.gremlin.server.auth.Authenticator;
 import org.apache.tinkerpop.gremlin.server.authz.Authorizer;
 import org.apache.tinkerpop.gremlin.server.channel.HttpChannelizer;
 import org.apache.tinkerpop.gremlin.server.handler.AbstractAuthenticationHandler;
+import org.apache.tinkerpop.gremlin.server.scheduler.FifoRequestScheduler;
+import org.apache.tinkerpop.gremlin.server.scheduler.RequestScheduler;
 import org.apache.tinkerpop.gremlin.server.util.DefaultGraphManager;
 import org.apache.tinkerpop.gremlin.server.util.LifeCycleHook;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -202,6 +204,13 @@ public class Settings {
      */
     public int maxConcurrentTransactions = 1000;
 
+    /**
+     * If set to {@code true} each transaction runs on a virtual thread rather than on a dedicated platform thread so
+     * that open transactions do not hold operating system threads while idle. Requires JDK 21 or later and is ignored
+     * otherwise. Default is false.
+     */
+    public boolean useVirtualThreadsForTransactions = false;
+
     /**
      * The full class name of the {@link Channelizer} to use in Gremlin Server.
      */
@@ -255,10 +264,20 @@ public class Settings {
      */
     public SslSettings ssl = null;
 
+    /**
+     * Configures the cache for the results of read-only traversals. Results are not cached if this is not set.
+     */
+    public ResultCacheSettings resultCache = null;
+
     public AuthenticationSettings authentication = new AuthenticationSettings();
 
     public AuthorizationSettings authorization = new AuthorizationSettings();
 
+    /**
+     * Configures the {@link RequestScheduler} that decides when requests run on the {@link #gremlinPool}.
+     */
+    public RequestSchedulerSettings scheduler = new RequestSchedulerSettings();
+
     /**
      * Enable audit logging of authenticated users and gremlin evaluation requests.
      */
@@ -272,6 +291,10 @@ public class Settings {
         return Optional.ofNullable(ssl);
     }
 
+    public Optional<ResultCacheSettings> optionalResultCache() {
+        return Optional.ofNullable(resultCache);
+    }
+
     public long getEvaluationTimeout() {
         return evaluationTimeout;
     }
@@ -317,6 +340,13 @@ public class Settings {
         final TypeDescription sslSettings = new TypeDescription(SslSettings.class);
         constructor.addTypeDescription(sslSettings);
 
+        final TypeDescription requestSchedulerSettings = new TypeDescription(RequestSchedulerSettings.class);
+        requestSchedulerSettings.addPropertyParameters("config", String.class, Object.class);
+        constructor.addTypeDescription(requestSchedulerSettings);
+
+        final TypeDescription resultCacheSettings = new TypeDescription(ResultCacheSettings.class);
+        constructor.addTypeDescription(resultCacheSettings);
+
         final TypeDescription authenticationSettings = new TypeDescription(AuthenticationSettings.class);
         constructor.addTypeDescription(authenticationSettings);
 
@@ -541,6 +571,47 @@ public class Settings {
         }
     }
 
+    public static class RequestSchedulerSettings {
+        /**
+         * The fully qualified class name of the {@link RequestScheduler} implementation. This class name will be
+         * used to load the implementation from the classpath. Defaults to {@link FifoRequestScheduler} when not
+         * specified.
+         */
+        public String className = FifoRequestScheduler.class.getName();
+
+        /**
+         * A {@link Map} containing {@link RequestScheduler} specific configurations. Consult the
+         * {@link RequestScheduler} implementation for specifics on what configurations are expected.
+         */
+        public Map<String, Object> config = null;
+    }
+
+    /**
+     * Settings for the cache of the results of read-only traversals that are submitted outside of a transaction.
+     */
+    public static class ResultCacheSettings {
+        /**
+         * Enables the cache. Default is false.
+         */
+        public boolean enabled = false;
+
+        /**
+         * The maximum number of cached results, as whole responses, for each graph. Default is 10000.
+         */
+        public long maxSize = 10000;
+
+        /**
+         * The time in milliseconds after which cached results expire whether or not the graph was mutated, which
+         * bounds how stale results can get when the graph is mutated outside of Gremlin Server. Default is 60000.
+         */
+        public long ttl = 60000;
+
+        /**
+         * The maximum number of results a response may have to be cached. Default is 1000.
+         */
+        public int maxResults = 1000;
+    }
+
     /**
      * Settings for {@code Metrics} recorded by Gremlin Server.
      */
@@ -63,7 +63,8 @@ public class HttpChannelizer extends AbstractChannelizer {
     public void init(final ServerGremlinExecutor serverGremlinExecutor) {
         super.init(serverGremlinExecutor);
         httpGremlinEndpointHandler = new HttpGremlinEndpointHandler(
-                gremlinExecutor, graphManager, settings, serverGremlinExecutor.getTransactionManager());
+                gremlinExecutor, graphManager, settings, serverGremlinExecutor.getTransactionManager(),
+                serverGremlinExecutor.getResultCache(), serverGremlinExecutor.getRequestScheduler());
     }
 
     @Override
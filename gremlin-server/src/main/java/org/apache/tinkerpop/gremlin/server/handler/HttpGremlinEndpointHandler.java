@@ -29,6 +29,7 @@ import io.netty.handler.codec.TooLongFrameException;
 import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.Attribute;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.TimedInterruptTimeoutException;
@@ -49,6 +50,7 @@ import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.ProcessingException;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
+import org.apache.tinkerpop.gremlin.server.scheduler.RequestScheduler;
 import org.apache.tinkerpop.gremlin.server.util.GremlinError;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.server.util.TraverserIterator;
@@ -86,6 +88,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
@@ -93,7 +96,9 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static com.codahale.metrics.MetricRegistry.name;
@@ -124,7 +129,8 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
     private static final Timer evalOpTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "eval"));
 
     /**
-     * Length of time to pause writes in milliseconds when the high watermark is exceeded.
+     * Length of time to pause writes in milliseconds when the high watermark is exceeded for a transactional request.
+     * The writes of other requests are suspended and resumed when the channel becomes writeable again.
      */
     public static final long WRITE_PAUSE_TIME_MS = 10;
 
@@ -169,15 +175,33 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
     private final GraphManager graphManager;
     private final Settings settings;
     private final TransactionManager transactionManager;
+    private final ResultCache resultCache;
+    private final RequestScheduler requestScheduler;
 
     public HttpGremlinEndpointHandler(final GremlinExecutor gremlinExecutor,
                                       final GraphManager graphManager,
                                       final Settings settings,
                                       final TransactionManager transactionManager) {
+        this(gremlinExecutor, graphManager, settings, transactionManager, null, null);
+    }
+
+    /**
+     * Creates the handler with a {@link ResultCache} for the results of read-only traversals, which may be
+     * {@code null} if results are not to be cached, and the {@link RequestScheduler} for requests outside of a
+     * transaction, which may be {@code null} to submit them to the executor of the {@link GremlinExecutor} directly.
+     */
+    public HttpGremlinEndpointHandler(final GremlinExecutor gremlinExecutor,
+                                      final GraphManager graphManager,
+                                      final Settings settings,
+                                      final TransactionManager transactionManager,
+                                      final ResultCache resultCache,
+                                      final RequestScheduler requestScheduler) {
         this.gremlinExecutor = gremlinExecutor;
         this.graphManager = graphManager;
         this.settings = settings;
         this.transactionManager = transactionManager;
+        this.resultCache = resultCache;
+        this.requestScheduler = requestScheduler;
     }
 
     @Override
@@ -194,10 +218,11 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
         final Long timeoutMs = requestMessage.getField(Tokens.TIMEOUT_MS);
         final long seto = (null != timeoutMs) ? timeoutMs : requestCtx.getSettings().getEvaluationTimeout();
 
+        final RequestExecution execution = new RequestExecution(requestCtx, serializer.getValue1(), timerContext);
         final FutureTask<Void> evalFuture = new FutureTask<>(() -> {
             requestCtx.setStartedResponse();
 
-            try {
+            execution.run(() -> {
                 logger.debug("Processing request containing script [{}] and bindings of [{}] on {}",
                         requestMessage.getFieldOrDefault(Tokens.ARGS_GREMLIN, ""),
                         requestMessage.getFieldOrDefault(Tokens.ARGS_BINDINGS, Collections.emptyMap()),
@@ -241,34 +266,28 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
                 // Send back the 200 OK response header here since the response is always chunk transfer encoded. Any
                 // failures that follow this will show up in the response body instead.
                 sendHttpResponse(ctx, OK, createResponseHeaders(ctx, serializer, requestCtx).toArray(CharSequence[]::new));
-                sendHttpContents(ctx, requestCtx);
-                sendLastHttpContent(ctx, HttpResponseStatus.OK, "");
-            } catch (Throwable t) {
-                writeError(requestCtx, formErrorResponseMessage(t, requestMessage), serializer.getValue1());
-            } finally {
-                timerContext.stop();
-
-                // There is a race condition that this query may have finished before the timeoutFuture was created,
-                // though this is very unlikely. This is handled in the settor, if this has already been grabbed.
-                // If we passed this point and the setter hasn't been called, it will cancel the timeoutFuture inside
-                // the setter to compensate.
-                final ScheduledFuture<?> timeoutFuture = requestCtx.getTimeoutExecutor();
-                if (null != timeoutFuture)
-                    timeoutFuture.cancel(true);
-            }
+                return sendHttpContents(ctx, requestCtx, execution);
+            });
 
             return null;
         });
 
         try {
             final boolean isBeginTransactionRequest = isTransactionBegin(requestMessage.getGremlin());
-            final Future<?> executionFuture = ((requestCtx.getTransactionId() != null) && !isBeginTransactionRequest) ?
-                    transactionManager.get(requestCtx.getTransactionId()).get().submit(evalFuture) :
-                    requestCtx.getGremlinExecutor().getExecutorService().submit(evalFuture);
+            if ((requestCtx.getTransactionId() != null) && !isBeginTransactionRequest) {
+                final UnmanagedTransaction transaction = transactionManager.get(requestCtx.getTransactionId()).get();
+                execution.setExecutor(transaction::submit);
+            } else {
+                // only the request itself is scheduled because a suspended response that resumes was already admitted
+                execution.setExecutor(requestCtx.getGremlinExecutor().getExecutorService()::submit);
+                if (requestScheduler != null)
+                    execution.setInitialExecutor(task -> requestScheduler.submit(requestCtx, task));
+            }
+            execution.submitInitial(evalFuture);
             if (seto > 0) {
                 // Schedule a timeout in the thread pool for future execution
                 requestCtx.setTimeoutExecutor(requestCtx.getScheduledExecutorService().schedule(() -> {
-                    executionFuture.cancel(true);
+                    execution.cancel();
                     if (!requestCtx.getStartedResponse()) {
                         writeError(requestCtx, GremlinError.timeout(requestMessage), serializer.getValue1());
                     }
@@ -281,6 +300,30 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
         }
     }
 
+    /**
+     * Resumes a response that was suspended because the channel stopped being writeable once the channel drains
+     * below the {@code writeBufferLowWaterMark}.
+     */
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) resumeSuspendedResponse(ctx.channel());
+        super.channelWritabilityChanged(ctx);
+    }
+
+    /**
+     * Resumes a suspended response when the client goes away so that it can stop iterating and release its resources.
+     */
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        resumeSuspendedResponse(ctx.channel());
+        super.channelInactive(ctx);
+    }
+
+    private static void resumeSuspendedResponse(final Channel channel) {
+        final Runnable continuation = channel.attr(StateKey.SUSPENDED_RESPONSE).getAndSet(null);
+        if (continuation != null) continuation.run();
+    }
+
     private List<CharSequence> createResponseHeaders(final ChannelHandlerContext ctx,
                                                      final Pair<String, MessageSerializer<?>> serializer,
                                                      final Context requestCtx) {
@@ -298,7 +341,12 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
         return headers;
     }
 
-    private void sendHttpContents(final ChannelHandlerContext ctx, final Context requestContext) throws Exception {
+    /**
+     * Writes the response contents and returns {@code true} when they were written completely or {@code false} when
+     * the writing of results was suspended to wait for the client to catch up.
+     */
+    private boolean sendHttpContents(final ChannelHandlerContext ctx, final Context requestContext,
+                                     final RequestExecution execution) throws Exception {
         final Pair<String, MessageSerializer<?>> serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
         final RequestMessage request = requestContext.getRequestMessage();
         final String txId = requestContext.getTransactionId();
@@ -315,8 +363,10 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
             handleGraphOp(requestContext, txId, Transaction::rollback, serializer);
         } else {
             // Both transactional and non-transactional traversals follow this path for response chunking.
-            iterateScriptEvalResult(requestContext, serializer.getValue1(), request);
+            return iterateScriptEvalResult(requestContext, serializer.getValue1(), request, execution);
         }
+
+        return true;
     }
 
     private GremlinError formErrorResponseMessage(Throwable t, RequestMessage requestMessage) {
@@ -369,8 +419,8 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
         return GremlinError.general(t);
     }
 
-    private void iterateScriptEvalResult(final Context context, MessageSerializer<?> serializer, final RequestMessage message)
-            throws ProcessingException, InterruptedException, ScriptException {
+    private boolean iterateScriptEvalResult(final Context context, MessageSerializer<?> serializer, final RequestMessage message,
+                                            final RequestExecution execution) throws ProcessingException, InterruptedException, ScriptException {
         if (message.optionalField(Tokens.ARGS_BINDINGS).isPresent()) {
             final Map bindings = (Map) message.getFields().get(Tokens.ARGS_BINDINGS);
             if (IteratorUtils.anyMatch(bindings.keySet().iterator(), k -> null == k || !(k instanceof String))) {
@@ -406,27 +456,52 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
 
         Iterator itty = null;
         try {
+            // only traversals outside of a transaction are cached as uncommitted changes are not visible to others
+            final Graph cacheGraph = null == resultCache || null != context.getTransactionId() ||
+                    !language.equals("gremlin-lang") || !(result instanceof Traversal.Admin) ?
+                    null : ((Traversal.Admin<?, ?>) result).getGraph().orElse(null);
+            ResultCache.Key cacheKey = null;
+            if (cacheGraph != null) {
+                final Traversal.Admin<?, ?> traversal = (Traversal.Admin<?, ?>) result;
+                if (ResultCache.isMutating(traversal)) {
+                    // invalidate again once complete so that results read while the traversal mutated the graph are
+                    // dropped as well
+                    resultCache.invalidate(cacheGraph);
+                    execution.setOnComplete(() -> resultCache.invalidate(cacheGraph));
+                } else if (ResultCache.isCacheable(traversal)) {
+                    cacheKey = ResultCache.createKey(message.getField(Tokens.ARGS_G), message.getGremlin(),
+                            message.getField(Tokens.ARGS_BINDINGS), bulking);
+                    final List<Object> cached = resultCache.get(cacheGraph, cacheKey);
+                    if (cached != null) {
+                        CloseableIterator.closeIterator(traversal);
+                        itty = cached.iterator();
+                        return handleIterator(context, itty, serializer, bulking, execution);
+                    }
+                }
+            }
+
             if (bulking) {
                 // optimization for driver requests
-                ((Traversal.Admin<?, ?>) result).applyStrategies();
+                // the script engine may return a traversal that already has its strategies applied from its cache
+                if (!((Traversal.Admin<?, ?>) result).isLocked()) ((Traversal.Admin<?, ?>) result).applyStrategies();
                 itty = new TraverserIterator((Traversal.Admin<?, ?>) result);
-                handleIterator(context, itty, serializer, true);
             } else {
                 itty = IteratorUtils.asIterator(result);
-                handleIterator(context, itty, serializer, false);
             }
+
+            if (cacheKey != null) itty = resultCache.record(cacheGraph, cacheKey, itty);
+            return handleIterator(context, itty, serializer, bulking, execution);
         } catch (Exception ex) {
             // TINKERPOP-3144 ensure Traversals are closed when exception thrown.
-            if (itty instanceof TraverserIterator) {
-                CloseableIterator.closeIterator(((TraverserIterator) itty).getTraversal());
-            } else if (itty != null) {
-                CloseableIterator.closeIterator(itty);
-            }
-
+            closeIterator(itty);
             throw ex;
         }
     }
 
+    private static void closeIterator(final Iterator itty) {
+        if (itty != null) CloseableIterator.closeIterator(itty);
+    }
+
     @Override
     public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
         logger.error("Error processing HTTP Request", cause);
@@ -498,6 +573,7 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
         final Graph graph = graphManager.getTraversalSource(ctx.getRequestMessage().getField(Tokens.ARGS_G)).getGraph();
         graphOp.accept(graph.tx());
         transactionManager.destroy(transactionId);
+        if (resultCache != null) resultCache.invalidate(graph);
         final ByteBuf chunk = makeChunk(ctx, serializer.getValue1(), List.of(Map.of(Tokens.ARGS_TRANSACTION_ID, transactionId)), false, false);
         ctx.getChannelHandlerContext().writeAndFlush(new DefaultHttpContent(chunk));
     }
@@ -540,15 +616,14 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
         return bindings;
     }
 
-    private void handleIterator(final Context context, final Iterator itty, final MessageSerializer<?> serializer, final boolean bulking) throws InterruptedException {
+    /**
+     * Writes the results of the iterator and returns {@code true} when they were written completely or {@code false}
+     * when the writing was suspended because the channel is not writeable, in which case the {@link RequestExecution}
+     * completes the response once the remaining results have been written.
+     */
+    private boolean handleIterator(final Context context, final Iterator itty, final MessageSerializer<?> serializer,
+                                   final boolean bulking, final RequestExecution execution) throws InterruptedException {
         final ChannelHandlerContext nettyContext = context.getChannelHandlerContext();
-        final RequestMessage msg = context.getRequestMessage();
-        final Settings settings = context.getSettings();
-
-        // used to limit warnings for when netty fills the buffer and hits the high watermark - prevents
-        // over-logging of the same message.
-        long lastWarningTime = 0;
-        int warnCounter = 0;
 
         // we have an empty iterator - happens on stuff like: g.V().iterate()
         if (!itty.hasNext()) {
@@ -561,117 +636,356 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
                 // it needs to be released here
                 if (chunk != null) chunk.release();
             }
-            return;
+            return true;
+        }
+
+        return new ResultIteration(context, itty, serializer, bulking, execution).iterate();
+    }
+
+    /**
+     * The execution of a single request which may run in several parts on the executor when the writing of its results
+     * is suspended while the channel is not writeable. Instead of holding an executor thread while the client catches
+     * up, the remaining iteration is registered on the channel and re-submitted to the same executor once
+     * {@link #channelWritabilityChanged(ChannelHandlerContext)} signals that the channel is writeable again. The
+     * response is only completed, and the request timer only stopped, by the part that finishes writing the results.
+     * The writing of results of a transactional request is paused on the thread of its transaction rather than
+     * suspended.
+     */
+    private final class RequestExecution {
+        private final Context context;
+        private final MessageSerializer<?> serializer;
+        private final Timer.Context timerContext;
+        private Function<FutureTask<Void>, Future<?>> executor;
+        private Function<FutureTask<Void>, Future<?>> initialExecutor;
+        private volatile Future<?> future;
+        private volatile boolean cancelled = false;
+        private volatile Continuation continuation;
+        private volatile Runnable onComplete;
+
+        private RequestExecution(final Context context, final MessageSerializer<?> serializer,
+                                 final Timer.Context timerContext) {
+            this.context = context;
+            this.serializer = serializer;
+            this.timerContext = timerContext;
+        }
+
+        /**
+         * Sets the executor that runs the request and any continuation of it.
+         */
+        private void setExecutor(final Function<FutureTask<Void>, Future<?>> executor) {
+            this.executor = executor;
+        }
+
+        /**
+         * Sets the executor that runs the request when it differs from the executor of its continuations.
+         */
+        private void setInitialExecutor(final Function<FutureTask<Void>, Future<?>> initialExecutor) {
+            this.initialExecutor = initialExecutor;
+        }
+
+        /**
+         * Sets a callback that runs once the response is complete, whether it succeeded or not.
+         */
+        private void setOnComplete(final Runnable onComplete) {
+            this.onComplete = onComplete;
+        }
+
+        /**
+         * Submits the request itself, as opposed to a continuation of it.
+         */
+        private void submitInitial(final FutureTask<Void> task) {
+            future = (null == initialExecutor ? executor : initialExecutor).apply(task);
+
+            // the timeout may have fired between the submission and the assignment of the future
+            if (cancelled) future.cancel(true);
+        }
+
+        /**
+         * Runs a part of the request which returns {@code false} if it suspended the writing of results and otherwise
+         * completes the response.
+         */
+        private void run(final Callable<Boolean> part) {
+            final ChannelHandlerContext ctx = context.getChannelHandlerContext();
+            boolean suspended = false;
+            try {
+                suspended = !part.call();
+                if (!suspended) sendLastHttpContent(ctx, HttpResponseStatus.OK, "");
+            } catch (Throwable t) {
+                writeError(context, formErrorResponseMessage(t, context.getRequestMessage()), serializer);
+            } finally {
+                if (!suspended) {
+                    final Runnable callback = onComplete;
+                    if (callback != null) callback.run();
+
+                    timerContext.stop();
+
+                    // There is a race condition that this query may have finished before the timeoutFuture was
+                    // created, though this is very unlikely. This is handled in the settor, if this has already been
+                    // grabbed. If we passed this point and the setter hasn't been called, it will cancel the
+                    // timeoutFuture inside the setter to compensate.
+                    final ScheduledFuture<?> timeoutFuture = context.getTimeoutExecutor();
+                    if (null != timeoutFuture)
+                        timeoutFuture.cancel(true);
+                }
+            }
         }
 
-        // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalField(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+        /**
+         * Cancels the request on timeout. A suspended iteration holds no thread to interrupt and a resumed iteration
+         * whose task was cancelled before it started will never run, so the latest continuation is run on the calling
+         * thread unless some other thread already took it. It observes the cancellation, writes the timeout error and
+         * closes the traversal.
+         */
+        private void cancel() {
+            cancelled = true;
+            final Future<?> f = future;
+            if (f != null) f.cancel(true);
+
+            final Continuation c = continuation;
+            if (c != null) {
+                context.getChannelHandlerContext().channel().attr(StateKey.SUSPENDED_RESPONSE).compareAndSet(c, null);
+                c.proceed();
+            }
+        }
+
+        private boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Registers the iteration to be resumed when the channel becomes writeable and returns {@code true} if the
+         * calling thread should stop iterating. The iteration of a transactional request is not suspended as that would
+         * release the thread of the transaction and let a later commit or rollback run before the remaining results are
+         * iterated, so it pauses on the thread of the transaction instead.
+         */
+        private boolean suspend(final ResultIteration iteration) throws InterruptedException {
+            if (context.getTransactionId() != null) {
+                TimeUnit.MILLISECONDS.sleep(WRITE_PAUSE_TIME_MS);
+                return false;
+            }
+
+            final Channel channel = context.getChannelHandlerContext().channel();
+            final Attribute<Runnable> suspended = channel.attr(StateKey.SUSPENDED_RESPONSE);
+            final Continuation c = new Continuation(iteration);
+            continuation = c;
+            suspended.set(c);
+
+            // the channel may have drained, closed or timed out before the continuation was registered in which case
+            // no event will arrive to resume it, so continue on this thread unless an event already took it
+            if (channel.isWritable() || !channel.isActive() || cancelled) {
+                suspended.compareAndSet(c, null);
+                return !c.claim();
+            }
+
+            return true;
+        }
+
+        /**
+         * The remaining iteration of a suspended response which is resumed on the executor by a writability change of
+         * the channel, or continued directly by {@link #cancel()}, whichever takes it first.
+         */
+        private final class Continuation implements Runnable {
+            private final ResultIteration iteration;
+            private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+            private Continuation(final ResultIteration iteration) {
+                this.iteration = iteration;
+            }
+
+            private boolean claim() {
+                return claimed.compareAndSet(false, true);
+            }
+
+            /**
+             * Submits the remaining iteration to the executor. The task is not cancelled if the timeout fired in the
+             * meantime as {@link #cancel()} continues the iteration itself when the task did not start yet.
+             */
+            @Override
+            public void run() {
+                try {
+                    future = executor.apply(new FutureTask<>(() -> {
+                        proceed();
+                        return null;
+                    }));
+                } catch (Exception ex) {
+                    // the executor is shutting down while the response was suspended
+                    if (claim()) {
+                        RequestExecution.this.run(() -> {
+                            closeIterator(iteration.itty);
+                            throw ex;
+                        });
+                    }
+                }
+            }
+
+            /**
+             * Continues the remaining iteration on the calling thread if no other thread took it.
+             */
+            private void proceed() {
+                if (claim()) RequestExecution.this.run(iteration::resume);
+            }
+        }
+    }
+
+    /**
+     * The state of the iteration of results for a request, kept across the suspensions of a {@link RequestExecution}.
+     */
+    private final class ResultIteration {
+        private final Context context;
+        private final Iterator itty;
+        private final MessageSerializer<?> serializer;
+        private final boolean bulking;
+        private final RequestExecution execution;
+        private final int resultIterationBatchSize;
+        private List<Object> aggregate;
 
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
         // the loop on calls to hasNext().
-        boolean hasMore = itty.hasNext();
-
-        while (hasMore) {
-            if (Thread.interrupted()) throw new InterruptedException();
-
-            // have to check the aggregate size because it is possible that the channel is not writeable (below)
-            // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
-            // the expected resultIterationBatchSize.  Total serialization time for the response remains in
-            // effect so if the client is "slow" it may simply timeout.
-            //
-            // there is a need to check hasNext() on the iterator because if the channel is not writeable the
-            // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
-            // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
-            // require a forced flush which can be forced by sub-classes.
-            //
-            // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
-            // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
-            // while waiting for the client to catch up
-            if (aggregate.size() < resultIterationBatchSize && itty.hasNext()) {
-                if (bulking) {
-                    Traverser traverser = (Traverser) itty.next();
-                    aggregate.add(traverser.get());
-                    aggregate.add(traverser.bulk());
-                } else {
-                    aggregate.add(itty.next());
-                }
-            }
+        private boolean hasMore;
 
-            // Don't keep executor busy if client has already given up; there is no way to catch up if the channel is
-            // not active, and hence we should break the loop.
-            if (!nettyContext.channel().isActive()) {
-                break;
+        // used to limit warnings for when netty fills the buffer and hits the high watermark - prevents
+        // over-logging of the same message.
+        private long lastWarningTime = 0;
+        private int warnCounter = 0;
+
+        private ResultIteration(final Context context, final Iterator itty, final MessageSerializer<?> serializer,
+                                final boolean bulking, final RequestExecution execution) {
+            this.context = context;
+            this.itty = itty;
+            this.serializer = serializer;
+            this.bulking = bulking;
+            this.execution = execution;
+
+            // the batch size can be overridden by the request
+            this.resultIterationBatchSize = (Integer) context.getRequestMessage().optionalField(Tokens.ARGS_BATCH_SIZE)
+                    .orElse(context.getSettings().resultIterationBatchSize);
+            this.aggregate = new ArrayList<>(resultIterationBatchSize);
+            this.hasMore = itty.hasNext();
+        }
+
+        /**
+         * Continues a suspended iteration and closes the iterator if it fails.
+         */
+        private boolean resume() throws Exception {
+            try {
+                return iterate();
+            } catch (Exception ex) {
+                // TINKERPOP-3144 ensure Traversals are closed when exception thrown.
+                closeIterator(itty);
+                throw ex;
             }
+        }
 
-            // send back a page of results if batch size is met or if it's the end of the results being iterated.
-            // also check writeability of the channel to prevent OOME for slow clients.
-            //
-            // clients might decide to close the Netty channel to the server with a CloseWebsocketFrame after errors
-            // like CorruptedFrameException. On the server, although the channel gets closed, there might be some
-            // executor threads waiting for watermark to clear which will not clear in these cases since client has
-            // already given up on these requests. This leads to these executors waiting for the client to consume
-            // results till the timeout. checking for isActive() should help prevent that.
-            if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()) {
-                if (aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
-                    ByteBuf chunk = null;
-                    try {
-                        chunk = makeChunk(context, serializer, aggregate, itty.hasNext(), bulking);
-                    } catch (Exception ex) {
-                        // Bytebuf is a countable release - if it does not get written downstream
-                        // it needs to be released here
-                        if (chunk != null) chunk.release();
-
-                        // exception is handled in makeFrame() - serialization error gets written back to driver
-                        // at that point
-                        break;
+        /**
+         * Iterates and writes results until they are exhausted, returning {@code true}, or until the channel is no
+         * longer writeable and the iteration was suspended, returning {@code false}.
+         */
+        private boolean iterate() throws InterruptedException {
+            final ChannelHandlerContext nettyContext = context.getChannelHandlerContext();
+
+            while (hasMore) {
+                if (Thread.interrupted() || execution.isCancelled()) throw new InterruptedException();
+
+                // have to check the aggregate size because it is possible that the channel is not writeable (below)
+                // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
+                // the expected resultIterationBatchSize.  Total serialization time for the response remains in
+                // effect so if the client is "slow" it may simply timeout.
+                //
+                // there is a need to check hasNext() on the iterator because if the channel is not writeable the
+                // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
+                // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
+                // require a forced flush which can be forced by sub-classes.
+                //
+                // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
+                // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
+                // while waiting for the client to catch up
+                if (aggregate.size() < resultIterationBatchSize && itty.hasNext()) {
+                    if (bulking) {
+                        Traverser traverser = (Traverser) itty.next();
+                        aggregate.add(traverser.get());
+                        aggregate.add(traverser.bulk());
+                    } else {
+                        aggregate.add(itty.next());
                     }
+                }
 
-                    // track whether there is anything left in the iterator because it needs to be accessed after
-                    // the transaction could be closed - in that case a call to hasNext() could open a new transaction
-                    // unintentionally
-                    hasMore = itty.hasNext();
+                // Don't keep executor busy if client has already given up; there is no way to catch up if the channel
+                // is not active, and hence we should break the loop.
+                if (!nettyContext.channel().isActive()) {
+                    break;
+                }
 
-                    try {
-                        // only need to reset the aggregation list if there's more stuff to write
-                        if (hasMore) {
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
+                // send back a page of results if batch size is met or if it's the end of the results being iterated.
+                // also check writeability of the channel to prevent OOME for slow clients.
+                //
+                // clients might decide to close the Netty channel to the server with a CloseWebsocketFrame after
+                // errors like CorruptedFrameException. On the server, although the channel gets closed, there might
+                // be some executor threads waiting for watermark to clear which will not clear in these cases since
+                // client has already given up on these requests. This leads to these executors waiting for the client
+                // to consume results till the timeout. checking for isActive() should help prevent that.
+                if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()) {
+                    if (aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
+                        ByteBuf chunk = null;
+                        try {
+                            chunk = makeChunk(context, serializer, aggregate, itty.hasNext(), bulking);
+                        } catch (Exception ex) {
+                            // Bytebuf is a countable release - if it does not get written downstream
+                            // it needs to be released here
+                            if (chunk != null) chunk.release();
+
+                            // exception is handled in makeFrame() - serialization error gets written back to driver
+                            // at that point
+                            break;
                         }
-                    } catch (Exception ex) {
-                        // Bytebuf is a countable release - if it does not get written downstream
-                        // it needs to be released here
-                        if (chunk != null) chunk.release();
-                        throw ex;
+
+                        // track whether there is anything left in the iterator because it needs to be accessed after
+                        // the transaction could be closed - in that case a call to hasNext() could open a new
+                        // transaction unintentionally
+                        hasMore = itty.hasNext();
+
+                        try {
+                            // only need to reset the aggregation list if there's more stuff to write
+                            if (hasMore) {
+                                aggregate = new ArrayList<>(resultIterationBatchSize);
+                            }
+                        } catch (Exception ex) {
+                            // Bytebuf is a countable release - if it does not get written downstream
+                            // it needs to be released here
+                            if (chunk != null) chunk.release();
+                            throw ex;
+                        }
+
+                        nettyContext.writeAndFlush(new DefaultHttpContent(chunk));
+                    }
+                } else {
+                    final long currentTime = System.currentTimeMillis();
+
+                    // exponential delay between warnings. don't keep triggering this warning over and over again for
+                    // the same request. totalPendingWriteBytes is volatile so it is possible that by the time this
+                    // warning hits the log the low watermark may have been hit
+                    long interval = (long) Math.pow(2, warnCounter) * 1000;
+                    if (currentTime - lastWarningTime >= interval) {
+                        final Channel ch = nettyContext.channel();
+                        logger.warn("Warning {}: Outbound buffer size={}, pausing response writing as writeBufferHighWaterMark exceeded on request {} for channel {} - writing will continue once client has caught up",
+                                warnCounter,
+                                ch.unsafe().outboundBuffer().totalPendingWriteBytes(),
+                                ch.attr(StateKey.REQUEST_ID),
+                                ch.id());
+
+                        lastWarningTime = currentTime;
+                        warnCounter++;
                     }
 
-                    nettyContext.writeAndFlush(new DefaultHttpContent(chunk));
-                }
-            } else {
-                final long currentTime = System.currentTimeMillis();
-
-                // exponential delay between warnings. don't keep triggering this warning over and over again for the
-                // same request. totalPendingWriteBytes is volatile so it is possible that by the time this warning
-                // hits the log the low watermark may have been hit
-                long interval = (long) Math.pow(2, warnCounter) * 1000;
-                if (currentTime - lastWarningTime >= interval) {
-                    final Channel ch = context.getChannelHandlerContext().channel();
-                    logger.warn("Warning {}: Outbound buffer size={}, pausing response writing as writeBufferHighWaterMark exceeded on request {} for channel {} - writing will continue once client has caught up",
-                            warnCounter,
-                            ch.unsafe().outboundBuffer().totalPendingWriteBytes(),
-                            ch.attr(StateKey.REQUEST_ID),
-                            ch.id());
-
-                    lastWarningTime = currentTime;
-                    warnCounter++;
-                }
+                    writePausesMeter.mark();
 
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(WRITE_PAUSE_TIME_MS);
-                writePausesMeter.mark();
+                    // since the client is lagging, the iteration is suspended rather than holding a worker thread for
+                    // the client to catch up. it is resumed on another worker once the channel is writeable again.
+                    if (execution.suspend(this)) return false;
+                }
             }
+
+            return true;
         }
     }
 
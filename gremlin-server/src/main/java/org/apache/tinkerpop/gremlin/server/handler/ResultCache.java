@@ -0,0 +1,396 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.apache.tinkerpop.gremlin.process.remote.traversal.DefaultRemoteTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.ReadWriting;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.CoinStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.SampleGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CallStepContract;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.SampleLocalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.Tree;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.MutationListener;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Caches the results of read-only traversals that are submitted to Gremlin Server outside of a transaction. Results
+ * are keyed by the alias of the traversal source, the Gremlin script with its insignificant whitespace removed, the
+ * bindings of the request and whether results are bulked. Each {@link Graph} has its own cache with the configured
+ * size and time to live so that all results of a graph are invalidated together when it is mutated.
+ * <p/>
+ * A graph is invalidated when Gremlin Server evaluates a traversal with mutating steps against it, both before and
+ * after its evaluation, and when a transaction on it commits. Mutations made outside of Gremlin Server requests can
+ * invalidate the graph with the {@link MutationListener} from {@link #createMutationListener(Graph)}, for example by
+ * way of an {@code EventStrategy}. Results are only cached once the traversal is fully iterated and only if no
+ * invalidation happened in the meantime.
+ * <p/>
+ * Traversals with mutating steps, {@code io()}, {@code call()} or random steps like {@code coin()} and
+ * {@code sample()} are never cached.
+ */
+public class ResultCache {
+
+    private static final Collection<Class> MUTATING_STEPS = Arrays.asList(
+            Mutating.class, ReadWriting.class, CallStepContract.class);
+
+    private static final Collection<Class> RANDOM_STEPS = Arrays.asList(
+            CoinStep.class, SampleGlobalStep.class, SampleLocalStep.class);
+
+    private final Map<Graph, GraphResults> caches = new ConcurrentHashMap<>();
+    private final Caffeine<Object, Object> caffeine;
+    private final int maxResults;
+
+    public ResultCache(final Settings.ResultCacheSettings settings) {
+        this.caffeine = Caffeine.newBuilder().
+                maximumSize(settings.maxSize).
+                expireAfterWrite(settings.ttl, TimeUnit.MILLISECONDS).
+                recordStats();
+        this.maxResults = settings.maxResults;
+
+        MetricManager.INSTANCE.getGauge(() -> stats().hitCount(), name(GremlinServer.class, "result-cache", "hit-count"));
+        MetricManager.INSTANCE.getGauge(() -> stats().missCount(), name(GremlinServer.class, "result-cache", "miss-count"));
+        MetricManager.INSTANCE.getGauge(() -> stats().hitRate(), name(GremlinServer.class, "result-cache", "hit-rate"));
+        MetricManager.INSTANCE.getGauge(() -> stats().evictionCount(), name(GremlinServer.class, "result-cache", "eviction-count"));
+        MetricManager.INSTANCE.getGauge(this::estimatedSize, name(GremlinServer.class, "result-cache", "estimated-size"));
+    }
+
+    /**
+     * Determines if the traversal has steps that mutate the graph, in which case the graph must be invalidated.
+     */
+    public static boolean isMutating(final Traversal.Admin<?, ?> traversal) {
+        return TraversalHelper.hasStepOfAssignableClassRecursively(MUTATING_STEPS, traversal);
+    }
+
+    /**
+     * Determines if the results of the traversal may be cached.
+     */
+    public static boolean isCacheable(final Traversal.Admin<?, ?> traversal) {
+        return !isMutating(traversal) && !TraversalHelper.hasStepOfAssignableClassRecursively(RANDOM_STEPS, traversal);
+    }
+
+    /**
+     * Creates the key of the results of a script.
+     */
+    public static Key createKey(final String traversalSource, final String gremlin,
+                                final Map<String, Object> bindings, final boolean bulking) {
+        return new Key(traversalSource, normalize(gremlin),
+                null == bindings ? Collections.emptyMap() : new HashMap<>(bindings), bulking);
+    }
+
+    /**
+     * Gets the cached results for the key, or {@code null} if there are none.
+     */
+    public List<Object> get(final Graph graph, final Key key) {
+        return results(graph).cache.getIfPresent(key);
+    }
+
+    /**
+     * Wraps the iterator of the results of a traversal so that the results are cached once the iterator is exhausted.
+     */
+    public Iterator<Object> record(final Graph graph, final Key key, final Iterator<Object> itty) {
+        return new RecordingIterator(results(graph), key, itty);
+    }
+
+    /**
+     * Removes all cached results of the graph.
+     */
+    public void invalidate(final Graph graph) {
+        final GraphResults results = caches.get(graph);
+        if (results != null) results.invalidate();
+    }
+
+    /**
+     * Creates a {@link MutationListener} that invalidates the graph on any mutation.
+     */
+    public MutationListener createMutationListener(final Graph graph) {
+        return new InvalidatingMutationListener(graph);
+    }
+
+    /**
+     * Gets the statistics of the caches of all graphs.
+     */
+    public CacheStats stats() {
+        CacheStats stats = CacheStats.empty();
+        for (GraphResults results : caches.values()) {
+            stats = stats.plus(results.cache.stats());
+        }
+        return stats;
+    }
+
+    /**
+     * Gets the approximate number of cached results across all graphs.
+     */
+    public long estimatedSize() {
+        long size = 0;
+        for (GraphResults results : caches.values()) {
+            size += results.cache.estimatedSize();
+        }
+        return size;
+    }
+
+    private GraphResults results(final Graph graph) {
+        return caches.computeIfAbsent(graph, g -> new GraphResults(caffeine.build()));
+    }
+
+    /**
+     * Removes whitespace outside of string literals unless it separates two identifiers or numbers.
+     */
+    static String normalize(final String gremlin) {
+        final StringBuilder sb = new StringBuilder(gremlin.length());
+        char quote = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < gremlin.length(); i++) {
+            final char c = gremlin.charAt(i);
+            if (quote != 0) {
+                sb.append(c);
+                if (c == '\\' && i + 1 < gremlin.length()) {
+                    sb.append(gremlin.charAt(++i));
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+            } else {
+                if (pendingSpace && isWordPart(sb.charAt(sb.length() - 1)) && isWordPart(c)) sb.append(' ');
+                pendingSpace = false;
+                if (c == '\'' || c == '"') quote = c;
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isWordPart(final char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    /**
+     * The key of the results of a script.
+     */
+    public static final class Key {
+        private final String traversalSource;
+        private final String gremlin;
+        private final Map<String, Object> bindings;
+        private final boolean bulking;
+        private final int hashCode;
+
+        private Key(final String traversalSource, final String gremlin, final Map<String, Object> bindings,
+                    final boolean bulking) {
+            this.traversalSource = traversalSource;
+            this.gremlin = gremlin;
+            this.bindings = bindings;
+            this.bulking = bulking;
+            this.hashCode = Objects.hash(traversalSource, gremlin, bindings, bulking);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key key = (Key) o;
+            return bulking == key.bulking && Objects.equals(traversalSource, key.traversalSource) &&
+                    gremlin.equals(key.gremlin) && bindings.equals(key.bindings);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * The cached results of a graph along with a generation that is incremented on every invalidation so that
+     * results which were iterated while the graph was mutated are not cached.
+     */
+    private static final class GraphResults {
+        private final Cache<Key, List<Object>> cache;
+        private final AtomicLong generation = new AtomicLong();
+
+        private GraphResults(final Cache<Key, List<Object>> cache) {
+            this.cache = cache;
+        }
+
+        private void invalidate() {
+            generation.incrementAndGet();
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Records the results of an iterator and caches them when it is exhausted, unless there are more than the
+     * maximum number of results or the graph was invalidated.
+     */
+    private final class RecordingIterator implements CloseableIterator<Object> {
+        private final GraphResults results;
+        private final Key key;
+        private final Iterator<Object> itty;
+        private final long generation;
+        private List<Object> recorded = new ArrayList<>();
+
+        private RecordingIterator(final GraphResults results, final Key key, final Iterator<Object> itty) {
+            this.results = results;
+            this.key = key;
+            this.itty = itty;
+            this.generation = results.generation.get();
+        }
+
+        @Override
+        public boolean hasNext() {
+            final boolean hasNext = itty.hasNext();
+            if (!hasNext && recorded != null) {
+                if (results.generation.get() == generation) {
+                    results.cache.put(key, Collections.unmodifiableList(recorded));
+
+                    // an invalidation may have happened between the check and the put
+                    if (results.generation.get() != generation) results.cache.invalidate(key);
+                }
+                recorded = null;
+            }
+            return hasNext;
+        }
+
+        @Override
+        public Object next() {
+            final Object o = itty.next();
+            if (recorded != null) {
+                if (recorded.size() < maxResults)
+                    recorded.add(detach(o));
+                else
+                    recorded = null;
+            }
+            return o;
+        }
+
+        @Override
+        public void close() {
+            recorded = null;
+            CloseableIterator.closeIterator(itty);
+        }
+
+        /**
+         * Detaches the result from the graph so that it can be returned outside of the context it was read in. Maps
+         * and lists are made unmodifiable so that serializers may reuse their serialized form.
+         */
+        private Object detach(final Object o) {
+            if (o instanceof Traverser) {
+                final Traverser<?> traverser = (Traverser<?>) o;
+                return new DefaultRemoteTraverser<>(unmodifiable(DetachedFactory.detach(traverser.get(), true)), traverser.bulk());
+            }
+            return unmodifiable(DetachedFactory.detach(o, true));
+        }
+
+        private Object unmodifiable(final Object o) {
+            if (o instanceof Map && !(o instanceof Tree))
+                return Collections.unmodifiableMap((Map<?, ?>) o);
+            else if (o instanceof List)
+                return Collections.unmodifiableList((List<?>) o);
+            return o;
+        }
+    }
+
+    private final class InvalidatingMutationListener implements MutationListener {
+        private final Graph graph;
+
+        private InvalidatingMutationListener(final Graph graph) {
+            this.graph = graph;
+        }
+
+        @Override
+        public void vertexAdded(final Vertex vertex) {
+            invalidate(graph);
+        }
+
+        @Override
+        public void vertexRemoved(final Vertex vertex) {
+            invalidate(graph);
+        }
+
+        @Override
+        public void vertexPropertyChanged(final Vertex element, final VertexProperty oldValue, final Object setValue,
+                                          final Object... vertexPropertyKeyValues) {
+            invalidate(graph);
+        }
+
+        @Override
+        public void vertexPropertyRemoved(final VertexProperty vertexProperty) {
+            invalidate(graph);
+        }
+
+        @Override
+        public void edgeAdded(final Edge edge) {
+            invalidate(graph);
+        }
+
+        @Override
+        public void edgeRemoved(final Edge edge) {
+            invalidate(graph);
+        }
+
+        @Override
+        public void edgePropertyChanged(final Edge element, final Property oldValue, final Object setValue) {
+            invalidate(graph);
+        }
+
+        @Override
+        public void edgePropertyRemoved(final Edge element, final Property property) {
+            invalidate(graph);
+        }
+
+        @Override
+        public void vertexPropertyPropertyChanged(final VertexProperty element, final Property oldValue,
+                                                  final Object setValue) {
+            invalidate(graph);
+        }
+
+        @Override
+        public void vertexPropertyPropertyRemoved(final VertexProperty element, final Property property) {
+            invalidate(graph);
+        }
+    }
+}
@@ -59,4 +59,9 @@ public final class StateKey {
      * The key for the current {@link AuthenticatedUser}.
      */
     public static final AttributeKey<AuthenticatedUser> AUTHENTICATED_USER = AttributeKey.valueOf("authenticatedUser");
+
+    /**
+     * The key for the continuation of a response whose writing is suspended until the channel is writeable again.
+     */
+    public static final AttributeKey<Runnable> SUSPENDED_RESPONSE = AttributeKey.valueOf("suspendedResponse");
 }
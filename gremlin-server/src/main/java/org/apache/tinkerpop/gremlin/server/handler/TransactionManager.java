@@ -22,6 +22,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.ThreadFactoryUtil;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,9 +47,11 @@ public class TransactionManager {
     private final long transactionTimeoutMs;
     private final int maxConcurrentTransactions;
     private final long perGraphCloseMs;
+    private final boolean useVirtualThreads;
 
     /**
-     * Creates a new TransactionManager with the specified configuration.
+     * Creates a new TransactionManager with the specified configuration that runs each transaction on a platform
+     * thread.
      *
      * @param scheduledExecutorService Scheduler for timeout management
      * @param graphManager The graph manager for accessing traversal sources
@@ -60,15 +63,38 @@ public class TransactionManager {
                               final long transactionTimeoutMs,
                               final int maxConcurrentTransactions,
                               final long perGraphCloseMs) {
+        this(scheduledExecutorService, graphManager, transactionTimeoutMs, maxConcurrentTransactions, perGraphCloseMs, false);
+    }
+
+    /**
+     * Creates a new TransactionManager with the specified configuration.
+     *
+     * @param scheduledExecutorService Scheduler for timeout management
+     * @param graphManager The graph manager for accessing traversal sources
+     * @param transactionTimeoutMs Timeout in milliseconds before auto-rollback
+     * @param maxConcurrentTransactions Maximum number of concurrent transactions allowed
+     * @param useVirtualThreads Whether each transaction runs on a virtual thread rather than a platform thread, which
+     *                          is ignored with a warning when the JDK does not support virtual threads
+     */
+    public TransactionManager(final ScheduledExecutorService scheduledExecutorService,
+                              final GraphManager graphManager,
+                              final long transactionTimeoutMs,
+                              final int maxConcurrentTransactions,
+                              final long perGraphCloseMs,
+                              final boolean useVirtualThreads) {
         this.scheduledExecutorService = scheduledExecutorService;
         this.graphManager = graphManager;
         this.transactionTimeoutMs = transactionTimeoutMs;
         this.maxConcurrentTransactions = maxConcurrentTransactions;
         this.perGraphCloseMs = perGraphCloseMs;
 
+        if (useVirtualThreads && !ThreadFactoryUtil.supportsVirtualThreads())
+            logger.warn("Virtual threads are not supported on this JDK - transactions will run on platform threads");
+        this.useVirtualThreads = useVirtualThreads && ThreadFactoryUtil.supportsVirtualThreads();
+
         MetricManager.INSTANCE.getGauge(transactions::size, name(GremlinServer.class, "transactions"));
-        logger.info("TransactionManager initialized with timeout={}ms, maxTransactions={}",
-                transactionTimeoutMs, maxConcurrentTransactions);
+        logger.info("TransactionManager initialized with timeout={}ms, maxTransactions={}, virtualThreads={}",
+                transactionTimeoutMs, maxConcurrentTransactions, this.useVirtualThreads);
     }
 
     /**
@@ -124,7 +150,8 @@ public class TransactionManager {
                     graph,
                     scheduledExecutorService,
                     transactionTimeoutMs,
-                    perGraphCloseMs
+                    perGraphCloseMs,
+                    useVirtualThreads
             );
         } while (transactions.putIfAbsent(txId, ctx) != null);
 
@@ -142,6 +169,13 @@ public class TransactionManager {
         return Optional.ofNullable(transactions.get(transactionId));
     }
 
+    /**
+     * Determines if transactions run on virtual threads rather than platform threads.
+     */
+    public boolean isUsingVirtualThreads() {
+        return useVirtualThreads;
+    }
+
     /**
      * Returns the number of currently active transactions.
      *
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server.handler;
 
+import org.apache.tinkerpop.gremlin.server.util.ThreadFactoryUtil;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +30,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -42,6 +44,10 @@ import java.util.concurrent.atomic.AtomicReference;
  * the complete request lifecycle (graph operation, error handling, response writing),
  * following the same pattern as the non-transactional HTTP path and the legacy
  * {@code SessionOpProcessor}.
+ * <p>
+ * The thread of the executor is a platform thread by default. It can instead be a virtual
+ * thread on JDK 21 and later, which keeps the same ThreadLocal affinity while an idle
+ * transaction holds no platform thread.
  */
 public class UnmanagedTransaction {
     private static final Logger logger = LoggerFactory.getLogger(UnmanagedTransaction.class);
@@ -62,7 +68,7 @@ public class UnmanagedTransaction {
     private final ExecutorService executor;
 
     /**
-     * Creates a new {@code UnmanagedTransaction} for managing an HTTP transaction.
+     * Creates a new {@code UnmanagedTransaction} for managing an HTTP transaction on a platform thread.
      *
      * @param transactionId The unique identifier for this transaction
      * @param transactionManager The manager that owns this transaction's lifecycle
@@ -76,6 +82,26 @@ public class UnmanagedTransaction {
                                 final ScheduledExecutorService scheduledExecutorService,
                                 final long transactionTimeout,
                                 final long perGraphClose) {
+        this(transactionId, transactionManager, graph, scheduledExecutorService, transactionTimeout, perGraphClose, false);
+    }
+
+    /**
+     * Creates a new {@code UnmanagedTransaction} for managing an HTTP transaction.
+     *
+     * @param transactionId The unique identifier for this transaction
+     * @param transactionManager The manager that owns this transaction's lifecycle
+     * @param graph The graph instance for this transaction
+     * @param scheduledExecutorService Scheduler for timeout management
+     * @param transactionTimeout Timeout in milliseconds before auto-rollback
+     * @param useVirtualThread Whether the transaction runs on a virtual thread, which requires JDK 21 or later
+     */
+    public UnmanagedTransaction(final String transactionId,
+                                final TransactionManager transactionManager,
+                                final Graph graph,
+                                final ScheduledExecutorService scheduledExecutorService,
+                                final long transactionTimeout,
+                                final long perGraphClose,
+                                final boolean useVirtualThread) {
         logger.debug("New transaction context established for {}", transactionId);
         this.transactionId = transactionId;
         this.manager = transactionManager;
@@ -85,8 +111,10 @@ public class UnmanagedTransaction {
         this.perGraphClose = perGraphClose;
 
         // Create single-threaded executor with named thread for debugging
-        this.executor = Executors.newSingleThreadExecutor(
-            r -> new Thread(r, "tx-" + transactionId.substring(0, Math.min(8, transactionId.length()))));
+        final String threadName = "tx-" + transactionId.substring(0, Math.min(8, transactionId.length()));
+        final ThreadFactory threadFactory = useVirtualThread ?
+                ThreadFactoryUtil.createVirtual(threadName) : r -> new Thread(r, threadName);
+        this.executor = Executors.newSingleThreadExecutor(threadFactory);
     }
 
     /**
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.scheduler;
+
+import com.codahale.metrics.Timer;
+import org.apache.tinkerpop.gremlin.server.Context;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * The default {@link RequestScheduler} which runs requests in the order they arrive, queuing them in the
+ * {@code gremlinPool} up to {@link Settings#maxWorkQueueSize} and rejecting them once that queue is full.
+ */
+public class FifoRequestScheduler implements RequestScheduler {
+
+    private final Timer waitTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "scheduler", "wait-time"));
+
+    private ExecutorService executorService;
+
+    @Override
+    public void setup(final Map<String, Object> config, final Settings settings, final ExecutorService executorService) {
+        this.executorService = executorService;
+        if (executorService instanceof ThreadPoolExecutor) {
+            final ThreadPoolExecutor threadPool = (ThreadPoolExecutor) executorService;
+            MetricManager.INSTANCE.getGauge(() -> threadPool.getQueue().size(),
+                    name(GremlinServer.class, "scheduler", "queue-depth"));
+        }
+    }
+
+    @Override
+    public Future<?> submit(final Context context, final FutureTask<?> task) {
+        final long queued = System.nanoTime();
+        executorService.execute(() -> {
+            waitTimer.update(System.nanoTime() - queued, TimeUnit.NANOSECONDS);
+            task.run();
+        });
+        return task;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.scheduler;
+
+import org.apache.tinkerpop.gremlin.server.Context;
+import org.apache.tinkerpop.gremlin.server.Settings;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Decides when and in which order requests that are not part of a transaction run on the {@code gremlinPool} and
+ * which requests are rejected when Gremlin Server is overloaded.
+ */
+public interface RequestScheduler {
+
+    /**
+     * This method is called once upon system startup to initialize the {@code RequestScheduler}.
+     *
+     * @param config the scheduler specific configuration which may be {@code null}
+     * @param settings the settings of Gremlin Server
+     * @param executorService the {@code gremlinPool} that requests are to be run on
+     */
+    public void setup(final Map<String, Object> config, final Settings settings, final ExecutorService executorService);
+
+    /**
+     * Schedules the request to be run and returns the {@link Future} to cancel it with, which may be the task itself.
+     *
+     * @throws RejectedExecutionException if the request is not admitted, which is returned to the client as a rate
+     * limiting error
+     */
+    public Future<?> submit(final Context context, final FutureTask<?> task) throws RejectedExecutionException;
+}
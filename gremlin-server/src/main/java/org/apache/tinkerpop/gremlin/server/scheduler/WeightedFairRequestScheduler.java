@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.scheduler;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.apache.tinkerpop.gremlin.server.Context;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
+import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.util.Tokens;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A {@link RequestScheduler} that partitions requests by user, graph or the value of a request header and shares the
+ * {@code gremlinPool} between the partitions in proportion to their weights, so that a client which floods the
+ * server only delays and eventually rejects its own requests. Each partition has its own queue and may be limited
+ * in the number of requests it runs concurrently. Among the partitions with queued requests, the next request is
+ * taken from the one that received the least service relative to its weight.
+ * <p/>
+ * Optionally, the number of requests admitted to queue or run is adapted to the observed latency, which is the time
+ * a request waited plus the time it ran until it completed or suspended. The limit is lowered multiplicatively
+ * whenever a request exceeds the target latency and raised additively otherwise, so that requests are rejected early
+ * rather than queued beyond the point where they can meet the target.
+ * <p/>
+ * The following configuration keys are supported:
+ * <ul>
+ *     <li>{@code partitionBy} - one of {@code user}, {@code graph} or {@code header}, defaulting to {@code user}
+ *     where requests of unauthenticated users share a single partition</li>
+ *     <li>{@code partitionHeader} - the name of the request header to partition by</li>
+ *     <li>{@code weights} - a {@code Map} of partition names to their weights</li>
+ *     <li>{@code defaultWeight} - the weight of partitions not in {@code weights}, defaulting to 1</li>
+ *     <li>{@code maxConcurrentPerPartition} - the maximum number of requests of a partition that run concurrently,
+ *     defaulting to {@link Settings#gremlinPool}</li>
+ *     <li>{@code maxQueueSizePerPartition} - the maximum number of queued requests of a partition, defaulting to
+ *     {@link Settings#maxWorkQueueSize}</li>
+ *     <li>{@code targetLatency} - the target latency in milliseconds for the adaptive limit, where the default of 0
+ *     disables it</li>
+ *     <li>{@code minLimit} and {@code maxLimit} - the bounds of the adaptive limit, defaulting to
+ *     {@link Settings#gremlinPool} and to {@link Settings#gremlinPool} plus {@link Settings#maxWorkQueueSize}</li>
+ * </ul>
+ * The total number of queued requests is limited to {@link Settings#maxWorkQueueSize} and the number of running
+ * requests to {@link Settings#gremlinPool}.
+ */
+public class WeightedFairRequestScheduler implements RequestScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(WeightedFairRequestScheduler.class);
+
+    public static final String CONFIG_PARTITION_BY = "partitionBy";
+    public static final String CONFIG_PARTITION_HEADER = "partitionHeader";
+    public static final String CONFIG_WEIGHTS = "weights";
+    public static final String CONFIG_DEFAULT_WEIGHT = "defaultWeight";
+    public static final String CONFIG_MAX_CONCURRENT_PER_PARTITION = "maxConcurrentPerPartition";
+    public static final String CONFIG_MAX_QUEUE_SIZE_PER_PARTITION = "maxQueueSizePerPartition";
+    public static final String CONFIG_TARGET_LATENCY = "targetLatency";
+    public static final String CONFIG_MIN_LIMIT = "minLimit";
+    public static final String CONFIG_MAX_LIMIT = "maxLimit";
+
+    /**
+     * The ways in which requests can be partitioned.
+     */
+    public enum PartitionBy {
+        USER, GRAPH, HEADER
+    }
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final Timer waitTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "scheduler", "wait-time"));
+    private final Meter rejectedMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "scheduler", "rejected"));
+
+    private final Map<String, Partition> partitions = new HashMap<>();
+    private final TreeSet<Partition> ready = new TreeSet<>(
+            Comparator.<Partition>comparingDouble(p -> p.virtualTime).thenComparingLong(p -> p.id));
+
+    private ExecutorService executorService;
+    private PartitionBy partitionBy;
+    private String partitionHeader;
+    private Map<String, Object> weights;
+    private double defaultWeight;
+    private int maxConcurrent;
+    private int maxConcurrentPerPartition;
+    private int maxQueueSize;
+    private int maxQueueSizePerPartition;
+    private long targetLatencyNanos;
+    private int minLimit;
+    private int maxLimit;
+
+    private double virtualClock = 0;
+    private long partitionCount = 0;
+    private int running = 0;
+    private int queued = 0;
+    private double limit;
+
+    @Override
+    public void setup(final Map<String, Object> config, final Settings settings, final ExecutorService executorService) {
+        final Map<String, Object> c = null == config ? Collections.emptyMap() : config;
+        this.executorService = executorService;
+
+        partitionBy = PartitionBy.valueOf(c.getOrDefault(CONFIG_PARTITION_BY, "user").toString().toUpperCase());
+        partitionHeader = (String) c.get(CONFIG_PARTITION_HEADER);
+        if (partitionBy == PartitionBy.HEADER && null == partitionHeader)
+            throw new IllegalArgumentException(String.format("The %s configuration is required to partition by header", CONFIG_PARTITION_HEADER));
+
+        weights = (Map<String, Object>) c.getOrDefault(CONFIG_WEIGHTS, Collections.emptyMap());
+        defaultWeight = getNumber(c, CONFIG_DEFAULT_WEIGHT, 1).doubleValue();
+        maxConcurrent = settings.gremlinPool;
+        maxConcurrentPerPartition = getNumber(c, CONFIG_MAX_CONCURRENT_PER_PARTITION, settings.gremlinPool).intValue();
+        maxQueueSize = settings.maxWorkQueueSize;
+        maxQueueSizePerPartition = getNumber(c, CONFIG_MAX_QUEUE_SIZE_PER_PARTITION, settings.maxWorkQueueSize).intValue();
+        targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(getNumber(c, CONFIG_TARGET_LATENCY, 0).longValue());
+        minLimit = getNumber(c, CONFIG_MIN_LIMIT, settings.gremlinPool).intValue();
+        maxLimit = getNumber(c, CONFIG_MAX_LIMIT, settings.gremlinPool + settings.maxWorkQueueSize).intValue();
+        limit = maxLimit;
+
+        MetricManager.INSTANCE.getGauge(this::getQueued, name(GremlinServer.class, "scheduler", "queue-depth"));
+        MetricManager.INSTANCE.getGauge(this::getRunning, name(GremlinServer.class, "scheduler", "running"));
+        MetricManager.INSTANCE.getGauge(this::getLimit, name(GremlinServer.class, "scheduler", "limit"));
+    }
+
+    @Override
+    public Future<?> submit(final Context context, final FutureTask<?> task) {
+        submit(partition(context), task);
+        return task;
+    }
+
+    /**
+     * Determines the name of the partition of the request.
+     */
+    protected String partition(final Context context) {
+        switch (partitionBy) {
+            case GRAPH:
+                final String alias = context.getRequestMessage().getField(Tokens.ARGS_G);
+                return null == alias ? "" : alias;
+            case HEADER:
+                final HttpHeaders headers = context.getChannelHandlerContext().channel().attr(StateKey.REQUEST_HEADERS).get();
+                final String value = null == headers ? null : headers.get(partitionHeader);
+                return null == value ? "" : value;
+            default:
+                final AuthenticatedUser user = context.getChannelHandlerContext().channel().attr(StateKey.AUTHENTICATED_USER).get();
+                return null == user ? AuthenticatedUser.ANONYMOUS_USERNAME : user.getName();
+        }
+    }
+
+    /**
+     * Queues the task in the partition and runs it once it is its turn.
+     */
+    void submit(final String partitionName, final Runnable task) {
+        final Request request = new Request(task);
+        final Queue<Request> toRun;
+        synchronized (this) {
+            if (running + queued >= (int) limit || queued >= maxQueueSize) {
+                rejectedMeter.mark();
+                throw new RejectedExecutionException("The server is overloaded");
+            }
+
+            Partition partition = partitions.get(partitionName);
+            if (null == partition) {
+                partition = new Partition(partitionName, weight(partitionName), partitionCount++);
+                partitions.put(partitionName, partition);
+            }
+
+            if (partition.queue.size() >= maxQueueSizePerPartition) {
+                rejectedMeter.mark();
+                throw new RejectedExecutionException(String.format("Too many requests are queued for %s", partitionName));
+            }
+
+            request.partition = partition;
+            partition.queue.add(request);
+            queued++;
+            updateReady(partition);
+            toRun = dispatch();
+        }
+
+        run(toRun);
+    }
+
+    public synchronized int getQueued() {
+        return queued;
+    }
+
+    public synchronized int getRunning() {
+        return running;
+    }
+
+    /**
+     * Gets the current limit on the number of queued and running requests.
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    private double weight(final String partitionName) {
+        final Object weight = weights.get(partitionName);
+        return weight instanceof Number ? ((Number) weight).doubleValue() : defaultWeight;
+    }
+
+    /**
+     * Adds the partition to or removes it from the partitions that may run a request next. A partition that becomes
+     * ready starts at the current virtual time so that it cannot claim service for the time it was idle.
+     */
+    private void updateReady(final Partition partition) {
+        final boolean isReady = !partition.queue.isEmpty() && partition.running < maxConcurrentPerPartition;
+        if (isReady == partition.ready) return;
+
+        if (isReady) {
+            partition.virtualTime = Math.max(partition.virtualTime, virtualClock);
+            ready.add(partition);
+        } else {
+            ready.remove(partition);
+        }
+        partition.ready = isReady;
+    }
+
+    /**
+     * Takes the requests to run while there are threads available, in the order of the virtual time of the
+     * partitions, which advances by the inverse of the weight of the partition for each request.
+     */
+    private Queue<Request> dispatch() {
+        final Queue<Request> toRun = new ArrayDeque<>();
+        while (running < maxConcurrent && !ready.isEmpty()) {
+            final Partition partition = ready.pollFirst();
+            partition.ready = false;
+            final Request request = partition.queue.poll();
+            virtualClock = partition.virtualTime;
+            partition.virtualTime += 1.0 / partition.weight;
+            partition.running++;
+            running++;
+            queued--;
+            updateReady(partition);
+            toRun.add(request);
+        }
+        return toRun;
+    }
+
+    private void run(final Queue<Request> toRun) {
+        for (Request request : toRun) {
+            try {
+                executorService.execute(request);
+            } catch (RejectedExecutionException ree) {
+                // the gremlinPool is shutting down or is full from work that did not pass through the scheduler
+                logger.warn("Could not run request as the gremlinPool rejected it", ree);
+                if (request.task instanceof Future) ((Future<?>) request.task).cancel(false);
+                complete(request, 0);
+            }
+        }
+    }
+
+    private void complete(final Request request, final long latencyNanos) {
+        final Queue<Request> toRun;
+        synchronized (this) {
+            final Partition partition = request.partition;
+            partition.running--;
+            running--;
+            adaptLimit(latencyNanos);
+
+            if (partition.running == 0 && partition.queue.isEmpty()) {
+                // an idle partition only keeps its virtual time which a new partition would catch up to anyway
+                partitions.remove(partition.name);
+            } else {
+                updateReady(partition);
+            }
+            toRun = dispatch();
+        }
+
+        run(toRun);
+    }
+
+    private void adaptLimit(final long latencyNanos) {
+        if (targetLatencyNanos <= 0) return;
+
+        if (latencyNanos > targetLatencyNanos)
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        else if (running + queued + 1 >= limit / 2)
+            limit = Math.min(maxLimit, limit + 1);
+    }
+
+    private static Number getNumber(final Map<String, Object> config, final String key, final Number defaultValue) {
+        final Object value = config.get(key);
+        return value instanceof Number ? (Number) value : null == value ? defaultValue : Double.valueOf(value.toString());
+    }
+
+    private static final class Partition {
+        private final String name;
+        private final double weight;
+        private final long id;
+        private final Queue<Request> queue = new ArrayDeque<>();
+        private int running = 0;
+        private double virtualTime = 0;
+        private boolean ready = false;
+
+        private Partition(final String name, final double weight, final long id) {
+            this.name = name;
+            this.weight = weight;
+            this.id = id;
+        }
+    }
+
+    private final class Request implements Runnable {
+        private final Runnable task;
+        private final long queuedNanos = System.nanoTime();
+        private Partition partition;
+
+        private Request(final Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            final long startNanos = System.nanoTime();
+            waitTimer.update(startNanos - queuedNanos, TimeUnit.NANOSECONDS);
+            try {
+                task.run();
+            } finally {
+                complete(this, System.nanoTime() - queuedNanos);
+            }
+        }
+    }
+}
@@ -29,7 +29,9 @@ import org.apache.tinkerpop.gremlin.server.Channelizer;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.handler.ResultCache;
 import org.apache.tinkerpop.gremlin.server.handler.TransactionManager;
+import org.apache.tinkerpop.gremlin.server.scheduler.RequestScheduler;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,6 +69,8 @@ public class ServerGremlinExecutor {
 
     private final GraphManager graphManager;
     private final TransactionManager transactionManager;
+    private final ResultCache resultCache;
+    private final RequestScheduler requestScheduler;
     private final Settings settings;
     private final List<LifeCycleHook> hooks;
 
@@ -135,6 +139,8 @@ public class ServerGremlinExecutor {
 
         logger.info("Initialized Gremlin thread pool.  Threads in pool named with pattern gremlin-*");
 
+        requestScheduler = createRequestScheduler(settings.scheduler);
+
         final GremlinExecutor.Builder gremlinExecutorBuilder = GremlinExecutor.build()
                 .evaluationTimeout(settings.getEvaluationTimeout())
                 .afterFailure((b, e) -> this.graphManager.rollbackAll())
@@ -205,8 +211,23 @@ public class ServerGremlinExecutor {
                 graphManager,
                 settings.transactionTimeout,
                 settings.maxConcurrentTransactions,
-                settings.perGraphCloseTimeout
+                settings.perGraphCloseTimeout,
+                settings.useVirtualThreadsForTransactions
         );
+
+        resultCache = settings.optionalResultCache().filter(c -> c.enabled).map(ResultCache::new).orElse(null);
+    }
+
+    private RequestScheduler createRequestScheduler(final Settings.RequestSchedulerSettings config) {
+        try {
+            final Class<?> clazz = Class.forName(config.className);
+            final RequestScheduler scheduler = (RequestScheduler) clazz.getConstructor().newInstance();
+            scheduler.setup(config.config, settings, gremlinExecutorService);
+            return scheduler;
+        } catch (Exception ex) {
+            logger.warn(ex.getMessage());
+            throw new IllegalStateException(String.format("Could not create/configure RequestScheduler %s", config.className), ex);
+        }
     }
 
     private void registerMetrics(final String engineName) {
@@ -250,6 +271,17 @@ public class ServerGremlinExecutor {
         return transactionManager;
     }
 
+    public RequestScheduler getRequestScheduler() {
+        return requestScheduler;
+    }
+
+    /**
+     * Gets the cache for the results of read-only traversals, which is {@code null} if it is not enabled.
+     */
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
     public Settings getSettings() {
         return settings;
     }
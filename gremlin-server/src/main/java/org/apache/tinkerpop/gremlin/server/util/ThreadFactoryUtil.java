@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.server.util;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.ThreadFactory;
 
 /**
@@ -27,9 +28,63 @@ import java.util.concurrent.ThreadFactory;
  */
 public final class ThreadFactoryUtil {
     private static final String SERVER_THREAD_PREFIX = "gremlin-server-";
+
+    /**
+     * The {@code Thread.ofVirtual()}, {@code Thread.Builder.name(String)} and {@code Thread.Builder.factory()} methods
+     * which are only available on JDK 21 and later, so they are looked up reflectively while the server targets JDK 11.
+     */
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        try {
+            final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            builderName = builder.getMethod("name", String.class);
+            builderFactory = builder.getMethod("factory");
+
+            // virtual threads are a preview feature on JDK 19 and 20 which fails here unless previews are enabled
+            ofVirtual.invoke(null);
+        } catch (ReflectiveOperationException ignored) {
+            // virtual threads are not available on this JDK
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+    }
+
     private ThreadFactoryUtil() {}
 
     public static ThreadFactory create(final String pattern) {
         return new BasicThreadFactory.Builder().namingPattern(SERVER_THREAD_PREFIX + pattern).build();
     }
+
+    /**
+     * Determines if the JDK that Gremlin Server runs on supports virtual threads.
+     */
+    public static boolean supportsVirtualThreads() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates a factory of virtual threads with the given name.
+     *
+     * @throws UnsupportedOperationException if the JDK does not support virtual threads
+     */
+    public static ThreadFactory createVirtual(final String name) {
+        if (!supportsVirtualThreads())
+            throw new UnsupportedOperationException("Virtual threads require JDK 21 or later");
+
+        try {
+            final Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), SERVER_THREAD_PREFIX + name);
+            return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Could not create a factory of virtual threads", ex);
+        }
+    }
 }
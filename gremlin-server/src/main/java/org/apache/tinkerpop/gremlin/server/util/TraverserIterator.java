@@ -23,13 +23,12 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
-
-import java.util.Iterator;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 
 /**
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
-public class TraverserIterator implements Iterator<Object> {
+public class TraverserIterator implements CloseableIterator<Object> {
 
     private final Traversal.Admin traversal;
     private final TraverserSet bulker = new TraverserSet();
@@ -59,6 +58,11 @@ public class TraverserIterator implements Iterator<Object> {
         return new DefaultRemoteTraverser<>(t.get(), t.bulk());
     }
 
+    @Override
+    public void close() {
+        CloseableIterator.closeIterator(this.traversal);
+    }
+
     private final void fillBulker() {
         while (this.traversal.hasNext() && this.bulker.size() < this.barrierSize) {
             this.bulker.add(this.traversal.nextTraverser());
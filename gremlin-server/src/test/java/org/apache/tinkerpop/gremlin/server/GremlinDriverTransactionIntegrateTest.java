@@ -26,6 +26,7 @@ import org.apache.tinkerpop.gremlin.driver.Result;
 import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.server.channel.HttpChannelizer;
+import org.apache.tinkerpop.gremlin.server.handler.TransactionManager;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.util.ExceptionHelper;
@@ -34,10 +35,14 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
@@ -81,6 +86,10 @@ public class GremlinDriverTransactionIntegrateTest extends AbstractGremlinServer
             case "shouldEnforceMaxConcurrentTransactions":
                 settings.maxConcurrentTransactions = 1;
                 break;
+            case "shouldHandleThousandsOfConcurrentTransactions":
+                settings.maxConcurrentTransactions = 3000;
+                settings.useVirtualThreadsForTransactions = true;
+                break;
             case "shouldTimeoutIdleTransaction":
             case "shouldTimeoutIdleTransactionWithNoOperations":
             case "shouldRejectLateCommitAfterTimeout":
@@ -466,6 +475,53 @@ public class GremlinDriverTransactionIntegrateTest extends AbstractGremlinServer
         assertTrue(server.getServerGremlinExecutor().getTransactionManager().getActiveTransactionCount() < 35);
     }
 
+    @Test
+    public void shouldHandleThousandsOfConcurrentTransactions() throws Exception {
+        final Client client = cluster.connect().alias(GTX);
+        final int numberOfTransactions = 2000;
+        final ExecutorService executor = Executors.newFixedThreadPool(32);
+
+        try {
+            // open every transaction before any of them is committed so that they are all open on the server at once
+            final List<Future<RemoteTransaction>> opened = new ArrayList<>();
+            for (int i = 0; i < numberOfTransactions; i++) {
+                opened.add(executor.submit(() -> {
+                    final RemoteTransaction tx = cluster.transact(GTX);
+                    tx.begin();
+                    tx.submit("g.addV('load')").all().get(MAX_GET_WAIT, TimeUnit.MILLISECONDS);
+                    return tx;
+                }));
+            }
+            final List<RemoteTransaction> transactions = new ArrayList<>();
+            for (Future<RemoteTransaction> f : opened) {
+                transactions.add(f.get(60, TimeUnit.SECONDS));
+            }
+
+            final TransactionManager transactionManager = server.getServerGremlinExecutor().getTransactionManager();
+            assertEquals(numberOfTransactions, transactionManager.getActiveTransactionCount());
+
+            // an open transaction on a virtual thread does not hold a platform thread
+            if (transactionManager.isUsingVirtualThreads()) {
+                assertTrue(Thread.getAllStackTraces().keySet().stream().noneMatch(t -> t.getName().contains("tx-")));
+            }
+
+            final List<Future<?>> committed = new ArrayList<>();
+            for (RemoteTransaction tx : transactions) {
+                committed.add(executor.submit(() -> {
+                    tx.commit();
+                    return null;
+                }));
+            }
+            for (Future<?> f : committed) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(numberOfTransactions, client.submit("g.V().hasLabel('load').count()").all().get().get(0).getLong());
+    }
+
     @Test
     public void shouldIsolateTransactionalAndNonTransactionalRequests() throws Exception {
         final Client client = cluster.connect().alias(GTX);
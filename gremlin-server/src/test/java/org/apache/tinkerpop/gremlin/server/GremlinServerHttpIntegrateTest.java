@@ -43,6 +43,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.GremlinLang;
 import org.apache.tinkerpop.gremlin.server.auth.SimpleAuthenticator;
 import org.apache.tinkerpop.gremlin.server.channel.HttpChannelizer;
 import org.apache.tinkerpop.gremlin.server.handler.HttpBasicAuthenticationHandler;
+import org.apache.tinkerpop.gremlin.server.handler.ResultCache;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONTokens;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
@@ -140,6 +141,15 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
                 settings.evaluationTimeout = 5000;
                 settings.gremlinPool = 1;
                 break;
+            case "shouldServeCachedResultsUntilGraphIsMutated":
+                settings.resultCache = new Settings.ResultCacheSettings();
+                settings.resultCache.enabled = true;
+                break;
+            case "should200OnPOSTWhileResponseToSlowClientIsSuspended":
+                settings.gremlinPool = 1;
+                settings.writeBufferHighWaterMark = 64;
+                settings.writeBufferLowWaterMark = 32;
+                break;
             case "should200OnPOSTWithChunkedResponse":
             case "shouldHandleErrorsInFirstChunkPOSTWithChunkedResponse":
             case "shouldHandleErrorsInFirstChunkPOSTWithChunkedResponseUsingTextPlain":
@@ -896,6 +906,73 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
 
         threadPool.shutdown();
     }
+
+    @Test(timeout = 30000)
+    public void should200OnPOSTWhileResponseToSlowClientIsSuspended() throws Exception {
+        final CloseableHttpClient slowClient = HttpClients.createDefault();
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+
+        // a response of tens of megabytes that fills the socket buffers long before the client is done reading it.
+        // every result is distinct so that the traversers cannot be bulked into a single small result
+        final String fatty = RandomStringUtils.randomAlphanumeric(1000);
+        final HttpPost slowPost = new HttpPost(TestClientFactory.createURLString());
+        slowPost.addHeader("Content-Type", "application/json");
+        slowPost.setEntity(new StringEntity("{\"gremlin\":\"g.inject(0).repeat(union(math('_ * 2'),math('_ * 2 + 1'))).times(15).asString().concat('" + fatty + "')\"}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse slowResponse = slowClient.execute(slowPost)) {
+            assertEquals(200, slowResponse.getStatusLine().getStatusCode());
+
+            // only read the start of the response so that the server has to stop writing results
+            assertTrue(slowResponse.getEntity().getContent().read(new byte[1024]) > 0);
+
+            // with a single thread in the gremlinPool this request can only be processed if the suspended response
+            // does not hold that thread while waiting for the slow client to catch up
+            final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+            httppost.addHeader("Content-Type", "application/json");
+            httppost.setEntity(new StringEntity("{\"gremlin\":\"g.inject(1)\"}", Consts.UTF_8));
+            try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+                assertEquals(200, response.getStatusLine().getStatusCode());
+                assertTrue(EntityUtils.toString(response.getEntity()).contains("1"));
+            }
+
+            slowPost.abort();
+        }
+    }
+
+    @Test
+    public void shouldServeCachedResultsUntilGraphIsMutated() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final ResultCache resultCache = server.getServerGremlinExecutor().getResultCache();
+
+        assertEquals(0, postForCount(httpclient, "g.V().count()"));
+        assertEquals(0, resultCache.stats().hitCount());
+
+        // insignificant whitespace does not prevent a hit
+        assertEquals(0, postForCount(httpclient, "g.V( ).count( )"));
+        assertEquals(1, resultCache.stats().hitCount());
+
+        // the mutation invalidates the cached count and is itself never cached
+        postForCount(httpclient, "g.addV('person').count()");
+        postForCount(httpclient, "g.addV('person').count()");
+        assertEquals(2, postForCount(httpclient, "g.V().count()"));
+        assertEquals(1, resultCache.stats().hitCount());
+
+        assertEquals(2, postForCount(httpclient, "g.V().count()"));
+        assertEquals(2, resultCache.stats().hitCount());
+    }
+
+    private long postForCount(final CloseableHttpClient httpclient, final String gremlin) throws Exception {
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"" + gremlin + "\"}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            final JsonNode node = mapper.readTree(EntityUtils.toString(response.getEntity()));
+            return node.get("result").get(TOKEN_DATA).get(GraphSONTokens.VALUEPROP).get(0).get(GraphSONTokens.VALUEPROP).longValue();
+        }
+    }
+
     @Test
     public void shouldErrorWhenTryingToConnectWithHttp1() throws Exception {
         final CloseableHttpClient httpclient = HttpClients.createDefault();
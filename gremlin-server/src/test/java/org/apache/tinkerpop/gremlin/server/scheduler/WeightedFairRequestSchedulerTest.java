@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.scheduler;
+
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class WeightedFairRequestSchedulerTest {
+
+    private final ManualExecutorService executorService = new ManualExecutorService();
+    private final List<String> ran = new ArrayList<>();
+
+    private WeightedFairRequestScheduler createScheduler(final int gremlinPool, final Map<String, Object> config) {
+        final Settings settings = new Settings();
+        settings.gremlinPool = gremlinPool;
+        settings.maxWorkQueueSize = 16;
+        final WeightedFairRequestScheduler scheduler = new WeightedFairRequestScheduler();
+        scheduler.setup(config, settings, executorService);
+        return scheduler;
+    }
+
+    private void submit(final WeightedFairRequestScheduler scheduler, final String partition, final String request) {
+        scheduler.submit(partition, () -> ran.add(request));
+    }
+
+    @Test
+    public void shouldAlternateBetweenPartitionsWithEqualWeights() {
+        final WeightedFairRequestScheduler scheduler = createScheduler(1, null);
+        submit(scheduler, "a", "a1");
+        submit(scheduler, "a", "a2");
+        submit(scheduler, "a", "a3");
+        submit(scheduler, "b", "b1");
+        submit(scheduler, "b", "b2");
+
+        assertEquals(1, scheduler.getRunning());
+        assertEquals(4, scheduler.getQueued());
+
+        executorService.runAll();
+        assertEquals(Arrays.asList("a1", "b1", "a2", "b2", "a3"), ran);
+        assertEquals(0, scheduler.getRunning());
+        assertEquals(0, scheduler.getQueued());
+    }
+
+    @Test
+    public void shouldShareThreadsInProportionToWeights() {
+        final Map<String, Object> config = new HashMap<>();
+        config.put(WeightedFairRequestScheduler.CONFIG_WEIGHTS, Collections.singletonMap("a", 2));
+        final WeightedFairRequestScheduler scheduler = createScheduler(1, config);
+        for (int i = 1; i <= 6; i++) {
+            submit(scheduler, "a", "a" + i);
+            submit(scheduler, "b", "b" + i);
+        }
+
+        // while both partitions have queued requests, "a" runs two requests for every request of "b"
+        executorService.runAll();
+        assertEquals(Arrays.asList("a1", "b1", "a2", "a3", "b2", "a4", "a5", "b3", "a6", "b4", "b5", "b6"), ran);
+    }
+
+    @Test
+    public void shouldLimitConcurrentRequestsOfPartition() {
+        final Map<String, Object> config = new HashMap<>();
+        config.put(WeightedFairRequestScheduler.CONFIG_MAX_CONCURRENT_PER_PARTITION, 1);
+        final WeightedFairRequestScheduler scheduler = createScheduler(2, config);
+        submit(scheduler, "a", "a1");
+        submit(scheduler, "a", "a2");
+        submit(scheduler, "b", "b1");
+
+        // a2 has to wait for a1 even though there are two threads
+        assertEquals(2, scheduler.getRunning());
+        assertEquals(1, scheduler.getQueued());
+
+        executorService.runAll();
+        assertEquals(Arrays.asList("a1", "b1", "a2"), ran);
+    }
+
+    @Test
+    public void shouldRejectRequestsOfPartitionWithFullQueue() {
+        final Map<String, Object> config = new HashMap<>();
+        config.put(WeightedFairRequestScheduler.CONFIG_MAX_QUEUE_SIZE_PER_PARTITION, 1);
+        final WeightedFairRequestScheduler scheduler = createScheduler(1, config);
+        submit(scheduler, "a", "a1");
+        submit(scheduler, "a", "a2");
+
+        try {
+            submit(scheduler, "a", "a3");
+            fail("The queue of the partition is full");
+        } catch (RejectedExecutionException ree) {
+            // expected
+        }
+
+        // other partitions are not affected
+        submit(scheduler, "b", "b1");
+        executorService.runAll();
+        assertEquals(Arrays.asList("a1", "b1", "a2"), ran);
+    }
+
+    @Test
+    public void shouldLowerLimitWhenLatencyExceedsTarget() {
+        final Map<String, Object> config = new HashMap<>();
+        config.put(WeightedFairRequestScheduler.CONFIG_TARGET_LATENCY, 1);
+        config.put(WeightedFairRequestScheduler.CONFIG_MIN_LIMIT, 2);
+        config.put(WeightedFairRequestScheduler.CONFIG_MAX_LIMIT, 10);
+        final WeightedFairRequestScheduler scheduler = createScheduler(1, config);
+        assertEquals(10, scheduler.getLimit());
+
+        for (int i = 0; i < 20; i++) {
+            scheduler.submit("a", () -> {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException ie) {
+                    throw new RuntimeException(ie);
+                }
+            });
+            executorService.runAll();
+        }
+        assertEquals(2, scheduler.getLimit());
+
+        // the lowered limit rejects requests beyond it
+        submit(scheduler, "a", "a1");
+        submit(scheduler, "b", "b1");
+        try {
+            submit(scheduler, "c", "c1");
+            fail("The limit should have been reached");
+        } catch (RejectedExecutionException ree) {
+            // expected
+        }
+
+        // fast requests raise the limit again
+        executorService.runAll();
+        for (int i = 0; i < 10; i++) {
+            submit(scheduler, "a", "a" + i);
+            submit(scheduler, "b", "b" + i);
+            executorService.runAll();
+        }
+        assertTrue(scheduler.getLimit() > 2);
+    }
+
+    /**
+     * Runs tasks only when asked to so that tests control the order of completion.
+     */
+    private static class ManualExecutorService extends AbstractExecutorService {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        private void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return new ArrayList<>(tasks);
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final TimeUnit unit) {
+            return true;
+        }
+    }
+}
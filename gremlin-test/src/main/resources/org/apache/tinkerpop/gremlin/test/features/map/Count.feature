@@ -190,4 +190,51 @@ Feature: Step - count()
     When iterated to list
     Then the result should be ordered
       | result |
-      | d[2].l |
\ No newline at end of file
+      | d[2].l |
+
+  Scenario: g_V_both_both_countXdistinctX_isXbetweenX5_7XX
+    Given the modern graph
+    And the traversal of
+      """
+      g.V().both().both().count().with(WithOptions.distinct).is(P.between(5, 7))
+      """
+    When iterated to list
+    Then the result should have a count of 1
+
+  Scenario: g_V_out_out_countXdistinctX_isXbetweenX430_475XX
+    Given the grateful graph
+    And the traversal of
+      """
+      g.V().out().out().count().with(WithOptions.distinct).is(P.between(430, 475))
+      """
+    When iterated to list
+    Then the result should have a count of 1
+
+  Scenario: g_V_out_out_countXdistinct_10X_isXbetweenX410_495XX
+    Given the grateful graph
+    And the traversal of
+      """
+      g.V().out().out().count().with(WithOptions.distinct, 10).is(P.between(410, 495))
+      """
+    When iterated to list
+    Then the result should have a count of 1
+
+  Scenario: g_E_valuesXweightX_countXdistinctX_isXbetweenX82_90XX
+    Given the grateful graph
+    And the traversal of
+      """
+      g.E().values("weight").count().with(WithOptions.distinct).is(P.between(82, 90))
+      """
+    When iterated to list
+    Then the result should have a count of 1
+
+  Scenario: g_V_valuesXfooX_countXdistinctX
+    Given the modern graph
+    And the traversal of
+      """
+      g.V().values("foo").count().with(WithOptions.distinct)
+      """
+    When iterated to list
+    Then the result should be ordered
+      | result |
+      | d[0].l |
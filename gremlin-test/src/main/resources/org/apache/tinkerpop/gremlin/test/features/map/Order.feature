@@ -548,4 +548,14 @@ Feature: Step - order()
     When iterated to list
     Then the result should be unordered
       | result |
-      | d[29].i |
\ No newline at end of file
+      | d[29].i |
+  Scenario: g_injectXx1_x2_aAX_order_byXselectXxXX_selectXaX_limitX1X
+    Given the empty graph
+    And the traversal of
+      """
+      g.inject(["x":1],["x":2,"a":"A"]).order().by(__.select("x")).select("a").limit(1)
+      """
+    When iterated to list
+    Then the result should be unordered
+      | result |
+      | A |
@@ -0,0 +1,93 @@
+# Licensed to the Apache Software Foundation (ASF) under one
+# or more contributor license agreements.  See the NOTICE file
+# distributed with this work for additional information
+# regarding copyright ownership.  The ASF licenses this file
+# to you under the Apache License, Version 2.0 (the
+# "License"); you may not use this file except in compliance
+# with the License.  You may obtain a copy of the License at
+#
+#   http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing,
+# software distributed under the License is distributed on an
+# "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+# KIND, either express or implied.  See the License for the
+# specific language governing permissions and limitations
+# under the License.
+
+@StepClassMap @StepPercentile
+Feature: Step - percentile()
+
+  Scenario: g_V_valuesXageX_percentileX50X
+    Given the modern graph
+    And the traversal of
+      """
+      g.V().values("age").percentile(50)
+      """
+    When iterated to list
+    Then the result should be unordered
+      | result |
+      | d[29.0].d |
+
+  Scenario: g_V_valuesXageX_percentileX0_100X
+    Given the modern graph
+    And the traversal of
+      """
+      g.V().values("age").percentile(0, 100)
+      """
+    When iterated to list
+    Then the result should be unordered
+      | result |
+      | l[d[27.0].d,d[35.0].d] |
+
+  Scenario: g_V_valuesXageX_percentileX25_50_75X
+    Given the modern graph
+    And the traversal of
+      """
+      g.V().values("age").percentile(25, 50, 75)
+      """
+    When iterated to list
+    Then the result should be unordered
+      | result |
+      | l[d[27.0].d,d[29.0].d,d[32.0].d] |
+
+  Scenario: g_E_valuesXweightX_percentileX50X
+    Given the modern graph
+    And the traversal of
+      """
+      g.E().values("weight").percentile(50)
+      """
+    When iterated to list
+    Then the result should be unordered
+      | result |
+      | d[0.4].d |
+
+  Scenario: g_V_valuesXfooX_percentileX50X
+    Given the modern graph
+    And the traversal of
+      """
+      g.V().values("foo").percentile(50)
+      """
+    When iterated to list
+    Then the result should be empty
+
+  Scenario: g_V_valuesXfooX_percentileX50_90X
+    Given the modern graph
+    And the traversal of
+      """
+      g.V().values("foo").percentile(50, 90)
+      """
+    When iterated to list
+    Then the result should be empty
+
+  @GraphComputerVerificationInjectionNotSupported
+  Scenario: g_injectXnull_10_20_nullX_percentileX100X
+    Given the empty graph
+    And the traversal of
+      """
+      g.inject(null, 10, 20, null).percentile(100)
+      """
+    When iterated to list
+    Then the result should be unordered
+      | result |
+      | d[20.0].d |
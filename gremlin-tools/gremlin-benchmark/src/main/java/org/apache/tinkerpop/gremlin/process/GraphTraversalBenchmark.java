@@ -51,6 +51,16 @@ public class GraphTraversalBenchmark extends AbstractGraphBenchmark {
         return g.V().out().out().out().toList();
     }
 
+    @Benchmark
+    public List<Vertex> g_V_both_both() throws Exception {
+        return g.V().both().both().toList();
+    }
+
+    @Benchmark
+    public Long g_V_both_both_both_count() throws Exception {
+        return g.V().both().both().both().count().next();
+    }
+
     @Benchmark
     public List<Path> g_V_out_out_out_path() throws Exception {
         return g.V().out().out().out().path().toList();
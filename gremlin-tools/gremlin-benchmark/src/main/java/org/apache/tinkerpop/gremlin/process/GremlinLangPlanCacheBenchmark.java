@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.jsr223.GremlinLangCustomizer;
+import org.apache.tinkerpop.gremlin.jsr223.GremlinLangScriptEngine;
+import org.apache.tinkerpop.gremlin.jsr223.VariableResolverCustomizer;
+import org.apache.tinkerpop.gremlin.language.grammar.VariableResolver;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import javax.script.Bindings;
+import javax.script.SimpleBindings;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GremlinLangPlanCacheBenchmark} evaluates small parameterized point queries with the
+ * {@link GremlinLangScriptEngine} against the modern {@link TinkerGraph} and iterates their results, with the
+ * traversal cache which spares parsing and with the plan cache which also spares most of the strategy application.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class GremlinLangPlanCacheBenchmark extends AbstractBenchmarkBase {
+
+    @Param({"false", "true"})
+    public boolean planCache;
+
+    private TinkerGraph graph;
+    private GraphTraversalSource g;
+    private GremlinLangScriptEngine scriptEngine;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        graph = TinkerFactory.createModern();
+        g = graph.traversal();
+        scriptEngine = new GremlinLangScriptEngine(
+                new VariableResolverCustomizer(VariableResolver.DefaultVariableResolver::new),
+                new GremlinLangCustomizer(!planCache, planCache, Caffeine.newBuilder()));
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws Exception {
+        graph.close();
+    }
+
+    @Benchmark
+    public List<Object> g_VXvidX_valuesXnameX() throws Exception {
+        return eval("g.V(vid).values('name')");
+    }
+
+    @Benchmark
+    public List<Object> g_VXvidX_outXlblX_hasXage_gtXxXX_valuesXnameX() throws Exception {
+        return eval("g.V(vid).out(lbl).has('age', gt(x)).values('name')");
+    }
+
+    private List<Object> eval(final String script) throws Exception {
+        final Bindings bindings = new SimpleBindings();
+        bindings.put("g", g);
+        bindings.put("vid", 1 + (counter++ % 6));
+        bindings.put("lbl", "knows");
+        bindings.put("x", 30);
+        return ((Traversal<?, Object>) scriptEngine.eval(script, bindings)).toList();
+    }
+}
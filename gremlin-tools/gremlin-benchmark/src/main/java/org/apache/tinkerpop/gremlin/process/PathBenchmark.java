@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+
+/**
+ * {@code PathBenchmark} collects the paths of {@code repeat(out()).times(n)} over a random {@link TinkerGraph}, with
+ * and without a label on the repeated step. Along with the traversal timings the retained heap per path measured
+ * while holding all the paths of each traversal is printed.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class PathBenchmark extends AbstractBenchmarkBase {
+
+    @Param({"10000"})
+    public int vertexCount;
+
+    @Param({"3"})
+    public int edgesPerVertex;
+
+    @Param({"4"})
+    public int times;
+
+    private TinkerGraph graph;
+    private GraphTraversalSource g;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        graph = TinkerGraph.open();
+        g = graph.traversal();
+
+        final Vertex[] vertices = new Vertex[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            vertices[i] = graph.addVertex();
+        }
+        final Random random = new Random(123456789L);
+        for (Vertex vertex : vertices) {
+            for (int i = 0; i < edgesPerVertex; i++) {
+                vertex.addEdge("knows", vertices[random.nextInt(vertexCount)]);
+            }
+        }
+
+        printRetainedHeap("repeat(out()).times(" + times + ").path()", this::repeatOutPath);
+        printRetainedHeap("repeat(out().as('a')).times(" + times + ").path()", this::repeatOutAsPath);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        graph.close();
+    }
+
+    @Benchmark
+    public List<Path> repeatOutPath() {
+        return g.V().repeat(out()).times(times).path().toList();
+    }
+
+    @Benchmark
+    public List<Path> repeatOutAsPath() {
+        return g.V().repeat(out().as("a")).times(times).path().toList();
+    }
+
+    private static void printRetainedHeap(final String traversal, final Supplier<List<Path>> paths) {
+        final long before = usedHeap();
+        final List<Path> result = paths.get();
+        final long bytes = usedHeap() - before;
+        System.out.printf("%n%s: %d paths, %d bytes per path%n", traversal, result.size(), bytes / result.size());
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
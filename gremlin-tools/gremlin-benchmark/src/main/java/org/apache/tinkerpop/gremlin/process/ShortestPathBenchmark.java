@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ShortestPath;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.both;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.hasId;
+
+/**
+ * {@code ShortestPathBenchmark} compares a point-to-point shortest path written with {@code repeat()} to the OLTP
+ * {@code shortestPath()} over a random {@link TinkerGraph}.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class ShortestPathBenchmark extends AbstractBenchmarkBase {
+
+    @Param({"10000"})
+    public int vertexCount;
+
+    @Param({"3"})
+    public int edgesPerVertex;
+
+    private TinkerGraph graph;
+    private GraphTraversalSource g;
+    private Object source;
+    private Object target;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        graph = TinkerGraph.open();
+        g = graph.traversal();
+
+        final Vertex[] vertices = new Vertex[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            vertices[i] = graph.addVertex();
+        }
+        final Random random = new Random(123456789L);
+        for (Vertex vertex : vertices) {
+            for (int i = 0; i < edgesPerVertex; i++) {
+                vertex.addEdge("knows", vertices[random.nextInt(vertexCount)], "weight", random.nextInt(10));
+            }
+        }
+        source = vertices[0].id();
+        target = vertices[vertexCount - 1].id();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        graph.close();
+    }
+
+    @Benchmark
+    public List<Path> repeatUntilPath() {
+        return g.V(source).repeat(both().simplePath()).until(hasId(target)).limit(1).path().toList();
+    }
+
+    @Benchmark
+    public List<Path> shortestPath() {
+        return g.V(source).shortestPath().with(ShortestPath.target, __.hasId(target)).toList();
+    }
+
+    @Benchmark
+    public List<Path> shortestPathWithDistance() {
+        return g.V(source).shortestPath().with(ShortestPath.target, __.hasId(target)).
+                with(ShortestPath.distance, "weight").toList();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TinkerGraphAdjacencyBenchmark} compares the default adjacency storage of {@link TinkerGraph} with the
+ * storage enabled by {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY}, which also holds the elements in
+ * primitive id maps. Along with the traversal and lookup timings the retained heap per edge measured while loading the
+ * graph is printed for each configuration, where compact storage should take less than a third of the default.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class TinkerGraphAdjacencyBenchmark extends AbstractBenchmarkBase {
+
+    private static final String[] LABELS = new String[]{"knows", "created", "likes"};
+
+    @Param({"false", "true"})
+    public boolean compactAdjacency;
+
+    @Param({"100000"})
+    public int vertexCount;
+
+    @Param({"10"})
+    public int edgesPerVertex;
+
+    private TinkerGraph graph;
+    private GraphTraversalSource g;
+    private Object[] vertexIds;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        final long before = usedHeap();
+
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, compactAdjacency);
+        graph = TinkerGraph.open(configuration);
+        g = graph.traversal();
+
+        final Vertex[] vertices = new Vertex[vertexCount];
+        vertexIds = new Object[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            vertices[i] = graph.addVertex();
+            vertexIds[i] = vertices[i].id();
+        }
+
+        final long withVertices = usedHeap();
+
+        final Random random = new Random(123456789L);
+        for (Vertex vertex : vertices) {
+            for (int i = 0; i < edgesPerVertex; i++) {
+                vertex.addEdge(LABELS[random.nextInt(LABELS.length)], vertices[random.nextInt(vertexCount)]);
+            }
+        }
+
+        final long edgeCount = (long) vertexCount * edgesPerVertex;
+        final long edgeBytes = usedHeap() - withVertices;
+        System.out.printf("%ncompactAdjacency=%s: %d bytes for %d vertices, %d bytes per edge%n",
+                compactAdjacency, withVertices - before, vertexCount, edgeBytes / edgeCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        graph.close();
+    }
+
+    @Benchmark
+    public void iterateOutEdges(final Blackhole blackhole) {
+        final Iterator<Vertex> vertices = graph.vertices();
+        while (vertices.hasNext()) {
+            final Iterator<Edge> edges = vertices.next().edges(Direction.OUT);
+            while (edges.hasNext()) {
+                blackhole.consume(edges.next());
+            }
+        }
+    }
+
+    @Benchmark
+    public void iterateBothVerticesWithLabel(final Blackhole blackhole) {
+        final Iterator<Vertex> vertices = graph.vertices();
+        while (vertices.hasNext()) {
+            final Iterator<Vertex> adjacent = vertices.next().vertices(Direction.BOTH, "knows");
+            while (adjacent.hasNext()) {
+                blackhole.consume(adjacent.next());
+            }
+        }
+    }
+
+    @Benchmark
+    public void findVerticesById(final Blackhole blackhole) {
+        for (Object id : vertexIds) {
+            blackhole.consume(graph.vertex(id));
+        }
+    }
+
+    @Benchmark
+    public Long traverseOutOut() {
+        return g.V().out().out().count().next();
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoReader;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@code TinkerGraphBulkLoadBenchmark} compares loading a Gryo graph into {@link TinkerGraph} with
+ * {@link GryoReader#readGraph} against streaming the same data into the {@code TinkerBulkLoader}. The bulk load reads
+ * the data twice, once for the vertices and once for their out edges, so both approaches include deserialization.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class TinkerGraphBulkLoadBenchmark extends AbstractBenchmarkBase {
+
+    private static final String[] LABELS = new String[]{"knows", "created", "likes"};
+
+    @Param({"100000"})
+    public int vertexCount;
+
+    @Param({"10"})
+    public int edgesPerVertex;
+
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void prepare() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Vertex[] vertices = new Vertex[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            vertices[i] = graph.addVertex("name", "vertex" + i, "age", i % 100);
+        }
+
+        final Random random = new Random(123456789L);
+        for (Vertex vertex : vertices) {
+            for (int i = 0; i < edgesPerVertex; i++) {
+                vertex.addEdge(LABELS[random.nextInt(LABELS.length)], vertices[random.nextInt(vertexCount)],
+                        "weight", random.nextDouble());
+            }
+        }
+
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        GryoWriter.build().create().writeGraph(stream, graph);
+        data = stream.toByteArray();
+        graph.close();
+    }
+
+    @Benchmark
+    public TinkerGraph readGraph() throws IOException {
+        final TinkerGraph graph = TinkerGraph.open();
+        GryoReader.build().create().readGraph(new ByteArrayInputStream(data), graph);
+        return graph;
+    }
+
+    @Benchmark
+    public TinkerGraph bulkLoad() throws IOException {
+        final GryoReader reader = GryoReader.build().create();
+        final Stream<Vertex> vertices = IteratorUtils.stream(
+                reader.readVertices(new ByteArrayInputStream(data), Attachable::get, null, Direction.OUT));
+        final Stream<Edge> edges = IteratorUtils.stream(
+                reader.readVertices(new ByteArrayInputStream(data), Attachable::get, null, Direction.OUT))
+                .flatMap(vertex -> IteratorUtils.stream(vertex.edges(Direction.OUT)));
+
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.bulkLoader()
+                .expectedVertices(vertexCount)
+                .expectedEdges((long) vertexCount * edgesPerVertex)
+                .load(vertices, edges);
+        return graph;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphFilterRankingStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TinkerGraphFilterRankingBenchmark} filters skewed data where most vertices belong to one tenant and only a
+ * few are of the requested type. With {@code ranked} the {@code has()} filters are ordered by the statistics of the
+ * graph so the type is tested first, otherwise they are tested in the order they were written.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class TinkerGraphFilterRankingBenchmark extends AbstractBenchmarkBase {
+
+    @Param({"100000"})
+    public int vertexCount;
+
+    @Param({"false", "true"})
+    public boolean ranked;
+
+    private TinkerGraph graph;
+    private GraphTraversalSource g;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        graph = TinkerGraph.open();
+        final Vertex hub = graph.addVertex("tenant", "big", "type", "hub");
+        for (int i = 0; i < vertexCount; i++) {
+            final Vertex v = graph.addVertex("tenant", i % 100 == 0 ? "small" + i : "big",
+                    "type", i % 1000 == 0 ? "invoice" : "order", "region", "r" + (i % 10));
+            hub.addEdge("owns", v);
+        }
+        g = ranked ? graph.traversal() : graph.traversal().withoutStrategies(TinkerGraphFilterRankingStrategy.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws Exception {
+        graph.close();
+    }
+
+    @Benchmark
+    public long filterVertices() {
+        return g.V().has("tenant", "big").has("region", "r0").has("type", "invoice").count().next();
+    }
+
+    @Benchmark
+    public long filterAdjacentVertices() {
+        return g.V().has("type", "hub").out("owns").has("tenant", "big").has("region", "r0").has("type", "invoice").count().next();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.io.FileUtils;
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerTransactionGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TinkerTransactionGraphCommitBenchmark} measures the throughput of small write transactions committed by many
+ * threads of a {@link TinkerTransactionGraph}, with and without group commit. With {@code walSync} the graph is
+ * persisted to a write-ahead log which is synced to disk on every record, which is where group commit helps the most
+ * as one sync covers all the transactions of a group.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+public class TinkerTransactionGraphCommitBenchmark extends AbstractBenchmarkBase {
+
+    @Param({"false", "true"})
+    public boolean groupCommit;
+
+    @Param({"false", "true"})
+    public boolean walSync;
+
+    private File directory;
+    private TinkerTransactionGraph graph;
+    private GraphTraversalSource g;
+
+    @Setup(Level.Iteration)
+    public void prepare() throws Exception {
+        final BaseConfiguration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GROUP_COMMIT, groupCommit);
+        if (walSync) {
+            directory = Files.createTempDirectory("tinkergraph-commit").toFile();
+            configuration.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "wal");
+            configuration.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, directory.getAbsolutePath());
+            configuration.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_WAL_SYNC, true);
+        }
+        graph = TinkerTransactionGraph.open(configuration);
+        graph.createIndex("name", Vertex.class);
+        g = graph.traversal();
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() throws Exception {
+        graph.close();
+        if (null != directory) FileUtils.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public void commit() {
+        g.addV("person").property("name", "name" + ThreadLocalRandom.current().nextInt(1000)).iterate();
+        g.tx().commit();
+    }
+}
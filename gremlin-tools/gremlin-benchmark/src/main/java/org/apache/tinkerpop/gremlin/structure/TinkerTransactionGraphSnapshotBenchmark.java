@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerTransactionGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TinkerTransactionGraphSnapshotBenchmark} measures analytic reads of a {@link TinkerTransactionGraph} while a
+ * writer keeps committing changes. The {@code snapshot} group reads in snapshot transactions and the
+ * {@code transaction} group reads in regular transactions which clone and track every element they read. The number
+ * of reading threads can be varied with the {@code -tg} option of JMH, for example {@code -tg 4,1} for four readers
+ * and one writer, to see how read throughput scales with cores.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class TinkerTransactionGraphSnapshotBenchmark extends AbstractBenchmarkBase {
+
+    @Param({"10000"})
+    public int vertexCount;
+
+    @Param({"5"})
+    public int edgesPerVertex;
+
+    private TinkerTransactionGraph graph;
+    private GraphTraversalSource g;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        graph = TinkerTransactionGraph.open();
+        g = graph.traversal();
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < vertexCount; i++) {
+            g.addV("person").property(T.id, i).property("value", i).iterate();
+        }
+        g.tx().commit();
+        for (int i = 0; i < vertexCount; i++) {
+            for (int j = 0; j < edgesPerVertex; j++) {
+                g.V(i).addE("knows").to(__.V(random.nextInt(vertexCount))).iterate();
+            }
+            if (i % 1000 == 0) g.tx().commit();
+        }
+        g.tx().commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws Exception {
+        graph.close();
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(3)
+    public long snapshotRead() {
+        final GraphTraversalSource gs = graph.beginSnapshot();
+        try {
+            return gs.V().out().values("value").count().next();
+        } finally {
+            gs.tx().commit();
+        }
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(1)
+    public void snapshotWrite() {
+        write();
+    }
+
+    @Benchmark
+    @Group("transaction")
+    @GroupThreads(3)
+    public long transactionRead() {
+        try {
+            return g.V().out().values("value").count().next();
+        } finally {
+            g.tx().commit();
+        }
+    }
+
+    @Benchmark
+    @Group("transaction")
+    @GroupThreads(1)
+    public void transactionWrite() {
+        write();
+    }
+
+    private void write() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        g.V(random.nextInt(vertexCount)).property(VertexProperty.Cardinality.single, "value", random.nextInt()).iterate();
+        g.tx().commit();
+    }
+}
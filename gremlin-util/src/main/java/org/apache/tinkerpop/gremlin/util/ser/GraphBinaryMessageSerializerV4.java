@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.util.ser;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.io.Buffer;
@@ -51,9 +52,22 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
     public static final String TOKEN_CUSTOM = "custom";
     public static final String TOKEN_BUILDER = "builder";
 
+    /**
+     * The maximum number of bytes of serialized results to cache for reuse, where the default of zero disables the
+     * cache. See {@link SerializedFragmentCache} for the results that are cached.
+     */
+    public static final String TOKEN_FRAGMENT_CACHE_MAX_BYTES = "fragmentCacheMaxBytes";
+
+    /**
+     * Cached fragments of at least this size are added as components of a {@link CompositeByteBuf} instead of being
+     * copied into the chunk.
+     */
+    private static final int COMPOSITE_FRAGMENT_THRESHOLD = 1024;
+
     private GraphBinaryReader reader;
     private GraphBinaryWriter writer;
     private RequestMessageSerializer requestSerializer;
+    private SerializedFragmentCache fragmentCache;
     private final GraphBinaryMapper mapper;
 
     private static final NettyBufferFactory bufferFactory = new NettyBufferFactory();
@@ -126,6 +140,17 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
         writer = new GraphBinaryWriter(registry);
 
         requestSerializer = new RequestMessageSerializer();
+
+        final long fragmentCacheMaxBytes = Long.parseLong(
+                config.getOrDefault(TOKEN_FRAGMENT_CACHE_MAX_BYTES, 0L).toString());
+        fragmentCache = fragmentCacheMaxBytes > 0 ? new SerializedFragmentCache(fragmentCacheMaxBytes) : null;
+    }
+
+    /**
+     * Gets the cache of serialized results, which is {@code null} if it is not enabled.
+     */
+    public SerializedFragmentCache getFragmentCache() {
+        return fragmentCache;
     }
 
     @Override
@@ -214,8 +239,9 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
 
     private ByteBuf write(final ResponseMessage responseMessage, final Object aggregate,
                           final ByteBufAllocator allocator, final EnumSet<MessageParts> parts) throws SerializationException {
-        final ByteBuf byteBuf = allocator.buffer();
-        final Buffer buffer = bufferFactory.create(byteBuf);
+        ByteBuf byteBuf = allocator.buffer();
+        Buffer buffer = bufferFactory.create(byteBuf);
+        CompositeByteBuf composite = null;
 
         try {
             if (parts.contains(MessageParts.HEADER)) {
@@ -234,7 +260,22 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
                         : aggregate;
                 if (data != null) {
                     for (final Object item : (List) data) {
-                        writer.write(item, buffer);
+                        final ByteBuf fragment = null == fragmentCache ? null : fragmentCache.get(item);
+                        if (null == fragment) {
+                            final int start = byteBuf.writerIndex();
+                            writer.write(item, buffer);
+                            if (fragmentCache != null && SerializedFragmentCache.isCacheable(item))
+                                fragmentCache.put(item, byteBuf, start, byteBuf.writerIndex() - start);
+                        } else if (fragment.readableBytes() < COMPOSITE_FRAGMENT_THRESHOLD) {
+                            byteBuf.writeBytes(fragment, fragment.readerIndex(), fragment.readableBytes());
+                        } else {
+                            // large fragments are shared rather than copied so the chunk continues in a new buffer
+                            if (null == composite) composite = allocator.compositeBuffer(Integer.MAX_VALUE);
+                            composite.addComponent(true, byteBuf);
+                            composite.addComponent(true, fragment.duplicate());
+                            byteBuf = allocator.buffer();
+                            buffer = bufferFactory.create(byteBuf);
+                        }
                     }
                 }
             }
@@ -252,9 +293,12 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
                 writer.writeValue(status.getException(), buffer, true);
             }
         } catch (IOException e) {
+            if (composite != null) composite.release();
             throw new SerializationException(e);
         }
-        return byteBuf;
+
+        if (null == composite) return byteBuf;
+        return composite.addComponent(true, byteBuf);
     }
 
     //////////////// read message methods
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedElement;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedPath;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceElement;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferencePath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+
+/**
+ * Holds the serialized form of immutable results so that a {@link MessageSerializer} can reuse the bytes when the
+ * same result instance is written again, as happens when a server returns results from a cache of whole responses.
+ * Results are matched by identity and only held as long as the result itself is reachable, so the cache never keeps
+ * results alive and never matches an equal but distinct object that may have been serialized differently.
+ * <p/>
+ * Only detached and reference elements and paths as well as unmodifiable {@code Map} and {@code List} instances from
+ * {@code Collections} are cached. The contents of unmodifiable collections are assumed to not be modified either.
+ */
+public class SerializedFragmentCache {
+
+    private static final Collection<Class<?>> UNMODIFIABLE_COLLECTIONS = Arrays.asList(
+            Collections.unmodifiableMap(new HashMap<>()).getClass(),
+            Collections.unmodifiableList(new ArrayList<>()).getClass(),
+            Collections.unmodifiableList(new LinkedList<>()).getClass());
+
+    private final Cache<Object, ByteBuf> fragments;
+
+    /**
+     * Creates a cache that holds up to the specified number of serialized bytes.
+     */
+    public SerializedFragmentCache(final long maxBytes) {
+        this.fragments = Caffeine.newBuilder().
+                weakKeys().
+                maximumWeight(maxBytes).
+                <Object, ByteBuf>weigher((k, v) -> v.readableBytes()).
+                build();
+    }
+
+    /**
+     * Determines if the serialized form of the object may be cached.
+     */
+    public static boolean isCacheable(final Object object) {
+        return object instanceof ReferenceElement || object instanceof DetachedElement ||
+                object instanceof ReferencePath || object instanceof DetachedPath ||
+                (object != null && UNMODIFIABLE_COLLECTIONS.contains(object.getClass()));
+    }
+
+    /**
+     * Gets the serialized form of the object or {@code null} if it is not cached. The returned buffer is read-only,
+     * ignores calls to release and must not have its indices modified, so callers should use a duplicate of it.
+     */
+    public ByteBuf get(final Object object) {
+        return fragments.getIfPresent(object);
+    }
+
+    /**
+     * Caches a copy of the specified range of the buffer as the serialized form of the object.
+     */
+    public void put(final Object object, final ByteBuf buffer, final int index, final int length) {
+        final byte[] bytes = new byte[length];
+        buffer.getBytes(index, bytes);
+        fragments.put(object, Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(bytes).asReadOnly()));
+    }
+
+    /**
+     * Gets the approximate number of cached fragments.
+     */
+    public long estimatedSize() {
+        return fragments.estimatedSize();
+    }
+}
@@ -20,8 +20,10 @@ package org.apache.tinkerpop.gremlin.util.ser.binary;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import org.apache.tinkerpop.gremlin.structure.io.binary.TypeSerializerRegistry;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceVertex;
 import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV4;
 import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
@@ -29,13 +31,17 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class GraphBinaryMessageSerializerV4Test {
 
@@ -202,6 +208,44 @@ public class GraphBinaryMessageSerializerV4Test {
         serializer.configure(config, null);
     }
 
+    @Test
+    public void shouldReuseSerializedFragmentsOfImmutableResults() throws SerializationException {
+        final GraphBinaryMessageSerializerV4 cachingSerializer = new GraphBinaryMessageSerializerV4();
+        final Map<String, Object> config = new HashMap<>();
+        config.put(GraphBinaryMessageSerializerV4.TOKEN_FRAGMENT_CACHE_MAX_BYTES, 1024 * 1024);
+        cachingSerializer.configure(config, null);
+
+        final Map<String, Object> small = new HashMap<>();
+        small.put("name", "marko");
+        final Map<String, Object> large = new HashMap<>();
+        large.put("name", String.join("", Collections.nCopies(2048, "x")));
+        final List data = Arrays.asList(new ReferenceVertex(1, "person"), Collections.unmodifiableMap(small),
+                Collections.unmodifiableMap(large), 1, new HashMap<>(small));
+
+        final ByteBuf expected = serializer.writeChunk(data, allocator);
+        final ByteBuf first = cachingSerializer.writeChunk(data, allocator);
+        assertEquals(3, cachingSerializer.getFragmentCache().estimatedSize());
+
+        // the large map is shared by the second chunk rather than copied
+        final ByteBuf second = cachingSerializer.writeChunk(data, allocator);
+        assertThat(second, instanceOf(CompositeByteBuf.class));
+
+        assertEquals(expected, first);
+        assertEquals(expected, second);
+        assertEquals(data, cachingSerializer.readChunk(second, false).getResult().getData());
+
+        expected.release();
+        first.release();
+        second.release();
+    }
+
+    @Test
+    public void shouldNotCacheSerializedFragmentsByDefault() throws SerializationException {
+        final ByteBuf buffer = serializer.writeChunk(Collections.singletonList(new ReferenceVertex(1, "person")), allocator);
+        assertNull(serializer.getFragmentCache());
+        buffer.release();
+    }
+
     // copy-paste because response format will be different
     private static void assertResponseEquals(final ResponseMessage expected, final ResponseMessage actual) {
         // Status
@@ -181,6 +181,8 @@ public final class SparkStarBarrierInterceptor implements SparkVertexProgramInte
                 !endStep.getClass().equals(GroupCountStep.class))
             // TODO: tree()
             return false;
+        if (endStep instanceof CountGlobalStep && ((CountGlobalStep) endStep).isDistinct())
+            return false;
         if (TraversalHelper.getStepsOfAssignableClassRecursively(Scope.global, Barrier.class, traversal).size() != 1)
             return false;
         if (traversal.getTraverserRequirements().contains(TraverserRequirement.SACK))
@@ -19,34 +19,42 @@
 
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.AggregateStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerCountGlobalStep;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 /**
  * This strategy will do a graph size call if the traversal is a count of the vertices and edges of the graph
- * or a one-to-one map chain thereof.
+ * or a one-to-one map chain thereof, optionally filtered by their labels.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @example <pre>
- * g.V().count()               // is replaced by TinkerCountGlobalStep
- * g.V().map(out()).count()    // is replaced by TinkerCountGlobalStep
- * g.E().label().count()       // is replaced by TinkerCountGlobalStep
+ * g.V().count()                          // is replaced by TinkerCountGlobalStep
+ * g.V().map(out()).count()               // is replaced by TinkerCountGlobalStep
+ * g.E().label().count()                  // is replaced by TinkerCountGlobalStep
+ * g.V().hasLabel("person").count()       // is replaced by TinkerCountGlobalStep
  * </pre>
  */
 public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
@@ -64,11 +72,19 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
         if (steps.size() < 2 ||
                 !(steps.get(0) instanceof GraphStep) ||
                 0 != ((GraphStep) steps.get(0)).getIds().length ||
-                !(steps.get(steps.size() - 1) instanceof CountGlobalStep))
+                !(steps.get(steps.size() - 1) instanceof CountGlobalStep) ||
+                ((CountGlobalStep) steps.get(steps.size() - 1)).isDistinct())
             return;
 
+        Set<String> labels = null;
         for (int i = 1; i < steps.size() - 1; i++) {
             final Step current = steps.get(i);
+            if (current instanceof HasStep) {
+                labels = intersectLabels(labels, (HasStep<?>) current);
+                if (null == labels) return;
+                continue;
+            }
+
             // used to include "current instanceof MapStep" but they will not necessarily emit an element as
             // demonstrated in https://issues.apache.org/jira/browse/TINKERPOP-1958
             //
@@ -82,7 +98,34 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
         }
         final Class<? extends Element> elementClass = ((GraphStep<?, ?>) steps.get(0)).getReturnClass();
         TraversalHelper.removeAllSteps(traversal);
-        traversal.addStep(new TinkerCountGlobalStep<>(traversal, elementClass));
+        traversal.addStep(new TinkerCountGlobalStep<>(traversal, elementClass, labels));
+    }
+
+    /**
+     * Intersects the labels with the ones the {@link HasStep} filters on or returns {@code null} if the step has a
+     * container which is not an equality or {@code within} of labels.
+     */
+    private static Set<String> intersectLabels(final Set<String> labels, final HasStep<?> hasStep) {
+        Set<String> intersection = labels;
+        for (final HasContainer hasContainer : hasStep.getHasContainers()) {
+            if (!T.label.getAccessor().equals(hasContainer.getKey()))
+                return null;
+            final Collection<?> values;
+            if (hasContainer.getBiPredicate() == Compare.eq)
+                values = Collections.singletonList(hasContainer.getValue());
+            else if (hasContainer.getBiPredicate() == Contains.within && hasContainer.getValue() instanceof Collection)
+                values = (Collection<?>) hasContainer.getValue();
+            else
+                return null;
+
+            final Set<String> containerLabels = new LinkedHashSet<>();
+            for (final Object value : values) {
+                if (value instanceof String) containerLabels.add((String) value);
+            }
+            if (null != intersection) containerLabels.retainAll(intersection);
+            intersection = containerLabels;
+        }
+        return intersection;
     }
 
     @Override
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeOtherVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraphStatistics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * This strategy orders the {@link HasContainer} instances of {@link TinkerGraphStep} and {@link HasStep} by the
+ * selectivity estimated from the {@link TinkerGraphStatistics} of the graph, so that the filters which remove the
+ * most elements are tested first. {@code FilterRankingStrategy} only ranks filter steps by their type, which leaves
+ * the order of the {@code has()} filters as written.
+ *
+ * @example <pre>
+ * g.V().has("tenant", "acme").has("type", "invoice")   // tests type first if fewer vertices are invoices
+ * g.V().out().has("age", gt(30)).has("name", "josh")   // tests name first as it is an equality
+ * </pre>
+ */
+public final class TinkerGraphFilterRankingStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
+
+    private static final TinkerGraphFilterRankingStrategy INSTANCE = new TinkerGraphFilterRankingStrategy();
+
+    private TinkerGraphFilterRankingStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+        final Optional<Graph> graph = traversal.getGraph();
+        if (!graph.isPresent() || !(graph.get() instanceof AbstractTinkerGraph))
+            return;
+        final TinkerGraphStatistics statistics = ((AbstractTinkerGraph) graph.get()).statistics();
+
+        for (final TinkerGraphStep<?, ?> step : TraversalHelper.getStepsOfClass(TinkerGraphStep.class, traversal)) {
+            if (step.getHasContainers().size() > 1)
+                step.sortHasContainers(bySelectivity(statistics, step.getReturnClass()));
+        }
+
+        for (final HasStep<?> step : TraversalHelper.getStepsOfClass(HasStep.class, traversal)) {
+            final List<HasContainer> hasContainers = step.getHasContainers();
+            final Class<? extends Element> elementClass = elementClassOf(step.getPreviousStep());
+            if (hasContainers.size() < 2 || null == elementClass)
+                continue;
+
+            final List<HasContainer> ranked = new ArrayList<>(hasContainers);
+            ranked.sort(bySelectivity(statistics, elementClass));
+            if (ranked.equals(hasContainers))
+                continue;
+
+            final HasStep rankedStep = new HasStep<>(traversal, ranked.toArray(new HasContainer[ranked.size()]));
+            TraversalHelper.copyLabels(step, rankedStep, false);
+            TraversalHelper.replaceStep((HasStep) step, rankedStep, traversal);
+        }
+    }
+
+    /**
+     * Gets the class of the elements emitted by the step, looking through barriers, or {@code null} if it is not
+     * known.
+     */
+    private static Class<? extends Element> elementClassOf(final Step<?, ?> step) {
+        if (step instanceof NoOpBarrierStep)
+            return elementClassOf(step.getPreviousStep());
+        else if (step instanceof GraphStep)
+            return ((GraphStep<?, ?>) step).getReturnClass();
+        else if (step instanceof VertexStep)
+            return ((VertexStep<?>) step).returnsVertex() ? Vertex.class : Edge.class;
+        else if (step instanceof EdgeVertexStep || step instanceof EdgeOtherVertexStep)
+            return Vertex.class;
+        return null;
+    }
+
+    private static Comparator<HasContainer> bySelectivity(final TinkerGraphStatistics statistics,
+                                                          final Class<? extends Element> elementClass) {
+        return Comparator.comparingDouble(hasContainer -> statistics.estimateSelectivity(elementClass, hasContainer));
+    }
+
+    @Override
+    public Set<Class<? extends ProviderOptimizationStrategy>> applyPrior() {
+        return Collections.singleton(TinkerGraphStepStrategy.class);
+    }
+
+    public static TinkerGraphFilterRankingStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -20,9 +20,11 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.commons.configuration2.Configuration;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
@@ -30,20 +32,27 @@ import org.apache.tinkerpop.gremlin.structure.io.Io;
 import org.apache.tinkerpop.gremlin.structure.io.IoCore;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONVersion;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
+import org.apache.tinkerpop.gremlin.structure.util.BatchedAdjacency;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.structure.util.PlanVersioned;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerServiceRegistry;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.File;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ObjIntConsumer;
 import java.util.stream.Stream;
 
 /**
@@ -53,7 +62,7 @@ import java.util.stream.Stream;
  *
  * @author Valentyn Kahamlyk
  */
-public abstract class AbstractTinkerGraph implements Graph {
+public abstract class AbstractTinkerGraph implements Graph, BatchedAdjacency, PlanVersioned {
 
     public static final String GREMLIN_TINKERGRAPH_VERTEX_ID_MANAGER = "gremlin.tinkergraph.vertexIdManager";
     public static final String GREMLIN_TINKERGRAPH_EDGE_ID_MANAGER = "gremlin.tinkergraph.edgeIdManager";
@@ -63,6 +72,12 @@ public abstract class AbstractTinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
     public static final String GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES = "gremlin.tinkergraph.allowNullPropertyValues";
     public static final String GREMLIN_TINKERGRAPH_SERVICE = "gremlin.tinkergraph.service";
+    public static final String GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY = "gremlin.tinkergraph.compactAdjacency";
+    public static final String GREMLIN_TINKERGRAPH_OFF_HEAP_EDGE_PROPERTIES = "gremlin.tinkergraph.offHeapEdgeProperties";
+    public static final String GREMLIN_TINKERGRAPH_OFF_HEAP_VERTEX_PROPERTIES = "gremlin.tinkergraph.offHeapVertexProperties";
+    public static final String GREMLIN_TINKERGRAPH_WAL_SNAPSHOT_THRESHOLD = "gremlin.tinkergraph.walSnapshotThreshold";
+    public static final String GREMLIN_TINKERGRAPH_WAL_SYNC = "gremlin.tinkergraph.walSync";
+    public static final String GREMLIN_TINKERGRAPH_GROUP_COMMIT = "gremlin.tinkergraph.groupCommit";
 
     protected AtomicLong currentId = new AtomicLong(-1L);
     protected Map<Object, VertexProperty> vertexProperties = new ConcurrentHashMap<>();
@@ -71,6 +86,11 @@ public abstract class AbstractTinkerGraph implements Graph {
     protected TinkerGraphComputerView graphComputerView = null;
     protected AbstractTinkerIndex<TinkerVertex> vertexIndex = null;
     protected AbstractTinkerIndex<TinkerEdge> edgeIndex = null;
+    protected TinkerPropertyStore edgePropertyStore = null;
+    protected TinkerPropertyStore vertexPropertyStore = null;
+    protected TinkerWriteAheadLog writeAheadLog = null;
+    protected final TinkerGraphStatistics statistics = new TinkerGraphStatistics();
+    protected final AtomicLong indexVersion = new AtomicLong();
 
     protected IdManager<Vertex> vertexIdManager;
     protected IdManager<Edge> edgeIdManager;
@@ -104,6 +124,46 @@ public abstract class AbstractTinkerGraph implements Graph {
      */
     public abstract void removeEdge(final Object edgeId);
 
+    /**
+     * Record a {@link Vertex} added outside of a transaction in the write-ahead log.
+     * If the graph does not persist its changes that way, then does nothing.
+     * @param vertex
+     */
+    protected void logVertex(final TinkerVertex vertex) {}
+
+    /**
+     * Record an {@link Edge} added outside of a transaction in the write-ahead log.
+     * If the graph does not persist its changes that way, then does nothing.
+     * @param edge
+     */
+    protected void logEdge(final TinkerEdge edge) {}
+
+    /**
+     * Record a property of an {@link Edge}, a {@link VertexProperty} or a meta-property set outside of a transaction
+     * in the write-ahead log. If the graph does not persist its changes that way, then does nothing.
+     * @param property
+     */
+    protected void logPropertySet(final Property<?> property) {}
+
+    /**
+     * Record a property of an {@link Edge}, a {@link VertexProperty} or a meta-property removed outside of a
+     * transaction in the write-ahead log. If the graph does not persist its changes that way, then does nothing.
+     * @param property
+     */
+    protected void logPropertyRemoved(final Property<?> property) {}
+
+    /**
+     * Record a property added to an element outside of a transaction in the {@link TinkerGraphStatistics}.
+     * If the graph updates its statistics when changes are committed, then does nothing.
+     */
+    protected void propertyAdded(final Class<? extends Element> elementClass, final String key, final Object value) {}
+
+    /**
+     * Record a property removed from an element outside of a transaction in the {@link TinkerGraphStatistics}.
+     * If the graph updates its statistics when changes are committed, then does nothing.
+     */
+    protected void propertyRemoved(final Class<? extends Element> elementClass, final String key, final Object value) {}
+
     /**
      * Mark {@link Vertex} as changed in transaction.
      * If the graph does not support transactions, then does nothing.
@@ -144,6 +204,39 @@ public abstract class AbstractTinkerGraph implements Graph {
      */
     public abstract Iterator<Edge> edges(final Object... edgeIds);
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The elements are read straight from the adjacency of each vertex rather than through an iterator per vertex,
+     * except in transactions and graph computer views which go through {@link Vertex#edges(Direction, String...)} and
+     * {@link Vertex#vertices(Direction, String...)}.
+     */
+    @Override
+    public <E extends Element> void adjacent(final List<Vertex> vertices, final Direction direction,
+                                             final Class<E> returnClass, final String[] edgeLabels,
+                                             final ObjIntConsumer<E> consumer) {
+        final boolean toVertices = Vertex.class.isAssignableFrom(returnClass);
+        final boolean direct = !(this instanceof TinkerTransactionGraph) && !TinkerHelper.inComputerMode(this);
+        for (int i = 0; i < vertices.size(); i++) {
+            final Vertex vertex = vertices.get(i);
+            final int index = i;
+            if (direct && vertex instanceof TinkerVertex) {
+                TinkerHelper.forEachAdjacent((TinkerVertex) vertex, direction, toVertices, edgeLabels,
+                        element -> consumer.accept((E) element, index));
+            } else {
+                final Iterator<? extends Element> iterator = toVertices ?
+                        vertex.vertices(direction, edgeLabels) : vertex.edges(direction, edgeLabels);
+                try {
+                    while (iterator.hasNext()) {
+                        consumer.accept((E) iterator.next(), index);
+                    }
+                } finally {
+                    CloseableIterator.closeIterator(iterator);
+                }
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -171,6 +264,38 @@ public abstract class AbstractTinkerGraph implements Graph {
      */
     public abstract boolean hasEdge(final Object id);
 
+    /**
+     * Graph-specific implementation for number of vertices with any of the labels, which by default iterates all
+     * the vertices.
+     * @return count of vertices with the labels in Graph.
+     */
+    public long getVerticesCount(final Collection<String> labels) {
+        return IteratorUtils.count(IteratorUtils.filter(vertices(), v -> labels.contains(v.label())));
+    }
+
+    /**
+     * Graph-specific implementation for number of edges with any of the labels, which by default iterates all the
+     * edges.
+     * @return count of edges with the labels in Graph.
+     */
+    public long getEdgesCount(final Collection<String> labels) {
+        return IteratorUtils.count(IteratorUtils.filter(edges(), e -> labels.contains(e.label())));
+    }
+
+    /**
+     * Gets the vertices with the label or {@code null} if the graph does not keep its vertices partitioned by label.
+     */
+    protected Collection<Vertex> getVerticesWithLabel(final String label) {
+        return null;
+    }
+
+    /**
+     * Gets the edges with the label or {@code null} if the graph does not keep its edges partitioned by label.
+     */
+    protected Collection<Edge> getEdgesWithLabel(final String label) {
+        return null;
+    }
+
     /**
      * Returns true if a {@link VertexProperty} with the given identifier exists in this graph.
      */
@@ -179,6 +304,20 @@ public abstract class AbstractTinkerGraph implements Graph {
     }
 
     protected void loadGraph() {
+        if (graphFormat.equals("wal")) {
+            final TinkerWriteAheadLog log = new TinkerWriteAheadLog(this, new File(graphLocation),
+                    configuration.getLong(GREMLIN_TINKERGRAPH_WAL_SNAPSHOT_THRESHOLD, 100000L),
+                    configuration.getBoolean(GREMLIN_TINKERGRAPH_WAL_SYNC, false));
+            try {
+                log.recover();
+            } catch (Exception ex) {
+                throw new RuntimeException(String.format("Could not load graph at %s with %s", graphLocation, graphFormat), ex);
+            }
+            // changes made while recovering are already in the log
+            writeAheadLog = log;
+            return;
+        }
+
         final File f = new File(graphLocation);
         if (f.exists() && f.isFile()) {
             try {
@@ -198,6 +337,16 @@ public abstract class AbstractTinkerGraph implements Graph {
     }
 
     protected void saveGraph() {
+        if (graphFormat.equals("wal")) {
+            try {
+                writeAheadLog.snapshot(false);
+                writeAheadLog.close();
+            } catch (Exception ex) {
+                throw new RuntimeException(String.format("Could not save graph at %s with %s", graphLocation, graphFormat), ex);
+            }
+            return;
+        }
+
         final File f = new File(graphLocation);
         if (f.exists()) {
             f.delete();
@@ -268,6 +417,14 @@ public abstract class AbstractTinkerGraph implements Graph {
         this.edgeIndex = null;
         this.graphComputerView = null;
         this.vertexProperties.clear();
+        this.statistics.clear();
+        if (null != this.writeAheadLog) {
+            try {
+                this.writeAheadLog.appendClear();
+            } catch (Exception ex) {
+                throw new RuntimeException(String.format("Could not write to the log at %s", graphLocation), ex);
+            }
+        }
     }
 
     /**
@@ -404,6 +561,42 @@ public abstract class AbstractTinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Return the key lists of all the composite indices for said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the composite indexed keys for
+     * @param <E>          The type of the element class
+     * @return the set of ordered key lists currently being indexed
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexedKeys(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getCompositeIndexedKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getCompositeIndexedKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    ///////////// GRAPH SPECIFIC STATISTICS METHODS ///////////////
+
+    /**
+     * Gets the statistics about the committed elements of the graph which are used for query planning, for example to
+     * order {@code has()} filters by their selectivity and to choose between index lookups.
+     */
+    public TinkerGraphStatistics statistics() {
+        return this.statistics;
+    }
+
+    /**
+     * Gets a version which changes when an index is created or dropped and when the statistics drifted
+     * significantly, so that cached plans which used them are planned again.
+     */
+    @Override
+    public long getPlanVersion() {
+        return this.indexVersion.get() + this.statistics.version();
+    }
+
     ///////////// Id manager ///////////////
     /**
      * Construct an {@link IdManager} from the TinkerGraph {@code Configuration}.
@@ -20,10 +20,22 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.util.GremlinValueComparator;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Storage for indexes that can be used by different implementations of {@link AbstractTinkerGraph}.
@@ -34,9 +46,25 @@ import java.util.Set;
  */
 public abstract class AbstractTinkerIndex<T extends Element> {
 
+    /**
+     * Orders values of an {@link TinkerIndexType#ORDERED} index using Gremlin orderability semantics, so that values
+     * of different types can share the same index. {@link IndexedNull} sorts first like {@code null} does.
+     */
+    protected static final Comparator<Object> INDEX_VALUE_COMPARATOR = (a, b) ->
+            GremlinValueComparator.ORDERABILITY.compare(a instanceof IndexedNull ? null : a, b instanceof IndexedNull ? null : b);
+
     protected final Class<T> indexClass;
     protected final AbstractTinkerGraph graph;
     protected final Set<String> indexedKeys = new HashSet<>();
+    protected final Map<String, TinkerIndexType> indexTypes = new ConcurrentHashMap<>();
+    protected final Set<List<String>> compositeIndexedKeys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Number of element entries held by each single key index (keyed by {@code String}) and each composite index
+     * (keyed by {@code List<String>}). Together with the number of distinct values this gives the average number of
+     * elements an equality lookup returns.
+     */
+    protected final Map<Object, AtomicLong> entryCounts = new ConcurrentHashMap<>();
 
     protected AbstractTinkerIndex(final AbstractTinkerGraph graph, final Class<T> indexClass) {
         this.graph = graph;
@@ -59,6 +87,56 @@ public abstract class AbstractTinkerIndex<T extends Element> {
      */
     public abstract long count(final String key, final Object value);
 
+    /**
+     * Get list of elements which have a property with a value in the specified range. Only supported for keys
+     * indexed with {@link TinkerIndexType#ORDERED}, other keys return an empty list. A {@code null} bound means that
+     * side of the range is unbounded.
+     * @param key property key
+     * @param from lower bound of the range or {@code null}
+     * @param fromInclusive whether the lower bound is included in the range
+     * @param to upper bound of the range or {@code null}
+     * @param toInclusive whether the upper bound is included in the range
+     * @return list of elements
+     */
+    public abstract List<T> getRange(final String key, final Object from, final boolean fromInclusive,
+                                     final Object to, final boolean toInclusive);
+
+    /**
+     * Get list of elements which have a property with any of the desired values.
+     * @param key property key
+     * @param values property values
+     * @return list of elements without duplicates
+     */
+    public List<T> getAll(final String key, final Collection<?> values) {
+        final Set<T> elements = new LinkedHashSet<>();
+        for (final Object value : values) {
+            elements.addAll(get(key, value));
+        }
+        return new ArrayList<>(elements);
+    }
+
+    /**
+     * Get list of elements which have properties with the desired values for all keys of a composite index.
+     * @param keys ordered property keys of the composite index
+     * @param values property values in the same order as the keys
+     * @return list of elements
+     */
+    public abstract List<T> getComposite(final List<String> keys, final List<Object> values);
+
+    /**
+     * Estimate the number of elements returned by an equality lookup on the index for the key.
+     * @param key property key
+     * @return average number of elements per distinct value or {@code 0} if the index is empty
+     */
+    public abstract double estimateLookupSize(final String key);
+
+    /**
+     * Estimate the number of elements returned by an equality lookup on the composite index for the keys.
+     * @param keys ordered property keys of the composite index
+     * @return average number of elements per distinct combination of values or {@code 0} if the index is empty
+     */
+    public abstract double estimateLookupSize(final List<String> keys);
+
     /**
      * Remove elements with some property from index.
      * Convenient to use when removed only one property of an element.
@@ -85,10 +163,20 @@ public abstract class AbstractTinkerIndex<T extends Element> {
     public abstract void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element);
 
     /**
-     * Create new index
+     * Create new {@link TinkerIndexType#HASH} index
      * @param key property key
      */
-    public abstract void createKeyIndex(final String key);
+    public void createKeyIndex(final String key) {
+        createKeyIndex(key, TinkerIndexType.HASH);
+    }
+
+    /**
+     * Create new index of the specified type. If the key is already indexed with a different type the index is
+     * rebuilt with the new type.
+     * @param key property key
+     * @param indexType type of index
+     */
+    public abstract void createKeyIndex(final String key, final TinkerIndexType indexType);
 
     /**
      * Drop index
@@ -96,6 +184,26 @@ public abstract class AbstractTinkerIndex<T extends Element> {
      */
     public abstract void dropKeyIndex(final String key);
 
+    /**
+     * Create new composite index over the ordered list of keys. Only elements having all the keys are indexed.
+     * @param keys property keys
+     */
+    public abstract void createCompositeKeyIndex(final List<String> keys);
+
+    /**
+     * Drop composite index
+     * @param keys property keys
+     */
+    public abstract void dropCompositeKeyIndex(final List<String> keys);
+
+    /**
+     * Get all composite index keys for Graph
+     * @return set of ordered key lists
+     */
+    public Set<List<String>> getCompositeIndexedKeys() {
+        return compositeIndexedKeys;
+    }
+
     /**
      * Get all index keys for Graph
      * @return set of index keys
@@ -104,6 +212,105 @@ public abstract class AbstractTinkerIndex<T extends Element> {
         return indexedKeys;
     }
 
+    /**
+     * Get the type of index for the key.
+     * @param key property key
+     * @return index type or {@code null} if the key is not indexed
+     */
+    public TinkerIndexType getIndexType(final String key) {
+        return indexTypes.get(key);
+    }
+
+    /**
+     * Creates the map from value to elements for the key taking into account the type of index it has.
+     */
+    protected <V> Map<Object, V> createKeyMap(final String key) {
+        return TinkerIndexType.ORDERED == indexTypes.get(key) ?
+                new ConcurrentSkipListMap<>(INDEX_VALUE_COMPARATOR) :
+                new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the values of the map from value to elements which fall in the specified range. Maps which are not
+     * sorted can not answer range lookups, so an empty collection is returned for them.
+     */
+    protected static <V> Collection<V> rangeOf(final Map<Object, V> keyMap, final Object from, final boolean fromInclusive,
+                                               final Object to, final boolean toInclusive) {
+        if (!(keyMap instanceof NavigableMap))
+            return Collections.emptyList();
+
+        final NavigableMap<Object, V> sorted = (NavigableMap<Object, V>) keyMap;
+        if (null != from && null != to) {
+            // an empty range would make subMap() throw
+            final int c = INDEX_VALUE_COMPARATOR.compare(from, to);
+            if (c > 0 || (c == 0 && !(fromInclusive && toInclusive)))
+                return Collections.emptyList();
+            return sorted.subMap(from, fromInclusive, to, toInclusive).values();
+        } else if (null != from) {
+            return sorted.tailMap(from, fromInclusive).values();
+        } else if (null != to) {
+            return sorted.headMap(to, toInclusive).values();
+        } else {
+            return sorted.values();
+        }
+    }
+
+    /**
+     * Validates the keys of a composite index and returns an immutable copy of them.
+     */
+    protected static List<String> validateCompositeKeys(final List<String> keys) {
+        if (null == keys)
+            throw Graph.Exceptions.argumentCanNotBeNull("keys");
+        if (keys.size() < 2)
+            throw new IllegalArgumentException("A composite index requires at least two keys");
+        if (keys.stream().anyMatch(k -> null == k || k.isEmpty()))
+            throw new IllegalArgumentException("The keys for the composite index cannot be null or empty strings");
+        if (new HashSet<>(keys).size() != keys.size())
+            throw new IllegalArgumentException("The keys for the composite index must be unique");
+        return List.copyOf(keys);
+    }
+
+    /**
+     * Gets the combinations of values the element has for the keys of a composite index. There is usually just one
+     * combination, but multi-properties produce one for each combination of their values. If the element is missing
+     * any of the keys the result is empty.
+     */
+    protected static List<List<Object>> compositeValues(final Element element, final List<String> keys) {
+        List<List<Object>> combinations = Collections.singletonList(Collections.emptyList());
+        for (final String key : keys) {
+            final List<Object> values = new ArrayList<>();
+            element.properties(key).forEachRemaining(p -> values.add(indexable(p.value())));
+            if (values.isEmpty())
+                return Collections.emptyList();
+
+            final List<List<Object>> next = new ArrayList<>(combinations.size() * values.size());
+            for (final List<Object> combination : combinations) {
+                for (final Object value : values) {
+                    final List<Object> extended = new ArrayList<>(combination);
+                    extended.add(value);
+                    next.add(extended);
+                }
+            }
+            combinations = next;
+        }
+        return combinations;
+    }
+
+    /**
+     * Adjusts the number of entries held by the single key or composite index.
+     */
+    protected void countEntries(final Object indexKey, final long delta) {
+        entryCounts.computeIfAbsent(indexKey, k -> new AtomicLong()).addAndGet(delta);
+    }
+
+    /**
+     * Calculates the average number of elements per distinct value of the single key or composite index.
+     */
+    protected double estimateLookupSize(final Object indexKey, final int distinctValues) {
+        final AtomicLong entries = entryCounts.get(indexKey);
+        return null == entries || 0 == distinctValues ? 0 : (double) entries.get() / distinctValues;
+    }
+
     /**
      * Provides a way for an index to have a {@code null} value as {@code ConcurrentHashMap} will not allow a
      * {@code null} key.
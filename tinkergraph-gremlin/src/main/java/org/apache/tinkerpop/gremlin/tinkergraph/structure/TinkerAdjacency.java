@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Array backed adjacency list for one direction of a {@link TinkerVertex}, used when
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY} is enabled. The edges of all labels are held in a single
+ * plain array rather than in a {@code Map} of {@code Set} so each edge reference costs an array slot instead of a hash
+ * entry. Edge labels are interned by the graph, so the edges of a label are found by comparing references while
+ * scanning the array.
+ * <p/>
+ * Each {@link TinkerEdge} knows its slot in the adjacency of either direction, so removal clears that slot in
+ * constant time and leaves a tombstone which iteration skips. Once the tombstones are as many as the remaining edges,
+ * the edges are compacted into a new array, so the part of an array an iterator has already captured is only ever
+ * cleared and never reordered. This lets {@link #iterator(String...)} walk the array directly without a defensive
+ * copy, even when edges are added or removed during the iteration as with {@code g.V().outE().drop()}.
+ */
+final class TinkerAdjacency {
+
+    private static final TinkerEdge[] EMPTY_EDGES = new TinkerEdge[0];
+
+    private TinkerEdge[] edges = EMPTY_EDGES;
+    // number of used slots of the array, including tombstones
+    private int size = 0;
+    private int tombstones = 0;
+
+    void add(final Direction direction, final TinkerEdge edge) {
+        if (size == edges.length) {
+            final int live = size - tombstones;
+            compact(direction, live + (live >> 1) + 1);
+        }
+        edges[size] = edge;
+        setSlot(direction, edge, size++);
+    }
+
+    void remove(final Direction direction, final TinkerEdge edge) {
+        final int slot = slotOf(direction, edge);
+        if (slot < 0 || slot >= size || edges[slot] != edge) return;
+
+        edges[slot] = null;
+        setSlot(direction, edge, -1);
+        if (++tombstones >= size - tombstones)
+            compact(direction, edges.length);
+    }
+
+    int size() {
+        return size - tombstones;
+    }
+
+    /**
+     * Iterates the edges with any of the supplied labels or all edges if no labels are supplied.
+     */
+    Iterator<Edge> iterator(final String... edgeLabels) {
+        return size == 0 ? Collections.emptyIterator() : new AdjacencyIterator(edges, size, edgeLabels);
+    }
+
+    /**
+     * Passes the edges with any of the supplied labels, or all edges if no labels are supplied, to the action in the
+     * order {@link #iterator(String...)} returns them without creating an iterator.
+     */
+    void forEach(final String[] edgeLabels, final Consumer<Edge> action) {
+        final TinkerEdge[] edges = this.edges;
+        final int size = this.size;
+        for (int i = 0; i < size; i++) {
+            final TinkerEdge edge = edges[i];
+            if (null != edge && matches(edge.label, edgeLabels)) action.accept(edge);
+        }
+    }
+
+    /**
+     * Moves the edges into a new array of the capacity without tombstones and updates their slots.
+     */
+    private void compact(final Direction direction, final int capacity) {
+        final TinkerEdge[] compacted = new TinkerEdge[capacity];
+        int live = 0;
+        for (int i = 0; i < size; i++) {
+            final TinkerEdge edge = edges[i];
+            if (null == edge) continue;
+            compacted[live] = edge;
+            setSlot(direction, edge, live++);
+        }
+        edges = compacted;
+        size = live;
+        tombstones = 0;
+    }
+
+    private static int slotOf(final Direction direction, final TinkerEdge edge) {
+        return direction == Direction.OUT ? edge.outAdjacencySlot : edge.inAdjacencySlot;
+    }
+
+    private static void setSlot(final Direction direction, final TinkerEdge edge, final int slot) {
+        if (direction == Direction.OUT)
+            edge.outAdjacencySlot = slot;
+        else
+            edge.inAdjacencySlot = slot;
+    }
+
+    private static boolean matches(final String label, final String[] edgeLabels) {
+        if (edgeLabels.length == 0) return true;
+        for (String edgeLabel : edgeLabels) {
+            if (label == edgeLabel || label.equals(edgeLabel)) return true;
+        }
+        return false;
+    }
+
+    private static final class AdjacencyIterator implements Iterator<Edge> {
+
+        private final TinkerEdge[] edges;
+        private final int size;
+        private final String[] edgeLabels;
+
+        private int position;
+        private TinkerEdge next;
+
+        private AdjacencyIterator(final TinkerEdge[] edges, final int size, final String[] edgeLabels) {
+            this.edges = edges;
+            this.size = size;
+            this.edgeLabels = edgeLabels;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next && position < size) {
+                // skips the tombstones of edges removed since the array was captured
+                final TinkerEdge edge = edges[position++];
+                if (null != edge && matches(edge.label, edgeLabels)) next = edge;
+            }
+            return null != next;
+        }
+
+        @Override
+        public Edge next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            final Edge edge = next;
+            next = null;
+            return edge;
+        }
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Loads a stream of vertices and a stream of edges into a {@link TinkerGraph} using several threads. It is obtained
+ * from {@link TinkerGraph#bulkLoader()} and is meant for filling a graph with large amounts of data, for example from
+ * {@code StarGraph} or detached elements produced by a {@code GraphReader}:
+ * <pre>
+ * graph.bulkLoader().expectedVertices(1_000_000).load(vertices, edges);
+ * </pre>
+ * The streams are read in batches which are processed by the workers as they arrive, so neither stream needs to fit
+ * in memory. Edges are created in parallel as well and are added to the adjacency of their vertices in a second pass
+ * in which each worker owns a share of the vertices. Indices are not maintained during the load but rebuilt once all
+ * elements are present, and the element maps of an empty graph are sized for the expected number of elements.
+ * <p/>
+ * The graph must not be used by other threads during the load. All vertices must be loaded before the edges that
+ * reference them, either earlier or in the same call. A load either adds all of its elements or, if it fails, none of
+ * them, so that the graph is never left with edges that are missing from the adjacency of their vertices. Vertex properties are loaded with {@code list} cardinality as
+ * they appear on the supplied vertices and identifiers are converted by the configured {@code IdManager}.
+ */
+public final class TinkerBulkLoader {
+
+    private static final BasicThreadFactory THREAD_FACTORY_LOADER = new BasicThreadFactory.Builder().namingPattern("tinker-loader-%d").build();
+
+    private final TinkerGraph graph;
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private int batchSize = 10000;
+    private long expectedVertices = -1;
+    private long expectedEdges = -1;
+
+    TinkerBulkLoader(final TinkerGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * The number of threads used to load the graph, which defaults to the number of available processors.
+     */
+    public TinkerBulkLoader workers(final int workers) {
+        if (workers < 1)
+            throw new IllegalArgumentException("The number of workers must be greater than zero");
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * The number of elements read from a stream before they are handed to a worker, which defaults to 10000.
+     */
+    public TinkerBulkLoader batchSize(final int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The batch size must be greater than zero");
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * The number of vertices that will be loaded, used to size the vertex map of an empty graph. If not set, the size
+     * of the stream is used when it is known.
+     */
+    public TinkerBulkLoader expectedVertices(final long expectedVertices) {
+        this.expectedVertices = expectedVertices;
+        return this;
+    }
+
+    /**
+     * The number of edges that will be loaded, used to size the edge map of an empty graph. If not set, the size of
+     * the stream is used when it is known.
+     */
+    public TinkerBulkLoader expectedEdges(final long expectedEdges) {
+        this.expectedEdges = expectedEdges;
+        return this;
+    }
+
+    /**
+     * Adds the vertices and then the edges to the graph.
+     */
+    public void load(final Stream<? extends Vertex> vertices, final Stream<? extends Edge> edges) {
+        final Spliterator<? extends Vertex> vertexSpliterator = vertices.spliterator();
+        final Spliterator<? extends Edge> edgeSpliterator = edges.spliterator();
+        // with compact adjacency the elements are held by the id maps of their labels, which are not known up front
+        if (graph.vertices.isEmpty() && !graph.compactAdjacency) {
+            final long size = expectedVertices >= 0 ? expectedVertices : vertexSpliterator.getExactSizeIfKnown();
+            if (size > 0) graph.vertices = new ConcurrentHashMap<>(capacity(size));
+        }
+        if (graph.edges.isEmpty() && !graph.compactAdjacency) {
+            final long size = expectedEdges >= 0 ? expectedEdges : edgeSpliterator.getExactSizeIfKnown();
+            if (size > 0) graph.edges = new ConcurrentHashMap<>(capacity(size));
+        }
+
+        final AbstractTinkerIndex<TinkerVertex> vertexIndex = graph.vertexIndex;
+        final AbstractTinkerIndex<TinkerEdge> edgeIndex = graph.edgeIndex;
+        graph.vertexIndex = null;
+        graph.edgeIndex = null;
+
+        // every batch is registered before it is loaded so that a failed load can remove what it already added
+        final Queue<TinkerVertex[]> addedVertices = new ConcurrentLinkedQueue<>();
+        final Queue<TinkerEdge[]> addedEdges = new ConcurrentLinkedQueue<>();
+        boolean loaded = false;
+        final ExecutorService executor = Executors.newFixedThreadPool(workers, THREAD_FACTORY_LOADER);
+        try {
+            process(executor, Spliterators.iterator(vertexSpliterator), batch -> loadVertices(batch, addedVertices));
+            final List<TinkerEdge[]> loadedEdges = process(executor, Spliterators.iterator(edgeSpliterator), batch -> loadEdges(batch, addedEdges));
+
+            // adjacency is not thread safe, so each worker only changes the vertices it owns
+            final List<Callable<Void>> tasks = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                final int worker = i;
+                tasks.add(() -> {
+                    for (TinkerEdge[] batch : loadedEdges) {
+                        for (TinkerEdge edge : batch) {
+                            final TinkerVertex outVertex = (TinkerVertex) edge.outVertex;
+                            final TinkerVertex inVertex = (TinkerVertex) edge.inVertex;
+                            if (owner(outVertex) == worker) graph.addOutEdge(outVertex, edge.label, edge);
+                            if (owner(inVertex) == worker) graph.addInEdge(inVertex, edge.label, edge);
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                await(future);
+            }
+            loaded = true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The bulk load was interrupted", ex);
+        } finally {
+            executor.shutdownNow();
+            if (!loaded) rollback(executor, addedVertices, addedEdges);
+            graph.vertexIndex = rebuild(vertexIndex, TinkerVertex.class);
+            graph.edgeIndex = rebuild(edgeIndex, TinkerEdge.class);
+        }
+
+        if (null != graph.writeAheadLog) {
+            try {
+                graph.writeAheadLog.snapshot(true);
+            } catch (Exception ex) {
+                throw new RuntimeException(String.format("Could not write a snapshot to %s", graph.graphLocation), ex);
+            }
+        }
+    }
+
+    private Void loadVertices(final List<? extends Vertex> batch, final Queue<TinkerVertex[]> addedVertices) {
+        final TinkerVertex[] added = new TinkerVertex[batch.size()];
+        addedVertices.add(added);
+        for (int i = 0; i < added.length; i++) {
+            final Vertex record = batch.get(i);
+            final Object id = null == record.id() ?
+                    graph.vertexIdManager.getNextId(graph) :
+                    graph.vertexIdManager.convert(record.id());
+            final TinkerVertex vertex = graph.createTinkerVertex(id, record.label(), graph);
+
+            try {
+                final Iterator<? extends VertexProperty<Object>> vertexProperties = record.properties();
+                while (vertexProperties.hasNext()) {
+                    final VertexProperty<Object> vertexProperty = vertexProperties.next();
+                    final List<Object> keyValues = new ArrayList<>();
+                    if (null != vertexProperty.id()) {
+                        keyValues.add(T.id);
+                        keyValues.add(vertexProperty.id());
+                    }
+                    vertexProperty.properties().forEachRemaining(property -> {
+                        keyValues.add(property.key());
+                        keyValues.add(property.value());
+                    });
+                    // the first value of a key may be held by the property store of the graph, which needs single cardinality
+                    final VertexProperty.Cardinality cardinality = null != graph.vertexPropertyStore && !vertex.properties(vertexProperty.key()).hasNext() ?
+                            VertexProperty.Cardinality.single : VertexProperty.Cardinality.list;
+                    vertex.property(cardinality, vertexProperty.key(), vertexProperty.value(), keyValues.toArray());
+                }
+
+                if (null != graph.vertices.putIfAbsent(id, vertex))
+                    throw Graph.Exceptions.vertexWithIdAlreadyExists(id);
+            } catch (RuntimeException ex) {
+                discard(vertex);
+                throw ex;
+            }
+            graph.addToLabelPartition(vertex);
+            added[i] = vertex;
+        }
+        return null;
+    }
+
+    private TinkerEdge[] loadEdges(final List<? extends Edge> batch, final Queue<TinkerEdge[]> addedEdges) {
+        final TinkerEdge[] loaded = new TinkerEdge[batch.size()];
+        addedEdges.add(loaded);
+        for (int i = 0; i < loaded.length; i++) {
+            final Edge record = batch.get(i);
+            final Object id = null == record.id() ?
+                    graph.edgeIdManager.getNextId(graph) :
+                    graph.edgeIdManager.convert(record.id());
+            final TinkerEdge edge = new TinkerEdge(id, vertexOf(record, record.outVertex()),
+                    graph.edgeLabel(record.label()), vertexOf(record, record.inVertex()));
+
+            try {
+                final Iterator<? extends Property<Object>> properties = record.properties();
+                while (properties.hasNext()) {
+                    final Property<Object> property = properties.next();
+                    edge.property(property.key(), property.value());
+                }
+
+                if (null != graph.edges.putIfAbsent(id, edge))
+                    throw Graph.Exceptions.edgeWithIdAlreadyExists(id);
+            } catch (RuntimeException ex) {
+                discard(edge);
+                throw ex;
+            }
+            graph.addToLabelPartition(edge);
+            loaded[i] = edge;
+        }
+        return loaded;
+    }
+
+    /**
+     * Removes the elements a failed load already added to the graph once the workers have stopped.
+     */
+    private void rollback(final ExecutorService executor, final Queue<TinkerVertex[]> addedVertices,
+                          final Queue<TinkerEdge[]> addedEdges) {
+        boolean interrupted = false;
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+
+        // nothing of the load was written to the log, so neither is its removal
+        final TinkerWriteAheadLog writeAheadLog = graph.writeAheadLog;
+        graph.writeAheadLog = null;
+        try {
+            for (TinkerEdge[] batch : addedEdges) {
+                for (TinkerEdge edge : batch) {
+                    if (null != edge) edge.remove();
+                }
+            }
+            for (TinkerVertex[] batch : addedVertices) {
+                for (TinkerVertex vertex : batch) {
+                    if (null != vertex) vertex.remove();
+                }
+            }
+        } finally {
+            graph.writeAheadLog = writeAheadLog;
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Reverts what adding its properties changed for a vertex that was not added to the graph.
+     */
+    private void discard(final TinkerVertex vertex) {
+        vertex.properties().forEachRemaining(vertexProperty -> {
+            graph.vertexProperties.remove(vertexProperty.id(), vertexProperty);
+            graph.propertyRemoved(Vertex.class, vertexProperty.key(), vertexProperty.value());
+        });
+        if (vertex.propertySlot >= 0) graph.vertexPropertyStore.releaseSlot(vertex.propertySlot);
+    }
+
+    /**
+     * Reverts what adding its properties changed for an edge that was not added to the graph.
+     */
+    private void discard(final TinkerEdge edge) {
+        edge.properties().forEachRemaining(property -> graph.propertyRemoved(Edge.class, property.key(), property.value()));
+        if (edge.propertySlot >= 0) graph.edgePropertyStore.releaseSlot(edge.propertySlot);
+    }
+
+    private Vertex vertexOf(final Edge record, final Vertex vertex) {
+        final Vertex loaded = graph.vertices.get(graph.vertexIdManager.convert(vertex.id()));
+        if (null == loaded)
+            throw new IllegalStateException(String.format("Vertex with id %s of edge %s does not exist", vertex.id(), record.id()));
+        return loaded;
+    }
+
+    /**
+     * Reads the elements in batches which are handed to the executor, keeping at most two batches per worker in
+     * memory, and returns the results of the batches in the order they were read.
+     */
+    private <E, R> List<R> process(final ExecutorService executor, final Iterator<E> elements,
+                                   final BatchLoader<E, R> loader) throws InterruptedException {
+        final Semaphore inFlight = new Semaphore(workers * 2);
+        final List<Future<R>> futures = new ArrayList<>();
+        while (elements.hasNext()) {
+            final List<E> batch = new ArrayList<>(batchSize);
+            while (elements.hasNext() && batch.size() < batchSize) {
+                batch.add(elements.next());
+            }
+
+            inFlight.acquire();
+            futures.add(executor.submit(() -> {
+                try {
+                    return loader.load(batch);
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        }
+
+        final List<R> results = new ArrayList<>(futures.size());
+        for (Future<R> future : futures) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    private int owner(final TinkerVertex vertex) {
+        return Math.floorMod(vertex.id().hashCode(), workers);
+    }
+
+    private <T extends Element> AbstractTinkerIndex<T> rebuild(final AbstractTinkerIndex<T> index, final Class<T> indexClass) {
+        if (null == index) return null;
+
+        final TinkerIndex<T> rebuilt = new TinkerIndex<>(graph, indexClass);
+        for (String key : index.getIndexedKeys()) {
+            rebuilt.createKeyIndex(key, index.getIndexType(key));
+        }
+        for (List<String> keys : index.getCompositeIndexedKeys()) {
+            rebuilt.createCompositeKeyIndex(keys);
+        }
+        return rebuilt;
+    }
+
+    private static <R> R await(final Future<R> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException)
+                throw (RuntimeException) ex.getCause();
+            throw new IllegalStateException(ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    private static int capacity(final long size) {
+        return (int) Math.min(size, 1 << 30);
+    }
+
+    @FunctionalInterface
+    private interface BatchLoader<E, R> {
+        R load(final List<E> batch);
+    }
+}
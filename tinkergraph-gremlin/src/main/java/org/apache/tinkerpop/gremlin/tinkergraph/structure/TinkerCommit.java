@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The changes of a {@link TinkerTransaction} captured from the thread-local state of its containers, so that they can
+ * be validated and applied by any thread. With group commit the changes of several transactions are applied together
+ * by the thread which leads the group.
+ */
+final class TinkerCommit {
+
+    /**
+     * Version of the transaction which made the changes.
+     */
+    final long txVersion;
+
+    final List<Change<TinkerVertex>> vertices;
+
+    final List<Change<TinkerEdge>> edges;
+
+    /**
+     * Set once the changes were applied or rejected, guarded by the group commit lock.
+     */
+    boolean done = false;
+
+    /**
+     * The reason the changes were rejected or {@code null} if they were applied.
+     */
+    TransactionException failure;
+
+    TinkerCommit(final long txVersion, final Collection<TinkerElementContainer<TinkerVertex>> changedVertices,
+                 final Collection<TinkerElementContainer<TinkerEdge>> changedEdges) {
+        this.txVersion = txVersion;
+        this.vertices = capture(changedVertices);
+        this.edges = capture(changedEdges);
+    }
+
+    /**
+     * Determines if any of the changed elements was changed by another transaction since it was read.
+     */
+    boolean conflicts() {
+        return vertices.stream().anyMatch(Change::conflicts) || edges.stream().anyMatch(Change::conflicts);
+    }
+
+    private static <T extends TinkerElement> List<Change<T>> capture(final Collection<TinkerElementContainer<T>> containers) {
+        final List<Change<T>> changes = new ArrayList<>(containers.size());
+        for (TinkerElementContainer<T> container : containers) {
+            final Change<T> change = container.capture();
+            if (null != change) changes.add(change);
+        }
+        return changes;
+    }
+
+    /**
+     * The change of a single element.
+     */
+    static final class Change<T extends TinkerElement> {
+        final TinkerElementContainer<T> container;
+
+        /**
+         * Value of the element in the transaction, which may be {@code null} for a removed element.
+         */
+        final T draft;
+
+        final boolean removed;
+
+        Change(final TinkerElementContainer<T> container, final T draft, final boolean removed) {
+            this.container = container;
+            this.draft = draft;
+            this.removed = removed;
+        }
+
+        /**
+         * Gets the value to commit or {@code null} if the element is removed.
+         */
+        T value() {
+            return removed ? null : draft;
+        }
+
+        boolean conflicts() {
+            return container.updatedOutsideTransaction(draft);
+        }
+    }
+}
@@ -28,8 +28,13 @@ import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -41,11 +46,15 @@ import java.util.stream.Collectors;
 public class TinkerEdge extends TinkerElement implements Edge {
 
     protected Map<String, Property> properties;
-
-    protected Vertex inVertex = null;
-    protected Object inVertexId = null;
-    protected Vertex outVertex = null;
-    protected Object outVertexId= null;
+    // Slot of the edge in the graph property store or -1 if no values are held there
+    protected int propertySlot = -1;
+    // Slots of the edge in the compact adjacency of its out and in vertex or -1 if it is not held there
+    protected int outAdjacencySlot = -1;
+    protected int inAdjacencySlot = -1;
+
+    // The vertices of the edge, or only their ids in transaction mode where they are looked up on each access
+    protected Object inVertex = null;
+    protected Object outVertex = null;
     private final AbstractTinkerGraph graph;
     private final boolean allowNullPropertyValues;
     private final boolean isTxMode;
@@ -67,8 +76,8 @@ public class TinkerEdge extends TinkerElement implements Edge {
         isTxMode = graph instanceof TinkerTransactionGraph;
         this.graph = graph;
         if (isTxMode) {
-            this.outVertexId = outVertexId;
-            this.inVertexId = inVertexId;
+            this.outVertex = outVertexId;
+            this.inVertex = inVertexId;
         }
         this.allowNullPropertyValues = graph.features().edge().supportsNullPropertyValues();
         if (!skipIndexUpdate)
@@ -89,28 +98,60 @@ public class TinkerEdge extends TinkerElement implements Edge {
 
         final Property oldProperty = super.property(key);
         final Property<V> newProperty = new TinkerProperty<>(this, key, value);
-        if (null == this.properties) this.properties = new ConcurrentHashMap<>();
-        this.properties.put(key, newProperty);
+        final TinkerPropertyStore store = graph.edgePropertyStore;
+        if (null != store && TinkerPropertyStore.supports(value)) {
+            if (this.propertySlot < 0) this.propertySlot = store.allocateSlot();
+            store.put(this.propertySlot, key, value);
+            if (null != this.properties) this.properties.remove(key);
+        } else {
+            if (null == this.properties) this.properties = new ConcurrentHashMap<>();
+            this.properties.put(key, newProperty);
+            if (this.propertySlot >= 0) store.remove(this.propertySlot, key);
+        }
         TinkerIndexHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+        if (oldProperty.isPresent()) graph.propertyRemoved(Edge.class, key, oldProperty.value());
+        graph.propertyAdded(Edge.class, key, value);
+        graph.logPropertySet(newProperty);
         return newProperty;
     }
 
     @Override
     public <V> Property<V> property(final String key) {
+        if (this.propertySlot >= 0) {
+            final Object value = graph.edgePropertyStore.get(this.propertySlot, key);
+            if (null != value) return new TinkerProperty<>(this, key, (V) value);
+        }
         return null == this.properties ? Property.<V>empty() : this.properties.getOrDefault(key, Property.<V>empty());
     }
 
     @Override
     public Set<String> keys() {
+        if (this.propertySlot >= 0) {
+            final Set<String> keys = new HashSet<>(graph.edgePropertyStore.keys(this.propertySlot));
+            if (null != this.properties) keys.addAll(this.properties.keySet());
+            return keys;
+        }
         return null == this.properties ? Collections.emptySet() : this.properties.keySet();
     }
 
+    /**
+     * Removes the property from wherever its value is held.
+     */
+    void removeProperty(final String key) {
+        if (null != this.properties) this.properties.remove(key);
+        if (this.propertySlot >= 0) graph.edgePropertyStore.remove(this.propertySlot, key);
+    }
+
     @Override
     public void remove() {
         graph.touch(this);
         TinkerIndexHelper.removeElementIndex(this);
         graph.removeEdge(this.id());
         this.properties = null;
+        if (this.propertySlot >= 0) {
+            graph.edgePropertyStore.releaseSlot(this.propertySlot);
+            this.propertySlot = -1;
+        }
         this.removed = true;
     }
 
@@ -123,12 +164,13 @@ public class TinkerEdge extends TinkerElement implements Edge {
     public Object clone() {
         if (!isTxMode) {
             // shallow copy for non-tx mode
-            final TinkerEdge edge = new TinkerEdge(id, outVertex, label, inVertex, currentVersion);
+            final TinkerEdge edge = new TinkerEdge(id, (Vertex) outVertex, label, (Vertex) inVertex, currentVersion);
             edge.properties = properties;
+            edge.propertySlot = propertySlot;
             return edge;
         }
 
-        final TinkerEdge edge = new TinkerEdge(id, graph, outVertexId, label, inVertexId, currentVersion, true);
+        final TinkerEdge edge = new TinkerEdge(id, graph, outVertex, label, inVertex, currentVersion, true);
 
         if (properties != null) {
             final Map<String, Property> cloned = new ConcurrentHashMap<>(properties.size());
@@ -142,12 +184,20 @@ public class TinkerEdge extends TinkerElement implements Edge {
 
     @Override
     public Vertex outVertex() {
-        return isTxMode ? graph.vertex(outVertexId) : outVertex;
+        return isTxMode ? graph.vertex(outVertex) : (Vertex) outVertex;
     }
 
     @Override
     public Vertex inVertex() {
-        return isTxMode ? graph.vertex(inVertexId) : inVertex;
+        return isTxMode ? graph.vertex(inVertex) : (Vertex) inVertex;
+    }
+
+    Object outVertexId() {
+        return isTxMode ? outVertex : ((Vertex) outVertex).id();
+    }
+
+    Object inVertexId() {
+        return isTxMode ? inVertex : ((Vertex) inVertex).id();
     }
 
     @Override
@@ -170,6 +220,16 @@ public class TinkerEdge extends TinkerElement implements Edge {
 
     @Override
     public <V> Iterator<Property<V>> properties(final String... propertyKeys) {
+        if (this.propertySlot >= 0) {
+            // values from the property store are materialized as they are requested
+            final List<Property<V>> properties = new ArrayList<>();
+            for (String key : propertyKeys.length == 0 ? keys() : new LinkedHashSet<>(Arrays.asList(propertyKeys))) {
+                if (null == key) continue;
+                final Property<V> property = this.property(key);
+                if (property.isPresent()) properties.add(property);
+            }
+            return properties.iterator();
+        }
         if (null == this.properties) return Collections.emptyIterator();
         if (propertyKeys.length == 1) {
             if (null == propertyKeys[0])
@@ -69,6 +69,12 @@ final class TinkerElementContainer<T extends TinkerElement> {
      */
     private final ReentrantLock lock = new ReentrantLock();
 
+    /**
+     * Committed values of the element, newest first, tagged with the commit version that published them. Older values
+     * are only kept while an open snapshot transaction may still read them.
+     */
+    private volatile CommittedValue<T> committed;
+
     /**
      * Constructor only requires the element id to be stored.
      * @param elementId id of element to store.
@@ -88,6 +94,9 @@ final class TinkerElementContainer<T extends TinkerElement> {
     }
 
     public T getWithClone(final TinkerTransaction tx) {
+        final long snapshotVersion = tx.getSnapshotVersion();
+        if (snapshotVersion != TinkerTransaction.NOT_STARTED) return getSnapshot(snapshotVersion);
+
         if (isDeletedInTx.get()) return null;
         if (transactionUpdatedValue.get() != null) return transactionUpdatedValue.get();
         if (isDeleted || null == element) return null;
@@ -103,6 +112,17 @@ final class TinkerElementContainer<T extends TinkerElement> {
         return cloned;
     }
 
+    /**
+     * Get the committed value of stored element as it was at the specified commit version. Used by snapshot
+     * transactions, so neither clones the element nor tracks the read.
+     */
+    public T getSnapshot(final long snapshotVersion) {
+        for (CommittedValue<T> value = committed; value != null; value = value.previous) {
+            if (value.version <= snapshotVersion) return value.element;
+        }
+        return null;
+    }
+
     /**
      * Get current committed value of stored element.
      */
@@ -194,11 +214,10 @@ final class TinkerElementContainer<T extends TinkerElement> {
     }
 
     /**
-     * Used to understand if elements was changed by other transaction.
+     * Used to understand if elements was changed by other transaction since the specified value was read.
      */
-    public boolean updatedOutsideTransaction() {
+    public boolean updatedOutsideTransaction(final T updatedValue) {
         // todo: do we need to check version on delete?
-        final T updatedValue = transactionUpdatedValue.get();
         return isDeleted ||
                 element != null && updatedValue != null && updatedValue.version() != element.version();
     }
@@ -211,24 +230,61 @@ final class TinkerElementContainer<T extends TinkerElement> {
     }
 
     /**
-     * Commit changes for the stored element.
+     * Capture the changes made to the stored element in the current transaction.
+     * @return the change or {@code null} if the element was not changed
+     */
+    public TinkerCommit.Change<T> capture() {
+        if (!isDeletedInTx.get() && !isModifiedInTx.get()) return null;
+        return new TinkerCommit.Change<>(this, transactionUpdatedValue.get(), isDeletedInTx.get());
+    }
+
+    /**
+     * Commit a captured change for the stored element and publish the new value to snapshot transactions. Does not
+     * depend on the state of the current transaction, so the change may be committed by another thread.
+     * @param change the change made in the transaction
      * @param txVersion version of transaction
+     * @param commitVersion version under which the new value is visible to snapshot transactions
+     * @param oldestSnapshot the oldest commit version pinned by an open snapshot transaction
+     * @return {@code true} if older values had to be kept for open snapshot transactions
      */
-    public void commit(final long txVersion) {
-        updateUsesCount();
-        if (isDeletedInTx.get()) {
-            // created and deleted in same tx
-            if (null != element)
+    public boolean commit(final TinkerCommit.Change<T> change, final long txVersion, final long commitVersion,
+                          final long oldestSnapshot) {
+        if (change.removed) {
+            // created and deleted in same tx, the removed flag is left to snapshot transactions which can still see it
+            if (null != element && oldestSnapshot == Long.MAX_VALUE)
                 element.removed = true;
             element = null;
             isDeleted = true;
-        } else if (isModifiedInTx.get()){
-            element = transactionUpdatedValue.get();
+        } else {
+            element = change.draft;
             element.currentVersion = txVersion;
         }
+
+        committed = new CommittedValue<>(element, commitVersion, committed);
+        return prune(oldestSnapshot);
+    }
+
+    /**
+     * Complete the current transaction for the stored element once its changes are committed.
+     */
+    public void complete() {
+        updateUsesCount();
         reset();
     }
 
+    /**
+     * Drop committed values which can not be read by snapshot transactions pinned at or after the specified version.
+     * @return {@code true} if values older than the latest one are still kept
+     */
+    public boolean prune(final long oldestSnapshot) {
+        CommittedValue<T> value = committed;
+        while (value != null && value.version > oldestSnapshot) {
+            value = value.previous;
+        }
+        if (value != null) value.previous = null;
+        return null != committed && null != committed.previous;
+    }
+
     /**
      * Rollback changes for the stored element.
      */
@@ -252,7 +308,8 @@ final class TinkerElementContainer<T extends TinkerElement> {
      * Should be used after commit or rollback.
      */
     public boolean canBeRemoved() {
-        return usesInTransactions.get() == 0 && (isDeleted || element == null);
+        return usesInTransactions.get() == 0 && (isDeleted || element == null) &&
+                (null == committed || null == committed.previous);
     }
 
     /**
@@ -280,4 +337,19 @@ final class TinkerElementContainer<T extends TinkerElement> {
         if (lock.isHeldByCurrentThread())
             lock.unlock();
     }
+
+    /**
+     * A committed value of the element. Values are immutable apart from cutting off the older ones.
+     */
+    private static final class CommittedValue<T> {
+        private final T element;
+        private final long version;
+        private CommittedValue<T> previous;
+
+        private CommittedValue(final T element, final long version, final CommittedValue<T> previous) {
+            this.element = element;
+            this.version = version;
+            this.previous = previous;
+        }
+    }
 }
@@ -21,9 +21,11 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
@@ -31,11 +33,14 @@ import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphCountStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphFilterRankingStrategy;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphStepStrategy;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerServiceRegistry;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -62,6 +67,7 @@ public class TinkerGraph extends AbstractTinkerGraph {
     static {
         TraversalStrategies.GlobalCache.registerStrategies(TinkerGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(
                 TinkerGraphStepStrategy.instance(),
+                TinkerGraphFilterRankingStrategy.instance(),
                 TinkerGraphCountStrategy.instance()));
     }
 
@@ -73,6 +79,17 @@ public class TinkerGraph extends AbstractTinkerGraph {
 
     protected Map<Object, Vertex> vertices = new ConcurrentHashMap<>();
     protected Map<Object, Edge> edges = new ConcurrentHashMap<>();
+    /**
+     * Vertices and edges partitioned by their label, so that elements of one label are found without a full scan.
+     */
+    protected Map<String, Map<Object, Vertex>> verticesByLabel = new ConcurrentHashMap<>();
+    protected Map<String, Map<Object, Edge>> edgesByLabel = new ConcurrentHashMap<>();
+
+    protected boolean compactAdjacency;
+    /**
+     * Edge labels shared by all edges when {@link #compactAdjacency} is enabled.
+     */
+    private final Map<String, String> edgeLabels = new ConcurrentHashMap<>();
 
     /**
      * An empty private constructor that initializes {@link TinkerGraph}.
@@ -85,6 +102,16 @@ public class TinkerGraph extends AbstractTinkerGraph {
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
         allowNullPropertyValues = configuration.getBoolean(GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES, false);
+        compactAdjacency = configuration.getBoolean(GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, false);
+        if (compactAdjacency) {
+            // elements are only held by the primitive id maps of their label partitions
+            vertices = new TinkerPartitionedIdMap<>(verticesByLabel);
+            edges = new TinkerPartitionedIdMap<>(edgesByLabel);
+        }
+        if (configuration.getBoolean(GREMLIN_TINKERGRAPH_OFF_HEAP_EDGE_PROPERTIES, false))
+            edgePropertyStore = new TinkerPropertyStore();
+        if (configuration.getBoolean(GREMLIN_TINKERGRAPH_OFF_HEAP_VERTEX_PROPERTIES, false))
+            vertexPropertyStore = new TinkerPropertyStore(true);
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
@@ -147,6 +174,8 @@ public class TinkerGraph extends AbstractTinkerGraph {
         final Vertex vertex = createTinkerVertex(idValue, label, this);
         ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
         this.vertices.put(vertex.id(), vertex);
+        addToLabelPartition(vertex);
+        logVertex((TinkerVertex) vertex);
 
         return vertex;
     }
@@ -154,7 +183,19 @@ public class TinkerGraph extends AbstractTinkerGraph {
     @Override
     public void removeVertex(final Object vertexId)
     {
-        this.vertices.remove(vertexId);
+        final Vertex vertex = this.vertices.remove(vertexId);
+        if (null != vertex) {
+            statistics.remove((TinkerVertex) vertex);
+            removeFromLabelPartition(verticesByLabel, vertex);
+        }
+        if (null != writeAheadLog) {
+            try {
+                writeAheadLog.appendVertexRemoval(vertexId);
+                writeAheadLog.snapshotIfDue();
+            } catch (IOException ex) {
+                throw new RuntimeException(String.format("Could not write to the log at %s", graphLocation), ex);
+            }
+        }
     }
 
     @Override
@@ -172,11 +213,14 @@ public class TinkerGraph extends AbstractTinkerGraph {
             idValue = edgeIdManager.getNextId(this);
         }
 
-        edge = new TinkerEdge(idValue, outVertex, label, inVertex);
+        final String edgeLabel = edgeLabel(label);
+        edge = new TinkerEdge(idValue, outVertex, edgeLabel, inVertex);
         ElementHelper.attachProperties(edge, keyValues);
         edges.put(edge.id(), edge);
-        addOutEdge(outVertex, label, edge);
-        addInEdge(inVertex, label, edge);
+        addToLabelPartition(edge);
+        addOutEdge(outVertex, edgeLabel, edge);
+        addInEdge(inVertex, edgeLabel, edge);
+        logEdge((TinkerEdge) edge);
         return edge;
     }
 
@@ -189,6 +233,11 @@ public class TinkerGraph extends AbstractTinkerGraph {
         final TinkerVertex outVertex = (TinkerVertex) edge.outVertex();
         final TinkerVertex inVertex = (TinkerVertex) edge.inVertex();
 
+        if (null != outVertex && null != outVertex.outAdjacency)
+            outVertex.outAdjacency.remove(Direction.OUT, (TinkerEdge) edge);
+        if (null != inVertex && null != inVertex.inAdjacency)
+            inVertex.inAdjacency.remove(Direction.IN, (TinkerEdge) edge);
+
         if (null != outVertex && null != outVertex.outEdges) {
             final Set<Edge> edges = outVertex.outEdges.get(edge.label());
             if (null != edges)
@@ -201,6 +250,128 @@ public class TinkerGraph extends AbstractTinkerGraph {
         }
 
         this.edges.remove(edgeId);
+        statistics.remove((TinkerEdge) edge);
+        removeFromLabelPartition(edgesByLabel, edge);
+        if (null != writeAheadLog) {
+            try {
+                writeAheadLog.appendEdgeRemoval(edgeId);
+                writeAheadLog.snapshotIfDue();
+            } catch (IOException ex) {
+                throw new RuntimeException(String.format("Could not write to the log at %s", graphLocation), ex);
+            }
+        }
+    }
+
+    @Override
+    protected void logVertex(final TinkerVertex vertex) {
+        // changes made before the vertex is added to the graph are written with it
+        if (null == writeAheadLog || TinkerHelper.inComputerMode(this) || vertices.get(vertex.id()) != vertex) return;
+        try {
+            writeAheadLog.appendVertex(vertex);
+            writeAheadLog.snapshotIfDue();
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not write to the log at %s", graphLocation), ex);
+        }
+    }
+
+    @Override
+    protected void logEdge(final TinkerEdge edge) {
+        if (null == writeAheadLog || TinkerHelper.inComputerMode(this) || edges.get(edge.id()) != edge) return;
+        try {
+            writeAheadLog.appendEdge(edge);
+            writeAheadLog.snapshotIfDue();
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not write to the log at %s", graphLocation), ex);
+        }
+    }
+
+    @Override
+    protected void logPropertySet(final Property<?> property) {
+        if (null == writeAheadLog || TinkerHelper.inComputerMode(this) || !isInGraph(property)) return;
+        try {
+            writeAheadLog.appendPropertySet(property);
+            writeAheadLog.snapshotIfDue();
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not write to the log at %s", graphLocation), ex);
+        }
+    }
+
+    @Override
+    protected void logPropertyRemoved(final Property<?> property) {
+        if (null == writeAheadLog || TinkerHelper.inComputerMode(this) || !isInGraph(property)) return;
+        try {
+            writeAheadLog.appendPropertyRemoval(property);
+            writeAheadLog.snapshotIfDue();
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not write to the log at %s", graphLocation), ex);
+        }
+    }
+
+    /**
+     * Determines if the element a property belongs to was already added to the graph. Changes made before that are
+     * written with the element when it is added.
+     */
+    private boolean isInGraph(final Property<?> property) {
+        if (property instanceof VertexProperty)
+            return vertices.get(property.element().id()) == property.element();
+        if (property.element() instanceof Edge)
+            return edges.get(property.element().id()) == property.element();
+
+        final TinkerVertexProperty<?> vertexProperty = (TinkerVertexProperty<?>) property.element();
+        final TinkerVertex vertex = (TinkerVertex) vertexProperty.element();
+        if (vertices.get(vertex.id()) != vertex || null == vertex.properties) return false;
+        // meta-properties are never added to a vertex property held by the property store
+        final List<VertexProperty> list = vertex.properties.get(vertexProperty.key());
+        return null != list && list.stream().anyMatch(p -> p == vertexProperty);
+    }
+
+    /**
+     * Adds a vertex which was added to the graph to the partition of its label and to the statistics. With
+     * {@link #compactAdjacency} the partitions already hold the vertices, so only the statistics are updated.
+     */
+    void addToLabelPartition(final Vertex vertex) {
+        if (!compactAdjacency)
+            verticesByLabel.computeIfAbsent(vertex.label(), l -> new ConcurrentHashMap<>()).put(vertex.id(), vertex);
+        statistics.addLabel(Vertex.class, vertex.label());
+    }
+
+    /**
+     * Adds an edge which was added to the graph to the partition of its label and to the statistics. With
+     * {@link #compactAdjacency} the partitions already hold the edges, so only the statistics are updated.
+     */
+    void addToLabelPartition(final Edge edge) {
+        if (!compactAdjacency)
+            edgesByLabel.computeIfAbsent(edge.label(), l -> new ConcurrentHashMap<>()).put(edge.id(), edge);
+        statistics.addLabel(Edge.class, edge.label());
+    }
+
+    private static <E extends Element> void removeFromLabelPartition(final Map<String, Map<Object, E>> partitions, final E element) {
+        final Map<Object, E> partition = partitions.get(element.label());
+        if (null != partition) partition.remove(element.id());
+    }
+
+    @Override
+    protected void propertyAdded(final Class<? extends Element> elementClass, final String key, final Object value) {
+        if (!TinkerHelper.inComputerMode(this)) statistics.addProperty(elementClass, key, value);
+    }
+
+    @Override
+    protected void propertyRemoved(final Class<? extends Element> elementClass, final String key, final Object value) {
+        if (!TinkerHelper.inComputerMode(this)) statistics.removeProperty(elementClass, key, value);
+    }
+
+    /**
+     * Gets the instance of the label shared by all edges when {@link #compactAdjacency} is enabled.
+     */
+    String edgeLabel(final String label) {
+        return compactAdjacency ? edgeLabels.computeIfAbsent(label, l -> l) : label;
+    }
+
+    /**
+     * Creates a {@link TinkerBulkLoader} which adds streams of vertices and edges to this graph using several threads.
+     */
+    public TinkerBulkLoader bulkLoader() {
+        return new TinkerBulkLoader(this);
     }
 
     @Override
@@ -208,6 +379,11 @@ public class TinkerGraph extends AbstractTinkerGraph {
         super.clear();
         this.vertices.clear();
         this.edges.clear();
+        this.verticesByLabel.clear();
+        this.edgesByLabel.clear();
+        this.edgeLabels.clear();
+        if (null != this.edgePropertyStore) this.edgePropertyStore.clear();
+        if (null != this.vertexPropertyStore) this.vertexPropertyStore.clear();
     }
 
     @Override
@@ -224,6 +400,35 @@ public class TinkerGraph extends AbstractTinkerGraph {
     @Override
     public int getEdgesCount() {  return edges.size(); }
 
+    @Override
+    public long getVerticesCount(final Collection<String> labels) {
+        return labels.stream().distinct().mapToLong(label -> labelPartitionSize(verticesByLabel, label)).sum();
+    }
+
+    @Override
+    public long getEdgesCount(final Collection<String> labels) {
+        return labels.stream().distinct().mapToLong(label -> labelPartitionSize(edgesByLabel, label)).sum();
+    }
+
+    private static long labelPartitionSize(final Map<String, ? extends Map<Object, ?>> partitions, final String label) {
+        final Map<Object, ?> partition = partitions.get(label);
+        return null == partition ? 0 : partition.size();
+    }
+
+    @Override
+    protected Collection<Vertex> getVerticesWithLabel(final String label) {
+        if (TinkerHelper.inComputerMode(this)) return null;
+        final Map<Object, Vertex> partition = verticesByLabel.get(label);
+        return null == partition ? Collections.emptyList() : partition.values();
+    }
+
+    @Override
+    protected Collection<Edge> getEdgesWithLabel(final String label) {
+        if (TinkerHelper.inComputerMode(this)) return null;
+        final Map<Object, Edge> partition = edgesByLabel.get(label);
+        return null == partition ? Collections.emptyList() : partition.values();
+    }
+
     @Override
     public boolean hasEdge(Object id) { return edges.containsKey(id); }
 
@@ -282,6 +487,12 @@ public class TinkerGraph extends AbstractTinkerGraph {
 
     @Override
     protected void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
+        if (compactAdjacency) {
+            if (null == vertex.outAdjacency) vertex.outAdjacency = new TinkerAdjacency();
+            vertex.outAdjacency.add(Direction.OUT, (TinkerEdge) edge);
+            return;
+        }
+
         if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
         Set<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
@@ -293,6 +504,12 @@ public class TinkerGraph extends AbstractTinkerGraph {
 
     @Override
     protected void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
+        if (compactAdjacency) {
+            if (null == vertex.inAdjacency) vertex.inAdjacency = new TinkerAdjacency();
+            vertex.inAdjacency.add(Direction.IN, (TinkerEdge) edge);
+            return;
+        }
+
         if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
         Set<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
@@ -384,15 +601,72 @@ public class TinkerGraph extends AbstractTinkerGraph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        createIndex(key, elementClass, TinkerIndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified type for said element class ({@link Vertex} or {@link Edge}) and said property
+     * key. A {@link TinkerIndexType#ORDERED} index can additionally answer range and prefix lookups such as
+     * {@code has("age", gt(30))} or {@code has("name", startingWith("ma"))}. If the key is already indexed with a
+     * different type, the index is rebuilt with the new type.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final TinkerIndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+        this.indexVersion.incrementAndGet();
+    }
+
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the ordered list of
+     * property keys. The index is used when a traversal has equality lookups for all of its keys, such as
+     * {@code has("tenant", t).has("type", x)} for a composite index over {@code ["tenant", "type"]}. Elements that do
+     * not have all of the keys are not indexed.
+     *
+     * @param keys         the property keys to index, at least two
+     * @param elementClass the element class to index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final List<String> keys, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeKeyIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createCompositeKeyIndex(keys);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+        this.indexVersion.incrementAndGet();
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and keys.
+     *
+     * @param keys         the property keys of the composite index
+     * @param elementClass the element class of the index to drop
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final List<String> keys, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeKeyIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeKeyIndex(keys);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
+        this.indexVersion.incrementAndGet();
     }
 
     /**
@@ -410,5 +684,6 @@ public class TinkerGraph extends AbstractTinkerGraph {
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
+        this.indexVersion.incrementAndGet();
     }
 }
@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Statistics about the elements of a graph which are updated incrementally as the graph changes: the number of
+ * elements per label, the number of properties per key and the distribution of their values. {@link TinkerGraph}
+ * updates them with every change and {@link TinkerTransactionGraph} when changes are committed.
+ * <p/>
+ * The statistics are approximate and meant for query planning. Exact counts are kept for at most
+ * {@link #MAX_TRACKED_VALUES} distinct values per key, the frequency of any other value is estimated from the average
+ * frequency of the tracked ones.
+ */
+public final class TinkerGraphStatistics {
+
+    /**
+     * Maximum number of distinct values per property key which are counted exactly.
+     */
+    public static final int MAX_TRACKED_VALUES = 1024;
+
+    /**
+     * Fraction of the elements assumed to match predicates which can not be estimated from the value counts, such
+     * as range predicates.
+     */
+    public static final double DEFAULT_SELECTIVITY = 1.0 / 3;
+
+    /**
+     * Fraction of the labels and properties of the graph which has to change before the statistics are considered to
+     * have drifted, so that traversals planned from them are planned again.
+     */
+    public static final double DRIFT_THRESHOLD = 0.25;
+
+    /**
+     * Minimum number of changes of labels and properties before the statistics are considered to have drifted, so
+     * that small graphs are not planned again with every change.
+     */
+    public static final long MIN_DRIFT = 1000;
+
+    private final ElementStatistics vertexStatistics = new ElementStatistics();
+    private final ElementStatistics edgeStatistics = new ElementStatistics();
+    private final LongAdder changes = new LongAdder();
+
+    private long version = 0;
+    private long changesAtVersion = 0;
+    private long sizeAtVersion = 0;
+
+    TinkerGraphStatistics() {
+    }
+
+    /**
+     * Gets the number of vertices.
+     */
+    public long vertexCount() {
+        return vertexStatistics.count.sum();
+    }
+
+    /**
+     * Gets the number of vertices with the label.
+     */
+    public long vertexCount(final String label) {
+        return vertexStatistics.labelCount(label);
+    }
+
+    /**
+     * Gets the number of edges.
+     */
+    public long edgeCount() {
+        return edgeStatistics.count.sum();
+    }
+
+    /**
+     * Gets the number of edges with the label.
+     */
+    public long edgeCount(final String label) {
+        return edgeStatistics.labelCount(label);
+    }
+
+    /**
+     * Gets the average number of edges with the label per vertex in each direction.
+     */
+    public double averageDegree(final String edgeLabel) {
+        final long vertices = vertexCount();
+        return 0 == vertices ? 0 : (double) edgeCount(edgeLabel) / vertices;
+    }
+
+    /**
+     * Gets the number of properties with the key of vertices or edges.
+     */
+    public long propertyCount(final Class<? extends Element> elementClass, final String key) {
+        final PropertyStatistics statistics = statisticsOf(elementClass).properties.get(key);
+        return null == statistics ? 0 : Math.max(0, statistics.count.sum());
+    }
+
+    /**
+     * Estimates the number of properties with the key and value of vertices or edges.
+     */
+    public long estimateCount(final Class<? extends Element> elementClass, final String key, final Object value) {
+        final PropertyStatistics statistics = statisticsOf(elementClass).properties.get(key);
+        return null == statistics ? 0 : statistics.estimateCount(value);
+    }
+
+    /**
+     * Estimates the fraction of vertices or edges which match the {@link HasContainer}, which is {@code 0} for
+     * containers on keys no element has.
+     */
+    public double estimateSelectivity(final Class<? extends Element> elementClass, final HasContainer hasContainer) {
+        final ElementStatistics statistics = statisticsOf(elementClass);
+        final long total = statistics.count.sum();
+        if (total <= 0) return 0;
+
+        final String key = hasContainer.getKey();
+        final long candidates;
+        final ToLongFunction<Object> counter;
+        if (T.label.getAccessor().equals(key)) {
+            candidates = total;
+            counter = value -> statistics.labelCount(value instanceof String ? (String) value : null);
+        } else if (T.id.getAccessor().equals(key)) {
+            candidates = total;
+            counter = value -> 1;
+        } else {
+            final PropertyStatistics property = null == key ? null : statistics.properties.get(key);
+            if (null == property) return 0;
+            candidates = Math.max(0, property.count.sum());
+            counter = property::estimateCount;
+        }
+
+        final BiPredicate<?, ?> biPredicate = hasContainer.getBiPredicate();
+        final Object value = hasContainer.getValue();
+        final double estimate;
+        if (biPredicate == Compare.eq)
+            estimate = counter.applyAsLong(value);
+        else if (biPredicate == Compare.neq)
+            estimate = candidates - counter.applyAsLong(value);
+        else if (biPredicate == Contains.within && value instanceof Collection)
+            estimate = ((Collection<?>) value).stream().mapToLong(counter).sum();
+        else if (biPredicate == Contains.without && value instanceof Collection)
+            estimate = candidates - ((Collection<?>) value).stream().mapToLong(counter).sum();
+        else
+            estimate = candidates * DEFAULT_SELECTIVITY;
+
+        return Math.min(1.0, Math.max(0.0, estimate / total));
+    }
+
+    /**
+     * Estimates the fraction of vertices or edges which match all the {@link HasContainer} instances assuming that
+     * they are independent of each other.
+     */
+    public double estimateSelectivity(final Class<? extends Element> elementClass, final List<HasContainer> hasContainers) {
+        double selectivity = 1.0;
+        for (final HasContainer hasContainer : hasContainers) {
+            selectivity *= estimateSelectivity(elementClass, hasContainer);
+        }
+        return selectivity;
+    }
+
+    /**
+     * Estimates the number of vertices or edges which match the {@link HasContainer}.
+     */
+    public double estimateCount(final Class<? extends Element> elementClass, final HasContainer hasContainer) {
+        return estimateSelectivity(elementClass, hasContainer) * statisticsOf(elementClass).count.sum();
+    }
+
+    /**
+     * Gets a version of the statistics which only changes when they drifted significantly, that is when more than
+     * {@link #DRIFT_THRESHOLD} of the labels and properties they counted at the previous version changed, and by at
+     * least {@link #MIN_DRIFT}.
+     */
+    synchronized long version() {
+        final long changed = changes.sum() - changesAtVersion;
+        if (changed >= MIN_DRIFT && changed > sizeAtVersion * DRIFT_THRESHOLD) {
+            version++;
+            changesAtVersion += changed;
+            sizeAtVersion = vertexStatistics.size() + edgeStatistics.size();
+        }
+        return version;
+    }
+
+    void addLabel(final Class<? extends Element> elementClass, final String label) {
+        changes.increment();
+        final ElementStatistics statistics = statisticsOf(elementClass);
+        statistics.count.increment();
+        statistics.labels.computeIfAbsent(label, l -> new LongAdder()).increment();
+    }
+
+    void removeLabel(final Class<? extends Element> elementClass, final String label) {
+        changes.increment();
+        final ElementStatistics statistics = statisticsOf(elementClass);
+        statistics.count.decrement();
+        final LongAdder count = statistics.labels.get(label);
+        if (null != count) count.decrement();
+    }
+
+    void addProperty(final Class<? extends Element> elementClass, final String key, final Object value) {
+        changes.increment();
+        statisticsOf(elementClass).properties.computeIfAbsent(key, k -> new PropertyStatistics()).add(value);
+    }
+
+    void removeProperty(final Class<? extends Element> elementClass, final String key, final Object value) {
+        changes.increment();
+        final PropertyStatistics statistics = statisticsOf(elementClass).properties.get(key);
+        if (null != statistics) statistics.remove(value);
+    }
+
+    /**
+     * Adds the label and all the properties of the element.
+     */
+    void add(final TinkerElement element) {
+        if (element instanceof TinkerVertex) {
+            addLabel(Vertex.class, element.label());
+            forEachProperty((TinkerVertex) element, vp -> addProperty(Vertex.class, vp.key(), vp.value()));
+        } else {
+            addLabel(Edge.class, element.label());
+            for (String key : element.keys()) {
+                addProperty(Edge.class, key, element.property(key).value());
+            }
+        }
+    }
+
+    /**
+     * Removes the label and all the properties of the element.
+     */
+    void remove(final TinkerElement element) {
+        if (element instanceof TinkerVertex) {
+            removeLabel(Vertex.class, element.label());
+            forEachProperty((TinkerVertex) element, vp -> removeProperty(Vertex.class, vp.key(), vp.value()));
+        } else {
+            removeLabel(Edge.class, element.label());
+            for (String key : element.keys()) {
+                removeProperty(Edge.class, key, element.property(key).value());
+            }
+        }
+    }
+
+    synchronized void clear() {
+        vertexStatistics.clear();
+        edgeStatistics.clear();
+        version++;
+        changesAtVersion = changes.sum();
+        sizeAtVersion = 0;
+    }
+
+    private static void forEachProperty(final TinkerVertex vertex, final Consumer<VertexProperty<?>> action) {
+        if (vertex.propertySlot >= 0) {
+            for (String key : vertex.graph.vertexPropertyStore.keys(vertex.propertySlot)) {
+                final VertexProperty<?> vertexProperty = vertex.storedProperty(key);
+                if (null != vertexProperty) action.accept(vertexProperty);
+            }
+        }
+        if (null == vertex.properties) return;
+        for (List<VertexProperty> vertexProperties : vertex.properties.values()) {
+            vertexProperties.forEach(action::accept);
+        }
+    }
+
+    private ElementStatistics statisticsOf(final Class<? extends Element> elementClass) {
+        return Edge.class.isAssignableFrom(elementClass) ? edgeStatistics : vertexStatistics;
+    }
+
+    private static final class ElementStatistics {
+        private final LongAdder count = new LongAdder();
+        private final Map<String, LongAdder> labels = new ConcurrentHashMap<>();
+        private final Map<String, PropertyStatistics> properties = new ConcurrentHashMap<>();
+
+        private long labelCount(final String label) {
+            final LongAdder labelCount = null == label ? null : labels.get(label);
+            return null == labelCount ? 0 : Math.max(0, labelCount.sum());
+        }
+
+        private long size() {
+            long size = Math.max(0, count.sum());
+            for (PropertyStatistics statistics : properties.values()) {
+                size += Math.max(0, statistics.count.sum());
+            }
+            return size;
+        }
+
+        private void clear() {
+            count.reset();
+            labels.clear();
+            properties.clear();
+        }
+    }
+
+    /**
+     * Counts the properties of a key and the values of the first {@link #MAX_TRACKED_VALUES} distinct values seen.
+     * A value stops being tracked when its count drops to zero, which makes room for another value.
+     */
+    private static final class PropertyStatistics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder untracked = new LongAdder();
+        private final Map<Object, Long> values = new ConcurrentHashMap<>();
+
+        private void add(final Object value) {
+            count.increment();
+            final Object indexable = AbstractTinkerIndex.indexable(value);
+            if (values.containsKey(indexable) || values.size() < MAX_TRACKED_VALUES)
+                values.merge(indexable, 1L, Long::sum);
+            else
+                untracked.increment();
+        }
+
+        private void remove(final Object value) {
+            count.decrement();
+            final boolean[] tracked = {false};
+            values.computeIfPresent(AbstractTinkerIndex.indexable(value), (v, c) -> {
+                tracked[0] = true;
+                return c <= 1 ? null : c - 1;
+            });
+            if (!tracked[0]) untracked.decrement();
+        }
+
+        private long estimateCount(final Object value) {
+            final Long tracked = values.get(AbstractTinkerIndex.indexable(value));
+            if (null != tracked) return tracked;
+
+            final long untrackedCount = untracked.sum();
+            if (untrackedCount <= 0) return 0;
+            final int distinct = values.size();
+            return 0 == distinct ? untrackedCount :
+                    Math.min(untrackedCount, Math.max(1, (count.sum() - untrackedCount) / distinct));
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -38,6 +39,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -51,7 +53,15 @@ public final class TinkerHelper {
     }
 
     public static Map<String, List<VertexProperty>> getProperties(final TinkerVertex vertex) {
-        return null == vertex.properties ? Collections.emptyMap() : vertex.properties;
+        if (vertex.propertySlot < 0)
+            return null == vertex.properties ? Collections.emptyMap() : vertex.properties;
+
+        final Map<String, List<VertexProperty>> properties = null == vertex.properties ? new HashMap<>() : new HashMap<>(vertex.properties);
+        for (String key : vertex.graph.vertexPropertyStore.keys(vertex.propertySlot)) {
+            final VertexProperty<?> vertexProperty = vertex.storedProperty(key);
+            if (null != vertexProperty) properties.put(key, Collections.singletonList(vertexProperty));
+        }
+        return properties;
     }
 
     public static boolean inComputerMode(final AbstractTinkerGraph graph) {
@@ -71,6 +81,9 @@ public final class TinkerHelper {
     }
 
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
+        if (null != vertex.outAdjacency || null != vertex.inAdjacency)
+            return (Iterator) getAdjacentEdges(vertex, direction, edgeLabels);
+
         final List<Edge> edges = new ArrayList<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
             if (vertex.outEdges != null) {
@@ -95,6 +108,14 @@ public final class TinkerHelper {
         return (Iterator) edges.iterator();
     }
 
+    private static Iterator<Edge> getAdjacentEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
+        final Iterator<Edge> out = direction.equals(Direction.IN) || null == vertex.outAdjacency ?
+                Collections.emptyIterator() : vertex.outAdjacency.iterator(edgeLabels);
+        final Iterator<Edge> in = direction.equals(Direction.OUT) || null == vertex.inAdjacency ?
+                Collections.emptyIterator() : vertex.inAdjacency.iterator(edgeLabels);
+        return direction.equals(Direction.BOTH) ? IteratorUtils.concat(out, in) : direction.equals(Direction.OUT) ? out : in;
+    }
+
     public static Iterator<TinkerEdge> getEdgesTx(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
         final List<Object> outEdgeIds = new ArrayList<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
@@ -129,30 +150,76 @@ public final class TinkerHelper {
     }
 
     public static Iterator<TinkerVertex> getVertices(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
+        if (null != vertex.outAdjacency || null != vertex.inAdjacency) {
+            final Iterator<Vertex> out = direction.equals(Direction.IN) || null == vertex.outAdjacency ?
+                    Collections.emptyIterator() :
+                    IteratorUtils.map(vertex.outAdjacency.iterator(edgeLabels), edge -> (Vertex) ((TinkerEdge) edge).inVertex);
+            final Iterator<Vertex> in = direction.equals(Direction.OUT) || null == vertex.inAdjacency ?
+                    Collections.emptyIterator() :
+                    IteratorUtils.map(vertex.inAdjacency.iterator(edgeLabels), edge -> (Vertex) ((TinkerEdge) edge).outVertex);
+            return (Iterator) (direction.equals(Direction.BOTH) ? IteratorUtils.concat(out, in) : direction.equals(Direction.OUT) ? out : in);
+        }
+
         final List<Vertex> vertices = new ArrayList<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
             if (vertex.outEdges != null) {
                 if (edgeLabels.length == 0)
-                    vertex.outEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex)));
+                    vertex.outEdges.values().forEach(set -> set.forEach(edge -> vertices.add((Vertex) ((TinkerEdge) edge).inVertex)));
                 else if (edgeLabels.length == 1)
-                    vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
+                    vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add((Vertex) ((TinkerEdge) edge).inVertex));
                 else
-                    Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
+                    Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add((Vertex) ((TinkerEdge) edge).inVertex));
             }
         }
         if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
             if (vertex.inEdges != null) {
                 if (edgeLabels.length == 0)
-                    vertex.inEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex)));
+                    vertex.inEdges.values().forEach(set -> set.forEach(edge -> vertices.add((Vertex) ((TinkerEdge) edge).outVertex)));
                 else if (edgeLabels.length == 1)
-                    vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
+                    vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add((Vertex) ((TinkerEdge) edge).outVertex));
                 else
-                    Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
+                    Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add((Vertex) ((TinkerEdge) edge).outVertex));
             }
         }
         return (Iterator) vertices.iterator();
     }
 
+    /**
+     * Passes the edges of the vertex, or the vertices at their other end, to the action in the order of
+     * {@link #getEdges(TinkerVertex, Direction, String...)} and {@link #getVertices(TinkerVertex, Direction, String...)}
+     * without collecting them first. It is not meant for transactions or graph computer views.
+     */
+    public static void forEachAdjacent(final TinkerVertex vertex, final Direction direction, final boolean toVertices,
+                                       final String[] edgeLabels, final Consumer<Element> action) {
+        if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
+            final Consumer<Edge> out = toVertices ? edge -> action.accept((Vertex) ((TinkerEdge) edge).inVertex) : action::accept;
+            if (null != vertex.outAdjacency)
+                vertex.outAdjacency.forEach(edgeLabels, out);
+            else if (null != vertex.outEdges)
+                forEachEdge(vertex.outEdges, edgeLabels, out);
+        }
+        if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
+            final Consumer<Edge> in = toVertices ? edge -> action.accept((Vertex) ((TinkerEdge) edge).outVertex) : action::accept;
+            if (null != vertex.inAdjacency)
+                vertex.inAdjacency.forEach(edgeLabels, in);
+            else if (null != vertex.inEdges)
+                forEachEdge(vertex.inEdges, edgeLabels, in);
+        }
+    }
+
+    private static void forEachEdge(final Map<String, Set<Edge>> edges, final String[] edgeLabels, final Consumer<Edge> action) {
+        if (edgeLabels.length == 0) {
+            for (Set<Edge> labelEdges : edges.values()) {
+                labelEdges.forEach(action);
+            }
+        } else {
+            for (String edgeLabel : edgeLabels) {
+                final Set<Edge> labelEdges = edges.get(edgeLabel);
+                if (null != labelEdges) labelEdges.forEach(action);
+            }
+        }
+    }
+
     public static Iterator<TinkerVertex> getVerticesTx(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
         final Set<Object> inEdgesIds = new HashSet<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
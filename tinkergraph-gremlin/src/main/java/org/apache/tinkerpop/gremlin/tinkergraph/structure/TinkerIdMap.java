@@ -0,0 +1,300 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Map of elements by id used when {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY} is enabled. Elements with
+ * {@code Long} ids, which the default id managers generate, are held in an open addressing table which is probed by
+ * the primitive id and stores nothing but the element, so an element costs about one array slot rather than a hash
+ * entry and a key. Elements with any other id are held in a {@code ConcurrentHashMap}. The key of every entry must be
+ * the id of its element.
+ * <p/>
+ * Changes are synchronized while lookups and iteration read the table without a lock. Since the id is read from the
+ * element in a slot, a reader can never pair an element with the id of another, and a removed element leaves a marker
+ * which keeps the probe sequences of other ids intact until the table is rebuilt.
+ */
+final class TinkerIdMap<E extends Element> extends AbstractMap<Object, E> {
+
+    private static final Object REMOVED = new Object();
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private volatile AtomicReferenceArray<Object> table;
+    private volatile int size = 0;
+    // slots of the table which are in use, including those of removed elements
+    private int used = 0;
+    private volatile Map<Object, E> others = null;
+
+    TinkerIdMap() {
+        this(0);
+    }
+
+    TinkerIdMap(final long expectedSize) {
+        this.table = new AtomicReferenceArray<>(capacityOf(expectedSize));
+    }
+
+    @Override
+    public E get(final Object key) {
+        if (key instanceof Long) {
+            final AtomicReferenceArray<Object> table = this.table;
+            final int slot = slotOf(table, (Long) key);
+            return slot < 0 ? null : (E) table.get(slot);
+        }
+        final Map<Object, E> others = this.others;
+        return null == others || null == key ? null : others.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return null != get(key);
+    }
+
+    @Override
+    public synchronized E put(final Object key, final E element) {
+        if (!key.equals(element.id()))
+            throw new IllegalArgumentException(String.format("The key %s is not the id of the element %s", key, element));
+        return key instanceof Long ? put((Long) key, element, false) : others().put(key, element);
+    }
+
+    @Override
+    public synchronized E putIfAbsent(final Object key, final E element) {
+        if (!key.equals(element.id()))
+            throw new IllegalArgumentException(String.format("The key %s is not the id of the element %s", key, element));
+        return key instanceof Long ? put((Long) key, element, true) : others().putIfAbsent(key, element);
+    }
+
+    @Override
+    public synchronized E remove(final Object key) {
+        if (!(key instanceof Long)) {
+            final Map<Object, E> others = this.others;
+            return null == others || null == key ? null : others.remove(key);
+        }
+
+        final AtomicReferenceArray<Object> table = this.table;
+        final int slot = slotOf(table, (Long) key);
+        if (slot < 0) return null;
+        final E old = (E) table.get(slot);
+        table.set(slot, REMOVED);
+        size--;
+        return old;
+    }
+
+    @Override
+    public synchronized boolean remove(final Object key, final Object value) {
+        if (null == value || !value.equals(get(key))) return false;
+        remove(key);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        final Map<Object, E> others = this.others;
+        return null == others ? size : size + others.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+        table = new AtomicReferenceArray<>(MIN_CAPACITY);
+        size = 0;
+        used = 0;
+        others = null;
+    }
+
+    @Override
+    public Collection<E> values() {
+        return new AbstractCollection<E>() {
+            @Override
+            public Iterator<E> iterator() {
+                return new TableIterator<>(Function.identity());
+            }
+
+            @Override
+            public int size() {
+                return TinkerIdMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<Object, E>> entrySet() {
+        return new AbstractSet<Map.Entry<Object, E>>() {
+            @Override
+            public Iterator<Map.Entry<Object, E>> iterator() {
+                return new TableIterator<>(element -> new AbstractMap.SimpleImmutableEntry<>(element.id(), element));
+            }
+
+            @Override
+            public int size() {
+                return TinkerIdMap.this.size();
+            }
+        };
+    }
+
+    private E put(final long id, final E element, final boolean onlyIfAbsent) {
+        AtomicReferenceArray<Object> table = this.table;
+        final int slot = slotOf(table, id);
+        if (slot >= 0) {
+            final E old = (E) table.get(slot);
+            if (!onlyIfAbsent) table.set(slot, element);
+            return old;
+        }
+
+        if (used + 1 > threshold(table)) {
+            rebuild(table);
+            table = this.table;
+        }
+        final int free = freeSlotOf(table, id);
+        if (null == table.get(free)) used++;
+        table.set(free, element);
+        size++;
+        return null;
+    }
+
+    /**
+     * Copies the elements into a new table which drops the markers of removed elements and doubles the capacity
+     * unless those markers took at least half of the used slots.
+     */
+    private void rebuild(final AtomicReferenceArray<Object> table) {
+        final int capacity = size >= used / 2 ? table.length() << 1 : table.length();
+        if (capacity > MAX_CAPACITY) throw new IllegalStateException("Too many elements to hold in the id map");
+
+        final AtomicReferenceArray<Object> rebuilt = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < table.length(); i++) {
+            final Object element = table.get(i);
+            if (null == element || REMOVED == element) continue;
+            rebuilt.lazySet(freeSlotOf(rebuilt, idOf(element)), element);
+        }
+        // publishing the table through the volatile field makes its slots visible to readers
+        this.table = rebuilt;
+        this.used = size;
+    }
+
+    private Map<Object, E> others() {
+        if (null == others) others = new ConcurrentHashMap<>();
+        return others;
+    }
+
+    /**
+     * Gets the slot of the element with the id or -1 if there is none.
+     */
+    private static int slotOf(final AtomicReferenceArray<Object> table, final long id) {
+        final int mask = table.length() - 1;
+        for (int slot = indexOf(id, mask); ; slot = (slot + 1) & mask) {
+            final Object element = table.get(slot);
+            if (null == element) return -1;
+            if (REMOVED != element && idOf(element) == id) return slot;
+        }
+    }
+
+    /**
+     * Gets the first slot on the probe sequence of the id which is empty or only holds the marker of a removed element.
+     */
+    private static int freeSlotOf(final AtomicReferenceArray<Object> table, final long id) {
+        final int mask = table.length() - 1;
+        int slot = indexOf(id, mask);
+        while (null != table.get(slot) && REMOVED != table.get(slot)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int indexOf(final long id, final int mask) {
+        final long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static long idOf(final Object element) {
+        return (Long) ((Element) element).id();
+    }
+
+    private static int threshold(final AtomicReferenceArray<Object> table) {
+        return table.length() / 4 * 3;
+    }
+
+    private static int capacityOf(final long expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < MAX_CAPACITY && capacity / 4 * 3 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Iterates the table captured when the iterator was created and then the elements with other ids.
+     */
+    private final class TableIterator<T> implements Iterator<T> {
+
+        private final AtomicReferenceArray<Object> table = TinkerIdMap.this.table;
+        private final Function<E, T> map;
+        private int position = 0;
+        private Iterator<E> othersIterator = null;
+        private E next = null;
+        private E last = null;
+
+        private TableIterator(final Function<E, T> map) {
+            this.map = map;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next && position < table.length()) {
+                final Object element = table.get(position++);
+                if (null != element && REMOVED != element) next = (E) element;
+            }
+            if (null != next) return true;
+
+            if (null == othersIterator) {
+                final Map<Object, E> others = TinkerIdMap.this.others;
+                othersIterator = null == others ? Collections.emptyIterator() : others.values().iterator();
+            }
+            if (othersIterator.hasNext()) next = othersIterator.next();
+            return null != next;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            last = next;
+            next = null;
+            return map.apply(last);
+        }
+
+        @Override
+        public void remove() {
+            if (null == last) throw new IllegalStateException();
+            TinkerIdMap.this.remove(last.id(), last);
+            last = null;
+        }
+    }
+}
@@ -36,6 +36,12 @@ import java.util.concurrent.ConcurrentHashMap;
 final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
 
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
+    protected Map<List<String>, Map<List<Object>, Set<T>>> compositeIndex = new ConcurrentHashMap<>();
+    /**
+     * Value combinations each element is currently indexed under for each composite index, so that the old entries
+     * can be found when a property changes.
+     */
+    protected Map<List<String>, Map<T, List<List<Object>>>> compositeEntries = new ConcurrentHashMap<>();
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
         super(graph, indexClass);
@@ -44,7 +50,7 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
     protected void put(final String key, final Object value, final T element) {
         Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
-            this.index.putIfAbsent(key, new ConcurrentHashMap<>());
+            this.index.putIfAbsent(key, createKeyMap(key));
             keyMap = this.index.get(key);
         }
         final Object indexableValue = indexable(value);
@@ -53,7 +59,44 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
             keyMap.putIfAbsent(indexableValue, ConcurrentHashMap.newKeySet());
             objects = keyMap.get(indexableValue);
         }
-        objects.add(element);
+        if (objects.add(element))
+            countEntries(key, 1);
+    }
+
+    private void updateComposite(final List<String> keys, final T element) {
+        removeComposite(keys, element);
+
+        final List<List<Object>> combinations = compositeValues(element, keys);
+        if (combinations.isEmpty()) return;
+
+        final Map<List<Object>, Set<T>> valuesMap = this.compositeIndex.get(keys);
+        for (final List<Object> values : combinations) {
+            if (valuesMap.computeIfAbsent(values, v -> ConcurrentHashMap.newKeySet()).add(element))
+                countEntries(keys, 1);
+        }
+        this.compositeEntries.get(keys).put(element, combinations);
+    }
+
+    private void removeComposite(final List<String> keys, final T element) {
+        final List<List<Object>> combinations = this.compositeEntries.get(keys).remove(element);
+        if (null == combinations) return;
+
+        final Map<List<Object>, Set<T>> valuesMap = this.compositeIndex.get(keys);
+        for (final List<Object> values : combinations) {
+            final Set<T> objects = valuesMap.get(values);
+            if (null != objects && objects.remove(element)) {
+                countEntries(keys, -1);
+                if (objects.isEmpty())
+                    valuesMap.remove(values);
+            }
+        }
+    }
+
+    private void updateComposites(final String key, final T element) {
+        for (final List<String> keys : this.compositeIndexedKeys) {
+            if (keys.contains(key))
+                updateComposite(keys, element);
+        }
     }
 
     @Override
@@ -70,6 +113,42 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
         }
     }
 
+    @Override
+    public List<T> getRange(final String key, final Object from, final boolean fromInclusive,
+                            final Object to, final boolean toInclusive) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        if (null == keyMap)
+            return Collections.emptyList();
+
+        final List<T> elements = new ArrayList<>();
+        rangeOf(keyMap, from, fromInclusive, to, toInclusive).forEach(elements::addAll);
+        return elements;
+    }
+
+    @Override
+    public List<T> getComposite(final List<String> keys, final List<Object> values) {
+        final Map<List<Object>, Set<T>> valuesMap = this.compositeIndex.get(keys);
+        if (null == valuesMap)
+            return Collections.emptyList();
+
+        final List<Object> indexableValues = new ArrayList<>(values.size());
+        values.forEach(v -> indexableValues.add(indexable(v)));
+        final Set<T> set = valuesMap.get(indexableValues);
+        return null == set ? Collections.emptyList() : new ArrayList<>(set);
+    }
+
+    @Override
+    public double estimateLookupSize(final String key) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        return null == keyMap ? 0 : estimateLookupSize(key, keyMap.size());
+    }
+
+    @Override
+    public double estimateLookupSize(final List<String> keys) {
+        final Map<List<Object>, Set<T>> valuesMap = this.compositeIndex.get(keys);
+        return null == valuesMap ? 0 : estimateLookupSize(keys, valuesMap.size());
+    }
+
     @Override
     public long count(final String key, final Object value) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
@@ -90,22 +169,28 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
         if (null != keyMap) {
             final Set<T> objects = keyMap.get(indexable(value));
             if (null != objects) {
-                objects.remove(element);
+                if (objects.remove(element))
+                    countEntries(key, -1);
                 if (objects.size() == 0) {
-                    keyMap.remove(value);
+                    keyMap.remove(indexable(value));
                 }
             }
         }
+        updateComposites(key, element);
     }
 
     @Override
     public void removeElement(final T element) {
         if (this.indexClass.isAssignableFrom(element.getClass())) {
-            for (Map<Object, Set<T>> map : index.values()) {
-                for (Set<T> set : map.values()) {
-                    set.remove(element);
+            for (Map.Entry<String, Map<Object, Set<T>>> entry : index.entrySet()) {
+                for (Set<T> set : entry.getValue().values()) {
+                    if (set.remove(element))
+                        countEntries(entry.getKey(), -1);
                 }
             }
+            for (List<String> keys : compositeIndexedKeys) {
+                removeComposite(keys, element);
+            }
         }
     }
 
@@ -114,18 +199,26 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
         if (this.indexedKeys.contains(key)) {
             this.remove(key, oldValue, element);
             this.put(key, newValue, element);
+        } else {
+            updateComposites(key, element);
         }
     }
 
     @Override
-    public void createKeyIndex(final String key) {
+    public void createKeyIndex(final String key, final TinkerIndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
 
-        if (this.indexedKeys.contains(key))
-            return;
+        if (this.indexedKeys.contains(key)) {
+            if (this.indexTypes.get(key) == indexType)
+                return;
+            this.dropKeyIndex(key);
+        }
+        this.indexTypes.put(key, indexType);
         this.indexedKeys.add(key);
 
         (Vertex.class.isAssignableFrom(this.indexClass) ?
@@ -143,5 +236,34 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
             this.index.remove(key).clear();
 
         this.indexedKeys.remove(key);
+        this.indexTypes.remove(key);
+        this.entryCounts.remove(key);
+    }
+
+    @Override
+    public void createCompositeKeyIndex(final List<String> keys) {
+        final List<String> compositeKeys = validateCompositeKeys(keys);
+        if (this.compositeIndexedKeys.contains(compositeKeys))
+            return;
+
+        this.compositeIndex.put(compositeKeys, new ConcurrentHashMap<>());
+        this.compositeEntries.put(compositeKeys, new ConcurrentHashMap<>());
+        this.compositeIndexedKeys.add(compositeKeys);
+
+        (Vertex.class.isAssignableFrom(this.indexClass) ?
+                ((TinkerGraph) this.graph).vertices.values().stream() :
+                ((TinkerGraph) this.graph).edges.values().stream())
+                .forEach(e -> updateComposite(compositeKeys, (T) e));
+    }
+
+    @Override
+    public void dropCompositeKeyIndex(final List<String> keys) {
+        if (null == keys) return;
+        final List<String> compositeKeys = List.copyOf(keys);
+        this.compositeIndexedKeys.remove(compositeKeys);
+        if (this.compositeIndex.containsKey(compositeKeys))
+            this.compositeIndex.remove(compositeKeys).clear();
+        this.compositeEntries.remove(compositeKeys);
+        this.entryCounts.remove(compositeKeys);
     }
 }
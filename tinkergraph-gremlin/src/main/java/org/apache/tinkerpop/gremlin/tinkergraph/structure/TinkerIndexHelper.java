@@ -18,14 +18,280 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.Text;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
 
 public final class TinkerIndexHelper {
 
+    private static final String LABEL_KEY = T.label.getAccessor();
+
     private TinkerIndexHelper() {
     }
 
+    /**
+     * Determines if the {@link HasContainer} can be answered by an index of the graph for the specified element
+     * class. Equality and {@code within} lookups can be answered by any index type, while range and
+     * {@code startingWith} lookups require a {@link TinkerIndexType#ORDERED} index.
+     */
+    public static boolean isIndexable(final AbstractTinkerGraph graph, final Class<? extends Element> elementClass,
+                                      final HasContainer hasContainer) {
+        final AbstractTinkerIndex<?> index = Vertex.class.isAssignableFrom(elementClass) ? graph.vertexIndex :
+                Edge.class.isAssignableFrom(elementClass) ? graph.edgeIndex : null;
+        if (null == index) return false;
+
+        final TinkerIndexType indexType = index.getIndexType(hasContainer.getKey());
+        if (null == indexType) return false;
+
+        final BiPredicate<?, ?> biPredicate = hasContainer.getBiPredicate();
+        if (biPredicate == Compare.eq)
+            return true;
+        else if (biPredicate == Contains.within)
+            return hasContainer.getValue() instanceof Collection;
+        else if (indexType != TinkerIndexType.ORDERED)
+            return false;
+        else if (biPredicate == Compare.gt || biPredicate == Compare.gte || biPredicate == Compare.lt || biPredicate == Compare.lte)
+            return null != hasContainer.getValue();
+        else
+            return biPredicate == Text.startingWith && hasContainer.getValue() instanceof String;
+    }
+
+    /**
+     * Query the vertex indices or the label partitions with the most selective lookup that can answer any of the
+     * {@link HasContainer} instances. The result may contain vertices which do not match the containers, so they
+     * still need to be tested.
+     * @return the vertices from the index lookup or {@code null} if no index can be used
+     */
+    public static List<TinkerVertex> queryVertexIndex(final AbstractTinkerGraph graph, final List<HasContainer> hasContainers) {
+        return inSnapshot(graph) ? null : queryIndex(graph, Vertex.class, graph.vertexIndex, hasContainers);
+    }
+
+    /**
+     * Query the edge indices or the label partitions with the most selective lookup that can answer any of the
+     * {@link HasContainer} instances. The result may contain edges which do not match the containers, so they still
+     * need to be tested.
+     * @return the edges from the index lookup or {@code null} if no index can be used
+     */
+    public static List<TinkerEdge> queryEdgeIndex(final AbstractTinkerGraph graph, final List<HasContainer> hasContainers) {
+        return inSnapshot(graph) ? null : queryIndex(graph, Edge.class, graph.edgeIndex, hasContainers);
+    }
+
+    /**
+     * Chooses the index for the lookup with the smallest number of elements estimated by the
+     * {@link TinkerGraphStatistics} of the graph for the values looked up. Equality lookups are answered by the
+     * composite or single key index, other lookups by the index of their key using all the containers of that key.
+     * Equality lookups are preferred when the estimates are the same. Lookups of {@code T.label} are answered by the
+     * label partitions of the graph, if it keeps any, when they hold fewer elements than any index lookup.
+     */
+    private static <T extends Element> List<T> queryIndex(final AbstractTinkerGraph graph, final Class<? extends Element> elementClass,
+                                                          final AbstractTinkerIndex<T> index, final List<HasContainer> hasContainers) {
+        final TinkerGraphStatistics statistics = graph.statistics();
+        final Map<String, Object> eqValues = new HashMap<>();
+        HasContainer fallback = null;
+        double fallbackEstimate = Double.MAX_VALUE;
+        List<Collection<T>> bestPartitions = null;
+        long bestPartitionsSize = Long.MAX_VALUE;
+        for (final HasContainer hasContainer : hasContainers) {
+            if (LABEL_KEY.equals(hasContainer.getKey())) {
+                final List<Collection<T>> partitions = labelPartitions(graph, elementClass, hasContainer);
+                if (null != partitions) {
+                    final long size = partitions.stream().mapToLong(Collection::size).sum();
+                    if (size < bestPartitionsSize) {
+                        bestPartitions = partitions;
+                        bestPartitionsSize = size;
+                    }
+                }
+            } else if (null == index) {
+                continue;
+            } else if (hasContainer.getBiPredicate() == Compare.eq) {
+                if (null != hasContainer.getKey())
+                    eqValues.putIfAbsent(hasContainer.getKey(), hasContainer.getValue());
+            } else if (isIndexable(graph, elementClass, hasContainer)) {
+                final double estimate = statistics.estimateCount(elementClass, hasContainer);
+                if (estimate < fallbackEstimate) {
+                    fallback = hasContainer;
+                    fallbackEstimate = estimate;
+                }
+            }
+        }
+
+        List<String> bestComposite = null;
+        String bestKey = null;
+        double bestEstimate = Double.MAX_VALUE;
+        if (!eqValues.isEmpty() && null != index) {
+            for (final List<String> keys : index.getCompositeIndexedKeys()) {
+                if (!eqValues.keySet().containsAll(keys)) continue;
+                final double estimate = estimateLookupSize(statistics, elementClass, keys, eqValues);
+                if (estimate < bestEstimate) {
+                    bestComposite = keys;
+                    bestEstimate = estimate;
+                }
+            }
+            for (final String key : eqValues.keySet()) {
+                if (null == index.getIndexType(key)) continue;
+                final double estimate = statistics.estimateCount(elementClass, key, eqValues.get(key));
+                if (estimate < bestEstimate) {
+                    bestComposite = null;
+                    bestKey = key;
+                    bestEstimate = estimate;
+                }
+            }
+        }
+
+        if (null != bestPartitions && bestPartitionsSize < Math.min(bestEstimate, fallbackEstimate)) {
+            final List<T> elements = new ArrayList<>((int) Math.min(Integer.MAX_VALUE, bestPartitionsSize));
+            bestPartitions.forEach(elements::addAll);
+            return elements;
+        } else if (null != fallback && fallbackEstimate < bestEstimate) {
+            return queryIndex(graph, elementClass, index, fallback.getKey(), hasContainers);
+        } else if (null != bestKey) {
+            return index.get(bestKey, eqValues.get(bestKey));
+        } else if (null != bestComposite) {
+            final List<Object> values = new ArrayList<>(bestComposite.size());
+            bestComposite.forEach(k -> values.add(eqValues.get(k)));
+            return index.getComposite(bestComposite, values);
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the label partitions of the graph holding the elements with the labels of an equality or {@code within}
+     * container or {@code null} if the graph does not partition its elements by label.
+     */
+    private static <T extends Element> List<Collection<T>> labelPartitions(final AbstractTinkerGraph graph,
+                                                                          final Class<? extends Element> elementClass,
+                                                                          final HasContainer hasContainer) {
+        final Collection<?> labels;
+        if (hasContainer.getBiPredicate() == Compare.eq)
+            labels = Collections.singletonList(hasContainer.getValue());
+        else if (hasContainer.getBiPredicate() == Contains.within && hasContainer.getValue() instanceof Collection)
+            labels = new LinkedHashSet<>((Collection<?>) hasContainer.getValue());
+        else
+            return null;
+
+        final List<Collection<T>> partitions = new ArrayList<>(labels.size());
+        for (final Object label : labels) {
+            if (!(label instanceof String)) continue;
+            final Collection<? extends Element> partition = Vertex.class.isAssignableFrom(elementClass) ?
+                    graph.getVerticesWithLabel((String) label) : graph.getEdgesWithLabel((String) label);
+            if (null == partition) return null;
+            partitions.add((Collection<T>) partition);
+        }
+        return partitions;
+    }
+
+    /**
+     * Estimates the number of elements with all the values of the keys assuming that the values are independent of
+     * each other.
+     */
+    private static double estimateLookupSize(final TinkerGraphStatistics statistics, final Class<? extends Element> elementClass,
+                                             final List<String> keys, final Map<String, Object> values) {
+        final long total = Edge.class.isAssignableFrom(elementClass) ? statistics.edgeCount() : statistics.vertexCount();
+        if (total <= 0) return 0;
+        double estimate = total;
+        for (final String key : keys) {
+            estimate *= (double) statistics.estimateCount(elementClass, key, values.get(key)) / total;
+        }
+        return estimate;
+    }
+
+    /**
+     * Query the vertex index for the key using all the indexable {@link HasContainer} instances for that key. The
+     * result may contain vertices which do not match the containers, so they still need to be tested.
+     */
+    public static List<TinkerVertex> queryVertexIndex(final AbstractTinkerGraph graph, final String key, final List<HasContainer> hasContainers) {
+        return null == graph.vertexIndex ? Collections.emptyList() : queryIndex(graph, Vertex.class, graph.vertexIndex, key, hasContainers);
+    }
+
+    /**
+     * Query the edge index for the key using all the indexable {@link HasContainer} instances for that key. The
+     * result may contain edges which do not match the containers, so they still need to be tested.
+     */
+    public static List<TinkerEdge> queryEdgeIndex(final AbstractTinkerGraph graph, final String key, final List<HasContainer> hasContainers) {
+        return null == graph.edgeIndex ? Collections.emptyList() : queryIndex(graph, Edge.class, graph.edgeIndex, key, hasContainers);
+    }
+
+    private static <T extends Element> List<T> queryIndex(final AbstractTinkerGraph graph, final Class<? extends Element> elementClass,
+                                                          final AbstractTinkerIndex<T> index, final String key,
+                                                          final List<HasContainer> hasContainers) {
+        Object from = null;
+        Object to = null;
+        boolean fromInclusive = true;
+        boolean toInclusive = true;
+        for (final HasContainer hasContainer : hasContainers) {
+            if (!key.equals(hasContainer.getKey()) || !isIndexable(graph, elementClass, hasContainer))
+                continue;
+
+            final BiPredicate<?, ?> biPredicate = hasContainer.getBiPredicate();
+            final Object value = hasContainer.getValue();
+            if (biPredicate == Compare.eq) {
+                return index.get(key, value);
+            } else if (biPredicate == Contains.within) {
+                return index.getAll(key, (Collection<?>) value);
+            } else if (biPredicate == Compare.gt || biPredicate == Compare.gte) {
+                final int c = null == from ? 1 : AbstractTinkerIndex.INDEX_VALUE_COMPARATOR.compare(value, from);
+                if (c >= 0) {
+                    fromInclusive = (c > 0 || fromInclusive) && biPredicate == Compare.gte;
+                    from = value;
+                }
+            } else if (biPredicate == Compare.lt || biPredicate == Compare.lte) {
+                final int c = null == to ? -1 : AbstractTinkerIndex.INDEX_VALUE_COMPARATOR.compare(value, to);
+                if (c <= 0) {
+                    toInclusive = (c < 0 || toInclusive) && biPredicate == Compare.lte;
+                    to = value;
+                }
+            } else if (biPredicate == Text.startingWith) {
+                final String prefix = (String) value;
+                if (null == from || AbstractTinkerIndex.INDEX_VALUE_COMPARATOR.compare(prefix, from) > 0) {
+                    from = prefix;
+                    fromInclusive = true;
+                }
+                final String upper = prefixUpperBound(prefix);
+                if (null != upper && (null == to || AbstractTinkerIndex.INDEX_VALUE_COMPARATOR.compare(upper, to) < 0)) {
+                    to = upper;
+                    toInclusive = false;
+                }
+            }
+        }
+
+        return index.getRange(key, from, fromInclusive, to, toInclusive);
+    }
+
+    /**
+     * Indices only hold the latest committed state, so snapshot transactions read without them.
+     */
+    private static boolean inSnapshot(final AbstractTinkerGraph graph) {
+        return graph instanceof TinkerTransactionGraph && ((TinkerTransactionGraph) graph).inSnapshot();
+    }
+
+    /**
+     * Gets the smallest string which is greater than all strings starting with the prefix or {@code null} if there
+     * is no such string.
+     */
+    private static String prefixUpperBound(final String prefix) {
+        int end = prefix.length();
+        while (end > 0 && prefix.charAt(end - 1) == Character.MAX_VALUE) {
+            end--;
+        }
+        if (end == 0) return null;
+        return prefix.substring(0, end - 1) + (char) (prefix.charAt(end - 1) + 1);
+    }
+
     public static List<TinkerVertex> queryVertexIndex(final AbstractTinkerGraph graph, final String key, final Object value) {
         return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.get(key, value);
     }
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+/**
+ * The kinds of property indices that can be created on a {@link TinkerGraph} or {@link TinkerTransactionGraph}.
+ */
+public enum TinkerIndexType {
+
+    /**
+     * A hash index which can answer equality lookups ({@code eq} and {@code within}). This is the default index type.
+     */
+    HASH,
+
+    /**
+     * A sorted index which can answer equality lookups as well as range ({@code gt}, {@code gte}, {@code lt},
+     * {@code lte}, {@code between}, {@code inside}) and prefix ({@code startingWith}) lookups. Values are kept in
+     * Gremlin orderability order so the index can hold a mix of value types for the same key.
+     */
+    ORDERED
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Map of all vertices or all edges of a {@link TinkerGraph} when
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY} is enabled. The elements are only held by the
+ * {@link TinkerIdMap} of their label, which also serves as the label partition of the graph, so an element costs one
+ * entry rather than one here and another in its partition. A lookup by id probes the partition of each label in turn.
+ */
+final class TinkerPartitionedIdMap<E extends Element> extends AbstractMap<Object, E> {
+
+    private static final TinkerIdMap[] EMPTY_PARTITIONS = new TinkerIdMap[0];
+
+    private final Map<String, Map<Object, E>> partitionsByLabel;
+    private volatile TinkerIdMap<E>[] partitions = EMPTY_PARTITIONS;
+
+    /**
+     * Creates a map over the label partitions which must be empty and only be changed through this map.
+     */
+    TinkerPartitionedIdMap(final Map<String, Map<Object, E>> partitionsByLabel) {
+        this.partitionsByLabel = partitionsByLabel;
+    }
+
+    @Override
+    public E get(final Object key) {
+        for (TinkerIdMap<E> partition : partitions) {
+            final E element = partition.get(key);
+            if (null != element) return element;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return null != get(key);
+    }
+
+    @Override
+    public synchronized E put(final Object key, final E element) {
+        final TinkerIdMap<E> partition = partition(element.label());
+        E old = null;
+        for (TinkerIdMap<E> other : partitions) {
+            if (other != partition && null != other.get(key)) old = other.remove(key);
+        }
+        final E replaced = partition.put(key, element);
+        return null == replaced ? old : replaced;
+    }
+
+    @Override
+    public synchronized E putIfAbsent(final Object key, final E element) {
+        final E existing = get(key);
+        return null == existing ? partition(element.label()).put(key, element) : existing;
+    }
+
+    @Override
+    public synchronized E remove(final Object key) {
+        for (TinkerIdMap<E> partition : partitions) {
+            final E removed = partition.remove(key);
+            if (null != removed) return removed;
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized boolean remove(final Object key, final Object value) {
+        for (TinkerIdMap<E> partition : partitions) {
+            if (partition.remove(key, value)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (TinkerIdMap<E> partition : partitions) {
+            size += partition.size();
+        }
+        return size;
+    }
+
+    @Override
+    public synchronized void clear() {
+        partitionsByLabel.clear();
+        partitions = EMPTY_PARTITIONS;
+    }
+
+    @Override
+    public Collection<E> values() {
+        return new AbstractCollection<E>() {
+            @Override
+            public Iterator<E> iterator() {
+                return new PartitionIterator<>(partitions, p -> p.values().iterator());
+            }
+
+            @Override
+            public int size() {
+                return TinkerPartitionedIdMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<Object, E>> entrySet() {
+        return new AbstractSet<Map.Entry<Object, E>>() {
+            @Override
+            public Iterator<Map.Entry<Object, E>> iterator() {
+                return new PartitionIterator<>(partitions, p -> p.entrySet().iterator());
+            }
+
+            @Override
+            public int size() {
+                return TinkerPartitionedIdMap.this.size();
+            }
+        };
+    }
+
+    private TinkerIdMap<E> partition(final String label) {
+        final Map<Object, E> existing = partitionsByLabel.get(label);
+        if (null != existing) return (TinkerIdMap<E>) existing;
+
+        final TinkerIdMap<E> partition = new TinkerIdMap<>();
+        partitionsByLabel.put(label, partition);
+        final TinkerIdMap<E>[] partitions = Arrays.copyOf(this.partitions, this.partitions.length + 1);
+        partitions[partitions.length - 1] = partition;
+        this.partitions = partitions;
+        return partition;
+    }
+
+    private static final class PartitionIterator<E extends Element, T> implements Iterator<T> {
+
+        private final TinkerIdMap<E>[] partitions;
+        private final Function<TinkerIdMap<E>, Iterator<T>> iteratorOf;
+        private int position = 0;
+        private Iterator<T> current = Collections.emptyIterator();
+        private Iterator<T> last = null;
+
+        private PartitionIterator(final TinkerIdMap<E>[] partitions, final Function<TinkerIdMap<E>, Iterator<T>> iteratorOf) {
+            this.partitions = partitions;
+            this.iteratorOf = iteratorOf;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (position >= partitions.length) return false;
+                current = iteratorOf.apply(partitions[position++]);
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            hasNext();
+            last = current;
+            return current.next();
+        }
+
+        @Override
+        public void remove() {
+            if (null == last) throw new IllegalStateException();
+            last.remove();
+        }
+    }
+}
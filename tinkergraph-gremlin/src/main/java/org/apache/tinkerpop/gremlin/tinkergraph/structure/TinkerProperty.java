@@ -81,12 +81,15 @@ public final class TinkerProperty<V> implements Property<V> {
     public void remove() {
         if (this.element instanceof Edge) {
             ((AbstractTinkerGraph) this.element.graph()).touch((TinkerEdge) this.element);
-            ((TinkerEdge) this.element).properties.remove(this.key);
+            ((TinkerEdge) this.element).removeProperty(this.key);
             TinkerIndexHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
+            ((AbstractTinkerGraph) this.element.graph()).propertyRemoved(Edge.class, this.key, this.value);
+            ((AbstractTinkerGraph) this.element.graph()).logPropertyRemoved(this);
         } else {
             final TinkerVertex vertex = (TinkerVertex) ((TinkerVertexProperty) this.element).element();
             ((AbstractTinkerGraph) vertex.graph()).touch(vertex);
             ((TinkerVertexProperty) this.element).properties.remove(this.key);
+            ((AbstractTinkerGraph) vertex.graph()).logPropertyRemoved(this);
         }
     }
 
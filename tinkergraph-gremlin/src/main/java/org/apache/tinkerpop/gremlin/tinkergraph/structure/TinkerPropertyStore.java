@@ -0,0 +1,545 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+
+/**
+ * Columnar store for property values kept in direct {@code ByteBuffer} segments outside of the Java heap. Each
+ * element is given an integer slot and each property key has a column holding a type tag and an eight byte payload
+ * per slot, followed by the eight byte id of the property when the store is created to hold ids as it is for vertex
+ * properties. Numbers and booleans are stored in the payload, strings are appended to a shared string area and the
+ * payload holds their position. Values of other types are not supported by the store and remain on the heap with the
+ * element. Every slot also has a bitmap of the columns holding one of its values, so the keys of a slot are found
+ * without looking at every column.
+ * <p/>
+ * Changes are serialized and additionally lock the stripe of the slot they change. Reads take no lock unless a change
+ * of a slot of the same stripe overlaps them, in which case they are repeated under the read lock of the stripe.
+ * <p/>
+ * Space used by a string becomes free when its property is removed or overwritten. Once the free space of the string
+ * area exceeds both the space of the live strings and a whole chunk, the live strings are copied into new chunks, so
+ * the string area stays within about twice the size of the live strings. Chunks are never written again once a
+ * string is appended behind another, so a reader which found a string before the copy can still read it from the
+ * chunk it holds.
+ */
+final class TinkerPropertyStore {
+
+    private static final int SEGMENT_SLOTS = 4096;
+    private static final int VALUE_BYTES = 9;
+    private static final int STRING_CHUNK_BYTES = 1 << 20;
+    private static final int STRIPES = 64;
+    private static final ByteBuffer[] NO_CHUNKS = new ByteBuffer[0];
+
+    private static final byte ABSENT = 0;
+    private static final byte INTEGER = 1;
+    private static final byte LONG = 2;
+    private static final byte FLOAT = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte SHORT = 6;
+    private static final byte BYTE = 7;
+    private static final byte STRING = 8;
+
+    private final boolean withIds;
+    private final int slotBytes;
+    private final StampedLock[] stripes = new StampedLock[STRIPES];
+
+    private final Map<String, Column> columns = new ConcurrentHashMap<>();
+    // columns by index, which is the bit of their key in the key bitmaps
+    private volatile Column[] columnsByIndex = new Column[0];
+    // a word of the key bitmap of each slot for every 64 columns
+    private volatile Segments[] keyBitmaps = new Segments[0];
+
+    private volatile ByteBuffer[] stringChunks = NO_CHUNKS;
+    private int stringPosition = STRING_CHUNK_BYTES;
+    private long liveStringBytes = 0;
+    private long freeStringBytes = 0;
+
+    private int nextSlot = 0;
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount = 0;
+
+    TinkerPropertyStore() {
+        this(false);
+    }
+
+    /**
+     * Creates a store which holds a {@code long} id along with each value if {@code withIds} is {@code true}.
+     */
+    TinkerPropertyStore(final boolean withIds) {
+        this.withIds = withIds;
+        this.slotBytes = withIds ? VALUE_BYTES + Long.BYTES : VALUE_BYTES;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new StampedLock();
+        }
+    }
+
+    /**
+     * Determines if the value can be held by the store.
+     */
+    static boolean supports(final Object value) {
+        if (value instanceof String)
+            return ((String) value).length() * 3 <= STRING_CHUNK_BYTES - Integer.BYTES;
+
+        return value instanceof Integer || value instanceof Long || value instanceof Double || value instanceof Float ||
+                value instanceof Boolean || value instanceof Short || value instanceof Byte;
+    }
+
+    synchronized int allocateSlot() {
+        return freeSlotCount > 0 ? freeSlots[--freeSlotCount] : nextSlot++;
+    }
+
+    /**
+     * Removes all values for the slot and makes it available to another element.
+     */
+    synchronized void releaseSlot(final int slot) {
+        final StampedLock stripe = stripeOf(slot);
+        final long stamp = stripe.writeLock();
+        try {
+            final Segments[] keyBitmaps = this.keyBitmaps;
+            for (int word = 0; word < keyBitmaps.length; word++) {
+                final ByteBuffer segment = keyBitmaps[word].segment(slot);
+                if (null == segment) continue;
+                for (long bits = segment.getLong(keyBitmaps[word].position(slot)); bits != 0; bits &= bits - 1) {
+                    clear(columnsByIndex[word * Long.SIZE + Long.numberOfTrailingZeros(bits)], slot);
+                }
+            }
+        } finally {
+            stripe.unlockWrite(stamp);
+        }
+        compactStringsIfDue();
+
+        if (freeSlotCount == freeSlots.length)
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    /**
+     * Stores a value for which {@link #supports(Object)} is {@code true}.
+     */
+    void put(final int slot, final String key, final Object value) {
+        put(slot, key, value, 0L);
+    }
+
+    /**
+     * Stores a value for which {@link #supports(Object)} is {@code true} along with the id of its property, which is
+     * only kept if the store was created to hold ids.
+     */
+    synchronized void put(final int slot, final String key, final Object value, final long id) {
+        final Column column = columnOf(key);
+        final byte type;
+        final long payload;
+        if (value instanceof String) {
+            type = STRING;
+            payload = appendString(((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Integer) {
+            type = INTEGER;
+            payload = (Integer) value;
+        } else if (value instanceof Long) {
+            type = LONG;
+            payload = (Long) value;
+        } else if (value instanceof Double) {
+            type = DOUBLE;
+            payload = Double.doubleToRawLongBits((Double) value);
+        } else if (value instanceof Float) {
+            type = FLOAT;
+            payload = Float.floatToRawIntBits((Float) value);
+        } else if (value instanceof Boolean) {
+            type = BOOLEAN;
+            payload = (Boolean) value ? 1 : 0;
+        } else if (value instanceof Short) {
+            type = SHORT;
+            payload = (Short) value;
+        } else if (value instanceof Byte) {
+            type = BYTE;
+            payload = (Byte) value;
+        } else {
+            throw new IllegalArgumentException(String.format("Values of %s cannot be stored off-heap", value.getClass().getName()));
+        }
+
+        final ByteBuffer segment = column.segmentForWrite(slot);
+        final ByteBuffer keyBitmap = keyBitmaps[column.index / Long.SIZE].segmentForWrite(slot);
+        final StampedLock stripe = stripeOf(slot);
+        final long stamp = stripe.writeLock();
+        try {
+            clear(column, slot);
+            final int position = column.position(slot);
+            segment.putLong(position + 1, payload);
+            if (withIds) segment.putLong(position + VALUE_BYTES, id);
+            segment.put(position, type);
+            setKeyBit(keyBitmap, column, slot, true);
+        } finally {
+            stripe.unlockWrite(stamp);
+        }
+        compactStringsIfDue();
+    }
+
+    /**
+     * Gets the value for the key or {@code null} if there is no value.
+     */
+    Object get(final int slot, final String key) {
+        return get(slot, key, (value, id) -> value);
+    }
+
+    /**
+     * Passes the value for the key and the id it was stored with, or {@code null} if the store holds no ids, to the
+     * function and returns its result or {@code null} if there is no value.
+     */
+    <T> T get(final int slot, final String key, final BiFunction<Object, Long, T> function) {
+        final Column column = columns.get(key);
+        if (null == column) return null;
+
+        final StampedLock stripe = stripeOf(slot);
+        long stamp = stripe.tryOptimisticRead();
+        boolean locked = false;
+        try {
+            while (true) {
+                final ByteBuffer segment = column.segment(slot);
+                if (null == segment) return null;
+
+                final int position = column.position(slot);
+                final byte type = segment.get(position);
+                final long payload = segment.getLong(position + 1);
+                final long id = withIds ? segment.getLong(position + VALUE_BYTES) : 0L;
+                final ByteBuffer chunk = type == STRING ? chunkOf(payload) : null;
+                if (locked || stripe.validate(stamp)) {
+                    final Object value = decode(type, payload, chunk);
+                    return null == value ? null : function.apply(value, withIds ? id : null);
+                }
+
+                // a change of the stripe overlapped, so read again while changes are held off
+                stamp = stripe.readLock();
+                locked = true;
+            }
+        } finally {
+            if (locked) stripe.unlockRead(stamp);
+        }
+    }
+
+    boolean contains(final int slot, final String key) {
+        final Column column = columns.get(key);
+        if (null == column) return false;
+
+        // the type tag is a single byte, so reading it needs no consistency check
+        final ByteBuffer segment = column.segment(slot);
+        return null != segment && segment.get(column.position(slot)) != ABSENT;
+    }
+
+    synchronized void remove(final int slot, final String key) {
+        final Column column = columns.get(key);
+        if (null == column) return;
+
+        final StampedLock stripe = stripeOf(slot);
+        final long stamp = stripe.writeLock();
+        try {
+            clear(column, slot);
+        } finally {
+            stripe.unlockWrite(stamp);
+        }
+        compactStringsIfDue();
+    }
+
+    /**
+     * Gets the keys that have a value for the slot.
+     */
+    List<String> keys(final int slot) {
+        final StampedLock stripe = stripeOf(slot);
+        long stamp = stripe.tryOptimisticRead();
+        boolean locked = false;
+        try {
+            while (true) {
+                final List<String> keys = new ArrayList<>();
+                final Column[] columnsByIndex = this.columnsByIndex;
+                final Segments[] keyBitmaps = this.keyBitmaps;
+                for (int word = 0; word < keyBitmaps.length; word++) {
+                    final ByteBuffer segment = keyBitmaps[word].segment(slot);
+                    if (null == segment) continue;
+                    for (long bits = segment.getLong(keyBitmaps[word].position(slot)); bits != 0; bits &= bits - 1) {
+                        final int index = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                        if (index < columnsByIndex.length) keys.add(columnsByIndex[index].key);
+                    }
+                }
+                if (locked || stripe.validate(stamp)) return keys;
+
+                stamp = stripe.readLock();
+                locked = true;
+            }
+        } finally {
+            if (locked) stripe.unlockRead(stamp);
+        }
+    }
+
+    synchronized void clear() {
+        final long[] stamps = lockAllStripes();
+        try {
+            columns.clear();
+            columnsByIndex = new Column[0];
+            keyBitmaps = new Segments[0];
+            stringChunks = NO_CHUNKS;
+            stringPosition = STRING_CHUNK_BYTES;
+            liveStringBytes = 0;
+            freeStringBytes = 0;
+            nextSlot = 0;
+            freeSlotCount = 0;
+        } finally {
+            unlockAllStripes(stamps);
+        }
+    }
+
+    /**
+     * Gets the amount of free space in the string area which is reclaimed by the next compaction.
+     */
+    synchronized long freeStringBytes() {
+        return freeStringBytes;
+    }
+
+    private StampedLock stripeOf(final int slot) {
+        return stripes[slot & (STRIPES - 1)];
+    }
+
+    private long[] lockAllStripes() {
+        final long[] stamps = new long[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stamps[i] = stripes[i].writeLock();
+        }
+        return stamps;
+    }
+
+    private void unlockAllStripes(final long[] stamps) {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i].unlockWrite(stamps[i]);
+        }
+    }
+
+    /**
+     * Gets the column of the key, adding it and a word to the key bitmaps as needed, which is done while holding the
+     * lock of the store.
+     */
+    private Column columnOf(final String key) {
+        Column column = columns.get(key);
+        if (null != column) return column;
+
+        final int index = columnsByIndex.length;
+        column = new Column(key, index, slotBytes);
+        if (index / Long.SIZE >= keyBitmaps.length) {
+            final Segments[] bitmaps = Arrays.copyOf(keyBitmaps, keyBitmaps.length + 1);
+            bitmaps[bitmaps.length - 1] = new Segments(Long.BYTES);
+            keyBitmaps = bitmaps;
+        }
+        final Column[] byIndex = Arrays.copyOf(columnsByIndex, index + 1);
+        byIndex[index] = column;
+        columnsByIndex = byIndex;
+        columns.put(key, column);
+        return column;
+    }
+
+    private void setKeyBit(final ByteBuffer keyBitmap, final Column column, final int slot, final boolean set) {
+        final int position = keyBitmaps[column.index / Long.SIZE].position(slot);
+        final long bit = 1L << (column.index % Long.SIZE);
+        final long bits = keyBitmap.getLong(position);
+        keyBitmap.putLong(position, set ? bits | bit : bits & ~bit);
+    }
+
+    /**
+     * Clears the value of the slot in the column and frees the space of a string value, which is done while holding
+     * the lock of the store and the write lock of the stripe of the slot.
+     */
+    private void clear(final Column column, final int slot) {
+        final ByteBuffer segment = column.segment(slot);
+        if (null == segment) return;
+
+        final int position = column.position(slot);
+        final byte type = segment.get(position);
+        if (type == ABSENT) return;
+        if (type == STRING) {
+            final long address = segment.getLong(position + 1);
+            final int bytes = Integer.BYTES + chunkOf(address).getInt(stringOffset(address));
+            liveStringBytes -= bytes;
+            freeStringBytes += bytes;
+        }
+        segment.put(position, ABSENT);
+        setKeyBit(keyBitmaps[column.index / Long.SIZE].segment(slot), column, slot, false);
+    }
+
+    /**
+     * Copies the live strings into new chunks and points their values at the copies once enough space is free, which
+     * is done while holding the lock of the store. The old chunks are left as they are for readers still holding them.
+     */
+    private void compactStringsIfDue() {
+        if (freeStringBytes <= liveStringBytes || freeStringBytes < STRING_CHUNK_BYTES) return;
+
+        final long[] stamps = lockAllStripes();
+        try {
+            final ByteBuffer[] chunks = stringChunks;
+            stringChunks = NO_CHUNKS;
+            stringPosition = STRING_CHUNK_BYTES;
+            liveStringBytes = 0;
+            freeStringBytes = 0;
+
+            for (Column column : columnsByIndex) {
+                for (ByteBuffer segment : column.segments) {
+                    if (null == segment) continue;
+                    for (int position = 0; position < SEGMENT_SLOTS * slotBytes; position += slotBytes) {
+                        if (segment.get(position) != STRING) continue;
+                        final long address = segment.getLong(position + 1);
+                        final ByteBuffer chunk = chunks[(int) (address / STRING_CHUNK_BYTES)];
+                        final int offset = stringOffset(address);
+                        final byte[] bytes = new byte[chunk.getInt(offset)];
+                        for (int i = 0; i < bytes.length; i++) {
+                            bytes[i] = chunk.get(offset + Integer.BYTES + i);
+                        }
+                        segment.putLong(position + 1, appendString(bytes));
+                    }
+                }
+            }
+        } finally {
+            unlockAllStripes(stamps);
+        }
+    }
+
+    /**
+     * Appends the bytes of a string to the string area, which is done while holding the lock of the store, and
+     * returns its address.
+     */
+    private long appendString(final byte[] bytes) {
+        if (stringPosition + Integer.BYTES + bytes.length > STRING_CHUNK_BYTES) {
+            final ByteBuffer[] chunks = Arrays.copyOf(stringChunks, stringChunks.length + 1);
+            chunks[chunks.length - 1] = ByteBuffer.allocateDirect(STRING_CHUNK_BYTES);
+            stringChunks = chunks;
+            stringPosition = 0;
+        }
+
+        final int chunk = stringChunks.length - 1;
+        final ByteBuffer buffer = stringChunks[chunk];
+        final int position = stringPosition;
+        buffer.putInt(position, bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            buffer.put(position + Integer.BYTES + i, bytes[i]);
+        }
+        stringPosition = position + Integer.BYTES + bytes.length;
+        liveStringBytes += Integer.BYTES + bytes.length;
+        return ((long) chunk * STRING_CHUNK_BYTES) + position;
+    }
+
+    /**
+     * Gets the chunk holding the string at the address or {@code null} if the address was read while a compaction
+     * replaced the chunks, which the read then detects.
+     */
+    private ByteBuffer chunkOf(final long address) {
+        final ByteBuffer[] chunks = stringChunks;
+        final long chunk = address / STRING_CHUNK_BYTES;
+        return chunk >= 0 && chunk < chunks.length ? chunks[(int) chunk] : null;
+    }
+
+    private static int stringOffset(final long address) {
+        return (int) (address % STRING_CHUNK_BYTES);
+    }
+
+    private static Object decode(final byte type, final long payload, final ByteBuffer chunk) {
+        switch (type) {
+            case INTEGER:
+                return (int) payload;
+            case LONG:
+                return payload;
+            case DOUBLE:
+                return Double.longBitsToDouble(payload);
+            case FLOAT:
+                return Float.intBitsToFloat((int) payload);
+            case BOOLEAN:
+                return payload != 0;
+            case SHORT:
+                return (short) payload;
+            case BYTE:
+                return (byte) payload;
+            case STRING:
+                return readString(chunk, stringOffset(payload));
+            default:
+                return null;
+        }
+    }
+
+    private static String readString(final ByteBuffer buffer, final int position) {
+        final byte[] bytes = new byte[buffer.getInt(position)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(position + Integer.BYTES + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Fixed size records of every slot, allocated in segments of {@link #SEGMENT_SLOTS} slots as slots are used.
+     */
+    private static class Segments {
+
+        private final int slotBytes;
+        volatile ByteBuffer[] segments = new ByteBuffer[0];
+
+        private Segments(final int slotBytes) {
+            this.slotBytes = slotBytes;
+        }
+
+        ByteBuffer segment(final int slot) {
+            final ByteBuffer[] current = segments;
+            final int index = slot / SEGMENT_SLOTS;
+            return index < current.length ? current[index] : null;
+        }
+
+        /**
+         * Gets the segment of the slot, allocating it as needed, which is done while holding the lock of the store.
+         */
+        ByteBuffer segmentForWrite(final int slot) {
+            final ByteBuffer[] current = segments;
+            final int index = slot / SEGMENT_SLOTS;
+            if (index < current.length && null != current[index]) return current[index];
+
+            // a new segment is published with a new array so readers never see it before it is allocated
+            final ByteBuffer[] grown = Arrays.copyOf(current, Math.max(current.length, index + 1));
+            grown[index] = ByteBuffer.allocateDirect(SEGMENT_SLOTS * slotBytes);
+            segments = grown;
+            return grown[index];
+        }
+
+        int position(final int slot) {
+            return (slot % SEGMENT_SLOTS) * slotBytes;
+        }
+    }
+
+    /**
+     * The values of one property key.
+     */
+    private static final class Column extends Segments {
+
+        private final String key;
+        private final int index;
+
+        private Column(final String key, final int index, final int slotBytes) {
+            super(slotBytes);
+            this.key = key;
+            this.index = index;
+        }
+    }
+}
@@ -23,10 +23,18 @@ import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.util.AbstractThreadLocalTransaction;
 import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Implementation of {@link AbstractThreadLocalTransaction} for {@link TinkerTransactionGraph}
@@ -35,10 +43,12 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
 
     private static final String TX_CONFLICT = "Conflict: element modified in another transaction";
 
+    private static final String SNAPSHOT_READ_ONLY = "Snapshot transactions are read-only";
+
     /**
      * Initial value of transaction number.
      */
-    private static final long NOT_STARTED = -1;
+    static final long NOT_STARTED = -1;
 
     /**
      * Counter for opened transactions. Used to get unique id for each new transaction.
@@ -65,6 +75,37 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
      */
     private final ThreadLocal<Set<TinkerElementContainer>> txReadElements = new ThreadLocal<>();
 
+    /**
+     * Commit version pinned by the snapshot transaction of each thread.
+     */
+    private final ThreadLocal<Long> snapshotVersion = ThreadLocal.withInitial(() -> NOT_STARTED);
+
+    /**
+     * Number of open snapshot transactions for each pinned commit version. Also guards {@link #committedVersion}
+     * and {@link #retained}, so that commits are published to snapshot transactions in order.
+     */
+    private final TreeMap<Long, Integer> pinnedVersions = new TreeMap<>();
+
+    /**
+     * Version of the latest commit published to snapshot transactions.
+     */
+    private long committedVersion = 0;
+
+    /**
+     * Containers which keep older committed values for open snapshot transactions, in commit order.
+     */
+    private final Queue<RetainedContainer> retained = new ArrayDeque<>();
+
+    /**
+     * Transactions waiting to be committed by group commit.
+     */
+    private final Queue<TinkerCommit> pendingCommits = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Held by the thread which commits the pending transactions with group commit.
+     */
+    private final ReentrantLock groupCommitLock = new ReentrantLock();
+
     private final TinkerTransactionGraph graph;
 
     static {
@@ -92,6 +133,38 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
         txNumber.set(openedTx.getAndIncrement());
     }
 
+    /**
+     * Opens a read-only transaction which sees the graph as of the latest commit. It does not clone elements, does
+     * not track reads and never conflicts with other transactions.
+     */
+    void beginSnapshot() {
+        if (isOpen()) throw Transaction.Exceptions.transactionAlreadyOpen();
+
+        synchronized (pinnedVersions) {
+            pinnedVersions.merge(committedVersion, 1, Integer::sum);
+            snapshotVersion.set(committedVersion);
+        }
+        doOpen();
+    }
+
+    /**
+     * Gets the commit version pinned by the snapshot transaction of the current thread or {@link #NOT_STARTED}.
+     */
+    long getSnapshotVersion() {
+        return snapshotVersion.get();
+    }
+
+    boolean isSnapshot() {
+        return snapshotVersion.get() != NOT_STARTED;
+    }
+
+    /**
+     * Verifies the current transaction may change the graph.
+     */
+    void verifyWritable() {
+        if (isSnapshot()) throw new IllegalStateException(SNAPSHOT_READ_ONLY);
+    }
+
     protected long getTxNumber() {
         if (!isOpen()) txNumber.set(openedTx.getAndIncrement());
         return txNumber.get();
@@ -129,23 +202,31 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
     }
 
     /**
-     * Try to commit all changes made in current transaction.
+     * Try to commit all changes made in current transaction. A snapshot transaction has no changes and is just closed.
      * Workflow:
      * 1. collect all changes
      * 2. verify if any elements already changed, throw {@link TransactionException} if any
      * 3. try to lock all containers to prevent other tx from making changes
      * 4. one more time verify elements versions
-     * 5. update indices
-     * 6. commit all changes
+     * 5. write all changes to the write-ahead log if the graph has one
+     * 6. update indices
+     * 7. commit all changes and publish them to snapshot transactions
+     * With group commit, steps 2 to 7 are done by {@link #groupCommit(TinkerCommit)} for all transactions committing
+     * at the same time instead.
      * On {@link TransactionException}:
      *  rollback all changes
      * Lastly:
-     *  cleanup transaction intermediate variables.
+     *  cleanup transaction intermediate variables and write a snapshot of the graph if one is due.
      *
      * @throws TransactionException
      */
     @Override
     protected void doCommit() throws TransactionException {
+        if (isSnapshot()) {
+            closeSnapshot();
+            return;
+        }
+
         final long txVersion = txNumber.get();
 
         // collect all changes
@@ -153,57 +234,51 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
         if (null == changedVertices) changedVertices = Collections.emptySet();
         Set<TinkerElementContainer<TinkerEdge>> changedEdges = txChangedEdges.get();
         if (null == changedEdges) changedEdges = Collections.emptySet();
+        final TinkerCommit commit = new TinkerCommit(txVersion, changedVertices, changedEdges);
 
         try {
-            // Double-checked locking to reduce lock time
-            if (changedVertices.stream().anyMatch(v -> v.updatedOutsideTransaction()) ||
-                    changedEdges.stream().anyMatch(v -> v.updatedOutsideTransaction()))
-                throw new TransactionException(TX_CONFLICT);
-
-            // try to lock all element containers, throw exception if any element already locked by other tx
-            changedVertices.forEach(v -> {
-                if (!v.tryLock())
-                    throw new TransactionException(TX_CONFLICT);
-            });
-            changedEdges.forEach(e -> {
-                if (!e.tryLock())
+            if (graph.groupCommit) {
+                groupCommit(commit);
+            } else {
+                // Double-checked locking to reduce lock time
+                if (commit.conflicts())
                     throw new TransactionException(TX_CONFLICT);
-            });
 
-            // verify versions of all elements to be sure no element changes during setting lock
-            if (changedVertices.stream().anyMatch(v -> v.updatedOutsideTransaction()) ||
-                    changedEdges.stream().anyMatch(e -> e.updatedOutsideTransaction()))
-                throw new TransactionException(TX_CONFLICT);
+                // try to lock all element containers, throw exception if any element already locked by other tx
+                changedVertices.forEach(v -> {
+                    if (!v.tryLock())
+                        throw new TransactionException(TX_CONFLICT);
+                });
+                changedEdges.forEach(e -> {
+                    if (!e.tryLock())
+                        throw new TransactionException(TX_CONFLICT);
+                });
+
+                // verify versions of all elements to be sure no element changes during setting lock
+                if (commit.conflicts())
+                    throw new TransactionException(TX_CONFLICT);
 
-            // update indices
-            final TinkerTransactionalIndex vertexIndex = (TinkerTransactionalIndex) graph.vertexIndex;
-            if (vertexIndex != null) vertexIndex.commit(changedVertices);
-            final TinkerTransactionalIndex edgeIndex = (TinkerTransactionalIndex) graph.edgeIndex;
-            if (edgeIndex != null) edgeIndex.commit(changedEdges);
+                apply(Collections.singletonList(commit), commit.vertices, commit.edges);
+            }
 
-            // commit all changes
-            changedVertices.forEach(v -> v.commit(txVersion));
-            changedEdges.forEach(e -> e.commit(txVersion));
+            changedVertices.forEach(v -> v.complete());
+            changedEdges.forEach(e -> e.complete());
         } catch (TransactionException ex) {
             // rollback on error
             changedVertices.forEach(v -> v.rollback());
             changedEdges.forEach(e -> e.rollback());
-
-            // also revert indices update
-            final TinkerTransactionalIndex vertexIndex = (TinkerTransactionalIndex) graph.vertexIndex;
-            if (vertexIndex != null) vertexIndex.rollback();
-            final TinkerTransactionalIndex edgeIndex = (TinkerTransactionalIndex) graph.edgeIndex;
-            if (edgeIndex != null) edgeIndex.rollback();
-
             throw ex;
         } finally {
+            // changes in the indices of the transaction are either committed to the shared indices or reverted
+            rollbackIndices();
+
             // remove elements from graph if not used in other tx's
             changedVertices.stream().filter(v -> v.canBeRemoved()).forEach(v -> graph.getVertices().remove(v.getElementId()));
             changedEdges.stream().filter(e -> e.canBeRemoved()).forEach(e -> graph.getEdges().remove(e.getElementId()));
 
             final Set<TinkerElementContainer> readElements = txReadElements.get();
             if (readElements != null)
-                readElements.stream().forEach(e -> e.commit(txVersion));
+                readElements.stream().forEach(e -> e.reset());
 
             txChangedVertices.remove();
             txChangedEdges.remove();
@@ -214,10 +289,113 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
 
             txNumber.set(NOT_STARTED);
         }
+
+        final TinkerWriteAheadLog writeAheadLog = graph.writeAheadLog;
+        if (writeAheadLog != null) {
+            try {
+                writeAheadLog.snapshotIfDue();
+            } catch (IOException ex) {
+                throw new RuntimeException(String.format("Could not write a snapshot to %s", graph.graphLocation), ex);
+            }
+        }
     }
 
     /**
-     * Rollback all changes made in current transaction.
+     * Commits the changes together with those of the other transactions committing at the same time. The thread
+     * which gets the group commit lock validates the changes of all waiting transactions, writes them to the
+     * write-ahead log as one record, updates the indices once and publishes them under a single commit version. The
+     * other threads wait for the lock and then find their changes committed or rejected. No container locks are
+     * needed as all commits of the graph go through the group commit lock.
+     */
+    private void groupCommit(final TinkerCommit commit) {
+        pendingCommits.add(commit);
+        groupCommitLock.lock();
+        try {
+            if (!commit.done) {
+                final List<TinkerCommit> group = new ArrayList<>();
+                for (TinkerCommit pending = pendingCommits.poll(); pending != null; pending = pendingCommits.poll()) {
+                    group.add(pending);
+                }
+                commitGroup(group);
+            }
+        } finally {
+            groupCommitLock.unlock();
+        }
+
+        if (null != commit.failure) throw commit.failure;
+    }
+
+    private void commitGroup(final List<TinkerCommit> group) {
+        // a transaction conflicts with an earlier one in the group which changes the same element
+        final Set<TinkerElementContainer<?>> claimed = new HashSet<>();
+        final List<TinkerCommit> accepted = new ArrayList<>(group.size());
+        final List<TinkerCommit.Change<TinkerVertex>> vertices = new ArrayList<>();
+        final List<TinkerCommit.Change<TinkerEdge>> edges = new ArrayList<>();
+        for (TinkerCommit commit : group) {
+            if (commit.conflicts() || commit.vertices.stream().anyMatch(c -> claimed.contains(c.container)) ||
+                    commit.edges.stream().anyMatch(c -> claimed.contains(c.container))) {
+                commit.failure = new TransactionException(TX_CONFLICT);
+                continue;
+            }
+
+            commit.vertices.forEach(c -> claimed.add(c.container));
+            commit.edges.forEach(c -> claimed.add(c.container));
+            vertices.addAll(commit.vertices);
+            edges.addAll(commit.edges);
+            accepted.add(commit);
+        }
+
+        try {
+            if (!accepted.isEmpty()) apply(accepted, vertices, edges);
+        } catch (RuntimeException ex) {
+            final TransactionException failure = ex instanceof TransactionException ?
+                    (TransactionException) ex : new TransactionException(ex.getMessage(), ex);
+            accepted.forEach(c -> c.failure = failure);
+        } finally {
+            group.forEach(c -> c.done = true);
+        }
+    }
+
+    /**
+     * Writes the validated changes of the transactions to the write-ahead log, updates the indices and commits the
+     * changes.
+     */
+    private void apply(final List<TinkerCommit> commits, final List<TinkerCommit.Change<TinkerVertex>> vertices,
+                       final List<TinkerCommit.Change<TinkerEdge>> edges) {
+        final TinkerWriteAheadLog writeAheadLog = graph.writeAheadLog;
+        if (writeAheadLog != null) writeAheadLog.beginCommit();
+        try {
+            // changes must be durable before other transactions can see them
+            if (writeAheadLog != null) {
+                try {
+                    writeAheadLog.appendCommit(vertices, edges);
+                } catch (IOException ex) {
+                    throw new TransactionException("Could not write the transaction to the log", ex);
+                }
+            }
+
+            // update indices
+            final TinkerTransactionalIndex vertexIndex = (TinkerTransactionalIndex) graph.vertexIndex;
+            if (vertexIndex != null) vertexIndex.commit(vertices);
+            final TinkerTransactionalIndex edgeIndex = (TinkerTransactionalIndex) graph.edgeIndex;
+            if (edgeIndex != null) edgeIndex.commit(edges);
+
+            // commit all changes
+            publish(commits);
+        } finally {
+            if (writeAheadLog != null) writeAheadLog.endCommit();
+        }
+    }
+
+    private void rollbackIndices() {
+        final TinkerTransactionalIndex vertexIndex = (TinkerTransactionalIndex) graph.vertexIndex;
+        if (vertexIndex != null) vertexIndex.rollback();
+        final TinkerTransactionalIndex edgeIndex = (TinkerTransactionalIndex) graph.edgeIndex;
+        if (edgeIndex != null) edgeIndex.rollback();
+    }
+
+    /**
+     * Rollback all changes made in current transaction. A snapshot transaction has no changes and is just closed.
      * Workflow:
      * 1. Rollback all changes. Lock is not needed here because only this thread have access to data.
      * 2. Rollback indices changes, should be safe.
@@ -227,6 +405,11 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
      */
     @Override
     protected void doRollback() throws TransactionException {
+        if (isSnapshot()) {
+            closeSnapshot();
+            return;
+        }
+
         // rollback for all changed elements
         Set<TinkerElementContainer<TinkerVertex>> changedVertices = txChangedVertices.get();
         if (null != changedVertices) changedVertices.forEach(v -> v.rollback());
@@ -234,10 +417,7 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
         if (null != changedEdges) changedEdges.forEach(e -> e.rollback());
 
         // rollback indices
-        final TinkerTransactionalIndex vertexIndex = (TinkerTransactionalIndex) graph.vertexIndex;
-        if (vertexIndex != null) vertexIndex.rollback();
-        final TinkerTransactionalIndex edgeIndex = (TinkerTransactionalIndex) graph.edgeIndex;
-        if (vertexIndex != null) edgeIndex.rollback();
+        rollbackIndices();
 
         // cleanup unused containers
         if (null != changedVertices)
@@ -255,4 +435,73 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
 
         txNumber.set(NOT_STARTED);
     }
+
+    /**
+     * Commits the changes of the transactions under the next commit version. Snapshot transactions opened afterward
+     * see all of the changes while the ones already open see none of them.
+     */
+    private void publish(final List<TinkerCommit> commits) {
+        synchronized (pinnedVersions) {
+            final long version = committedVersion + 1;
+            final long oldestSnapshot = pinnedVersions.isEmpty() ? Long.MAX_VALUE : pinnedVersions.firstKey();
+            for (TinkerCommit commit : commits) {
+                for (TinkerCommit.Change<TinkerVertex> change : commit.vertices) {
+                    updateStatistics(change);
+                    if (change.container.commit(change, commit.txVersion, version, oldestSnapshot))
+                        retained.add(new RetainedContainer(change.container, version));
+                }
+                for (TinkerCommit.Change<TinkerEdge> change : commit.edges) {
+                    updateStatistics(change);
+                    if (change.container.commit(change, commit.txVersion, version, oldestSnapshot))
+                        retained.add(new RetainedContainer(change.container, version));
+                }
+            }
+            committedVersion = version;
+        }
+    }
+
+    /**
+     * Replaces the committed value of the element by the new one in the statistics of the graph.
+     */
+    private <T extends TinkerElement> void updateStatistics(final TinkerCommit.Change<T> change) {
+        final T committed = change.container.getUnmodified();
+        if (null != committed) graph.statistics.remove(committed);
+        if (null != change.value()) graph.statistics.add(change.value());
+    }
+
+    /**
+     * Releases the commit version pinned by the snapshot transaction and drops the committed values no open snapshot
+     * transaction can read anymore.
+     */
+    private void closeSnapshot() {
+        final long version = snapshotVersion.get();
+        snapshotVersion.set(NOT_STARTED);
+        txNumber.set(NOT_STARTED);
+
+        synchronized (pinnedVersions) {
+            pinnedVersions.computeIfPresent(version, (v, count) -> count == 1 ? null : count - 1);
+            final long oldestSnapshot = pinnedVersions.isEmpty() ? Long.MAX_VALUE : pinnedVersions.firstKey();
+            while (!retained.isEmpty() && retained.peek().version <= oldestSnapshot) {
+                final TinkerElementContainer<?> container = retained.poll().container;
+                container.prune(oldestSnapshot);
+                if (container.canBeRemoved()) {
+                    graph.getVertices().remove(container.getElementId(), container);
+                    graph.getEdges().remove(container.getElementId(), container);
+                }
+            }
+        }
+    }
+
+    /**
+     * A container which kept older committed values when it was committed under the specified version.
+     */
+    private static final class RetainedContainer {
+        private final TinkerElementContainer<?> container;
+        private final long version;
+
+        private RetainedContainer(final TinkerElementContainer<?> container, final long version) {
+            this.container = container;
+            this.version = version;
+        }
+    }
 }
@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -31,6 +32,7 @@ import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphCountStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphFilterRankingStrategy;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphStepStrategy;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerServiceRegistry;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -59,6 +61,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
     static {
         TraversalStrategies.GlobalCache.registerStrategies(TinkerTransactionGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(
                 TinkerGraphStepStrategy.instance(),
+                TinkerGraphFilterRankingStrategy.instance(),
                 TinkerGraphCountStrategy.instance()));
     }
 
@@ -73,6 +76,11 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
     private final Map<Object, TinkerElementContainer<TinkerVertex>> vertices = new ConcurrentHashMap<>();
     private final Map<Object, TinkerElementContainer<TinkerEdge>> edges = new ConcurrentHashMap<>();
 
+    /**
+     * Determines if transactions committing at the same time are committed together by one of their threads.
+     */
+    protected boolean groupCommit;
+
     /**
      * An empty private constructor that initializes {@link TinkerTransactionGraph}.
      */
@@ -84,6 +92,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
         allowNullPropertyValues = configuration.getBoolean(GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES, false);
+        groupCommit = configuration.getBoolean(GREMLIN_TINKERGRAPH_GROUP_COMMIT, false);
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
@@ -132,6 +141,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public Vertex addVertex(final Object... keyValues) {
+        transaction.verifyWritable();
         ElementHelper.legalPropertyKeyValueArray(keyValues);
 
         Object idValue = vertexIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
@@ -171,6 +181,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public void removeVertex(final Object vertexId) {
+        transaction.verifyWritable();
         if (!vertices.containsKey(vertexId)) return;
 
         // vertex can be deleted in other thread, so need to double-check
@@ -181,6 +192,8 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public void touch(final TinkerVertex vertex) {
+        transaction.verifyWritable();
+
         // already removed, so skip
         if (null == vertex || !vertices.containsKey(vertex.id())) return;
 
@@ -194,6 +207,8 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public void touch(final TinkerEdge edge) {
+        transaction.verifyWritable();
+
         // already removed, so skip
         if (null == edge || !edges.containsKey(edge.id())) return;
 
@@ -207,6 +222,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public Edge addEdge(final TinkerVertex outVertex, final TinkerVertex inVertex, final String label, final Object... keyValues) {
+        transaction.verifyWritable();
         ElementHelper.validateLabel(label);
         ElementHelper.legalPropertyKeyValueArray(keyValues);
 
@@ -241,6 +257,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public void removeEdge(final Object edgeId) {
+        transaction.verifyWritable();
         if (!edges.containsKey(edgeId)) return;
 
         final TinkerElementContainer<TinkerEdge> container = edges.get(edgeId);
@@ -284,9 +301,30 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
         return transaction;
     }
 
+    /**
+     * Opens a read-only snapshot transaction for the current thread and returns a {@link GraphTraversalSource} to
+     * read the graph with. The transaction sees the graph as of the latest commit at the time it is opened, no matter
+     * what other transactions commit while it is open. Reads do not clone elements, are not tracked and never cause
+     * a conflict, which makes snapshot transactions suited to long running analytic traversals alongside writes.
+     * Indices are not used for lookups in a snapshot transaction as they only hold the latest state. The transaction
+     * is closed with {@code tx().commit()}, {@code tx().rollback()} or {@code tx().close()} and any attempt to change
+     * the graph in it fails with an {@code IllegalStateException}.
+     */
+    public GraphTraversalSource beginSnapshot() {
+        transaction.beginSnapshot();
+        return traversal();
+    }
+
+    /**
+     * Determines if the current thread has an open snapshot transaction.
+     */
+    boolean inSnapshot() {
+        return transaction.isSnapshot();
+    }
+
     @Override
     public int getVerticesCount() {
-        return (int) vertices.entrySet().stream().filter(v -> v.getValue().get() != null).count();
+        return (int) vertices.values().stream().filter(this::isVisible).count();
     }
 
     @Override
@@ -298,7 +336,12 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public int getEdgesCount() {
-        return (int) edges.entrySet().stream().filter(v -> v.getValue().get() != null).count();
+        return (int) edges.values().stream().filter(this::isVisible).count();
+    }
+
+    private boolean isVisible(final TinkerElementContainer<?> container) {
+        final long snapshotVersion = transaction.getSnapshotVersion();
+        return null != (snapshotVersion == TinkerTransaction.NOT_STARTED ? container.get() : container.getSnapshot(snapshotVersion));
     }
 
     @Override
@@ -474,15 +517,72 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        createIndex(key, elementClass, TinkerIndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified type for said element class ({@link Vertex} or {@link Edge}) and said property
+     * key. A {@link TinkerIndexType#ORDERED} index can additionally answer range and prefix lookups such as
+     * {@code has("age", gt(30))} or {@code has("name", startingWith("ma"))}. If the key is already indexed with a
+     * different type, the index is rebuilt with the new type.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final TinkerIndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerTransactionalIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerTransactionalIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+        this.indexVersion.incrementAndGet();
+    }
+
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the ordered list of
+     * property keys. The index is used when a traversal has equality lookups for all of its keys, such as
+     * {@code has("tenant", t).has("type", x)} for a composite index over {@code ["tenant", "type"]}. Elements that do
+     * not have all of the keys are not indexed.
+     *
+     * @param keys         the property keys to index, at least two
+     * @param elementClass the element class to index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final List<String> keys, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerTransactionalIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeKeyIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerTransactionalIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createCompositeKeyIndex(keys);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+        this.indexVersion.incrementAndGet();
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and keys.
+     *
+     * @param keys         the property keys of the composite index
+     * @param elementClass the element class of the index to drop
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final List<String> keys, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeKeyIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeKeyIndex(keys);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
+        this.indexVersion.incrementAndGet();
     }
 
     /**
@@ -500,5 +600,6 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
+        this.indexVersion.incrementAndGet();
     }
 }
@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -37,6 +38,9 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
     protected Map<String, Map<Object, Set<TinkerElementContainer<T>>>> index = new ConcurrentHashMap<>();
     protected ThreadLocal<Map<String, Map<Object, Set<T>>>> txIndex =
             ThreadLocal.withInitial(() -> new ConcurrentHashMap<>());
+    protected Map<List<String>, Map<List<Object>, Set<TinkerElementContainer<T>>>> compositeIndex = new ConcurrentHashMap<>();
+    protected ThreadLocal<Map<List<String>, Map<List<Object>, Set<T>>>> txCompositeIndex =
+            ThreadLocal.withInitial(() -> new ConcurrentHashMap<>());
 
     public TinkerTransactionalIndex(final TinkerTransactionGraph graph, final Class<T> indexClass) {
         super(graph, indexClass);
@@ -51,7 +55,7 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
 
         Map<Object, Set<T>> keyMap = index.get(key);
         if (null == keyMap) {
-            index.putIfAbsent(key, new ConcurrentHashMap<>());
+            index.putIfAbsent(key, createKeyMap(key));
             keyMap = index.get(key);
         }
         final Object indexableValue = indexable(value);
@@ -101,6 +105,57 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
         return notModifiedElements;
     }
 
+    @Override
+    public List<T> getRange(final String key, final Object from, final boolean fromInclusive,
+                            final Object to, final boolean toInclusive) {
+        final Set<T> elements = new LinkedHashSet<>();
+        final Map<Object, Set<TinkerElementContainer<T>>> keyMap = index.get(key);
+        if (null != keyMap)
+            rangeOf(keyMap, from, fromInclusive, to, toInclusive).forEach(set -> set.forEach(e -> {
+                if (!e.isChanged() && e.get() != null) elements.add(e.get());
+            }));
+
+        final Map<String, Map<Object, Set<T>>> txKeyIndex = txIndex.get();
+        final Map<Object, Set<T>> txKeyMap = null == txKeyIndex ? null : txKeyIndex.get(key);
+        if (null != txKeyMap)
+            rangeOf(txKeyMap, from, fromInclusive, to, toInclusive).forEach(elements::addAll);
+
+        return new ArrayList<>(elements);
+    }
+
+    @Override
+    public List<T> getComposite(final List<String> keys, final List<Object> values) {
+        final List<Object> indexableValues = new ArrayList<>(values.size());
+        values.forEach(v -> indexableValues.add(indexable(v)));
+
+        final Set<T> elements = new LinkedHashSet<>();
+        final Map<List<Object>, Set<TinkerElementContainer<T>>> valuesMap = compositeIndex.get(keys);
+        final Set<TinkerElementContainer<T>> set = null == valuesMap ? null : valuesMap.get(indexableValues);
+        if (null != set)
+            set.forEach(e -> {
+                if (!e.isChanged() && e.get() != null) elements.add(e.get());
+            });
+
+        final Map<List<Object>, Set<T>> txValuesMap = txCompositeIndex.get().get(keys);
+        final Set<T> txSet = null == txValuesMap ? null : txValuesMap.get(indexableValues);
+        if (null != txSet)
+            elements.addAll(txSet);
+
+        return new ArrayList<>(elements);
+    }
+
+    @Override
+    public double estimateLookupSize(final String key) {
+        final Map<Object, Set<TinkerElementContainer<T>>> keyMap = index.get(key);
+        return null == keyMap ? 0 : estimateLookupSize(key, keyMap.size());
+    }
+
+    @Override
+    public double estimateLookupSize(final List<String> keys) {
+        final Map<List<Object>, Set<TinkerElementContainer<T>>> valuesMap = compositeIndex.get(keys);
+        return null == valuesMap ? 0 : estimateLookupSize(keys, valuesMap.size());
+    }
+
     @Override
     public long count(final String key, final Object value) {
         return get(key, value).size();
@@ -131,13 +186,23 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
                         }
                     }
             );
+
+            final Map<List<String>, Map<List<Object>, Set<T>>> txComposites = txCompositeIndex.get();
+            for (final List<String> keys : compositeIndexedKeys) {
+                final Map<List<Object>, Set<T>> txValuesMap = txComposites.get(keys);
+                if (null == txValuesMap) continue;
+                for (final List<Object> values : compositeValues(element, keys)) {
+                    final Set<T> objects = txValuesMap.get(values);
+                    if (null != objects) objects.remove(element);
+                }
+            }
         }
     }
 
     private void put(final String key, final Object value, final TinkerElementContainer<T> container) {
         Map<Object, Set<TinkerElementContainer<T>>> keyMap = index.get(key);
         if (null == keyMap) {
-            index.putIfAbsent(key, new ConcurrentHashMap<>());
+            index.putIfAbsent(key, createKeyMap(key));
             keyMap = index.get(key);
         }
         final Object indexableValue = indexable(value);
@@ -146,12 +211,12 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
             keyMap.putIfAbsent(indexableValue, ConcurrentHashMap.newKeySet());
             objects = keyMap.get(indexableValue);
         }
-        objects.add(container);
+        if (objects.add(container))
+            countEntries(key, 1);
     }
 
-    private void addContainer(final TinkerElementContainer<T> container) {
-        final T element = container.get();
-        if (!indexClass.isAssignableFrom(element.getClass()) || !element.properties().hasNext())
+    private void addContainer(final TinkerElementContainer<T> container, final T element) {
+        if (null == element || !indexClass.isAssignableFrom(element.getClass()) || !element.properties().hasNext())
             return;
 
         element.properties().forEachRemaining(p -> {
@@ -160,6 +225,21 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
                     }
                 }
         );
+
+        for (final List<String> keys : compositeIndexedKeys) {
+            addCompositeContainer(keys, container, element);
+        }
+    }
+
+    private void addCompositeContainer(final List<String> keys, final TinkerElementContainer<T> container, final T element) {
+        if (null == element || !indexClass.isAssignableFrom(element.getClass()))
+            return;
+
+        final Map<List<Object>, Set<TinkerElementContainer<T>>> valuesMap = compositeIndex.get(keys);
+        for (final List<Object> values : compositeValues(element, keys)) {
+            if (valuesMap.computeIfAbsent(values, v -> ConcurrentHashMap.newKeySet()).add(container))
+                countEntries(keys, 1);
+        }
     }
 
     @Override
@@ -168,17 +248,33 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
             remove(key, oldValue, element);
             putTxElement(key, newValue, element);
         }
+
+        // entries for the old values are left in place as lookups on the transaction index are always followed by
+        // a test of the element properties
+        for (final List<String> keys : compositeIndexedKeys) {
+            if (!keys.contains(key)) continue;
+            final Map<List<Object>, Set<T>> txValuesMap = txCompositeIndex.get().computeIfAbsent(keys, k -> new ConcurrentHashMap<>());
+            for (final List<Object> values : compositeValues(element, keys)) {
+                txValuesMap.computeIfAbsent(values, v -> ConcurrentHashMap.newKeySet()).add(element);
+            }
+        }
     }
 
     @Override
-    public void createKeyIndex(final String key) {
+    public void createKeyIndex(final String key, final TinkerIndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
 
-        if (indexedKeys.contains(key))
-            return;
+        if (indexedKeys.contains(key)) {
+            if (indexTypes.get(key) == indexType)
+                return;
+            dropKeyIndex(key);
+        }
+        indexTypes.put(key, indexType);
         indexedKeys.add(key);
 
         final Map elements =
@@ -187,7 +283,8 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
                         ((TinkerTransactionGraph) graph).getEdges();
 
         for (Object element : elements.values()) {
-            addContainer((TinkerElementContainer<T>) element);
+            final TinkerElementContainer<T> container = (TinkerElementContainer<T>) element;
+            addContainer(container, container.get());
         }
     }
 
@@ -201,6 +298,39 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
             index.remove(key).clear();
 
         indexedKeys.remove(key);
+        indexTypes.remove(key);
+        entryCounts.remove(key);
+    }
+
+    @Override
+    public void createCompositeKeyIndex(final List<String> keys) {
+        final List<String> compositeKeys = validateCompositeKeys(keys);
+        if (compositeIndexedKeys.contains(compositeKeys))
+            return;
+
+        compositeIndex.put(compositeKeys, new ConcurrentHashMap<>());
+        compositeIndexedKeys.add(compositeKeys);
+
+        final Map elements =
+                Vertex.class.isAssignableFrom(indexClass) ?
+                        ((TinkerTransactionGraph) graph).getVertices() :
+                        ((TinkerTransactionGraph) graph).getEdges();
+
+        for (Object element : elements.values()) {
+            final TinkerElementContainer<T> container = (TinkerElementContainer<T>) element;
+            addCompositeContainer(compositeKeys, container, container.get());
+        }
+    }
+
+    @Override
+    public void dropCompositeKeyIndex(final List<String> keys) {
+        if (null == keys) return;
+        final List<String> compositeKeys = List.copyOf(keys);
+        compositeIndexedKeys.remove(compositeKeys);
+        if (compositeIndex.containsKey(compositeKeys))
+            compositeIndex.remove(compositeKeys).clear();
+        txCompositeIndex.get().remove(compositeKeys);
+        entryCounts.remove(compositeKeys);
     }
 
     private void removeContainer(TinkerElementContainer<T> container) {
@@ -214,26 +344,42 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
             if (null != keyMap) {
                 final Set<TinkerElementContainer<T>> objects = keyMap.get(indexableValue);
                 if (null != objects) {
-                    objects.remove(container);
+                    if (objects.remove(container))
+                        countEntries(p.key(), -1);
                     if (objects.isEmpty())
                         keyMap.remove(indexableValue);
                 }
             }
         });
+
+        for (final List<String> keys : compositeIndexedKeys) {
+            final Map<List<Object>, Set<TinkerElementContainer<T>>> valuesMap = compositeIndex.get(keys);
+            for (final List<Object> values : compositeValues(element, keys)) {
+                final Set<TinkerElementContainer<T>> objects = valuesMap.get(values);
+                if (null != objects && objects.remove(container)) {
+                    countEntries(keys, -1);
+                    if (objects.isEmpty())
+                        valuesMap.remove(values);
+                }
+            }
+        }
     }
 
-    public void commit(final Set<TinkerElementContainer<T>> updatedElements) {
-        for (final TinkerElementContainer<T> element : updatedElements) {
-            removeContainer(element);
-            if (!element.isDeleted())
+    /**
+     * Applies the captured changes of one or more transactions to the shared index. Does not depend on the state of
+     * the current transaction, which is discarded with {@link #rollback()}.
+     */
+    public void commit(final List<TinkerCommit.Change<T>> changes) {
+        for (final TinkerCommit.Change<T> change : changes) {
+            removeContainer(change.container);
+            if (!change.removed)
                 // todo: compare and update only changed properties
-                addContainer(element);
+                addContainer(change.container, change.draft);
         }
-
-        txIndex.remove();
     }
 
     public void rollback() {
         txIndex.remove();
+        txCompositeIndex.remove();
     }
 }
@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
@@ -30,9 +31,11 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,9 +47,14 @@ import java.util.stream.Collectors;
 public class TinkerVertex extends TinkerElement implements Vertex {
 
     protected Map<String, List<VertexProperty>> properties;
+    // Slot of the vertex in the graph property store or -1 if no values are held there
+    protected int propertySlot = -1;
     // Edges should be used by non-transaction Graph due to performance
     protected Map<String, Set<Edge>> outEdges;
     protected Map<String, Set<Edge>> inEdges;
+    // Array backed edges used instead of outEdges/inEdges when the graph is configured for compact adjacency
+    protected TinkerAdjacency outAdjacency;
+    protected TinkerAdjacency inAdjacency;
     // Edge ids are for transactional Graph
     protected Map<String, Set<Object>> outEdgesId;
     protected Map<String, Set<Object>> inEdgesId;
@@ -75,6 +83,7 @@ public class TinkerVertex extends TinkerElement implements Vertex {
             vertex.inEdgesId = inEdgesId;
             vertex.outEdgesId = outEdgesId;
             vertex.properties = properties;
+            vertex.propertySlot = propertySlot;
             return vertex;
         }
 
@@ -119,6 +128,10 @@ public class TinkerVertex extends TinkerElement implements Vertex {
             else
                 throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
         } else {
+            if (this.propertySlot >= 0) {
+                final VertexProperty<V> vertexProperty = storedProperty(key);
+                if (null != vertexProperty) return vertexProperty;
+            }
             if (this.properties != null && this.properties.containsKey(key)) {
                 final List<VertexProperty> list = this.properties.get(key);
                 if (list.size() > 1)
@@ -161,24 +174,91 @@ public class TinkerVertex extends TinkerElement implements Vertex {
                     graph.vertexPropertyIdManager.getNextId(graph);
 
             final VertexProperty<V> vertexProperty = createTinkerVertexProperty(idValue, this, key, value);
+            final TinkerPropertyStore store = graph.vertexPropertyStore;
+            if (null != store && canStore(cardinality, key, idValue, value, keyValues)) {
+                if (this.propertySlot < 0) this.propertySlot = store.allocateSlot();
+                store.put(this.propertySlot, key, value, (Long) idValue);
+                TinkerIndexHelper.autoUpdateIndex(this, key, value, null);
+                graph.propertyAdded(Vertex.class, key, value);
+                graph.logPropertySet(vertexProperty);
+                return vertexProperty;
+            }
+
+            // meta-properties are attached first so that they are logged with the vertex property
+            ElementHelper.attachProperties(vertexProperty, keyValues);
 
+            // a stored value is moved next to the values added for its key
+            if (this.propertySlot >= 0) moveToHeap(key);
             if (null == this.properties) this.properties = new ConcurrentHashMap<>();
             final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
             list.add(vertexProperty);
             this.properties.put(key, list);
             graph.vertexProperties.put(vertexProperty.id(), vertexProperty);
             TinkerIndexHelper.autoUpdateIndex(this, key, value, null);
-            ElementHelper.attachProperties(vertexProperty, keyValues);
+            graph.propertyAdded(Vertex.class, key, value);
+            graph.logPropertySet(vertexProperty);
             return vertexProperty;
         }
     }
 
     @Override
     public Set<String> keys() {
-        if (null == this.properties) return Collections.emptySet();
-        return TinkerHelper.inComputerMode((AbstractTinkerGraph) graph()) ?
-                Vertex.super.keys() :
-                this.properties.keySet();
+        if (null == this.properties && this.propertySlot < 0) return Collections.emptySet();
+        if (TinkerHelper.inComputerMode((AbstractTinkerGraph) graph())) return Vertex.super.keys();
+        if (this.propertySlot < 0) return this.properties.keySet();
+
+        final Set<String> keys = new HashSet<>(graph.vertexPropertyStore.keys(this.propertySlot));
+        if (null != this.properties) keys.addAll(this.properties.keySet());
+        return keys;
+    }
+
+    /**
+     * Determines if a vertex property can be held by the property store of the graph, which is the case for a
+     * {@code Long} id and a supported value of a single cardinality key that is given no meta-properties.
+     */
+    private boolean canStore(final VertexProperty.Cardinality cardinality, final String key, final Object id,
+                             final Object value, final Object... keyValues) {
+        final VertexProperty.Cardinality card = null == cardinality ? graph.features().vertex().getCardinality(key) : cardinality;
+        return VertexProperty.Cardinality.single == card && id instanceof Long && TinkerPropertyStore.supports(value) &&
+                (keyValues.length == 0 || (keyValues.length == 2 && T.id.equals(keyValues[0])));
+    }
+
+    /**
+     * Gets the vertex property of the key held by the property store of the graph or {@code null} if there is none.
+     */
+    <V> VertexProperty<V> storedProperty(final String key) {
+        return graph.vertexPropertyStore.get(this.propertySlot, key, (value, id) -> createTinkerVertexProperty(id, this, key, (V) value));
+    }
+
+    /**
+     * Determines if the vertex property is held by the property store of the graph.
+     */
+    boolean isStored(final VertexProperty<?> vertexProperty) {
+        return this.propertySlot >= 0 &&
+                Objects.equals(vertexProperty.id(), graph.vertexPropertyStore.get(this.propertySlot, vertexProperty.key(), (value, id) -> id));
+    }
+
+    /**
+     * Moves the value of the key from the property store of the graph onto the heap, so that other values of the key
+     * or meta-properties can be added to it.
+     */
+    void moveToHeap(final String key) {
+        final VertexProperty<?> vertexProperty = storedProperty(key);
+        if (null != vertexProperty) moveToHeap(vertexProperty);
+    }
+
+    /**
+     * Moves the vertex property onto the heap if it is held by the property store of the graph.
+     */
+    void moveToHeap(final VertexProperty<?> vertexProperty) {
+        if (!isStored(vertexProperty)) return;
+
+        graph.vertexPropertyStore.remove(this.propertySlot, vertexProperty.key());
+        if (null == this.properties) this.properties = new ConcurrentHashMap<>();
+        final List<VertexProperty> list = new ArrayList<>();
+        list.add(vertexProperty);
+        this.properties.put(vertexProperty.key(), list);
+        graph.vertexProperties.put(vertexProperty.id(), vertexProperty);
     }
 
     @Override
@@ -197,10 +277,14 @@ public class TinkerVertex extends TinkerElement implements Vertex {
         this.edges(Direction.BOTH).forEachRemaining(edge -> edges.add(edge));
         edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
         TinkerIndexHelper.removeElementIndex(this);
+        this.graph.removeVertex(this.id);
         if (null != this.properties)
             this.properties.values().forEach(vpList -> vpList.forEach(vp -> graph.vertexProperties.remove(vp.id())));
         this.properties = null;
-        this.graph.removeVertex(this.id);
+        if (this.propertySlot >= 0) {
+            graph.vertexPropertyStore.releaseSlot(this.propertySlot);
+            this.propertySlot = -1;
+        }
         this.removed = true;
     }
 
@@ -247,10 +331,15 @@ public class TinkerVertex extends TinkerElement implements Vertex {
         if (TinkerHelper.inComputerMode((AbstractTinkerGraph) graph()))
             return (Iterator) ((AbstractTinkerGraph) graph()).graphComputerView.getProperties(TinkerVertex.this).stream().filter(p -> ElementHelper.keyExists(p.key(), propertyKeys)).iterator();
         else {
-            if (null == this.properties) return Collections.emptyIterator();
+            if (null == this.properties && this.propertySlot < 0) return Collections.emptyIterator();
             if (propertyKeys.length == 1) {
                 if (null == propertyKeys[0])
                     return Collections.emptyIterator();
+                if (this.propertySlot >= 0) {
+                    final VertexProperty<V> vertexProperty = storedProperty(propertyKeys[0]);
+                    if (null != vertexProperty) return IteratorUtils.of(vertexProperty);
+                    if (null == this.properties) return Collections.emptyIterator();
+                }
                 final List<VertexProperty> properties = this.properties.getOrDefault(propertyKeys[0], Collections.emptyList());
                 if (properties.size() == 1) {
                     return IteratorUtils.of(properties.get(0));
@@ -259,8 +348,18 @@ public class TinkerVertex extends TinkerElement implements Vertex {
                 } else {
                     return (Iterator) new ArrayList<>(properties).iterator();
                 }
-            } else
-                return (Iterator) this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).flatMap(entry -> entry.getValue().stream()).collect(Collectors.toList()).iterator();
+            } else {
+                final List<VertexProperty> properties = null == this.properties ? new ArrayList<>() :
+                        this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).flatMap(entry -> entry.getValue().stream()).collect(Collectors.toList());
+                if (this.propertySlot >= 0) {
+                    for (String key : graph.vertexPropertyStore.keys(this.propertySlot)) {
+                        if (!ElementHelper.keyExists(key, propertyKeys)) continue;
+                        final VertexProperty<V> vertexProperty = storedProperty(key);
+                        if (null != vertexProperty) properties.add(vertexProperty);
+                    }
+                }
+                return (Iterator) properties.iterator();
+            }
         }
     }
 }
@@ -146,9 +146,12 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
             return Property.empty();
         }
 
+        // meta-properties are only held on the heap
+        this.vertex.moveToHeap(this);
         final Property<U> property = new TinkerProperty<>(this, key, value);
         if (this.properties == null) this.properties = new HashMap<>();
         this.properties.put(key, property);
+        ((AbstractTinkerGraph) vertex.graph()).logPropertySet(property);
         return property;
     }
 
@@ -159,7 +162,17 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
 
     @Override
     public void remove() {
-        if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
+        if (this.vertex.isStored(this)) {
+            final AbstractTinkerGraph graph = (AbstractTinkerGraph) vertex.graph();
+            graph.touch(vertex);
+
+            // a stored value is the only value of its key
+            graph.vertexPropertyStore.remove(this.vertex.propertySlot, this.key);
+            TinkerIndexHelper.removeIndex(this.vertex, this.key, this.value);
+            graph.propertyRemoved(Vertex.class, this.key, this.value);
+            this.removed = true;
+            graph.logPropertyRemoved(this);
+        } else if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
             ((AbstractTinkerGraph)vertex.graph()).touch(vertex);
 
             this.vertex.properties.get(this.key).remove(this);
@@ -175,8 +188,10 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
             });
             if (delete.get()) TinkerIndexHelper.removeIndex(this.vertex, this.key, this.value);
             ((AbstractTinkerGraph) vertex.graph()).vertexProperties.remove(this.id);
+            ((AbstractTinkerGraph) vertex.graph()).propertyRemoved(Vertex.class, this.key, this.value);
             this.properties = null;
             this.removed = true;
+            ((AbstractTinkerGraph) vertex.graph()).logPropertyRemoved(this);
         }
     }
 
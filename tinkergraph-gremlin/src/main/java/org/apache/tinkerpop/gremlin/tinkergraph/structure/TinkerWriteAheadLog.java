@@ -0,0 +1,717 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Persistence for {@link TinkerGraph} and {@link TinkerTransactionGraph} used when the
+ * {@link AbstractTinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT} is {@code wal}. Instead of rewriting the whole graph
+ * on every save, changes are appended to a log as they are made and the graph is only written in full as a snapshot
+ * once enough changes have accumulated or the graph is closed.
+ * <p/>
+ * Both files live in the directory given by {@link AbstractTinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_LOCATION} and are
+ * numbered by generation. A snapshot {@code snapshot-N.bin} holds the state of the graph when log {@code wal-N.log}
+ * was started, so the graph is restored by reading the newest snapshot followed by the logs of that generation and
+ * later. Snapshots and the records of added elements hold the complete state of an element, while changes to an
+ * existing element are logged as deltas of a single property (its key, value and whether it was set or removed) so
+ * that the size of a record does not grow with the number of properties of the element. Replaying a record whose
+ * change is already reflected in the graph does no harm. Records are framed with their length and a CRC32 checksum
+ * and a log is read up to the first incomplete or damaged record, which is what a crash in the middle of a write
+ * leaves behind.
+ * <p/>
+ * For {@link TinkerTransactionGraph} all changes of a transaction are written as a single record before the
+ * transaction is applied to the graph, so a transaction is either fully restored or not at all. The deltas of an
+ * element are found by comparing the element in the transaction with its committed value.
+ */
+final class TinkerWriteAheadLog {
+
+    private static final Pattern FILE_NAME = Pattern.compile("(snapshot|wal)-(\\d+)\\.(bin|log)");
+
+    private static final byte UPSERT_VERTEX = 1;
+    private static final byte UPSERT_EDGE = 2;
+    private static final byte REMOVE_VERTEX = 3;
+    private static final byte REMOVE_EDGE = 4;
+    private static final byte CLEAR = 5;
+    private static final byte SET_EDGE_PROPERTY = 6;
+    private static final byte REMOVE_EDGE_PROPERTY = 7;
+    private static final byte ADD_VERTEX_PROPERTY = 8;
+    private static final byte REMOVE_VERTEX_PROPERTY = 9;
+    private static final byte SET_META_PROPERTY = 10;
+    private static final byte REMOVE_META_PROPERTY = 11;
+
+    private final AbstractTinkerGraph graph;
+    private final File directory;
+    private final long snapshotThreshold;
+    private final boolean sync;
+
+    private final Kryo kryo = GryoMapper.build().version(GryoVersion.V3_0).addRegistry(TinkerIoRegistryV3.instance()).create().createMapper();
+    private final Output buffer = new Output(4096, -1);
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Held by transactions from the time their changes are written until they are applied so that a snapshot never
+     * misses a change whose log has already been replaced.
+     */
+    private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+    /**
+     * The generation of the log that records are appended to.
+     */
+    private long generation = 0;
+    private long snapshotGeneration = -1;
+    private long recordsSinceSnapshot = 0;
+    private FileOutputStream fileStream = null;
+    private DataOutputStream stream = null;
+
+    TinkerWriteAheadLog(final AbstractTinkerGraph graph, final File directory, final long snapshotThreshold, final boolean sync) {
+        this.graph = graph;
+        this.directory = directory;
+        this.snapshotThreshold = snapshotThreshold;
+        this.sync = sync;
+    }
+
+    /**
+     * Restores the graph from the newest snapshot and the logs that follow it. Appends after recovery go to a new
+     * log so that nothing is written behind a damaged record.
+     */
+    void recover() throws IOException {
+        if (!directory.exists() && !directory.mkdirs())
+            throw new IOException(String.format("Could not create directory %s", directory));
+
+        final TreeMap<Long, File> logs = new TreeMap<>();
+        final File[] files = directory.listFiles();
+        if (null != files) {
+            for (File file : files) {
+                final Matcher matcher = FILE_NAME.matcher(file.getName());
+                if (!matcher.matches()) continue;
+
+                final long fileGeneration = Long.parseLong(matcher.group(2));
+                if (matcher.group(1).equals("snapshot"))
+                    snapshotGeneration = Math.max(snapshotGeneration, fileGeneration);
+                else
+                    logs.put(fileGeneration, file);
+                generation = Math.max(generation, fileGeneration + 1);
+            }
+        }
+
+        if (snapshotGeneration >= 0) replay(snapshotFile(snapshotGeneration));
+        for (File log : logs.tailMap(Math.max(snapshotGeneration, 0)).values()) {
+            recordsSinceSnapshot += replay(log);
+        }
+
+        if (graph.features().graph().supportsTransactions()) graph.tx().commit();
+    }
+
+    void beginCommit() {
+        commitLock.readLock().lock();
+    }
+
+    void endCommit() {
+        commitLock.readLock().unlock();
+    }
+
+    synchronized void appendVertex(final TinkerVertex vertex) throws IOException {
+        buffer.clear();
+        buffer.writeInt(1);
+        writeVertex(vertex);
+        append();
+    }
+
+    synchronized void appendEdge(final TinkerEdge edge) throws IOException {
+        buffer.clear();
+        buffer.writeInt(1);
+        writeEdge(edge);
+        append();
+    }
+
+    /**
+     * Appends the setting of a property of an {@link Edge}, the addition of a {@link VertexProperty} or the setting of
+     * a meta-property.
+     */
+    synchronized void appendPropertySet(final Property<?> property) throws IOException {
+        buffer.clear();
+        buffer.writeInt(1);
+        writePropertySet(property);
+        append();
+    }
+
+    /**
+     * Appends the removal of a property of an {@link Edge}, a {@link VertexProperty} or a meta-property.
+     */
+    synchronized void appendPropertyRemoval(final Property<?> property) throws IOException {
+        buffer.clear();
+        buffer.writeInt(1);
+        writePropertyRemoval(property);
+        append();
+    }
+
+    private synchronized void appendRemoval(final byte type, final Object id) throws IOException {
+        buffer.clear();
+        buffer.writeInt(1);
+        buffer.writeByte(type);
+        kryo.writeClassAndObject(buffer, id);
+        append();
+    }
+
+    void appendVertexRemoval(final Object id) throws IOException {
+        appendRemoval(REMOVE_VERTEX, id);
+    }
+
+    void appendEdgeRemoval(final Object id) throws IOException {
+        appendRemoval(REMOVE_EDGE, id);
+    }
+
+    synchronized void appendClear() throws IOException {
+        buffer.clear();
+        buffer.writeInt(1);
+        buffer.writeByte(CLEAR);
+        append();
+    }
+
+    /**
+     * Writes the changes of one or more transactions as a single record. Must be called between
+     * {@link #beginCommit()} and {@link #endCommit()}.
+     */
+    synchronized void appendCommit(final List<TinkerCommit.Change<TinkerVertex>> vertices,
+                                   final List<TinkerCommit.Change<TinkerEdge>> edges) throws IOException {
+        if (vertices.isEmpty() && edges.isEmpty()) return;
+
+        buffer.clear();
+        // the number of operations is only known once they are written
+        buffer.writeInt(0);
+        int operations = 0;
+        // vertices first so that the edges of a new vertex can be restored
+        for (TinkerCommit.Change<TinkerVertex> change : vertices) {
+            final TinkerVertex vertex = change.value();
+            if (null == vertex) {
+                buffer.writeByte(REMOVE_VERTEX);
+                kryo.writeClassAndObject(buffer, change.container.getElementId());
+                operations++;
+            } else {
+                operations += writeVertexChanges(change.container.getUnmodified(), vertex);
+            }
+        }
+        for (TinkerCommit.Change<TinkerEdge> change : edges) {
+            final TinkerEdge edge = change.value();
+            if (null == edge) {
+                buffer.writeByte(REMOVE_EDGE);
+                kryo.writeClassAndObject(buffer, change.container.getElementId());
+                operations++;
+            } else {
+                operations += writeEdgeChanges(change.container.getUnmodified(), edge);
+            }
+        }
+        if (0 == operations) return;
+
+        final int end = buffer.position();
+        buffer.setPosition(0);
+        buffer.writeInt(operations);
+        buffer.setPosition(end);
+        append();
+    }
+
+    /**
+     * Writes a snapshot if the number of records appended since the last one has reached the threshold.
+     */
+    void snapshotIfDue() throws IOException {
+        if (recordsSinceSnapshot >= snapshotThreshold) snapshot(false);
+    }
+
+    /**
+     * Starts a new log and writes the current state of the graph as its snapshot, then removes the files of earlier
+     * generations. Unless forced, nothing is written if no records were appended since the last snapshot, so changes
+     * made to the graph without appending records must force it.
+     */
+    void snapshot(final boolean force) throws IOException {
+        commitLock.writeLock().lock();
+        try {
+            synchronized (this) {
+                if (!force && 0 == recordsSinceSnapshot && snapshotGeneration >= 0) return;
+
+                closeStream();
+                generation++;
+
+                final File temporary = new File(directory, "snapshot-" + generation + ".tmp");
+                try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+                    final Iterator<TinkerVertex> vertices = committedVertices();
+                    while (vertices.hasNext()) {
+                        buffer.clear();
+                        buffer.writeInt(1);
+                        writeVertex(vertices.next());
+                        writeFrame(out);
+                    }
+                    final Iterator<TinkerEdge> edges = committedEdges();
+                    while (edges.hasNext()) {
+                        buffer.clear();
+                        buffer.writeInt(1);
+                        writeEdge(edges.next());
+                        writeFrame(out);
+                    }
+                }
+                Files.move(temporary.toPath(), snapshotFile(generation).toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                snapshotGeneration = generation;
+                recordsSinceSnapshot = 0;
+
+                // only remove the old files once the new snapshot is complete
+                final File[] files = directory.listFiles();
+                if (null != files) {
+                    for (File file : files) {
+                        final Matcher matcher = FILE_NAME.matcher(file.getName());
+                        if (matcher.matches() && Long.parseLong(matcher.group(2)) < generation)
+                            file.delete();
+                    }
+                }
+            }
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Closes the current log. A later append opens a new one.
+     */
+    synchronized void close() throws IOException {
+        closeStream();
+    }
+
+    private void append() throws IOException {
+        if (null == stream) openStream();
+        writeFrame(stream);
+        stream.flush();
+        if (sync) fileStream.getChannel().force(false);
+        recordsSinceSnapshot++;
+    }
+
+    private void openStream() throws IOException {
+        fileStream = new FileOutputStream(logFile(generation), true);
+        stream = new DataOutputStream(new BufferedOutputStream(fileStream));
+    }
+
+    private void closeStream() throws IOException {
+        if (null != stream) {
+            stream.flush();
+            if (sync) fileStream.getChannel().force(false);
+            stream.close();
+            stream = null;
+            fileStream = null;
+        }
+    }
+
+    private void writeFrame(final DataOutputStream out) throws IOException {
+        crc.reset();
+        crc.update(buffer.getBuffer(), 0, buffer.position());
+        out.writeInt(buffer.position());
+        out.writeInt((int) crc.getValue());
+        out.write(buffer.getBuffer(), 0, buffer.position());
+    }
+
+    private void writeVertex(final TinkerVertex vertex) {
+        buffer.writeByte(UPSERT_VERTEX);
+        kryo.writeClassAndObject(buffer, vertex.id());
+        buffer.writeString(vertex.label());
+        final List<VertexProperty<Object>> vertexProperties = IteratorUtils.list(vertex.properties());
+        buffer.writeInt(vertexProperties.size());
+        for (VertexProperty<Object> vertexProperty : vertexProperties) {
+            writeVertexProperty(vertexProperty);
+        }
+    }
+
+    private void writeVertexProperty(final VertexProperty<?> vertexProperty) {
+        kryo.writeClassAndObject(buffer, vertexProperty.id());
+        buffer.writeString(vertexProperty.key());
+        kryo.writeClassAndObject(buffer, vertexProperty.value());
+        writeProperties(vertexProperty.properties());
+    }
+
+    private void writeEdge(final TinkerEdge edge) {
+        buffer.writeByte(UPSERT_EDGE);
+        kryo.writeClassAndObject(buffer, edge.id());
+        buffer.writeString(edge.label());
+        kryo.writeClassAndObject(buffer, edge.outVertexId());
+        kryo.writeClassAndObject(buffer, edge.inVertexId());
+        writeProperties(edge.properties());
+    }
+
+    private void writeProperties(final Iterator<? extends Property<?>> properties) {
+        final List<? extends Property<?>> list = IteratorUtils.list(properties);
+        buffer.writeInt(list.size());
+        for (Property<?> property : list) {
+            buffer.writeString(property.key());
+            kryo.writeClassAndObject(buffer, property.value());
+        }
+    }
+
+    private void writePropertySet(final Property<?> property) {
+        if (property instanceof VertexProperty) {
+            buffer.writeByte(ADD_VERTEX_PROPERTY);
+            kryo.writeClassAndObject(buffer, property.element().id());
+            writeVertexProperty((VertexProperty<?>) property);
+        } else {
+            if (property.element() instanceof Edge) {
+                buffer.writeByte(SET_EDGE_PROPERTY);
+                kryo.writeClassAndObject(buffer, property.element().id());
+            } else {
+                buffer.writeByte(SET_META_PROPERTY);
+                writeVertexPropertyReference((VertexProperty<?>) property.element());
+            }
+            buffer.writeString(property.key());
+            kryo.writeClassAndObject(buffer, property.value());
+        }
+    }
+
+    private void writePropertyRemoval(final Property<?> property) {
+        if (property instanceof VertexProperty) {
+            buffer.writeByte(REMOVE_VERTEX_PROPERTY);
+            writeVertexPropertyReference((VertexProperty<?>) property);
+        } else {
+            if (property.element() instanceof Edge) {
+                buffer.writeByte(REMOVE_EDGE_PROPERTY);
+                kryo.writeClassAndObject(buffer, property.element().id());
+            } else {
+                buffer.writeByte(REMOVE_META_PROPERTY);
+                writeVertexPropertyReference((VertexProperty<?>) property.element());
+            }
+            buffer.writeString(property.key());
+        }
+    }
+
+    private void writeVertexPropertyReference(final VertexProperty<?> vertexProperty) {
+        kryo.writeClassAndObject(buffer, vertexProperty.element().id());
+        kryo.writeClassAndObject(buffer, vertexProperty.id());
+        buffer.writeString(vertexProperty.key());
+    }
+
+    /**
+     * Writes the changes of a vertex in a transaction as deltas of its committed value and returns how many
+     * operations were written.
+     */
+    private int writeVertexChanges(final TinkerVertex committed, final TinkerVertex vertex) {
+        if (null == committed || committed.removed) {
+            writeVertex(vertex);
+            return 1;
+        }
+
+        int operations = 0;
+        final Map<Object, VertexProperty<Object>> removed = new HashMap<>();
+        committed.properties().forEachRemaining(vertexProperty -> removed.put(vertexProperty.id(), vertexProperty));
+        final List<VertexProperty<Object>> added = new ArrayList<>();
+        final Iterator<VertexProperty<Object>> vertexProperties = vertex.properties();
+        while (vertexProperties.hasNext()) {
+            final VertexProperty<Object> vertexProperty = vertexProperties.next();
+            final VertexProperty<Object> previous = removed.remove(vertexProperty.id());
+            if (null == previous)
+                added.add(vertexProperty);
+            else
+                operations += writePropertyChanges(previous.properties(), vertexProperty.properties());
+        }
+        for (VertexProperty<Object> vertexProperty : removed.values()) {
+            writePropertyRemoval(vertexProperty);
+            operations++;
+        }
+        for (VertexProperty<Object> vertexProperty : added) {
+            writePropertySet(vertexProperty);
+            operations++;
+        }
+        return operations;
+    }
+
+    /**
+     * Writes the changes of an edge in a transaction as deltas of its committed value and returns how many
+     * operations were written.
+     */
+    private int writeEdgeChanges(final TinkerEdge committed, final TinkerEdge edge) {
+        if (null == committed || committed.removed) {
+            writeEdge(edge);
+            return 1;
+        }
+        return writePropertyChanges(committed.properties(), edge.properties());
+    }
+
+    private int writePropertyChanges(final Iterator<? extends Property<?>> previousProperties,
+                                     final Iterator<? extends Property<?>> properties) {
+        int operations = 0;
+        final Map<String, Property<?>> removed = new HashMap<>();
+        previousProperties.forEachRemaining(property -> removed.put(property.key(), property));
+        while (properties.hasNext()) {
+            final Property<?> property = properties.next();
+            final Property<?> previous = removed.remove(property.key());
+            if (null == previous || !Objects.equals(previous.value(), property.value())) {
+                writePropertySet(property);
+                operations++;
+            }
+        }
+        for (Property<?> property : removed.values()) {
+            writePropertyRemoval(property);
+            operations++;
+        }
+        return operations;
+    }
+
+    private Iterator<TinkerVertex> committedVertices() {
+        if (graph instanceof TinkerTransactionGraph)
+            return IteratorUtils.filter(IteratorUtils.map(((TinkerTransactionGraph) graph).getVertices().values().iterator(),
+                    TinkerElementContainer::getUnmodified), v -> null != v && !v.removed);
+        return IteratorUtils.map(((TinkerGraph) graph).vertices.values().iterator(), v -> (TinkerVertex) v);
+    }
+
+    private Iterator<TinkerEdge> committedEdges() {
+        if (graph instanceof TinkerTransactionGraph)
+            return IteratorUtils.filter(IteratorUtils.map(((TinkerTransactionGraph) graph).getEdges().values().iterator(),
+                    TinkerElementContainer::getUnmodified), e -> null != e && !e.removed);
+        return IteratorUtils.map(((TinkerGraph) graph).edges.values().iterator(), e -> (TinkerEdge) e);
+    }
+
+    /**
+     * Applies the records of a file to the graph and returns how many were read.
+     */
+    private long replay(final File file) throws IOException {
+        long records = 0;
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                final byte[] bytes;
+                try {
+                    final int length = in.readInt();
+                    final int checksum = in.readInt();
+                    if (length < 0 || length > file.length()) break;
+                    bytes = new byte[length];
+                    in.readFully(bytes);
+                    crc.reset();
+                    crc.update(bytes, 0, length);
+                    if ((int) crc.getValue() != checksum) break;
+                } catch (EOFException ex) {
+                    break;
+                }
+
+                final Input input = new Input(bytes);
+                final int operations = input.readInt();
+                for (int i = 0; i < operations; i++) {
+                    apply(input);
+                }
+                records++;
+            }
+        }
+        return records;
+    }
+
+    private void apply(final Input input) {
+        final byte type = input.readByte();
+        switch (type) {
+            case UPSERT_VERTEX:
+                applyVertex(input);
+                break;
+            case UPSERT_EDGE:
+                applyEdge(input);
+                break;
+            case REMOVE_VERTEX:
+                final Vertex vertex = graph.vertex(kryo.readClassAndObject(input));
+                if (null != vertex) vertex.remove();
+                break;
+            case REMOVE_EDGE:
+                final Edge edge = graph.edge(kryo.readClassAndObject(input));
+                if (null != edge) edge.remove();
+                break;
+            case CLEAR:
+                if (graph.features().graph().supportsTransactions()) graph.tx().commit();
+                graph.clear();
+                break;
+            case SET_EDGE_PROPERTY:
+                applyEdgeProperty(input);
+                break;
+            case REMOVE_EDGE_PROPERTY:
+                removeEdgeProperty(input);
+                break;
+            case ADD_VERTEX_PROPERTY:
+                addVertexProperty(graph.vertex(kryo.readClassAndObject(input)), input);
+                break;
+            case REMOVE_VERTEX_PROPERTY:
+                final VertexProperty<?> vertexProperty = readVertexProperty(input);
+                if (null != vertexProperty) vertexProperty.remove();
+                break;
+            case SET_META_PROPERTY:
+                applyMetaProperty(input);
+                break;
+            case REMOVE_META_PROPERTY:
+                removeMetaProperty(input);
+                break;
+            default:
+                throw new IllegalStateException(String.format("Unknown write-ahead log record type %s", type));
+        }
+    }
+
+    private void applyVertex(final Input input) {
+        final Object id = kryo.readClassAndObject(input);
+        final String label = input.readString();
+
+        Vertex vertex = graph.vertex(id);
+        if (null == vertex) {
+            vertex = graph.addVertex(T.id, id, T.label, label);
+        } else {
+            IteratorUtils.list(vertex.properties()).forEach(Property::remove);
+        }
+
+        final int vertexProperties = input.readInt();
+        for (int i = 0; i < vertexProperties; i++) {
+            addVertexProperty(vertex, input);
+        }
+    }
+
+    /**
+     * Reads a {@link VertexProperty} with its meta-properties and adds it to the vertex unless the vertex is gone or
+     * already has it.
+     */
+    private void addVertexProperty(final Vertex vertex, final Input input) {
+        final Object id = kryo.readClassAndObject(input);
+        final String key = input.readString();
+        final Object value = kryo.readClassAndObject(input);
+        final int metaProperties = input.readInt();
+        final Object[] keyValues = new Object[2 + metaProperties * 2];
+        keyValues[0] = T.id;
+        keyValues[1] = id;
+        for (int j = 0; j < metaProperties; j++) {
+            keyValues[2 + j * 2] = input.readString();
+            keyValues[3 + j * 2] = kryo.readClassAndObject(input);
+        }
+        if (null != vertex && null == findVertexProperty(vertex, id, key))
+            vertex.property(VertexProperty.Cardinality.list, key, value, keyValues);
+    }
+
+    private void applyEdgeProperty(final Input input) {
+        final Edge edge = graph.edge(kryo.readClassAndObject(input));
+        final String key = input.readString();
+        final Object value = kryo.readClassAndObject(input);
+        if (null != edge) edge.property(key, value);
+    }
+
+    private void removeEdgeProperty(final Input input) {
+        final Edge edge = graph.edge(kryo.readClassAndObject(input));
+        final String key = input.readString();
+        if (null != edge) edge.property(key).remove();
+    }
+
+    private void applyMetaProperty(final Input input) {
+        final VertexProperty<?> vertexProperty = readVertexProperty(input);
+        final String key = input.readString();
+        final Object value = kryo.readClassAndObject(input);
+        if (null != vertexProperty) vertexProperty.property(key, value);
+    }
+
+    private void removeMetaProperty(final Input input) {
+        final VertexProperty<?> vertexProperty = readVertexProperty(input);
+        final String key = input.readString();
+        if (null != vertexProperty) vertexProperty.property(key).remove();
+    }
+
+    /**
+     * Reads the reference written by {@link #writeVertexPropertyReference(VertexProperty)} and returns the
+     * {@link VertexProperty} or {@code null} if it no longer exists.
+     */
+    private VertexProperty<?> readVertexProperty(final Input input) {
+        final Vertex vertex = graph.vertex(kryo.readClassAndObject(input));
+        final Object id = kryo.readClassAndObject(input);
+        final String key = input.readString();
+        return null == vertex ? null : findVertexProperty(vertex, id, key);
+    }
+
+    private static VertexProperty<?> findVertexProperty(final Vertex vertex, final Object id, final String key) {
+        final Iterator<VertexProperty<Object>> vertexProperties = vertex.properties(key);
+        while (vertexProperties.hasNext()) {
+            final VertexProperty<Object> vertexProperty = vertexProperties.next();
+            if (vertexProperty.id().equals(id)) return vertexProperty;
+        }
+        return null;
+    }
+
+    private void applyEdge(final Input input) {
+        final Object id = kryo.readClassAndObject(input);
+        final String label = input.readString();
+        final Object outVertexId = kryo.readClassAndObject(input);
+        final Object inVertexId = kryo.readClassAndObject(input);
+
+        Edge edge = graph.edge(id);
+        if (null == edge) {
+            final Vertex outVertex = graph.vertex(outVertexId);
+            final Vertex inVertex = graph.vertex(inVertexId);
+            // the vertex was removed later on and its removal record follows
+            if (null == outVertex || null == inVertex) {
+                skipProperties(input);
+                return;
+            }
+            edge = outVertex.addEdge(label, inVertex, T.id, id);
+        } else {
+            IteratorUtils.list(edge.properties()).forEach(Property::remove);
+        }
+
+        final int properties = input.readInt();
+        for (int i = 0; i < properties; i++) {
+            edge.property(input.readString(), kryo.readClassAndObject(input));
+        }
+    }
+
+    private void skipProperties(final Input input) {
+        final int properties = input.readInt();
+        for (int i = 0; i < properties; i++) {
+            input.readString();
+            kryo.readClassAndObject(input);
+        }
+    }
+
+    private File snapshotFile(final long fileGeneration) {
+        return new File(directory, "snapshot-" + fileGeneration + ".bin");
+    }
+
+    private File logFile(final long fileGeneration) {
+        return new File(directory, "wal-" + fileGeneration + ".log");
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.jsr223;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.tinkerpop.gremlin.jsr223.GremlinLangCustomizer;
+import org.apache.tinkerpop.gremlin.jsr223.GremlinLangScriptEngine;
+import org.apache.tinkerpop.gremlin.jsr223.VariableResolverCustomizer;
+import org.apache.tinkerpop.gremlin.language.grammar.VariableResolver;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraphStatistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.script.Bindings;
+import javax.script.SimpleBindings;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Evaluates the same scripts many times with the plan cache of {@link GremlinLangScriptEngine} enabled, as every
+ * evaluation after the first gets a clone of a cached plan that already had the TinkerGraph strategies applied.
+ */
+public class TinkerGraphGremlinLangPlanCacheTest {
+
+    private static final String SCRIPT = "g.V().has('age',gt(27)).values('name').order()";
+    private static final String SCRIPT_WITH_VARS = "g.V().has('age',gt(x)).values('name').order()";
+
+    private GremlinLangScriptEngine scriptEngine;
+    private GraphTraversalSource g;
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        scriptEngine = new GremlinLangScriptEngine(
+                new VariableResolverCustomizer(VariableResolver.DefaultVariableResolver::new),
+                new GremlinLangCustomizer(false, true, Caffeine.newBuilder()));
+        g = TinkerFactory.createModern().traversal();
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldEvaluateCachedPlanRepeatedly() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Arrays.asList("josh", "marko", "peter"), eval(SCRIPT, null));
+            assertEquals(Arrays.asList("josh", "peter"), eval(SCRIPT_WITH_VARS, 29));
+            assertEquals(Arrays.asList("josh", "marko", "peter", "vadas"), eval(SCRIPT_WITH_VARS, 26));
+        }
+    }
+
+    @Test
+    public void shouldEvaluateCachedPlanConcurrently() throws Exception {
+        // plan both scripts once so that every concurrent evaluation clones the cached plans
+        eval(SCRIPT, null);
+        eval(SCRIPT_WITH_VARS, 29);
+
+        final List<Future<List<Object>>> results = new ArrayList<>();
+        final List<List<Object>> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final int age = i % 2 == 0 ? 29 : 26;
+            if (i % 3 == 0) {
+                results.add(executor.submit(() -> eval(SCRIPT, null)));
+                expected.add(Arrays.asList("josh", "marko", "peter"));
+            } else {
+                results.add(executor.submit(() -> eval(SCRIPT_WITH_VARS, age)));
+                expected.add(29 == age ? Arrays.asList("josh", "peter") : Arrays.asList("josh", "marko", "peter", "vadas"));
+            }
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(expected.get(i), results.get(i).get());
+        }
+    }
+
+    @Test
+    public void shouldPlanAgainWhenIndexesChange() throws Exception {
+        final AbstractTinkerGraph graph = (AbstractTinkerGraph) g.getGraph();
+        assertEquals(Arrays.asList("josh", "marko", "peter"), eval(SCRIPT, null));
+
+        final long planVersion = graph.getPlanVersion();
+        ((TinkerGraph) graph).createIndex("age", Vertex.class);
+        assertNotEquals(planVersion, graph.getPlanVersion());
+        assertEquals(Arrays.asList("josh", "marko", "peter"), eval(SCRIPT, null));
+
+        final long indexedPlanVersion = graph.getPlanVersion();
+        ((TinkerGraph) graph).dropIndex("age", Vertex.class);
+        assertNotEquals(indexedPlanVersion, graph.getPlanVersion());
+        assertEquals(Arrays.asList("josh", "marko", "peter"), eval(SCRIPT, null));
+    }
+
+    @Test
+    public void shouldPlanAgainWhenStatisticsDrift() throws Exception {
+        final AbstractTinkerGraph graph = (AbstractTinkerGraph) g.getGraph();
+        assertEquals(Arrays.asList("josh", "marko", "peter"), eval(SCRIPT, null));
+
+        // a few changes do not make the statistics drift
+        final long planVersion = graph.getPlanVersion();
+        g.addV("person").property("name", "daniel").property("age", 30).iterate();
+        assertEquals(planVersion, graph.getPlanVersion());
+        assertEquals(Arrays.asList("daniel", "josh", "marko", "peter"), eval(SCRIPT, null));
+
+        for (int i = 0; i < TinkerGraphStatistics.MIN_DRIFT; i++) {
+            g.addV("person").property("age", 20).iterate();
+        }
+        assertNotEquals(planVersion, graph.getPlanVersion());
+        assertEquals(Arrays.asList("daniel", "josh", "marko", "peter"), eval(SCRIPT, null));
+    }
+
+    private List<Object> eval(final String script, final Integer age) throws Exception {
+        final Bindings bindings = new SimpleBindings();
+        bindings.put("g", g);
+        if (age != null) bindings.put("x", age);
+        try (final Traversal<?, Object> traversal = (Traversal<?, Object>) scriptEngine.eval(script, bindings)) {
+            return traversal.toList();
+        }
+    }
+}
@@ -46,6 +46,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -66,7 +67,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
     public List<Pair<Bindings, List<Object>>> bindingsAndResults;
 
     @Parameterized.Parameter(value = 2)
-    public TinkerGraph graph;
+    public Supplier<TinkerGraph> graphMaker;
 
     private GremlinLangScriptEngine scriptEngine;
     private GraphTraversalSource g;
@@ -91,6 +92,11 @@ public class TinkerGraphGremlinLangScriptEngineTest {
      */
     private final GremlinLangCustomizer gremlinLangCustomizer = new GremlinLangCustomizer(true, Caffeine.newBuilder());
 
+    /**
+     * Enable caching of plans
+     */
+    private final GremlinLangCustomizer planCacheCustomizer = new GremlinLangCustomizer(false, true, Caffeine.newBuilder());
+
     @Parameterized.Parameters(name = "{0}")
     public static Iterable<Object[]> generateTestParameters() {
         final TinkerGraph tinkerSearchModern = TinkerFactory.createModern();
@@ -104,7 +110,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("x", 2L), Arrays.asList(2L)),
                         Pair.of(createBindings("x", 4L), Arrays.asList(4L))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V().has('name', x).values('age')",
@@ -112,7 +118,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("x", "vadas"), Arrays.asList(27)),
                         Pair.of(createBindings("x", "marko"), Arrays.asList(29))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V().has('name', x).out(y).values('name').order().by(asc)",
@@ -120,7 +126,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("x", "josh", "y", "created"), Arrays.asList("lop" ,"ripple")),
                         Pair.of(createBindings("x", "marko", "y", "knows"), Arrays.asList("josh", "vadas"))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V().has('name', x).in(y).values('name').order().by(asc)",
@@ -128,7 +134,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("x", "lop", "y", "created"), Arrays.asList("josh" ,"marko", "peter")),
                         Pair.of(createBindings("x", "vadas", "y", "knows"), Arrays.asList("marko"))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V().has('name', x).both(y,z).values('name').order().by(asc)",
@@ -136,7 +142,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("x", "marko", "y", "created", "z", "knows"), Arrays.asList("josh" ,"lop", "vadas")),
                         Pair.of(createBindings("x", "vadas", "y", "knows", "z", "created"), Arrays.asList("marko"))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V().has('age', gt(x)).values('name')",
@@ -144,7 +150,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("x", 31), Arrays.asList("josh" ,"peter")),
                         Pair.of(createBindings("x", 34), Arrays.asList("peter"))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V().has('age', gt(x).and(lt(y))).values('name')",
@@ -152,7 +158,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("x", 26, "y", 30), Arrays.asList("marko" ,"vadas")),
                         Pair.of(createBindings("x", 26, "y", 29), Arrays.asList("vadas"))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V().has('name', x).union(both(y), both(z)).values('name').order().by(asc)",
@@ -160,7 +166,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("x", "marko", "y", "created", "z", "knows"), Arrays.asList("josh" ,"lop", "vadas")),
                         Pair.of(createBindings("x", "vadas", "y", "knows", "z", "created"), Arrays.asList("marko"))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.addV(x).label()",
@@ -168,7 +174,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("x", "software"), Arrays.asList("software")),
                         Pair.of(createBindings("x", "person"), Arrays.asList("person"))
                     ),
-                    TinkerGraph.open()
+                    (Supplier<TinkerGraph>) TinkerGraph::open
                 },
                 {
                     "g.addV().property(T.id, x).id()",
@@ -176,7 +182,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("x", "abc"), Arrays.asList("abc")),
                         Pair.of(createBindings("x", "xyz"), Arrays.asList("xyz"))
                     ),
-                    TinkerGraph.open(),
+                    (Supplier<TinkerGraph>) TinkerGraph::open
                 },
                 {
                     "g.V(vid).out().limit(xx1)",
@@ -185,7 +191,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("vid", 4, "xx1", 1), Arrays.asList(V_RIPPLE)),
                         Pair.of(createBindings("vid", 6, "xx1", 3), Arrays.asList(V_LOP))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(1).out(\"knows\").outE(\"created\").range(xx1, xx2).inV()",
@@ -194,7 +200,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", 1, "xx2", 2), Arrays.asList(V_LOP)),
                         Pair.of(createBindings("xx1", 2, "xx2", 4), Collections.EMPTY_LIST)
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(1).out(\"knows\").out(\"created\").range(xx1, xx2)",
@@ -203,7 +209,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", 0, "xx2", 2), Arrays.asList(V_RIPPLE, V_LOP)),
                         Pair.of(createBindings("xx1", 1, "xx2", 2), Arrays.asList(V_LOP))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(vid).out(\"created\").in(\"created\").range(xx1, xx2)",
@@ -212,7 +218,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("vid", 4, "xx1", 0, "xx2", 2), Arrays.asList(V_JOSH, V_MARKO)),
                         Pair.of(createBindings("vid", 1, "xx1", 0, "xx2", 3), Arrays.asList(V_MARKO, V_JOSH, V_PETER))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(vid).out(\"created\").inE(\"created\").range(xx1, xx2).outV()",
@@ -221,7 +227,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("vid", 4, "xx1", 0, "xx2", 2), Arrays.asList(V_JOSH, V_MARKO)),
                         Pair.of(createBindings("vid", 1, "xx1", 0, "xx2", 3), Arrays.asList(V_MARKO, V_JOSH, V_PETER))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V().as(\"a\").in().as(\"b\").in().as(\"c\").select(\"a\",\"b\",\"c\").by(\"name\").limit(Scope.local, xx1)",
@@ -239,7 +245,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                             Collections.EMPTY_MAP
                         ))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V().as(\"a\").out().as(\"b\").out().as(\"c\").select(\"a\",\"b\",\"c\").by(\"name\").range(Scope.local, xx1, xx2)",
@@ -257,7 +263,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                             Collections.EMPTY_MAP
                         ))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V().hasLabel(\"person\").order().by(\"age\").skip(xx1).values(\"name\")",
@@ -266,7 +272,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", 0), Arrays.asList("vadas", "marko", "josh", "peter")),
                         Pair.of(createBindings("xx1", 3), Arrays.asList("peter"))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V().outE().values(\"weight\").fold().order(Scope.local).skip(Scope.local, xx1)",
@@ -275,7 +281,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", 0), Arrays.asList(Arrays.asList(0.2, 0.4, 0.4, 0.5, 1.0, 1.0))),
                         Pair.of(createBindings("xx1", 4), Arrays.asList(Arrays.asList(1.0, 1.0)))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.addE(\"knows\").from(V(vid1)).to(V(vid2)).project(\"from\", \"to\").by(outV()).by(inV())",
@@ -290,7 +296,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                                 Map.of("from", V_PETER, "to", V_JOSH)
                         ))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.addE(xx1).from(V(vid1)).to(V(vid2)).property(\"weight\", xx2).project(\"label\", \"from\", \"to\", \"weight\").by(label).by(outV()).by(inV()).by(\"weight\")",
@@ -305,7 +311,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                                 Map.of("label", "knows", "from", V_PETER, "to", V_JOSH, "weight", 0.3d)
                         ))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(v1).addE(\"knows\").to(V(vid2)).project(\"from\", \"to\").by(outV()).by(inV())",
@@ -320,7 +326,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                                     Map.of("from", V_PETER, "to", V_JOSH)
                             ))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.E(eid)",
@@ -335,7 +341,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                             TinkerFactory.createModern().traversal().E(8).next()
                         ))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.E(e7,e11)",
@@ -362,7 +368,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                             TinkerFactory.createModern().traversal().E(12).next()
                         ))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(vid)",
@@ -371,7 +377,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("vid", 4), Arrays.asList(V_JOSH)),
                         Pair.of(createBindings("vid", 6), Arrays.asList(V_PETER))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(vid).bothE().has(\"weight\", P.lt(1.0)).otherV()",
@@ -380,7 +386,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("vid", 1), Arrays.asList(V_LOP, V_VADAS)),
                         Pair.of(createBindings("vid", 6), Arrays.asList(V_LOP))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(xx1).values(\"name\")",
@@ -395,7 +401,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                             "marko", "josh", "peter"
                         ))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(xx1).values(\"name\")",
@@ -410,7 +416,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                             "marko", "josh", "peter"
                         ))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(1).out(xx1,xx2)",
@@ -425,7 +431,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                                 V_LOP
                         ))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(vid1, vid2, vid3, vid4)",
@@ -440,7 +446,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                             V_LOP, V_JOSH, V_RIPPLE, V_PETER
                         ))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.inject(1,2).addV(xx1).property(\"age\", xx2).project(\"label\", \"age\").by(label).by(\"age\")",
@@ -458,7 +464,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                             Map.of("label", "software", "age", 10)
                         ))
                     ),
-                    TinkerGraph.open()
+                    (Supplier<TinkerGraph>) TinkerGraph::open
                 },
                 {
                     "g.addV(xx1).property(\"name\", xx2).project(\"label\", \"name\").by(label).by(\"name\")",
@@ -473,7 +479,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                             Map.of("label", "animal", "name", "puppy")
                         ))
                     ),
-                    TinkerGraph.open()
+                    (Supplier<TinkerGraph>) TinkerGraph::open
                 },
                 {
                     "g.addV().property(T.label, xx1).label()",
@@ -482,7 +488,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", "software"), Arrays.asList("software")),
                         Pair.of(createBindings("xx1", "animal"), Arrays.asList("animal"))
                     ),
-                    TinkerGraph.open()
+                    (Supplier<TinkerGraph>) TinkerGraph::open
                 },
                 {
                     "g.addV().property(T.id, xx1)",
@@ -491,7 +497,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", "vertex-1"), Arrays.asList(new ReferenceVertex("vertex-1"))),
                         Pair.of(createBindings("xx1", "custom-id"), Arrays.asList(new ReferenceVertex("custom-id")))
                     ),
-                    TinkerGraph.open()
+                    (Supplier<TinkerGraph>) TinkerGraph::open
                 },
                 {
                     "g.addE(xx1).property(\"weight\", 1).from(V().has(\"name\",\"marko\")).to(V().has(\"name\",\"vadas\")).label()",
@@ -500,7 +506,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", "created"), Arrays.asList("created")),
                         Pair.of(createBindings("xx1", "likes"), Arrays.asList("likes"))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V().values(\"name\").order().tail(xx1)",
@@ -509,7 +515,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", 1), Arrays.asList("vadas")),
                         Pair.of(createBindings("xx1", 3), Arrays.asList("peter", "ripple", "vadas"))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V().as(\"a\").out().as(\"b\").out().as(\"c\").select(\"a\",\"b\",\"c\").by(\"name\").tail(Scope.local, xx1)",
@@ -527,7 +533,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                             Map.of("a", "marko", "b", "josh", "c", "lop")
                         ))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(vid1).values(\"age\").tail(Scope.local, 50)",
@@ -536,7 +542,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("vid1", 2), Arrays.asList(27)),
                         Pair.of(createBindings("vid1", 4), Arrays.asList(32))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.mergeV(xx1).values(\"name\")",
@@ -545,7 +551,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", Map.of("name", "marko")), Arrays.asList("marko")),
                         Pair.of(createBindings("xx1", Map.of("name", "alice")), Arrays.asList("alice"))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.mergeV(xx1).option(Merge.onCreate, xx2).valueMap()",
@@ -560,7 +566,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                                 Map.of("name", List.of("marko"), "age", List.of(29))
                         ))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.mergeV(xx1).option(Merge.onMatch, xx2).valueMap()",
@@ -578,7 +584,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                                 Map.of("name", List.of("alice"))
                         ))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.mergeE(xx1).option(Merge.onCreate, xx2).values(\"created\")",
@@ -590,7 +596,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", Map.of("weight", 0.5),
                                               "xx2", Map.of(Direction.from, V_MARKO, Direction.to, V_JOSH, "created", "Y")), Arrays.asList())
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.mergeE(xx1).option(Merge.onMatch, xx2).values(\"updated\")",
@@ -599,7 +605,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", Map.of("weight", 0.2), "xx2", Map.of("updated", "Y")), Arrays.asList("Y")),
                         Pair.of(createBindings("xx1", Map.of("weight", 1.0), "xx2", Map.of("updated", "Y")), Arrays.asList("Y", "Y"))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(1).mergeE(xx1).option(Merge.onCreate, xx2).values(\"created\")",
@@ -611,7 +617,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", Map.of("weight", 0.5),
                                               "xx2", Map.of(Direction.from, V_MARKO, Direction.to, V_JOSH, "created", "Y")), Arrays.asList())
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(1).mergeE(xx1).option(Merge.onMatch, xx2).values(\"updated\")",
@@ -620,7 +626,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", Map.of("weight", 0.2), "xx2", Map.of("updated", "Y")), Arrays.asList("Y")),
                         Pair.of(createBindings("xx1", Map.of("weight", 1.0), "xx2", Map.of("updated", "Y")), Arrays.asList("Y", "Y"))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.call(\"tinker.search\", xx2).element()",
@@ -629,7 +635,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx2", Map.of("search", "vada")), Arrays.asList(V_VADAS)),
                         Pair.of(createBindings("xx2", Map.of("search", "josh")), Arrays.asList(V_JOSH))
                     ),
-                    tinkerSearchModern
+                    (Supplier<TinkerGraph>) () -> tinkerSearchModern
                 },
                 {
                     "g.V(xx1).out()",
@@ -638,7 +644,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", 4), Arrays.asList(V_RIPPLE, V_LOP)),
                         Pair.of(createBindings("xx1", 6), Arrays.asList(V_LOP))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(xx1).out(xx2)",
@@ -647,7 +653,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", 1, "xx2", "created"), Arrays.asList(V_LOP)),
                         Pair.of(createBindings("xx1", 4, "xx2", "created"), Arrays.asList(V_RIPPLE, V_LOP))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(xx1).out(xx2, xx3)",
@@ -656,7 +662,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", 4, "xx2", "created", "xx3", "knows"), Arrays.asList(V_RIPPLE, V_LOP)),
                         Pair.of(createBindings("xx1", 1, "xx2", "created", "xx3", "created"), Arrays.asList(V_LOP, V_LOP))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
                 {
                     "g.V(xx1).bothE(xx2).count()",
@@ -665,7 +671,7 @@ public class TinkerGraphGremlinLangScriptEngineTest {
                         Pair.of(createBindings("xx1", 4, "xx2", "created"), Arrays.asList(2L)),
                         Pair.of(createBindings("xx1", 3, "xx2", "created"), Arrays.asList(3L))
                     ),
-                    TinkerFactory.createModern()
+                    (Supplier<TinkerGraph>) TinkerFactory::createModern
                 },
         });
     }
@@ -687,11 +693,21 @@ public class TinkerGraphGremlinLangScriptEngineTest {
         // traversal. this is a bit of a limitation of the cache features right now. prior to this change it was
         // working because the TinkerGraphStepStrategy was only doing a replace on GraphStep instances and not on the
         // new GraphStepContract which would have also included the placeholder. if providers want the
-        g = traversal().with(graph); // .withoutStrategies(TinkerGraphStepStrategy.class, TinkerGraphCountStrategy.class);
+        g = traversal().with(graphMaker.get()); // .withoutStrategies(TinkerGraphStepStrategy.class, TinkerGraphCountStrategy.class);
     }
 
     @Test
     public void shouldUseCacheForRepeatedScriptsWithVars() throws ScriptException {
+        assertRepeatedScriptsWithVars();
+    }
+
+    @Test
+    public void shouldUsePlanCacheForRepeatedScriptsWithVars() throws ScriptException {
+        scriptEngine = new GremlinLangScriptEngine(variableResolverCustomizer, planCacheCustomizer);
+        assertRepeatedScriptsWithVars();
+    }
+
+    private void assertRepeatedScriptsWithVars() throws ScriptException {
         // store all traversal results to verify they are different instances
         final List<Object> results = Arrays.asList(new Object[bindingsAndResults.size()]);
 
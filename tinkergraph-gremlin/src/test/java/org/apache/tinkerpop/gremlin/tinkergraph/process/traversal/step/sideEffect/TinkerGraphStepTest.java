@@ -20,16 +20,19 @@ package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffe
 
 import org.apache.tinkerpop.gremlin.process.traversal.GValueManager;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.step.GValue;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphStepStrategy;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
@@ -37,6 +40,7 @@ import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
 public class TinkerGraphStepTest {
@@ -63,6 +67,23 @@ public class TinkerGraphStepTest {
         assertEquals(1, count);
     }
 
+    @Test
+    public void shouldIterateElementsOfCloneRatherThanOriginal() {
+        g.addV("person").property("age", 29).next();
+        g.addV("person").property("age", 35).next();
+        final Traversal.Admin<?, Object> traversal = g.V().has("age", P.gt(20)).values("age").asAdmin();
+        traversal.applyStrategies();
+
+        // the clone has a container of its own which only the supplier of the clone knows of
+        final Traversal.Admin<?, Object> clone = traversal.clone();
+        assertNotSame(((TinkerGraphStep<?, ?>) traversal.getStartStep()).getHasContainers().get(0).getPredicate(),
+                ((TinkerGraphStep<?, ?>) clone.getStartStep()).getHasContainers().get(0).getPredicate());
+        ((TinkerGraphStep<?, ?>) clone.getStartStep()).addHasContainer(new HasContainer("age", P.gt(30)));
+
+        assertEquals(Arrays.asList(35), clone.toList());
+        assertEquals(Arrays.asList(29, 35), traversal.toList());
+    }
+
     @Test
     public void getPredicatesShouldPinVariable() {
         GraphTraversal.Admin<?, ?> traversal = getTinkerGraphStepGValueTraversal();
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerTransactionGraph;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+public class BatchStrategyTest {
+
+    @Parameterized.Parameter(value = 0)
+    public String name;
+
+    @Parameterized.Parameter(value = 1)
+    public Graph graph;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> generateTestParameters() {
+        final BaseConfiguration compact = new BaseConfiguration();
+        compact.setProperty(AbstractTinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, true);
+        final TinkerTransactionGraph transactionGraph = TinkerTransactionGraph.open();
+        populate(transactionGraph);
+        transactionGraph.tx().commit();
+        return Arrays.asList(new Object[][]{
+                {"tinkergraph", populate(TinkerGraph.open())},
+                {"compactAdjacency", populate(TinkerGraph.open(compact))},
+                {"transactions", transactionGraph}});
+    }
+
+    /**
+     * Lazy barriers bulk the traversers of each batch rather than of a window of traversers so only the elements of
+     * the results are compared and not their order.
+     */
+    private static List<String> sorted(final List<?> results) {
+        return results.stream().map(Object::toString).sorted().collect(Collectors.toList());
+    }
+
+    private static Graph populate(final Graph graph) {
+        final Random random = new Random(123456789L);
+        final Vertex[] vertices = new Vertex[500];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = graph.addVertex(T.label, i % 2 == 0 ? "person" : "software", "name", "name" + i, "age", random.nextInt(80));
+        }
+        for (int i = 0; i < vertices.length * 4; i++) {
+            vertices[random.nextInt(vertices.length)].addEdge(random.nextBoolean() ? "knows" : "created",
+                    vertices[random.nextInt(vertices.length)], "weight", random.nextInt(10));
+        }
+        return graph;
+    }
+
+    @Test
+    public void shouldProduceSameResultsAsUnbatchedExecution() {
+        final List<Function<GraphTraversalSource, Traversal<?, ?>>> traversals = Arrays.asList(
+                s -> s.V().out().out().values("name"),
+                s -> s.V().out("knows").in("created").id(),
+                s -> s.V().both().both("knows", "created").label(),
+                s -> s.V().outE("knows").has("weight", P.gt(4)).inV().values("age"),
+                s -> s.V().bothE().otherV().has("age", P.lt(20)).values("name"),
+                s -> s.V().out().as("a").out().has(T.label, "person").as("b").select("a", "b").by("name"),
+                s -> s.V().out().out().path().by("name"),
+                s -> s.V().has("age", 42).out().out().properties("name").value(),
+                s -> s.V().local(out().out().has("age", P.gt(40)).count()),
+                s -> s.V().out().out().count());
+
+        final GraphTraversalSource g = this.graph.traversal();
+        for (final int batchSize : new int[]{2, 64, 256}) {
+            final GraphTraversalSource batched = g.withStrategies(BatchStrategy.build().batchSize(batchSize).create());
+            for (final Function<GraphTraversalSource, Traversal<?, ?>> traversal : traversals) {
+                final Traversal.Admin<?, ?> batchedTraversal = traversal.apply(batched).asAdmin();
+                batchedTraversal.applyStrategies();
+                assertTrue(batchedTraversal.toString(), !TraversalHelper.getStepsOfAssignableClassRecursively(BatchStep.class, batchedTraversal).isEmpty());
+                assertEquals(batchedTraversal.toString(), sorted(traversal.apply(g).toList()), sorted(batchedTraversal.toList()));
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerTransactionGraph;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.count;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.values;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelStrategyTest {
+
+    private static GraphTraversalSource g;
+    private static GraphTraversalSource parallel;
+
+    @BeforeClass
+    public static void setup() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(123456789L);
+        final Vertex[] vertices = new Vertex[5000];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = graph.addVertex(T.label, "person", "name", "name" + (i % 100), "age", random.nextInt(80));
+        }
+        for (int i = 0; i < vertices.length * 4; i++) {
+            vertices[random.nextInt(vertices.length)].addEdge("knows", vertices[random.nextInt(vertices.length)], "weight", random.nextDouble());
+        }
+        g = graph.traversal();
+        parallel = g.withStrategies(ParallelStrategy.build().parallelism(4).create());
+    }
+
+    @Test
+    public void shouldProduceSameResultsAsSequentialExecution() {
+        final List<Function<GraphTraversalSource, Traversal<?, ?>>> traversals = Arrays.asList(
+                s -> s.V().out().out().count(),
+                s -> s.E().has("weight", 0.5).count(),
+                s -> s.V().out().groupCount().by("name"),
+                s -> s.V().group().by("age").by(out().count()),
+                s -> s.V().group().by("name").by(values("age").sum()),
+                s -> s.V().values("age").sum(),
+                s -> s.V().out().values("age").mean(),
+                s -> s.V().values("age").max(),
+                s -> s.V().out().values("name").dedup().order(),
+                s -> s.V().out().dedup().by("age").count(),
+                s -> s.V().where(out().count().is(4)).values("name").fold().order(Scope.local),
+                s -> s.V().has("age", 200).count());
+
+        for (final Function<GraphTraversalSource, Traversal<?, ?>> traversal : traversals) {
+            final Traversal.Admin<?, ?> parallelTraversal = traversal.apply(parallel).asAdmin();
+            parallelTraversal.applyStrategies();
+            assertEquals(parallelTraversal.toString(), 1, TraversalHelper.getStepsOfAssignableClass(ParallelStep.class, parallelTraversal).size());
+            assertEquals(parallelTraversal.toString(), traversal.apply(g).toList(), parallelTraversal.toList());
+        }
+    }
+
+    @Test
+    public void shouldResetAndClone() {
+        final Traversal.Admin<?, Long> traversal = parallel.V().out().count().asAdmin();
+        final Traversal.Admin<?, Long> clone = traversal.clone();
+        final long expected = g.V().out().count().next();
+        assertEquals(expected, (long) traversal.next());
+        assertEquals(expected, (long) clone.next());
+        traversal.reset();
+        assertEquals(expected, (long) traversal.next());
+    }
+
+    @Test
+    public void shouldPropagateFailures() {
+        try {
+            parallel.V().map(t -> {
+                if (t.get().value("age").equals(42)) throw new IllegalStateException("boom");
+                return t.get();
+            }).count().next();
+            fail("The failure of a split should have been thrown");
+        } catch (final IllegalStateException ex) {
+            assertEquals("boom", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldPropagateFailuresWithCauseOfSameType() {
+        try {
+            parallel.V().map(t -> {
+                if (t.get().value("age").equals(42))
+                    throw new IllegalStateException("outer", new IllegalStateException("inner"));
+                return t.get();
+            }).count().next();
+            fail("The failure of a split should have been thrown");
+        } catch (final IllegalStateException ex) {
+            assertEquals("outer", ex.getMessage());
+            assertEquals("inner", ex.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void shouldNotApplyToTransactionalGraph() {
+        final Traversal.Admin<?, ?> traversal = TinkerTransactionGraph.open().traversal().
+                withStrategies(ParallelStrategy.build().parallelism(4).create()).V().count().asAdmin();
+        traversal.applyStrategies();
+        assertTrue(TraversalHelper.getStepsOfAssignableClass(ParallelStep.class, traversal).isEmpty());
+    }
+}
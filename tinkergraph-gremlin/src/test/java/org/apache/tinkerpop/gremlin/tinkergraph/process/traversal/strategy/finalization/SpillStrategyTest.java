@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.SpillStrategy;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.select;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SpillStrategyTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final TinkerGraph graph = TinkerFactory.createModern();
+    private final GraphTraversalSource g = graph.traversal();
+
+    private GraphTraversalSource spilling() {
+        return g.withStrategies(SpillStrategy.build().memoryBudget(2).directory(folder.getRoot().getAbsolutePath()).create());
+    }
+
+    private static List<String> sorted(final List<?> results) {
+        return results.stream().map(Object::toString).sorted().collect(Collectors.toList());
+    }
+
+    @Test
+    public void shouldAttachSpilledVerticesToTheGraph() {
+        final List<Vertex> vertices = spilling().V().order().by("name", Order.desc).toList();
+        assertEquals(g.V().order().by("name", Order.desc).toList(), vertices);
+        vertices.forEach(v -> assertThat(v, instanceOf(TinkerVertex.class)));
+    }
+
+    @Test
+    public void shouldKeepPropertiesOfSpilledNestedElements() {
+        final List<Map<String, Object>> ordered = spilling().V().project("v", "name").by().by("name").
+                order().by(select("name")).toList();
+        assertEquals(6, ordered.size());
+        ordered.forEach(m -> assertEquals(m.get("name"), ((Vertex) m.get("v")).value("name")));
+
+        final List<Map<String, Object>> deduped = spilling().V().both().project("v", "name").by().by("name").
+                dedup().toList();
+        assertEquals(6, deduped.size());
+        deduped.forEach(m -> assertEquals(m.get("name"), ((Vertex) m.get("v")).value("name")));
+    }
+
+    @Test
+    public void shouldTraverseFromSpilledVertices() {
+        assertEquals(g.V().hasLabel("person").order().by("age").out().values("name").toList(),
+                spilling().V().hasLabel("person").order().by("age").out().values("name").toList());
+
+        // the traversers that dedup() spills are returned in the order of their partitions
+        assertEquals(sorted(g.V().out().dedup().out().values("name").toList()),
+                sorted(spilling().V().out().dedup().out().values("name").toList()));
+        assertEquals(sorted(g.V().both().dedup().by("age").values("name").toList()),
+                sorted(spilling().V().both().dedup().by("age").values("name").toList()));
+    }
+
+    @Test
+    public void shouldDeleteSpillFiles() throws Exception {
+        spilling().V().both().both().order().by("name").dedup().toList();
+        assertEquals(0, folder.getRoot().listFiles().length);
+
+        // files of a traversal that is not iterated to the end are deleted when it is closed
+        final Traversal<Vertex, Vertex> traversal = spilling().V().both().both().order().by("name");
+        traversal.next();
+        assertTrue(folder.getRoot().listFiles().length > 0);
+        traversal.close();
+        assertEquals(0, folder.getRoot().listFiles().length);
+    }
+}
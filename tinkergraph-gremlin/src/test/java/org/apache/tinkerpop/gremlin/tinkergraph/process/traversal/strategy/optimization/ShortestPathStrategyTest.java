@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ShortestPath;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ShortestPathStep;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ShortestPathStrategyTest {
+
+    private static List<String> sorted(final List<Path> paths) {
+        return paths.stream().map(Object::toString).sorted().collect(Collectors.toList());
+    }
+
+    private static void assertSameAsComputer(final GraphTraversalSource g,
+                                             final Function<GraphTraversalSource, GraphTraversal<?, Path>> traversal) {
+        final GraphTraversal<?, Path> oltp = traversal.apply(g);
+        final List<Path> paths = oltp.toList();
+        assertTrue(oltp.asAdmin().getSteps().stream().anyMatch(s -> s instanceof ShortestPathStep));
+        assertEquals(sorted(traversal.apply(g.withComputer()).toList()), sorted(paths));
+    }
+
+    @Test
+    public void shouldFindSameShortestPathsAsComputerOnModernGraph() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        assertSameAsComputer(g, s -> s.V().shortestPath());
+        assertSameAsComputer(g, s -> s.V().both().dedup().shortestPath());
+        assertSameAsComputer(g, s -> s.V().shortestPath().with(ShortestPath.includeEdges));
+        assertSameAsComputer(g, s -> s.V().shortestPath().with(ShortestPath.edges, Direction.IN));
+        assertSameAsComputer(g, s -> s.V().shortestPath().with(ShortestPath.edges, __.outE()));
+        assertSameAsComputer(g, s -> s.V().shortestPath().with(ShortestPath.includeEdges).with(ShortestPath.edges, __.outE()));
+        assertSameAsComputer(g, s -> s.V().has("name", "marko").shortestPath());
+        assertSameAsComputer(g, s -> s.V().shortestPath().with(ShortestPath.target, __.has("name", "marko")));
+        assertSameAsComputer(g, s -> s.V().shortestPath().with(ShortestPath.target, __.values("name").is("marko")));
+        assertSameAsComputer(g, s -> s.V().has("name", "marko").shortestPath().with(ShortestPath.target, __.hasLabel("software")));
+        assertSameAsComputer(g, s -> s.V().has("name", "marko").shortestPath().
+                with(ShortestPath.target, __.has("name", "josh")).with(ShortestPath.distance, "weight"));
+        assertSameAsComputer(g, s -> s.V().has("name", "marko").shortestPath().with(ShortestPath.maxDistance, 1));
+        assertSameAsComputer(g, s -> s.V().has("name", "vadas").shortestPath().
+                with(ShortestPath.distance, "weight").with(ShortestPath.maxDistance, 1.3));
+    }
+
+    @Test
+    public void shouldFindSameShortestPathsAsComputerToTargetIds() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        assertSameAsComputer(g, s -> s.V().shortestPath().with(ShortestPath.target, __.hasId(6)));
+        assertSameAsComputer(g, s -> s.V().shortestPath().with(ShortestPath.target, __.hasId(2, 5)));
+        assertSameAsComputer(g, s -> s.V().shortestPath().with(ShortestPath.target, __.hasId(6)).with(ShortestPath.includeEdges));
+        assertSameAsComputer(g, s -> s.V().shortestPath().with(ShortestPath.target, __.hasId(3).hasLabel("software")));
+        assertSameAsComputer(g, s -> s.V().shortestPath().with(ShortestPath.target, __.hasId(3)).with(ShortestPath.edges, __.outE("created")));
+        assertSameAsComputer(g, s -> s.V().shortestPath().with(ShortestPath.target, __.hasId(5)).with(ShortestPath.maxDistance, 2));
+    }
+
+    @Test
+    public void shouldFindSameShortestPathsAsComputerOnCrewAndGratefulGraphs() {
+        assertSameAsComputer(TinkerFactory.createTheCrew().traversal(), s -> s.V().has("name", "daniel").shortestPath().
+                with(ShortestPath.target, __.has("name", "stephen")).with(ShortestPath.edges, __.bothE("uses")));
+        assertSameAsComputer(TinkerFactory.createGratefulDead().traversal(), s -> s.V().has("song", "name", "MIGHT AS WELL").shortestPath().
+                with(ShortestPath.target, __.has("song", "name", "MAYBE YOU KNOW HOW I FEEL")).
+                with(ShortestPath.edges, __.outE("followedBy")).
+                with(ShortestPath.distance, "weight"));
+    }
+
+    @Test
+    public void shouldFindSameShortestPathsAsComputerOnRandomGraph() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(123456789L);
+        final Vertex[] vertices = new Vertex[200];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = graph.addVertex();
+        }
+        for (final Vertex vertex : vertices) {
+            for (int i = 0; i < 2; i++) {
+                vertex.addEdge(random.nextBoolean() ? "a" : "b", vertices[random.nextInt(vertices.length)],
+                        "weight", random.nextInt(5));
+            }
+        }
+
+        final GraphTraversalSource g = graph.traversal();
+        final Object source = vertices[0].id();
+        final Object target = vertices[vertices.length - 1].id();
+        assertSameAsComputer(g, s -> s.V(source).shortestPath().with(ShortestPath.target, __.hasId(target)));
+        assertSameAsComputer(g, s -> s.V(source).shortestPath().with(ShortestPath.target, __.hasId(target)).
+                with(ShortestPath.edges, __.bothE("a")).with(ShortestPath.includeEdges));
+        assertSameAsComputer(g, s -> s.V(source).shortestPath().with(ShortestPath.target, __.hasId(target)).
+                with(ShortestPath.edges, __.outE()));
+        assertSameAsComputer(g, s -> s.V(source).shortestPath().with(ShortestPath.target, __.hasId(target)).
+                with(ShortestPath.distance, "weight"));
+        assertSameAsComputer(g, s -> s.V(source).shortestPath().with(ShortestPath.maxDistance, 4));
+    }
+
+    @Test
+    public void shouldNotReplaceShortestPathWithComputer() {
+        final GraphTraversal<Vertex, Path> traversal = TinkerFactory.createModern().traversal().withComputer().V().shortestPath();
+        traversal.asAdmin().applyStrategies();
+        assertFalse(traversal.asAdmin().getSteps().stream().anyMatch(s -> s instanceof ShortestPathStep));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotAllowNegativeDistances() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        g.V(1).shortestPath().with(ShortestPath.distance, __.values("weight").math("-_")).toList();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class TinkerGraphFilterRankingStrategyTest {
+
+    private GraphTraversalSource g;
+
+    @Before
+    public void setup() {
+        final TinkerGraph graph = TinkerGraph.open();
+        g = graph.traversal();
+        // most vertices belong to one tenant and only a few are invoices
+        for (int i = 0; i < 100; i++) {
+            final Vertex v = graph.addVertex("tenant", i < 90 ? "big" : "small", "type", i % 20 == 0 ? "invoice" : "order", "age", i);
+            v.addEdge("next", v);
+        }
+    }
+
+    @Test
+    public void shouldRankGraphStepContainersBySelectivity() {
+        final Traversal.Admin<?, ?> traversal = g.V().has("tenant", "big").has("age", P.gt(10)).has("type", "invoice").asAdmin();
+        traversal.applyStrategies();
+        assertEquals(Arrays.asList("type", "age", "tenant"),
+                keys(TraversalHelper.getFirstStepOfAssignableClass(TinkerGraphStep.class, traversal).get().getHasContainers()));
+        assertEquals(4, traversal.toList().size());
+    }
+
+    @Test
+    public void shouldRankHasStepContainersBySelectivity() {
+        final Traversal.Admin<?, ?> traversal = g.V().out("next").has("tenant", "big").has("type", "invoice").asAdmin();
+        traversal.applyStrategies();
+        assertEquals(Arrays.asList("type", "tenant"),
+                keys(TraversalHelper.getFirstStepOfAssignableClass(HasStep.class, traversal).get().getHasContainers()));
+        assertEquals(5, traversal.toList().size());
+    }
+
+    @Test
+    public void shouldKeepLabelsOfRankedHasStep() {
+        final List<Object> ages = g.V().out("next").has("tenant", "big").has("type", "invoice").as("a").
+                select("a").values("age").order().toList();
+        assertEquals(Arrays.asList(0, 20, 40, 60, 80), ages);
+    }
+
+    private static List<String> keys(final List<HasContainer> hasContainers) {
+        return hasContainers.stream().map(HasContainer::getKey).collect(Collectors.toList());
+    }
+}
@@ -20,14 +20,17 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.io.FileUtils;
 import org.apache.tinkerpop.gremlin.GraphHelper;
 import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.process.computer.Computer;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IdentityRemovalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReservedKeysVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
@@ -69,6 +72,9 @@ import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -77,15 +83,21 @@ import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -320,6 +332,585 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldUseOrderedVertexIndexForRangeLookups() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerIndexType.ORDERED);
+
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "vadas", "age", 27);
+        g.addVertex("name", "josh", "age", 32);
+        g.addVertex("name", "peter", "age", 35);
+        g.addVertex("name", "lop", "lang", "java");
+
+        // spy into the pipeline as in the tests above - only vertices in the age range should make it to the
+        // name filter if the ordered index is used
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("josh") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.gt(30)).count().next());
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("josh"));
+            return true;
+        }, "x")).has("age", P.between(28, 35)).count().next());
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("vadas") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.within(27, 35, 40)).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("vadas", t);
+            return true;
+        }, "x")).has("age", P.lte(27)).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("age", 32L).count().next());
+        assertEquals(new Long(0), g.traversal().V().has("age", P.inside(29, 32)).count().next());
+    }
+
+    @Test
+    public void shouldUseOrderedEdgeIndexForPrefixLookups() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("oid", Edge.class, TinkerIndexType.ORDERED);
+
+        final Vertex v = g.addVertex();
+        v.addEdge("friend", v, "oid", "a1", "weight", 0.5f);
+        v.addEdge("friend", v, "oid", "a2", "weight", 0.5f);
+        v.addEdge("friend", v, "oid", "b1", "weight", 0.6f);
+        v.addEdge("friend", v, "oid", 1, "weight", 0.7f);
+
+        assertEquals(new Long(2), g.traversal().E().has("weight", P.test((t, u) -> {
+            assertEquals(0.5f, t);
+            return true;
+        }, 0.5)).has("oid", TextP.startingWith("a")).count().next());
+    }
+
+    @Test
+    public void shouldUpdateOrderedIndexOnPropertyChange() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerIndexType.ORDERED);
+
+        final Vertex v = g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "stephen", "age", 35);
+        assertEquals(new Long(1), g.traversal().V().has("age", P.gt(30)).count().next());
+
+        v.property("age", 31);
+        assertEquals(new Long(2), g.traversal().V().has("age", P.gt(30)).count().next());
+
+        v.property("age").remove();
+        assertEquals(new Long(1), g.traversal().V().has("age", P.gt(30)).count().next());
+
+        g.createIndex("age", Vertex.class, TinkerIndexType.HASH);
+        assertEquals(TinkerIndexType.HASH, g.vertexIndex.getIndexType("age"));
+        assertEquals(new Long(1), g.traversal().V().has("age", P.gt(30)).count().next());
+    }
+
+    @Test
+    public void shouldUseCompositeVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Arrays.asList("country", "city"), Vertex.class);
+        assertEquals(1, g.getCompositeIndexedKeys(Vertex.class).size());
+
+        g.addVertex("name", "marko", "country", "us", "city", "santa fe");
+        g.addVertex("name", "josh", "country", "us", "city", "new york");
+        g.addVertex("name", "vadas", "country", "de", "city", "new york");
+        final Vertex v = g.addVertex("name", "peter", "country", "us", "city", "santa fe");
+        g.addVertex("name", "lop", "country", "us");
+
+        // only the vertices matching both keys should be pulled from the composite index
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("peter"));
+            return true;
+        }, "x")).has("country", "us").has("city", "santa fe").count().next());
+
+        v.property("city", "new york");
+        assertEquals(new Long(1), g.traversal().V().has("country", "us").has("city", "santa fe").count().next());
+        assertEquals(new Long(2), g.traversal().V().has("country", "us").has("city", "new york").count().next());
+
+        v.property("country").remove();
+        assertEquals(new Long(1), g.traversal().V().has("country", "us").has("city", "new york").count().next());
+
+        v.remove();
+        g.dropCompositeIndex(Arrays.asList("country", "city"), Vertex.class);
+        assertEquals(0, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(new Long(1), g.traversal().V().has("country", "us").has("city", "santa fe").count().next());
+    }
+
+    @Test
+    public void shouldChooseMostSelectiveIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("gender", Vertex.class);
+        g.createIndex("name", Vertex.class);
+
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("name", "name" + i, "gender", i % 2 == 0 ? "m" : "f", "age", i);
+        }
+
+        assertEquals(50.0, g.vertexIndex.estimateLookupSize("gender"), 0.0);
+        assertEquals(1.0, g.vertexIndex.estimateLookupSize("name"), 0.0);
+
+        // the name index is the more selective so only one vertex should be pulled from the index
+        assertEquals(new Long(1), g.traversal().V().has("age", P.test((t, u) -> {
+            assertEquals(10, t);
+            return true;
+        }, "x")).has("gender", "m").has("name", "name10").count().next());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithSingleKey() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Arrays.asList("name", "name"), Vertex.class);
+    }
+
+    @Test
+    public void shouldMaintainStatistics() {
+        final TinkerGraph g = TinkerGraph.open();
+        final TinkerGraphStatistics statistics = g.statistics();
+        final Vertex marko = g.addVertex(T.label, "person", "name", "marko", "age", 29);
+        final Vertex vadas = g.addVertex(T.label, "person", "name", "vadas", "age", 27);
+        final Vertex lop = g.addVertex(T.label, "software", "name", "lop");
+        marko.addEdge("knows", vadas, "weight", 0.5d);
+        final Edge created = marko.addEdge("created", lop, "weight", 0.4d);
+
+        assertEquals(3, statistics.vertexCount());
+        assertEquals(2, statistics.vertexCount("person"));
+        assertEquals(2, statistics.edgeCount());
+        assertEquals(1.0 / 3, statistics.averageDegree("knows"), 0.0);
+        assertEquals(3, statistics.propertyCount(Vertex.class, "name"));
+        assertEquals(1, statistics.estimateCount(Vertex.class, "name", "marko"));
+        assertEquals(0, statistics.estimateCount(Vertex.class, "name", "josh"));
+        assertEquals(2.0 / 3, statistics.estimateSelectivity(Vertex.class, new HasContainer(T.label.getAccessor(), P.eq("person"))), 0.0);
+
+        marko.property("name", "josh");
+        created.property("weight", 1.0d);
+        assertEquals(3, statistics.propertyCount(Vertex.class, "name"));
+        assertEquals(0, statistics.estimateCount(Vertex.class, "name", "marko"));
+        assertEquals(1, statistics.estimateCount(Vertex.class, "name", "josh"));
+        assertEquals(1, statistics.estimateCount(Edge.class, "weight", 1.0d));
+        assertEquals(0, statistics.estimateCount(Edge.class, "weight", 0.4d));
+
+        marko.remove();
+        assertEquals(2, statistics.vertexCount());
+        assertEquals(0, statistics.edgeCount());
+        assertEquals(0, statistics.edgeCount("knows"));
+        assertEquals(1, statistics.propertyCount(Vertex.class, "age"));
+        assertEquals(0, statistics.propertyCount(Edge.class, "weight"));
+
+        g.clear();
+        assertEquals(0, statistics.vertexCount());
+        assertEquals(0, statistics.propertyCount(Vertex.class, "name"));
+    }
+
+    @Test
+    public void shouldChooseIndexByEstimatedLookupSizeOfValue() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("tenant", Vertex.class);
+        g.createIndex("type", Vertex.class);
+
+        // one big tenant and many small ones, so on average the tenant index looks more selective than the type one
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("tenant", i < 90 ? "big" : "small" + i, "type", i == 0 ? "rare" : "common");
+        }
+        assertThat(g.vertexIndex.estimateLookupSize("tenant"), is(lessThan(g.vertexIndex.estimateLookupSize("type"))));
+
+        final List<HasContainer> rare = Arrays.asList(new HasContainer("tenant", P.eq("big")), new HasContainer("type", P.eq("rare")));
+        assertEquals(1, TinkerIndexHelper.queryVertexIndex(g, rare).size());
+        final List<HasContainer> small = Arrays.asList(new HasContainer("tenant", P.eq("small95")), new HasContainer("type", P.eq("common")));
+        assertEquals(1, TinkerIndexHelper.queryVertexIndex(g, small).size());
+        final List<HasContainer> within = Arrays.asList(new HasContainer("tenant", P.within("small91", "small92")), new HasContainer("type", P.eq("common")));
+        assertEquals(2, TinkerIndexHelper.queryVertexIndex(g, within).size());
+    }
+
+    @Test
+    public void shouldPartitionElementsByLabel() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final GraphTraversalSource g = graph.traversal();
+        for (int i = 0; i < 30; i++) {
+            g.addV("label" + (i % 3)).property("i", i).as("v").addE("self" + (i % 2)).to("v").iterate();
+        }
+
+        assertEquals(10, TinkerIndexHelper.queryVertexIndex(graph, Collections.singletonList(new HasContainer(T.label.getAccessor(), P.eq("label1")))).size());
+        assertEquals(20, TinkerIndexHelper.queryVertexIndex(graph, Collections.singletonList(new HasContainer(T.label.getAccessor(), P.within("label0", "label2", "other")))).size());
+        assertEquals(15, TinkerIndexHelper.queryEdgeIndex(graph, Collections.singletonList(new HasContainer(T.label.getAccessor(), P.eq("self0")))).size());
+
+        assertEquals(10L, g.V().hasLabel("label1").count().next().longValue());
+        assertEquals(20L, g.V().hasLabel("label0", "label2").count().next().longValue());
+        assertEquals(15L, g.E().hasLabel("self1").count().next().longValue());
+        assertEquals(Arrays.asList(1, 4, 7), g.V().hasLabel("label1").has("i", P.lt(10)).values("i").order().toList());
+
+        g.V().hasLabel("label1").drop().iterate();
+        assertEquals(0L, g.V().hasLabel("label1").count().next().longValue());
+        assertEquals(10L, g.E().hasLabel("self1").count().next().longValue());
+        assertEquals(20L, g.V().hasLabel("label0", "label1", "label2").count().next().longValue());
+
+        graph.clear();
+        assertEquals(0L, g.V().hasLabel("label0").count().next().longValue());
+        assertEquals(0, TinkerIndexHelper.queryVertexIndex(graph, Collections.singletonList(new HasContainer(T.label.getAccessor(), P.eq("label0")))).size());
+    }
+
+    @Test
+    public void shouldKeepEdgePropertiesOffHeap() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_OFF_HEAP_EDGE_PROPERTIES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        graph.createIndex("weight", Edge.class);
+
+        final Vertex v = graph.addVertex();
+        final Edge e = v.addEdge("self", v, "weight", 0.5d, "since", 2010, "name", "ünïcödé", "big", Long.MAX_VALUE,
+                "flag", true, "small", (byte) 1, "date", new Date(0));
+        assertEquals(0.5d, (double) e.value("weight"), 0.0d);
+        assertEquals(2010, (int) e.value("since"));
+        assertEquals("ünïcödé", e.value("name"));
+        assertEquals(Long.MAX_VALUE, (long) e.value("big"));
+        assertEquals(true, e.value("flag"));
+        assertEquals((byte) 1, (byte) e.value("small"));
+        assertEquals(new Date(0), e.value("date"));
+        assertEquals(new HashSet<>(Arrays.asList("weight", "since", "name", "big", "flag", "small", "date")), e.keys());
+        assertEquals(7, IteratorUtils.count(e.properties()));
+        assertEquals(2, IteratorUtils.count(e.properties("name", "since", "missing")));
+
+        // values move between the off-heap store and the heap as their types change
+        e.property("since", "2010");
+        assertEquals("2010", e.value("since"));
+        e.property("date", 1L);
+        assertEquals(1L, (long) e.value("date"));
+        e.property("name").remove();
+        assertFalse(e.property("name").isPresent());
+
+        assertEquals(new Long(1), graph.traversal().E().has("weight", 0.5d).count().next());
+        e.property("weight", 0.75d);
+        assertEquals(new Long(0), graph.traversal().E().has("weight", 0.5d).count().next());
+        assertEquals(new Long(1), graph.traversal().E().has("weight", 0.75d).count().next());
+
+        // the slot of a removed edge is reused without its old values
+        e.remove();
+        final Edge other = v.addEdge("self", v, "weight", 1.0d);
+        assertEquals(new HashSet<>(Collections.singletonList("weight")), other.keys());
+    }
+
+    @Test
+    public void shouldBulkLoadInParallel() {
+        final TinkerGraph source = TinkerFactory.createTheCrew();
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createIndex("name", Vertex.class);
+        graph.createIndex("skill", Edge.class);
+
+        graph.bulkLoader().workers(3).batchSize(2).load(
+                IteratorUtils.stream(source.vertices()), IteratorUtils.stream(source.edges()));
+
+        IoTest.assertCrewGraph(graph, false);
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals(new Long(1), g.V().has("name", "marko").count().next());
+        assertEquals(new Long(2), g.V().has("name", "marko").outE("uses").count().next());
+        assertEquals(source.traversal().V().has("name", "gremlin").in("uses").values("name").toSet(),
+                g.V().has("name", "gremlin").in("uses").values("name").toSet());
+        assertEquals(1, graph.vertexIndex.get("name", "marko").size());
+        assertEquals(source.traversal().E().has("skill", 5).count().next().intValue(), graph.edgeIndex.get("skill", 5).size());
+        assertEquals(source.traversal().V().properties().id().toSet(), g.V().properties().id().toSet());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotBulkLoadEdgeWithMissingVertex() {
+        final TinkerGraph source = TinkerFactory.createModern();
+        TinkerGraph.open().bulkLoader().load(Stream.empty(), IteratorUtils.stream(source.edges()));
+    }
+
+    @Test
+    public void shouldRollBackBulkLoadOfEdgeWithMissingOutVertex() {
+        final TinkerGraph source = TinkerFactory.createModern();
+        final Vertex ghost = source.addVertex(T.id, 99);
+        final Vertex hub = source.addVertex(T.id, 100);
+        source.vertices(1).next().addEdge("knows", hub, T.id, 300);
+        ghost.addEdge("knows", source.vertices(1).next(), T.id, 301, "weight", 1.0d);
+
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createIndex("name", Vertex.class);
+        graph.addVertex(T.id, 100, "name", "hub").addEdge("self", graph.vertices(100).next(), T.id, 200);
+
+        // the edge of the missing vertex comes last so that the other edges are added before the load fails
+        final List<Edge> edges = IteratorUtils.list(source.edges());
+        edges.sort(Comparator.comparing(e -> (Integer) e.id()));
+        try {
+            graph.bulkLoader().workers(2).batchSize(2).load(
+                    IteratorUtils.stream(source.vertices()).filter(v -> (int) v.id() < 99), edges.stream());
+            fail("The edge of a missing vertex should not be loaded");
+        } catch (IllegalStateException ex) {
+            assertThat(ex.getMessage(), containsString("99"));
+        }
+
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals(1L, (long) g.V().count().next());
+        assertEquals(1L, (long) g.E().count().next());
+        assertEquals(1L, (long) g.V(100).inE().count().next());
+        assertEquals(0L, (long) g.V().has("name", "marko").count().next());
+        assertEquals(1L, graph.statistics().vertexCount());
+        assertEquals(1L, graph.statistics().edgeCount());
+        assertEquals(0L, graph.statistics().estimateCount(Vertex.class, "name", "marko"));
+        assertEquals(0L, graph.statistics().estimateCount(Edge.class, "weight", 1.0d));
+
+        // nothing of the failed load is left in the way of loading the graph again
+        graph.bulkLoader().load(IteratorUtils.stream(source.vertices()).filter(v -> (int) v.id() < 99),
+                edges.stream().filter(e -> !e.id().equals(301)));
+        assertEquals(7L, (long) g.V().count().next());
+        assertEquals(8L, (long) g.E().count().next());
+        assertEquals(2L, (long) g.V(100).inE().count().next());
+        assertEquals(1L, (long) g.V().has("name", "marko").count().next());
+    }
+
+    @Test
+    public void shouldCompactStringsOfOffHeapEdgeProperties() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_OFF_HEAP_EDGE_PROPERTIES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final Vertex v = graph.addVertex();
+        final List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            edges.add(v.addEdge("self", v, "name", "edge-" + i));
+        }
+
+        // overwriting the strings frees far more than a chunk of the string area, which gets compacted
+        final String padding = String.join("", Collections.nCopies(1000, "x"));
+        for (int round = 0; round < 30; round++) {
+            for (int i = 0; i < edges.size(); i++) {
+                edges.get(i).property("name", round + "-" + i + padding);
+            }
+            assertThat(graph.edgePropertyStore.freeStringBytes(), lessThan(2L * 1024 * 1024));
+        }
+
+        for (int i = 0; i < edges.size(); i++) {
+            assertEquals("29-" + i + padding, edges.get(i).value("name"));
+        }
+        edges.get(0).property("name").remove();
+        assertFalse(edges.get(0).property("name").isPresent());
+        assertEquals("29-1" + padding, edges.get(1).value("name"));
+    }
+
+    @Test
+    public void shouldKeepVertexPropertiesOffHeap() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_OFF_HEAP_VERTEX_PROPERTIES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        graph.createIndex("name", Vertex.class);
+        final GraphTraversalSource g = graph.traversal();
+
+        final Vertex v = graph.addVertex("name", "marko", "age", 29, "big", Long.MAX_VALUE, "date", new Date(0));
+        final Object nameId = v.property("name").id();
+        assertEquals("marko", v.value("name"));
+        assertEquals(29, (int) v.value("age"));
+        assertEquals(Long.MAX_VALUE, (long) v.value("big"));
+        assertEquals(new Date(0), v.value("date"));
+        assertEquals(nameId, v.property("name").id());
+        assertEquals(v.property("name"), v.properties("name").next());
+        assertEquals(new HashSet<>(Arrays.asList("name", "age", "big", "date")), v.keys());
+        assertEquals(4, IteratorUtils.count(v.properties()));
+        assertEquals(2, IteratorUtils.count(v.properties("name", "age", "missing")));
+        assertEquals(1, graph.vertexIndex.get("name", "marko").size());
+        assertEquals(new Long(1), g.V().has("age", 29).count().next());
+
+        // a single value replaces the stored one while another value of the key or a meta-property moves it onto the heap
+        v.property("age", 30);
+        assertEquals(30, (int) v.value("age"));
+        v.property(VertexProperty.Cardinality.list, "age", 31);
+        assertEquals(Arrays.asList(30, 31), IteratorUtils.list(v.values("age")));
+        v.property("name").property("since", 2010);
+        assertEquals(2010, (int) v.property("name").value("since"));
+        assertEquals(nameId, v.property("name").id());
+        assertEquals(1, graph.vertexIndex.get("name", "marko").size());
+
+        v.property("big").remove();
+        assertFalse(v.property("big").isPresent());
+        assertEquals(new HashSet<>(Arrays.asList("name", "age", "date")), v.keys());
+        assertEquals(new Long(0), g.V().has("big", Long.MAX_VALUE).count().next());
+
+        // the slot of a removed vertex is reused without its old values
+        v.remove();
+        final Vertex other = graph.addVertex("age", 1);
+        assertEquals(new HashSet<>(Collections.singletonList("age")), other.keys());
+        assertEquals(0, graph.vertexIndex.get("name", "marko").size());
+        assertEquals(new Long(1), g.V().has("age", 1).count().next());
+        graph.clear();
+        assertEquals(new Long(0), g.V().count().next());
+    }
+
+    @Test
+    public void shouldBulkLoadOffHeapVertexProperties() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_OFF_HEAP_VERTEX_PROPERTIES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final TinkerGraph source = TinkerFactory.createTheCrew();
+        graph.bulkLoader().workers(2).batchSize(2).load(
+                IteratorUtils.stream(source.vertices()), IteratorUtils.stream(source.edges()));
+
+        // multi-properties and meta-properties of the crew stay on the heap next to the stored names
+        IoTest.assertCrewGraph(graph, false);
+        assertEquals(source.traversal().V().properties().id().toSet(), graph.traversal().V().properties().id().toSet());
+    }
+
+    @Test
+    public void shouldFindKeysOfOffHeapPropertiesAcrossKeyBitmapWords() {
+        final TinkerPropertyStore store = new TinkerPropertyStore(true);
+        final int slot = store.allocateSlot();
+        final int other = store.allocateSlot();
+        for (int i = 0; i < 150; i++) {
+            store.put(other, "key" + i, i, i);
+        }
+        store.put(slot, "key3", 3, 3L);
+        store.put(slot, "key70", "seventy", 70L);
+        store.put(slot, "key149", 149L, 149L);
+        assertEquals(new HashSet<>(Arrays.asList("key3", "key70", "key149")), new HashSet<>(store.keys(slot)));
+        assertEquals(new Long(70), store.get(slot, "key70", (value, id) -> id));
+        assertEquals("seventy", store.get(slot, "key70"));
+
+        store.remove(slot, "key70");
+        assertEquals(new HashSet<>(Arrays.asList("key3", "key149")), new HashSet<>(store.keys(slot)));
+        assertEquals(150, store.keys(other).size());
+        store.releaseSlot(other);
+        assertEquals(0, store.keys(store.allocateSlot()).size());
+    }
+
+    @Test
+    public void shouldReadOffHeapPropertiesWhileTheyChange() throws Exception {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_OFF_HEAP_VERTEX_PROPERTIES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            vertices.add(graph.addVertex("name", "vertex-" + i, "index", i));
+        }
+
+        // overwriting the strings compacts the string area while the readers go on
+        final String padding = String.join("", Collections.nCopies(1000, "x"));
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 2; r++) {
+            final Thread reader = new Thread(() -> {
+                try {
+                    while (writing.get()) {
+                        for (Vertex v : vertices) {
+                            // a single value is removed before it is replaced, so a reader may miss it
+                            final String name = v.<String>property("name").orElse(null);
+                            final int index = v.value("index");
+                            if (null != name && !name.endsWith("-" + index) && !name.endsWith("-" + index + padding))
+                                throw new IllegalStateException(String.format("Read %s for %s", name, index));
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        for (int round = 0; round < 30; round++) {
+            for (int i = 0; i < vertices.size(); i++) {
+                vertices.get(i).property("name", round + "-" + i + padding);
+            }
+        }
+        writing.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get());
+        assertEquals("29-7" + padding, vertices.get(7).value("name"));
+    }
+
+    @Test
+    public void shouldTraverseAndDropWithCompactAdjacency() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        final GraphTraversalSource g = graph.traversal();
+
+        assertEquals(new Long(12), g.V().both().count().next());
+        assertEquals(new Long(3), g.V().has("name", "marko").out().count().next());
+        assertEquals(new Long(2), g.V().has("name", "marko").out("knows").count().next());
+        assertEquals(new Long(3), g.V().has("name", "lop").in("created").count().next());
+        assertEquals(new Long(3), g.V().has("name", "josh").bothE("knows", "created").count().next());
+
+        // edges are removed while the adjacency of the vertex is being iterated
+        g.V().has("name", "marko").outE().drop().iterate();
+        assertEquals(new Long(0), g.V().has("name", "marko").out().count().next());
+        assertEquals(new Long(3), g.E().count().next());
+        assertEquals(new Long(2), g.V().has("name", "lop").in("created").count().next());
+
+        g.V().has("name", "josh").drop().iterate();
+        assertEquals(new Long(1), g.E().count().next());
+        assertEquals(new Long(1), g.V().has("name", "lop").in().count().next());
+    }
+
+    @Test
+    public void shouldRemoveEdgesOfHubWithCompactAdjacency() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+        final Vertex hub = graph.addVertex("hub");
+        for (int i = 0; i < 1000; i++) {
+            hub.addEdge("link", graph.addVertex("spoke"), "i", i);
+        }
+
+        // every other edge leaves a tombstone until the edges are compacted, which moves the remaining ones
+        g.V(hub).outE().filter(e -> e.get().<Integer>value("i") % 2 == 0).drop().iterate();
+        assertEquals(new Long(500), g.V(hub).out().count().next());
+        assertEquals(new Long(500), g.V().hasLabel("spoke").in().count().next());
+
+        // the moved edges can still be removed and edges added in between are kept
+        for (int i = 1; i < 1000; i += 4) {
+            g.E().has("i", i).drop().iterate();
+            hub.addEdge("link", hub, "i", -i);
+        }
+        assertEquals(new Long(500), g.V(hub).outE().count().next());
+        assertEquals(new Long(250), g.V(hub).out().hasLabel("hub").count().next());
+        assertEquals(new Long(250), g.V(hub).in().count().next());
+
+        g.V(hub).bothE().drop().iterate();
+        assertEquals(new Long(0), g.V(hub).bothE().count().next());
+        assertEquals(new Long(0), g.E().count().next());
+    }
+
+    @Test
+    public void shouldFindElementsByIdWithCompactAdjacency() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_VERTEX_ID_MANAGER, TinkerGraph.DefaultIdManager.ANY.name());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+
+        // long ids are held in the primitive tables of the label partitions and other ids next to them
+        for (long i = 0; i < 10000; i++) {
+            graph.addVertex(T.id, i, T.label, i % 2 == 0 ? "even" : "odd");
+            graph.addVertex(T.id, "s" + i, T.label, "string");
+        }
+        try {
+            graph.addVertex(T.id, 42L, T.label, "odd");
+            fail("The vertex id is already in use");
+        } catch (IllegalArgumentException ex) {
+            assertEquals(Graph.Exceptions.vertexWithIdAlreadyExists(42L).getMessage(), ex.getMessage());
+        }
+
+        // removals leave markers which must not hide the ids probed past them, even once the tables are rebuilt
+        for (long i = 0; i < 10000; i += 3) {
+            graph.vertex(i).remove();
+            graph.vertex("s" + i).remove();
+        }
+        for (long i = 10000; i < 15000; i++) {
+            graph.addVertex(T.id, i, T.label, "odd");
+        }
+        for (long i = 0; i < 15000; i++) {
+            assertEquals(i < 10000 && i % 3 == 0, null == graph.vertex(i));
+        }
+        assertEquals("s1", g.V("s1").id().next());
+        assertFalse(g.V("s3").hasNext());
+        assertEquals(new Long(3333), g.V().hasLabel("even").count().next());
+        assertEquals(new Long(8333), g.V().hasLabel("odd").count().next());
+        assertEquals(new Long(6666), g.V().hasLabel("string").count().next());
+        assertEquals(18332, IteratorUtils.count(graph.vertices()));
+
+        graph.clear();
+        assertEquals(0, IteratorUtils.count(graph.vertices()));
+        assertNull(graph.vertex(1L));
+    }
+
     @Test
     public void shouldSerializeTinkerGraphToGryo() throws Exception {
         final TinkerGraph graph = TinkerFactory.createModern();
@@ -557,6 +1148,123 @@ public class TinkerGraphTest {
         assertEquals(TestIoBuilder.calledCreate, 1);
     }
 
+    @Test
+    public void shouldPersistToWriteAheadLog() throws Exception {
+        final File directory = new File(TestHelper.makeTestDataDirectory(TinkerGraphTest.class, "shouldPersistToWriteAheadLog"));
+        FileUtils.deleteDirectory(directory);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "wal");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, directory.getAbsolutePath());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+
+        // nothing changed so closing again must not add a generation
+        final String[] files = directory.list();
+        final TinkerGraph unchangedGraph = TinkerGraph.open(conf);
+        unchangedGraph.close();
+        assertEquals(new HashSet<>(Arrays.asList(files)), new HashSet<>(Arrays.asList(directory.list())));
+    }
+
+    @Test
+    public void shouldRecoverFromWriteAheadLogWithoutClose() throws Exception {
+        final File directory = new File(TestHelper.makeTestDataDirectory(TinkerGraphTest.class, "shouldRecoverFromWriteAheadLogWithoutClose"));
+        FileUtils.deleteDirectory(directory);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "wal");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, directory.getAbsolutePath());
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WAL_SNAPSHOT_THRESHOLD, 5);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        final GraphTraversalSource g = graph.traversal();
+        g.V().has("name", "peter").drop().iterate();
+        g.V().has("name", "marko").property("age", 30).iterate();
+        g.V().has("name", "josh").properties("age").drop().iterate();
+        g.E().has("weight", 0.4d).properties("weight").drop().iterate();
+        g.V().has("name", "vadas").property(VertexProperty.Cardinality.list, "alias", "v", "since", 2010).iterate();
+
+        // simulate a crash in the middle of writing a record
+        final File[] logs = directory.listFiles((dir, name) -> name.endsWith(".log"));
+        Arrays.sort(logs);
+        try (FileOutputStream os = new FileOutputStream(logs[logs.length - 1], true)) {
+            os.write(new byte[]{0, 0, 1, 0, 7, 7});
+        }
+
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        final GraphTraversalSource r = recoveredGraph.traversal();
+        assertEquals(5L, (long) r.V().count().next());
+        assertEquals(5L, (long) r.E().count().next());
+        assertEquals(30, r.V().has("name", "marko").values("age").next());
+        assertEquals(0L, (long) r.V().has("name", "josh").values("age").count().next());
+        assertEquals(0L, (long) r.E().has("weight", 0.4d).count().next());
+        assertEquals(2010, r.V().has("name", "vadas").properties("alias").values("since").next());
+        assertEquals(g.V().id().toSet(), r.V().id().toSet());
+        assertEquals(g.E().id().toSet(), r.E().id().toSet());
+
+        // new changes go to a new log behind the damaged one
+        r.V().has("name", "lop").property("lang", "c").iterate();
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals("c", reloadedGraph.traversal().V().has("name", "lop").values("lang").next());
+        reloadedGraph.close();
+        recoveredGraph.close();
+        graph.close();
+    }
+
+    @Test
+    public void shouldLogPropertyDeltasToWriteAheadLog() throws Exception {
+        final File directory = new File(TestHelper.makeTestDataDirectory(TinkerGraphTest.class, "shouldLogPropertyDeltasToWriteAheadLog"));
+        FileUtils.deleteDirectory(directory);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "wal");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, directory.getAbsolutePath());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final Vertex v1 = graph.addVertex(T.id, 1);
+        final Vertex v2 = graph.addVertex(T.id, 2);
+        final Edge e = v1.addEdge("knows", v2, T.id, 3);
+        for (int i = 0; i < 100; i++) {
+            v1.property("p" + i, "value-" + i);
+            e.property("p" + i, "value-" + i);
+        }
+
+        // a change is logged on its own rather than with the rest of the element
+        long size = logSize(directory);
+        e.property("p0", "changed");
+        assertTrue(logSize(directory) - size < 100);
+        size = logSize(directory);
+        v1.property("p1").property("since", 2010);
+        assertTrue(logSize(directory) - size < 100);
+
+        e.property("p2").remove();
+        v1.property("p3").remove();
+        v1.property(VertexProperty.Cardinality.list, "alias", "a", "since", 2020);
+        v1.property("p4").property("since", 2000).remove();
+
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        final GraphTraversalSource r = recoveredGraph.traversal();
+        assertEquals("changed", r.E(3).values("p0").next());
+        assertEquals(2010, r.V(1).properties("p1").values("since").next());
+        assertFalse(r.E(3).has("p2").hasNext());
+        assertFalse(r.V(1).has("p3").hasNext());
+        assertEquals(2020, r.V(1).properties("alias").values("since").next());
+        assertFalse(r.V(1).properties("p4").has("since").hasNext());
+        assertEquals(99L, (long) r.E(3).properties().count().next());
+        assertEquals(100L, (long) r.V(1).properties().count().next());
+        assertEquals(v1.property("alias").id(), recoveredGraph.vertices(1).next().property("alias").id());
+        recoveredGraph.close();
+        graph.close();
+    }
+
+    private static long logSize(final File directory) {
+        return Arrays.stream(directory.listFiles((dir, name) -> name.endsWith(".log"))).mapToLong(File::length).sum();
+    }
+
     @Test
     public void shouldSerializeWithColorClassResolverToTinkerGraph() throws Exception {
         final Map<String,Color> colors = new HashMap<>();
@@ -18,7 +18,10 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -29,7 +32,13 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.io.FileUtils;
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -406,6 +415,72 @@ public class TinkerTransactionGraphTest {
         assertEquals(vid, index.get(1).iterator().next().get().id());
     }
 
+    @Test
+    public void shouldUseOrderedIndexForRangeLookups() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        g.createIndex("test-property", Vertex.class, TinkerIndexType.ORDERED);
+
+        final GraphTraversalSource gtx = g.tx().begin();
+
+        gtx.addV().property("test-property", 1).iterate();
+        gtx.addV().property("test-property", 2).iterate();
+        gtx.tx().commit();
+
+        final GraphTraversalSource gtx2 = g.tx().begin();
+        gtx2.addV().property("test-property", 3).iterate();
+
+        // uncommitted changes are visible to the transaction that made them
+        assertEquals(2L, (long) gtx2.V().has("test-property", P.gt(1)).count().next());
+        assertEquals(2L, (long) gtx2.V().has("test-property", P.between(2, 10)).count().next());
+
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx3 = g.tx().begin();
+            assertEquals(1L, (long) gtx3.V().has("test-property", P.gt(1)).count().next());
+        });
+        thread.start();
+        thread.join();
+
+        gtx2.tx().commit();
+
+        final GraphTraversalSource gtx4 = g.tx().begin();
+        assertEquals(2L, (long) gtx4.V().has("test-property", P.gte(2)).count().next());
+        assertEquals(1L, (long) gtx4.V().has("test-property", P.lt(2)).count().next());
+    }
+
+    @Test
+    public void shouldUseCompositeIndex() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        g.createCompositeIndex(Arrays.asList("a", "b"), Vertex.class);
+
+        final GraphTraversalSource gtx = g.tx().begin();
+        final Object vid = gtx.addV().property("a", 1).property("b", 1).id().next();
+        gtx.addV().property("a", 1).property("b", 2).iterate();
+        gtx.tx().commit();
+
+        final GraphTraversalSource gtx2 = g.tx().begin();
+        gtx2.addV().property("a", 1).property("b", 2).iterate();
+        gtx2.V(vid).property("b", 3).iterate();
+
+        // uncommitted changes are visible to the transaction that made them
+        assertEquals(2L, (long) gtx2.V().has("a", 1).has("b", 2).count().next());
+        assertEquals(0L, (long) gtx2.V().has("a", 1).has("b", 1).count().next());
+
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx3 = g.tx().begin();
+            assertEquals(1L, (long) gtx3.V().has("a", 1).has("b", 2).count().next());
+            assertEquals(1L, (long) gtx3.V().has("a", 1).has("b", 1).count().next());
+        });
+        thread.start();
+        thread.join();
+
+        gtx2.tx().commit();
+
+        final GraphTraversalSource gtx4 = g.tx().begin();
+        assertEquals(2L, (long) gtx4.V().has("a", 1).has("b", 2).count().next());
+        assertEquals(0L, (long) gtx4.V().has("a", 1).has("b", 1).count().next());
+        assertEquals(1L, (long) gtx4.V().has("a", 1).has("b", 3).count().next());
+    }
+
     @Test
     public void shouldCreateIndexForNullVertexProperty() throws InterruptedException {
         final TinkerTransactionGraph g = TinkerTransactionGraph.open();
@@ -1823,6 +1898,300 @@ public class TinkerTransactionGraphTest {
         }
     }
     
+    @Test
+    public void shouldRecoverCommittedTransactionsFromWriteAheadLog() throws Exception {
+        final File directory = new File(TestHelper.makeTestDataDirectory(TinkerTransactionGraphTest.class, "shouldRecoverCommittedTransactionsFromWriteAheadLog"));
+        FileUtils.deleteDirectory(directory);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "wal");
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, directory.getAbsolutePath());
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_WAL_SNAPSHOT_THRESHOLD, 4);
+        final TinkerTransactionGraph graph = TinkerTransactionGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+
+        for (int i = 0; i < 5; i++) {
+            final GraphTraversalSource gtx = g.tx().begin();
+            final Vertex v1 = gtx.addV().property(T.id, i * 2).property(PROPERTY_NAME, "a" + i).next();
+            final Vertex v2 = gtx.addV().property(T.id, i * 2 + 1).property(PROPERTY_NAME, "b" + i).next();
+            gtx.addE(EDGE_LABEL).from(v1).to(v2).property(T.id, EDGE_ID + i).property(PROPERTY_WEIGHT, i).next();
+            gtx.tx().commit();
+        }
+
+        g.V(0).drop().iterate();
+        g.E(EDGE_ID + 1).property(PROPERTY_WEIGHT, 10).iterate();
+        g.V(3).property(PROPERTY_NAME, "c").iterate();
+        g.tx().commit();
+
+        // rolled back changes are never written
+        g.addV().property(T.id, 100).iterate();
+        g.tx().rollback();
+
+        // simulate a crash in the middle of writing a record
+        final File[] logs = directory.listFiles((dir, name) -> name.endsWith(".log"));
+        Arrays.sort(logs);
+        try (FileOutputStream os = new FileOutputStream(logs[logs.length - 1], true)) {
+            os.write(new byte[]{0, 0, 1, 0, 7, 7});
+        }
+
+        final TinkerTransactionGraph recoveredGraph = TinkerTransactionGraph.open(conf);
+        final GraphTraversalSource r = recoveredGraph.traversal();
+        assertEquals(9L, (long) r.V().count().next());
+        assertEquals(4L, (long) r.E().count().next());
+        assertEquals(10, r.E(EDGE_ID + 1).values(PROPERTY_WEIGHT).next());
+        assertEquals("c", r.V(3).values(PROPERTY_NAME).next());
+        assertFalse(r.V(100).hasNext());
+        r.tx().commit();
+        recoveredGraph.close();
+
+        final TinkerTransactionGraph reloadedGraph = TinkerTransactionGraph.open(conf);
+        assertEquals(g.V().id().toSet(), reloadedGraph.traversal().V().id().toSet());
+        assertEquals(g.E().id().toSet(), reloadedGraph.traversal().E().id().toSet());
+        reloadedGraph.tx().commit();
+        reloadedGraph.close();
+        g.tx().commit();
+    }
+
+    @Test
+    public void shouldLogPropertyDeltasOfCommittedTransactionsToWriteAheadLog() throws Exception {
+        final File directory = new File(TestHelper.makeTestDataDirectory(TinkerTransactionGraphTest.class, "shouldLogPropertyDeltasOfCommittedTransactionsToWriteAheadLog"));
+        FileUtils.deleteDirectory(directory);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "wal");
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, directory.getAbsolutePath());
+        final TinkerTransactionGraph graph = TinkerTransactionGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+
+        final Vertex v1 = g.addV().property(T.id, 1).next();
+        final Vertex v2 = g.addV().property(T.id, 2).next();
+        g.addE(EDGE_LABEL).from(v1).to(v2).property(T.id, EDGE_ID).iterate();
+        for (int i = 0; i < 100; i++) {
+            g.V(1).property("p" + i, "value-" + i).iterate();
+            g.E(EDGE_ID).property("p" + i, "value-" + i).iterate();
+        }
+        g.tx().commit();
+
+        // only the properties that changed are written
+        final File log = directory.listFiles((dir, name) -> name.endsWith(".log"))[0];
+        final long size = log.length();
+        g.E(EDGE_ID).property("p0", "changed").iterate();
+        g.V(1).properties("p1").property("since", 2010).iterate();
+        g.tx().commit();
+        assertTrue(log.length() - size < 200);
+
+        // an element that is touched but not changed is not written
+        final long unchangedSize = log.length();
+        g.E(EDGE_ID).property("p2", "value-2").iterate();
+        g.tx().commit();
+        assertEquals(unchangedSize, log.length());
+
+        g.E(EDGE_ID).properties("p2").drop().iterate();
+        g.V(1).properties("p3").drop().iterate();
+        g.V(1).property(VertexProperty.Cardinality.list, "alias", "a", "since", 2020).iterate();
+        g.tx().commit();
+
+        final TinkerTransactionGraph recoveredGraph = TinkerTransactionGraph.open(conf);
+        final GraphTraversalSource r = recoveredGraph.traversal();
+        assertEquals("changed", r.E(EDGE_ID).values("p0").next());
+        assertEquals(2010, r.V(1).properties("p1").values("since").next());
+        assertFalse(r.E(EDGE_ID).has("p2").hasNext());
+        assertFalse(r.V(1).has("p3").hasNext());
+        assertEquals(2020, r.V(1).properties("alias").values("since").next());
+        assertEquals(99L, (long) r.E(EDGE_ID).properties().count().next());
+        assertEquals(100L, (long) r.V(1).properties().count().next());
+        r.tx().commit();
+        recoveredGraph.close();
+        g.tx().commit();
+        graph.close();
+    }
+
+    @Test
+    public void shouldReadSnapshotWhileOtherTransactionsCommit() {
+        final TinkerTransactionGraph graph = TinkerTransactionGraph.open();
+        graph.createIndex(PROPERTY_NAME, Vertex.class);
+        final GraphTraversalSource g = graph.traversal();
+        final Vertex v1 = g.addV().property(T.id, 1).property(PROPERTY_NAME, "a").next();
+        final Vertex v2 = g.addV().property(T.id, 2).property(PROPERTY_NAME, "b").next();
+        g.addE(EDGE_LABEL).from(v1).to(v2).property(T.id, EDGE_ID).next();
+        g.tx().commit();
+
+        final GraphTraversalSource gs = graph.beginSnapshot();
+        assertEquals(2L, (long) gs.V().count().next());
+
+        runInNewThread(() -> {
+            g.V(1).property(VertexProperty.Cardinality.single, PROPERTY_NAME, "c").iterate();
+            g.V(2).drop().iterate();
+            g.addV().property(T.id, 3).iterate();
+            g.tx().commit();
+        });
+
+        // the snapshot still sees the graph as it was when it was opened
+        assertEquals(2L, (long) gs.V().count().next());
+        assertEquals(1L, (long) gs.E().count().next());
+        assertEquals("a", gs.V(1).values(PROPERTY_NAME).next());
+        assertEquals("a", gs.V().has(PROPERTY_NAME, "a").values(PROPERTY_NAME).next());
+        assertEquals(2, gs.V(1).out(EDGE_LABEL).id().next());
+        assertFalse(gs.V(3).hasNext());
+        assertEquals(3, graph.getVertices().size());
+
+        // removed elements are cleaned up once no snapshot can see them
+        gs.tx().commit();
+        assertEquals(2, graph.getVertices().size());
+        assertEquals(0, graph.getEdges().size());
+
+        final GraphTraversalSource next = graph.beginSnapshot();
+        assertEquals(2L, (long) next.V().count().next());
+        assertEquals("c", next.V(1).values(PROPERTY_NAME).next());
+        assertFalse(next.V().has(PROPERTY_NAME, "a").hasNext());
+        assertFalse(next.V(1).out().hasNext());
+        next.tx().close();
+        assertFalse(graph.tx().isOpen());
+    }
+
+    @Test
+    public void shouldNotAllowChangesInSnapshotTransaction() {
+        final TinkerTransactionGraph graph = TinkerTransactionGraph.open();
+        final GraphTraversalSource g = graph.traversal();
+        g.addV().property(T.id, 1).property(PROPERTY_NAME, "a").iterate();
+        g.tx().commit();
+
+        final GraphTraversalSource gs = graph.beginSnapshot();
+        try {
+            gs.addV().iterate();
+            fail("Should not be able to add a vertex in a snapshot transaction");
+        } catch (IllegalStateException ignored) {
+        }
+        try {
+            gs.V(1).property(PROPERTY_NAME, "b").iterate();
+            fail("Should not be able to change a vertex in a snapshot transaction");
+        } catch (IllegalStateException ignored) {
+        }
+        try {
+            graph.beginSnapshot();
+            fail("Should not be able to open a snapshot transaction twice");
+        } catch (IllegalStateException ignored) {
+        }
+        assertEquals("a", gs.V(1).values(PROPERTY_NAME).next());
+        gs.tx().rollback();
+
+        g.V(1).property(PROPERTY_NAME, "b").iterate();
+        g.tx().commit();
+        assertEquals("b", g.V(1).values(PROPERTY_NAME).next());
+        g.tx().commit();
+    }
+
+    @Test
+    public void shouldGroupCommitConcurrentTransactions() throws Exception {
+        final File directory = new File(TestHelper.makeTestDataDirectory(TinkerTransactionGraphTest.class, "shouldGroupCommitConcurrentTransactions"));
+        FileUtils.deleteDirectory(directory);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GROUP_COMMIT, true);
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "wal");
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, directory.getAbsolutePath());
+        final TinkerTransactionGraph graph = TinkerTransactionGraph.open(conf);
+        graph.createIndex(PROPERTY_NAME, Vertex.class);
+        final GraphTraversalSource g = graph.traversal();
+
+        final int threads = 4;
+        final int transactions = 50;
+        final List<Thread> writers = IntStream.range(0, threads).mapToObj(t -> {
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < transactions; i++) {
+                    g.addV().property(T.id, t * transactions + i).property(PROPERTY_NAME, "t" + t).iterate();
+                    g.tx().commit();
+                }
+            });
+            thread.start();
+            return thread;
+        }).collect(Collectors.toList());
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(threads * transactions, (long) g.V().count().next());
+        assertEquals(transactions, (long) g.V().has(PROPERTY_NAME, "t1").count().next());
+        g.tx().commit();
+        graph.close();
+
+        final TinkerTransactionGraph recoveredGraph = TinkerTransactionGraph.open(conf);
+        assertEquals(threads * transactions, (long) recoveredGraph.traversal().V().count().next());
+        recoveredGraph.tx().commit();
+        recoveredGraph.close();
+    }
+
+    @Test
+    public void shouldRejectConflictingTransactionsWithGroupCommit() throws InterruptedException {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GROUP_COMMIT, true);
+        final TinkerTransactionGraph graph = TinkerTransactionGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+        g.addV().property(T.id, vid).property(PROPERTY_NAME, "initial").iterate();
+        g.tx().commit();
+
+        // both transactions change the vertex before either commits
+        final CountDownLatch changed = new CountDownLatch(2);
+        final AtomicLong commits = new AtomicLong();
+        final List<Thread> writers = IntStream.range(0, 2).mapToObj(t -> {
+            final Thread thread = new Thread(() -> {
+                g.V(vid).property(VertexProperty.Cardinality.single, PROPERTY_NAME, "t" + t).iterate();
+                changed.countDown();
+                try {
+                    changed.await();
+                    g.tx().commit();
+                    commits.incrementAndGet();
+                } catch (TransactionException ex) {
+                    // expected for one of the transactions
+                } catch (InterruptedException ex) {
+                    throw new RuntimeException(ex);
+                }
+            });
+            thread.start();
+            return thread;
+        }).collect(Collectors.toList());
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(1, commits.get());
+        assertTrue(g.V(vid).values(PROPERTY_NAME).next().toString().startsWith("t"));
+        assertFalse(graph.getVertices().get(vid).inUse());
+        g.tx().commit();
+    }
+
+    @Test
+    public void shouldUpdateStatisticsOnCommit() {
+        final TinkerTransactionGraph graph = TinkerTransactionGraph.open();
+        final TinkerGraphStatistics statistics = graph.statistics();
+        final GraphTraversalSource g = graph.traversal();
+
+        g.addV("person").property(T.id, 1).property(PROPERTY_NAME, "a").
+                addE("knows").to(__.addV("person").property(T.id, 2)).iterate();
+        assertEquals(0, statistics.vertexCount());
+        g.tx().rollback();
+        assertEquals(0, statistics.vertexCount());
+
+        g.addV("person").property(T.id, 1).property(PROPERTY_NAME, "a").
+                addE("knows").to(__.addV("person").property(T.id, 2)).iterate();
+        g.tx().commit();
+        assertEquals(2, statistics.vertexCount("person"));
+        assertEquals(1, statistics.edgeCount("knows"));
+        assertEquals(1, statistics.estimateCount(Vertex.class, PROPERTY_NAME, "a"));
+
+        g.V(1).property(PROPERTY_NAME, "b").iterate();
+        g.tx().commit();
+        assertEquals(1, statistics.propertyCount(Vertex.class, PROPERTY_NAME));
+        assertEquals(0, statistics.estimateCount(Vertex.class, PROPERTY_NAME, "a"));
+        assertEquals(1, statistics.estimateCount(Vertex.class, PROPERTY_NAME, "b"));
+
+        g.V(1).drop().iterate();
+        g.tx().commit();
+        assertEquals(1, statistics.vertexCount());
+        assertEquals(0, statistics.edgeCount());
+        assertEquals(0, statistics.propertyCount(Vertex.class, PROPERTY_NAME));
+    }
+
     private void runInNewThread(final Runnable runnable) {
         final Thread thread = new Thread(runnable);
         thread.start();